@@ -0,0 +1,138 @@
+package zm.unza.counseling.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Mixed student and counselor traffic against a server seeded by the loadtest profile
+ * (see LoadTestDataLoader). Students log in, check their upcoming appointments, book one and
+ * read their inbox; counselors log in and load the dashboard and analytics pages. Arrival
+ * rates ramp up over the first fifth of the run and then hold.
+ *
+ * Settings are system properties, passed through Maven as -D flags:
+ * baseUrl, students and counselors (seeded account counts), studentRate and counselorRate
+ * (new users per second at peak), duration (seconds), password and emailDomain, and
+ * p99Millis for the latency assertion.
+ */
+public class CounselingSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080/api");
+    private static final int STUDENTS = Integer.getInteger("students", 2000);
+    private static final int COUNSELORS = Integer.getInteger("counselors", 40);
+    private static final double STUDENT_RATE = Double.parseDouble(System.getProperty("studentRate", "20"));
+    private static final double COUNSELOR_RATE = Double.parseDouble(System.getProperty("counselorRate", "2"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("duration", 300));
+    private static final String PASSWORD = System.getProperty("password", "LoadTest@123");
+    private static final String EMAIL_DOMAIN = System.getProperty("emailDomain", "loadtest.unza.zm");
+    private static final int P99_MILLIS = Integer.getInteger("p99Millis", 1000);
+
+    private static final String[] APPOINTMENT_TYPES = {"INITIAL_CONSULTATION", "FOLLOW_UP", "ASSESSMENT"};
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .shareConnections();
+
+    private static Iterator<Map<String, Object>> accounts(String kind, int count) {
+        Supplier<Map<String, Object>> next = () -> Map.of(
+                "email", kind + (1 + ThreadLocalRandom.current().nextInt(count)) + "@" + EMAIL_DOMAIN);
+        return Stream.generate(next).iterator();
+    }
+
+    private static Iterator<Map<String, Object>> bookings() {
+        Supplier<Map<String, Object>> next = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // Well past the seeded calendar, so bookings never collide with seeded appointments
+            LocalDate day = LocalDate.now().plusYears(5).plusDays(random.nextInt(365));
+            return Map.of(
+                    "appointmentDate", day.atTime(8 + random.nextInt(9), 0).toString(),
+                    "appointmentType", APPOINTMENT_TYPES[random.nextInt(APPOINTMENT_TYPES.length)]);
+        };
+        return Stream.generate(next).iterator();
+    }
+
+    private static final ChainBuilder LOGIN = exec(http("login")
+            .post("/v1/auth/login")
+            .body(StringBody("{\"identifier\":\"#{email}\",\"password\":\"" + PASSWORD + "\"}"))
+            .check(status().is(200), jsonPath("$.token").saveAs("token")));
+
+    private static final ChainBuilder STUDENT_JOURNEY = exec(
+            http("upcoming appointments").get("/v1/appointments/upcoming")
+                    .header("Authorization", "Bearer #{token}"))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+            .feed(bookings())
+            .exec(http("book appointment").post("/v1/appointments")
+                    .header("Authorization", "Bearer #{token}")
+                    .body(StringBody("{\"studentId\":\"#{email}\",\"title\":\"Load test booking\","
+                            + "\"appointmentDate\":\"#{appointmentDate}\",\"type\":\"#{appointmentType}\","
+                            + "\"duration\":60,\"sessionMode\":\"IN_PERSON\"}"))
+                    .check(status().is(200)))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+            .exec(http("conversations").get("/v1/conversations")
+                    .header("Authorization", "Bearer #{token}"))
+            .exec(http("unread count").get("/v1/messages/unread-count")
+                    .header("Authorization", "Bearer #{token}"))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(2))
+            .exec(http("messages").get("/v1/messages")
+                    .header("Authorization", "Bearer #{token}"));
+
+    private static final ChainBuilder COUNSELOR_JOURNEY = exec(
+            http("dashboard stats").get("/v1/dashboard/stats")
+                    .header("Authorization", "Bearer #{token}"))
+            .exec(http("dashboard upcoming").get("/v1/dashboard/upcoming-appointments")
+                    .header("Authorization", "Bearer #{token}"))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+            .exec(http("dashboard analytics").get("/v1/dashboard/analytics")
+                    .header("Authorization", "Bearer #{token}"))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+            .exec(http("analytics overview").get("/v1/analytics/overview")
+                    .header("Authorization", "Bearer #{token}"))
+            .exec(http("session analytics").get("/v1/analytics/session-analytics")
+                    .header("Authorization", "Bearer #{token}"))
+            .exec(http("counselor performance").get("/v1/analytics/counselor-performance")
+                    .header("Authorization", "Bearer #{token}"))
+            .exec(http("appointment stats").get("/v1/appointments/stats")
+                    .header("Authorization", "Bearer #{token}"));
+
+    private final ScenarioBuilder students = scenario("students")
+            .feed(accounts("student", STUDENTS))
+            .exec(LOGIN)
+            .exitHereIfFailed()
+            .exec(STUDENT_JOURNEY);
+
+    private final ScenarioBuilder counselors = scenario("counselors")
+            .feed(accounts("counselor", COUNSELORS))
+            .exec(LOGIN)
+            .exitHereIfFailed()
+            .exec(COUNSELOR_JOURNEY);
+
+    {
+        Duration rampUp = DURATION.dividedBy(5);
+        Duration steady = DURATION.minus(rampUp);
+        setUp(
+                students.injectOpen(
+                        rampUsersPerSec(1).to(STUDENT_RATE).during(rampUp),
+                        constantUsersPerSec(STUDENT_RATE).during(steady)),
+                counselors.injectOpen(
+                        rampUsersPerSec(0.1).to(COUNSELOR_RATE).during(rampUp),
+                        constantUsersPerSec(COUNSELOR_RATE).during(steady)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().successfulRequests().percent().gte(99.0),
+                        global().responseTime().percentile(99.0).lte(P99_MILLIS));
+    }
+}
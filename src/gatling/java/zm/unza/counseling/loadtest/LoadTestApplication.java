@@ -0,0 +1,33 @@
+package zm.unza.counseling.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import zm.unza.counseling.CounselingManagementApplication;
+
+import java.util.Map;
+
+/**
+ * The application with the loadtest profile added, started from the loadtest sources so that
+ * {@link LoadTestDataLoader} is on the classpath and seeds the database before requests are served:
+ * <pre>
+ *   SPRING_PROFILES_ACTIVE=development mvn -Ploadtest spring-boot:test-run
+ * </pre>
+ * With {@code app.loadtest.exit-after-seed} the context is closed once seeding has finished.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(CounselingManagementApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        // logback-test.xml next to the simulation keeps Gatling quiet and would hide the seeding progress
+        application.setDefaultProperties(Map.of("logging.config", "classpath:logback-spring.xml"));
+
+        ConfigurableApplicationContext context = application.run(args);
+        if (context.getBean(LoadTestProperties.class).isExitAfterSeed()) {
+            SpringApplication.exit(context);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package zm.unza.counseling.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zm.unza.counseling.entity.*;
+import zm.unza.counseling.repository.*;
+import zm.unza.counseling.security.AuthenticationSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a synthetic dataset for the Gatling suite. Lives with the simulation in the loadtest
+ * sources, so it is never part of the application jar; {@link LoadTestApplication} runs it with the
+ * loadtest profile. Does nothing if the first seeded student already exists, so restarting against
+ * the same database keeps the data from the previous run.
+ *
+ * Accounts are {@code counselor<n>@<domain>} and {@code student<n>@<domain>}, numbered from 1,
+ * all with the configured password. Students are seeded in chunks: each chunk saves its students
+ * and then their appointments, sessions, messages, cases and assessments in one transaction, so
+ * memory stays flat however large the dataset is. Each student keeps one counselor, and that
+ * counselor's appointments are laid out in consecutive hourly slots, so no two overlap.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestDataLoader implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {"Chipo", "Mwansa", "Thandiwe", "Bwalya", "Mutale",
+            "Natasha", "Mwila", "Lubasi", "Chanda", "Kondwani", "Inonge", "Musonda"};
+    private static final String[] LAST_NAMES = {"Banda", "Phiri", "Zulu", "Mwale", "Tembo", "Lungu",
+            "Mulenga", "Sakala", "Daka", "Ngoma", "Chola", "Kalaluka"};
+    private static final String[] PROGRAMMES = {"Bachelor of Science in Computer Science",
+            "Bachelor of Arts in Economics", "Bachelor of Laws", "Bachelor of Medicine",
+            "Bachelor of Engineering", "Bachelor of Education"};
+    private static final String[] FACULTIES = {"Natural Sciences", "Humanities and Social Sciences", "Law",
+            "Medicine", "Engineering", "Education"};
+    private static final String[] CONCERNS = {"Academic stress", "Low mood", "Anxiety before exams",
+            "Financial pressure", "Relationship difficulties", "Sleep problems"};
+
+    /** Working hours per day available for appointment slots, starting at 08:00. */
+    private static final int SLOTS_PER_DAY = 8;
+
+    private final LoadTestProperties properties;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final CounselorRepository counselorRepository;
+    private final ClientRepository clientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SessionRepository sessionRepository;
+    private final MessageRepository messageRepository;
+    private final CaseRepository caseRepository;
+    private final SelfAssessmentRepository selfAssessmentRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoadTestDataLoader(LoadTestProperties properties, UserRepository userRepository,
+                              RoleRepository roleRepository, CounselorRepository counselorRepository,
+                              ClientRepository clientRepository, AppointmentRepository appointmentRepository,
+                              SessionRepository sessionRepository, MessageRepository messageRepository,
+                              CaseRepository caseRepository, SelfAssessmentRepository selfAssessmentRepository,
+                              PasswordEncoder passwordEncoder, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.counselorRepository = counselorRepository;
+        this.clientRepository = clientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.sessionRepository = sessionRepository;
+        this.messageRepository = messageRepository;
+        this.caseRepository = caseRepository;
+        this.selfAssessmentRepository = selfAssessmentRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByEmail(email("student", 1))) {
+            log.info("Load-test dataset already present ({}), skipping seeding", email("student", 1));
+        } else {
+            seed();
+        }
+    }
+
+    private void seed() {
+        long started = System.currentTimeMillis();
+        Random random = new Random(properties.getSeed());
+        // BCrypt is deliberately slow; every account shares one hash
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        Role studentRole = role(Role.ERole.ROLE_STUDENT);
+        Role clientRole = role(Role.ERole.ROLE_CLIENT);
+        Role counselorRole = role(Role.ERole.ROLE_COUNSELOR);
+
+        List<Counselor> unsaved = new ArrayList<>(properties.getCounselors());
+        for (int n = 1; n <= properties.getCounselors(); n++) {
+            unsaved.add(counselor(n, passwordHash, counselorRole, random));
+        }
+        List<Counselor> counselors = transactionTemplate.execute(status -> counselorRepository.saveAll(unsaved));
+        log.info("Seeded {} counselors", counselors.size());
+
+        // Each counselor's students share its slots, so the calendar spans this many days,
+        // centred on today so there is both history and upcoming work
+        int studentsPerCounselor = (properties.getStudents() + counselors.size() - 1) / counselors.size();
+        int days = Math.max(1, studentsPerCounselor * properties.getAppointmentsPerStudent() / SLOTS_PER_DAY + 1);
+        LocalDateTime firstSlot = LocalDate.now().minusDays(days / 2).atTime(8, 0);
+
+        Totals totals = new Totals();
+        for (int from = 1; from <= properties.getStudents(); from += properties.getBatchSize()) {
+            int to = Math.min(properties.getStudents(), from + properties.getBatchSize() - 1);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> seedStudents(first, to, counselors, firstSlot,
+                    passwordHash, Set.of(studentRole, clientRole), random, totals));
+            log.info("Seeded students {}-{} of {}", from, to, properties.getStudents());
+        }
+
+        log.info("Load-test dataset ready in {} s: {} counselors, {} students, {} appointments, {} sessions, "
+                        + "{} messages, {} cases, {} self-assessments", (System.currentTimeMillis() - started) / 1000,
+                counselors.size(), properties.getStudents(), totals.appointments, totals.sessions,
+                totals.messages, totals.cases, totals.assessments);
+    }
+
+    private void seedStudents(int from, int to, List<Counselor> counselors, LocalDateTime firstSlot,
+                              String passwordHash, Set<Role> roles, Random random, Totals totals) {
+        List<Client> students = new ArrayList<>(to - from + 1);
+        for (int n = from; n <= to; n++) {
+            students.add(student(n, passwordHash, roles, random));
+        }
+        students = clientRepository.saveAll(students);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Appointment> appointments = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        List<Case> cases = new ArrayList<>();
+        List<SelfAssessment> assessments = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            int index = from + i - 1;
+            Client student = students.get(i);
+            Counselor counselor = counselors.get(index % counselors.size());
+            int position = index / counselors.size();
+
+            for (int a = 0; a < properties.getAppointmentsPerStudent(); a++) {
+                int slot = position * properties.getAppointmentsPerStudent() + a;
+                LocalDateTime start = firstSlot.plusDays(slot / SLOTS_PER_DAY).plusHours(slot % SLOTS_PER_DAY);
+                appointments.add(appointment(student, counselor, start, a, start.isBefore(now), random));
+            }
+            for (int m = 0; m < properties.getMessagesPerStudent(); m++) {
+                boolean fromStudent = m % 2 == 0;
+                messages.add(message(fromStudent ? student : counselor, fromStudent ? counselor : student,
+                        m, m < properties.getMessagesPerStudent() - 2));
+            }
+            if (random.nextDouble() < properties.getCaseRatio()) {
+                cases.add(caseFor(student, counselor, index + 1, now, random));
+            }
+            for (int s = 0; s < properties.getAssessmentsPerStudent(); s++) {
+                assessments.add(assessment(student, now.minusWeeks(4L * s + random.nextInt(4)), random));
+            }
+        }
+
+        appointments = appointmentRepository.saveAll(appointments);
+        List<Session> sessions = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (appointment.getStatus() == Appointment.AppointmentStatus.COMPLETED) {
+                sessions.add(session(appointment, random));
+            }
+        }
+        sessionRepository.saveAll(sessions);
+        messageRepository.saveAll(messages);
+        caseRepository.saveAll(cases);
+        selfAssessmentRepository.saveAll(assessments);
+
+        totals.appointments += appointments.size();
+        totals.sessions += sessions.size();
+        totals.messages += messages.size();
+        totals.cases += cases.size();
+        totals.assessments += assessments.size();
+    }
+
+    private Counselor counselor(int n, String passwordHash, Role role, Random random) {
+        Counselor counselor = new Counselor();
+        fillAccount(counselor, "counselor", n, passwordHash, Set.of(role), random);
+        counselor.setSpecialization(CONCERNS[n % CONCERNS.length]);
+        counselor.setOfficeLocation("Counseling Unit, Room " + (100 + n));
+        counselor.setAvailable(true);
+        return counselor;
+    }
+
+    private Client student(int n, String passwordHash, Set<Role> roles, Random random) {
+        Client student = new Client();
+        fillAccount(student, "student", n, passwordHash, roles, random);
+        student.setStudentId(String.valueOf(2090000000L + n));
+        int programme = random.nextInt(PROGRAMMES.length);
+        student.setProgramme(PROGRAMMES[programme]);
+        student.setFaculty(FACULTIES[programme]);
+        student.setYearOfStudy(1 + random.nextInt(5));
+        student.setGpa(Math.round((1.5 + random.nextDouble() * 2.5) * 100) / 100.0);
+        student.setRiskLevel(Client.RiskLevel.values()[random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(3)]);
+        student.setRegistrationDate(LocalDateTime.now().minusDays(random.nextInt(700)));
+        return student;
+    }
+
+    private void fillAccount(User user, String kind, int n, String passwordHash, Set<Role> roles, Random random) {
+        user.setUsername(kind + n);
+        user.setEmail(email(kind, n));
+        user.setPassword(passwordHash);
+        user.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        user.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        user.setGender(random.nextBoolean() ? User.Gender.FEMALE : User.Gender.MALE);
+        user.setActive(true);
+        user.setEmailVerified(true);
+        user.setAuthenticationSource(AuthenticationSource.INTERNAL);
+        user.setHasSignedConsent(true);
+        user.setRoles(roles);
+    }
+
+    private Appointment appointment(Client student, Counselor counselor, LocalDateTime start, int number,
+                                    boolean past, Random random) {
+        Appointment appointment = new Appointment();
+        appointment.setTitle(number == 0 ? "Initial consultation" : "Follow-up session " + number);
+        appointment.setStudent(student);
+        appointment.setClient(student);
+        appointment.setCounselor(counselor);
+        appointment.setAppointmentDate(start);
+        appointment.setDuration(60);
+        appointment.setType(number == 0 ? Appointment.AppointmentType.INITIAL_CONSULTATION
+                : Appointment.AppointmentType.FOLLOW_UP);
+        appointment.setSessionMode(random.nextInt(4) == 0 ? Appointment.SessionMode.VIRTUAL
+                : Appointment.SessionMode.IN_PERSON);
+        appointment.setPresentingConcern(CONCERNS[random.nextInt(CONCERNS.length)]);
+        int roll = random.nextInt(10);
+        if (past) {
+            appointment.setStatus(roll < 8 ? Appointment.AppointmentStatus.COMPLETED
+                    : roll == 8 ? Appointment.AppointmentStatus.NO_SHOW : Appointment.AppointmentStatus.CANCELLED);
+        } else {
+            appointment.setStatus(roll < 6 ? Appointment.AppointmentStatus.SCHEDULED
+                    : Appointment.AppointmentStatus.CONFIRMED);
+        }
+        return appointment;
+    }
+
+    private Session session(Appointment appointment, Random random) {
+        Session session = new Session();
+        session.setAppointment(appointment);
+        session.setStudent(appointment.getStudent());
+        session.setClient(appointment.getClient());
+        session.setCounselor(appointment.getCounselor());
+        session.setSessionDate(appointment.getAppointmentDate());
+        session.setDurationMinutes(appointment.getDuration());
+        session.setType(appointment.getType() == Appointment.AppointmentType.INITIAL_CONSULTATION
+                ? Session.SessionType.ASSESSMENT : Session.SessionType.INDIVIDUAL);
+        session.setStatus(Session.SessionStatus.COMPLETED);
+        session.setTitle(appointment.getTitle());
+        session.setPresentingIssue(appointment.getPresentingConcern());
+        session.setClientMoodRating(1 + random.nextInt(10));
+        session.setOutcome(Session.Outcome.values()[random.nextInt(Session.Outcome.values().length)]);
+        session.setConfidential(true);
+        return session;
+    }
+
+    private Message message(User sender, User recipient, int number, boolean read) {
+        Message message = new Message();
+        message.setSender(sender);
+        message.setRecipient(recipient);
+        message.setSubject("Check-in");
+        message.setContent("Message " + (number + 1) + " about the upcoming session and how the week has been.");
+        // Same scheme as MessageService, so seeded threads show up as conversations
+        long low = Math.min(sender.getId(), recipient.getId());
+        long high = Math.max(sender.getId(), recipient.getId());
+        message.setConversationId(low * 1000000 + high);
+        message.setDelivered(true);
+        message.setRead(read);
+        return message;
+    }
+
+    private Case caseFor(Client student, Counselor counselor, int n, LocalDateTime now, Random random) {
+        Case caseEntity = new Case();
+        caseEntity.setCaseNumber("LT-" + n);
+        caseEntity.setClient(student);
+        caseEntity.setCounselor(counselor);
+        caseEntity.setStatus(random.nextInt(4) == 0 ? Case.CaseStatus.CLOSED : Case.CaseStatus.IN_PROGRESS);
+        caseEntity.setPriority(Case.CasePriority.values()[random.nextInt(Case.CasePriority.values().length)]);
+        caseEntity.setSubject(CONCERNS[random.nextInt(CONCERNS.length)]);
+        caseEntity.setDescription("Synthetic load-test case for " + student.getUsername());
+        caseEntity.setAssignedAt(now.minusDays(random.nextInt(120)));
+        return caseEntity;
+    }
+
+    private SelfAssessment assessment(Client student, LocalDateTime taken, Random random) {
+        SelfAssessment assessment = new SelfAssessment();
+        assessment.setTitle("Wellbeing check");
+        assessment.setClient(student);
+        assessment.setSubmittedByUserId(student.getId());
+        assessment.setAssessmentDate(taken);
+        assessment.setPhq9Score(random.nextInt(28));
+        assessment.setGad7Score(random.nextInt(22));
+        assessment.setPssScore(random.nextInt(41));
+        assessment.setSleepQuality(1 + random.nextInt(10));
+        assessment.setOverallWellness(1 + random.nextInt(10));
+        assessment.setConcentrationDifficulty(random.nextInt(3) == 0);
+        assessment.setCreatedAt(taken);
+        return assessment;
+    }
+
+    private Role role(Role.ERole name) {
+        return roleRepository.findByName(name)
+                .orElseThrow(() -> new IllegalStateException(name + " missing; DataLoader seeds roles on startup"));
+    }
+
+    private String email(String kind, int n) {
+        return kind + n + "@" + properties.getEmailDomain();
+    }
+
+    private static class Totals {
+        long appointments;
+        long sessions;
+        long messages;
+        long cases;
+        long assessments;
+    }
+}
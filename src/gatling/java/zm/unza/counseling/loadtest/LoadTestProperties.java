@@ -0,0 +1,131 @@
+package zm.unza.counseling.loadtest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Size and shape of the synthetic dataset {@link LoadTestDataLoader} seeds under the loadtest
+ * profile. Per-student figures are averages; the defaults give roughly 35k rows, and students
+ * can be raised to reach the 100k-1M range the Gatling scenarios are meant to run against.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.loadtest")
+public class LoadTestProperties {
+
+    /** Student accounts, seeded as clients with the student and client roles. */
+    private int students = 2000;
+
+    /** Counselor accounts; appointments are spread evenly across them. */
+    private int counselors = 40;
+
+    private int appointmentsPerStudent = 3;
+
+    private int messagesPerStudent = 10;
+
+    private int assessmentsPerStudent = 2;
+
+    /** Share of students with an open case, between 0 and 1. */
+    private double caseRatio = 0.5;
+
+    /** Rows per saveAll call; each chunk is committed in its own transaction. */
+    private int batchSize = 1000;
+
+    /** Random seed, so two runs with the same settings produce the same dataset. */
+    private long seed = 42;
+
+    /** Password of every seeded account, used by the Gatling feeders to log in. */
+    private String password = "LoadTest@123";
+
+    private String emailDomain = "loadtest.unza.zm";
+
+    /** Close the application once seeding finishes instead of serving requests; see {@link LoadTestApplication}. */
+    private boolean exitAfterSeed = false;
+
+    public int getStudents() {
+        return students;
+    }
+
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    public int getCounselors() {
+        return counselors;
+    }
+
+    public void setCounselors(int counselors) {
+        this.counselors = counselors;
+    }
+
+    public int getAppointmentsPerStudent() {
+        return appointmentsPerStudent;
+    }
+
+    public void setAppointmentsPerStudent(int appointmentsPerStudent) {
+        this.appointmentsPerStudent = appointmentsPerStudent;
+    }
+
+    public int getMessagesPerStudent() {
+        return messagesPerStudent;
+    }
+
+    public void setMessagesPerStudent(int messagesPerStudent) {
+        this.messagesPerStudent = messagesPerStudent;
+    }
+
+    public int getAssessmentsPerStudent() {
+        return assessmentsPerStudent;
+    }
+
+    public void setAssessmentsPerStudent(int assessmentsPerStudent) {
+        this.assessmentsPerStudent = assessmentsPerStudent;
+    }
+
+    public double getCaseRatio() {
+        return caseRatio;
+    }
+
+    public void setCaseRatio(double caseRatio) {
+        this.caseRatio = caseRatio;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
+    public boolean isExitAfterSeed() {
+        return exitAfterSeed;
+    }
+
+    public void setExitAfterSeed(boolean exitAfterSeed) {
+        this.exitAfterSeed = exitAfterSeed;
+    }
+}
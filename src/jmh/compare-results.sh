@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Compare two JMH JSON result files (mvn -Pbenchmark verify -Djmh.resultFile=...), e.g. the
+# jmh-results artifacts of two CI runs:
+#
+#   src/jmh/compare-results.sh baseline.json current.json [threshold-percent]
+#
+# Prints one row per benchmark and parameter combination with both scores and the change.
+# Exits with status 1 when any benchmark present in both files got slower by more than the
+# threshold (default 10%), so it can gate a pipeline step.
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "usage: $0 <baseline.json> <current.json> [threshold-percent]" >&2
+    exit 2
+fi
+
+baseline=$1
+current=$2
+threshold=${3:-10}
+
+report=$(jq -r -n --slurpfile base "$baseline" --slurpfile curr "$current" --argjson threshold "$threshold" '
+    def key: .benchmark + (if .params then " " + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) else "" end);
+    def index: map({ key: key, value: .primaryMetric }) | from_entries;
+
+    ($base[0] | index) as $b
+    | ($curr[0] | index) as $c
+    | ["benchmark", "baseline", "current", "unit", "change"],
+      ($c | keys[] as $k
+        | $c[$k] as $now
+        | $b[$k] as $was
+        | if $was == null then
+              [$k, "-", ($now.score | tostring), $now.scoreUnit, "new"]
+          else
+              # AverageTime and SampleTime report time per op, so higher is worse; throughput the reverse
+              (($now.score - $was.score) / $was.score * 100) as $delta
+              | (if ($now.scoreUnit | test("ops/")) then -$delta else $delta end) as $slower
+              | [$k, ($was.score | tostring), ($now.score | tostring), $now.scoreUnit,
+                 ((if $slower > $threshold then "REGRESSION " else "" end) + ($delta * 10 | round / 10 | tostring) + "%")]
+          end)
+    | @tsv
+')
+
+echo "$report"
+if grep -q "REGRESSION" <<< "$report"; then
+    exit 1
+fi
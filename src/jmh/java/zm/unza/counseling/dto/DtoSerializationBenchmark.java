@@ -0,0 +1,230 @@
+package zm.unza.counseling.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zm.unza.counseling.config.JacksonConfig;
+import zm.unza.counseling.dto.response.CaseResponse;
+import zm.unza.counseling.dto.response.PersonalDataFormResponse;
+import zm.unza.counseling.entity.Case;
+import zm.unza.counseling.entity.MentalHealthAcademicAnalysis;
+import zm.unza.counseling.entity.PersonalDataForm;
+import zm.unza.counseling.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the largest response DTOs with the application's {@link ObjectMapper},
+ * one page of each as returned by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private static final String PARAGRAPH = "Client presents with low mood and difficulty concentrating since the "
+            + "start of the semester, linked to financial pressure at home and a recent change of programme.";
+
+    @Param({"1", "50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<PersonalDataFormResponse> personalDataForms;
+    private List<CaseResponse> cases;
+    private List<MentalHealthAcademicDtos.MentalHealthAcademicAnalysisResponse> analyses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        personalDataForms = new ArrayList<>(pageSize);
+        cases = new ArrayList<>(pageSize);
+        analyses = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            personalDataForms.add(personalDataForm(id));
+            cases.add(caseResponse(id));
+            analyses.add(analysis(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] personalDataForms() throws Exception {
+        return objectMapper.writeValueAsBytes(personalDataForms);
+    }
+
+    @Benchmark
+    public byte[] cases() throws Exception {
+        return objectMapper.writeValueAsBytes(cases);
+    }
+
+    @Benchmark
+    public byte[] mentalHealthAcademicAnalyses() throws Exception {
+        return objectMapper.writeValueAsBytes(analyses);
+    }
+
+    private static PersonalDataFormResponse personalDataForm(long id) {
+        LocalDateTime created = LocalDateTime.of(2026, 3, 2, 9, 30);
+        PersonalDataFormResponse form = new PersonalDataFormResponse();
+        form.setId(id);
+        form.setClientFileNo("PDF-2026-" + id);
+        form.setClientId(id);
+        form.setClientName("Chipo Banda");
+        form.setCaseId(id);
+        form.setCaseNumber("CASE-2026-" + id);
+        form.setDateOfInterview(LocalDate.of(2026, 3, 2));
+        form.setSex(User.Gender.values()[0]);
+        form.setYearOfBirth(2003);
+        form.setAge(23);
+        form.setSchool("School of Natural Sciences");
+        form.setComputerNo("2019012345");
+        form.setYearOfStudy(3);
+        form.setStudentCategory(PersonalDataForm.StudentCategory.LOCAL_STUDENT);
+        form.setOccupation("Student");
+        form.setContactAddress("Great East Road Campus, Lusaka");
+        form.setPhoneNumber("+260971234567");
+        form.setMaritalStatus(PersonalDataForm.MaritalStatus.SINGLE);
+        form.setPreviousCounselling(Arrays.asList(PersonalDataForm.PreviousCounselling.values()));
+        form.setReferralSource(Arrays.asList(PersonalDataForm.ReferralSource.values()));
+        form.setReferralPointFrom("Dean of Students");
+        form.setReferralPointTo("Counseling Unit");
+        form.setHealthStatus(PersonalDataForm.HealthStatus.NO);
+        form.setTakingMedication(PersonalDataForm.MedicationStatus.NO);
+        form.setAdditionalInfo(PARAGRAPH);
+        form.setCreatedAt(created);
+        form.setUpdatedAt(created.plusDays(1));
+
+        PersonalDataFormResponse.ReasonsForCounsellingResponse reasons = new PersonalDataFormResponse.ReasonsForCounsellingResponse();
+        reasons.setPersonal(Arrays.asList(PersonalDataForm.PersonalReason.values()));
+        reasons.setHealth(Arrays.asList(PersonalDataForm.HealthReason.values()));
+        reasons.setEducational(Arrays.asList(PersonalDataForm.EducationalReason.values()));
+        reasons.setCareer(Arrays.asList(PersonalDataForm.CareerReason.values()));
+        reasons.setFinancial(Arrays.asList(PersonalDataForm.FinancialReason.values()));
+        reasons.setPersonalOther(PARAGRAPH);
+        form.setReasonsForCounselling(reasons);
+
+        List<PersonalDataFormResponse.FamilyMemberResponse> family = new ArrayList<>();
+        for (long member = 1; member <= 6; member++) {
+            PersonalDataFormResponse.FamilyMemberResponse item = new PersonalDataFormResponse.FamilyMemberResponse();
+            item.setId(id * 10 + member);
+            item.setName("Family member " + member);
+            item.setRelationship(member == 1 ? "Mother" : "Sibling");
+            item.setAge(String.valueOf(20 + member * 4));
+            item.setEducation("Secondary");
+            item.setOccupation("Farmer");
+            item.setContactPhone("+26097700000" + member);
+            item.setContactAddress("Plot 12, Chongwe");
+            family.add(item);
+        }
+        form.setFamilyHistory(family);
+        return form;
+    }
+
+    private static CaseResponse caseResponse(long id) {
+        LocalDateTime created = LocalDateTime.of(2026, 3, 2, 9, 30);
+        CaseResponse response = new CaseResponse();
+        response.setId(id);
+        response.setCaseNumber("CASE-2026-" + id);
+        response.setClientId(id);
+        response.setClientName("Chipo Banda");
+        response.setClientEmail("chipo.banda@student.unza.zm");
+        response.setCounselorId(2L);
+        response.setCounselorName("Mwila Phiri");
+        response.setAssignedBy(3L);
+        response.setAssignedByName("Natasha Zulu");
+        response.setStatus(Case.CaseStatus.values()[0]);
+        response.setPriority(Case.CasePriority.values()[0]);
+        response.setSubject("Academic stress and low mood");
+        response.setDescription(PARAGRAPH);
+        response.setNotes(PARAGRAPH);
+        response.setCreatedAt(created);
+        response.setUpdatedAt(created.plusDays(3));
+        response.setAssignedAt(created.plusHours(2));
+        response.setLastActivityAt(created.plusDays(3));
+        response.setExpectedResolutionDate(created.plusWeeks(6));
+        response.setEscalationLevel(0);
+        response.setTags("academic,stress,finance");
+        response.setAppointmentCount(4);
+        response.setPresentingProblem(PARAGRAPH);
+        response.setClinicalImpression(PARAGRAPH);
+        response.setTreatmentModality(Case.TreatmentModality.values()[0]);
+        response.setTreatmentGoals(PARAGRAPH);
+        response.setTreatmentPlan(PARAGRAPH);
+        response.setRiskLevel(Case.RiskAssessmentLevel.values()[0]);
+        response.setRiskNotes(PARAGRAPH);
+        response.setReferralSource("Dean of Students");
+        response.setIntakeDate(LocalDate.of(2026, 3, 2));
+        response.setConsentObtained(true);
+        response.setConsentDate(LocalDate.of(2026, 3, 2));
+        response.setConfidential(true);
+        return response;
+    }
+
+    private static MentalHealthAcademicDtos.MentalHealthAcademicAnalysisResponse analysis(long id) {
+        LocalDateTime created = LocalDateTime.of(2026, 3, 2, 9, 30);
+        MentalHealthAcademicDtos.MentalHealthAcademicAnalysisResponse response =
+                MentalHealthAcademicDtos.MentalHealthAcademicAnalysisResponse.builder()
+                        .id(id)
+                        .clientId(id)
+                        .clientName("Chipo Banda")
+                        .academicPerformanceId(id)
+                        .selfAssessmentId("SA-" + id)
+                        .riskAssessmentId(id)
+                        .analysisDate(LocalDate.of(2026, 3, 2))
+                        .analysisPeriodStart(LocalDate.of(2026, 1, 12))
+                        .analysisPeriodEnd(LocalDate.of(2026, 3, 1))
+                        .depressionScore(new BigDecimal("14.00"))
+                        .anxietyScore(new BigDecimal("11.00"))
+                        .stressScore(new BigDecimal("22.00"))
+                        .overallMentalHealthScore(new BigDecimal("58.50"))
+                        .mentalHealthStatus(MentalHealthAcademicAnalysis.MentalHealthStatus.values()[0].name())
+                        .currentGpa(new BigDecimal("2.85"))
+                        .gpaChange(new BigDecimal("-0.40"))
+                        .attendanceRate(new BigDecimal("78.00"))
+                        .attendanceChange(new BigDecimal("-9.50"))
+                        .correlationScore(new BigDecimal("0.62"))
+                        .correlationStrength(MentalHealthAcademicAnalysis.CorrelationStrength.values()[0].name())
+                        .impactLevel(MentalHealthAcademicAnalysis.ImpactLevel.values()[0].name())
+                        .trendDirection(MentalHealthAcademicAnalysis.TrendDirection.values()[0].name())
+                        .analysisSummary(PARAGRAPH)
+                        .recommendationText(PARAGRAPH)
+                        .counselorNotes(PARAGRAPH)
+                        .analyzedById(2L)
+                        .analyzedByName("Mwila Phiri")
+                        .isAiGenerated(false)
+                        .overallRiskScore(57)
+                        .createdAt(created)
+                        .updatedAt(created.plusDays(1))
+                        .build();
+        response.setConcentrationIssues(true);
+        response.setMotivationIssues(true);
+        response.setSleepIssues(true);
+        response.setSocialIsolation(false);
+        response.setFinancialStress(true);
+        response.setFamilyIssues(false);
+        response.setSubstanceUseConcern(false);
+        response.setCounselingRecommended(true);
+        response.setAcademicSupportRecommended(true);
+        response.setPeerSupportRecommended(false);
+        response.setLifestyleChangesRecommended(true);
+        response.setReferralRecommended(false);
+        response.setInterventionUrgency(MentalHealthAcademicAnalysis.InterventionUrgency.values()[0]);
+        return response;
+    }
+}
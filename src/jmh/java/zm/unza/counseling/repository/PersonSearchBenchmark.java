@@ -0,0 +1,157 @@
+package zm.unza.counseling.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+import zm.unza.counseling.util.PersonSearch;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Person search over 100k synthetic users: the previous {@code LOWER(col) LIKE '%q%'} query across
+ * five columns against the trigram-indexed {@code users.search_text} query now behind
+ * {@link UserRepository#searchUsers}. Each invocation fetches the first page of 20 and the total
+ * count, as the paged endpoint does.
+ *
+ * Runs against PostgreSQL in a Testcontainers container (Docker required). The search column and
+ * index come from the real Flyway migration; the rest of the users table is reduced to the columns
+ * the queries read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonSearchBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String SEARCH_MIGRATION = "db/migration/V2026.10.19.2__Add_person_search_trigram_index.sql";
+
+    private static final String LEGACY_WHERE = " FROM users u WHERE "
+            + "LOWER(u.first_name) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(u.last_name) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(u.email) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(u.username) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(u.student_id) LIKE LOWER(CONCAT('%', ?, '%'))";
+
+    private static final String TRIGRAM_WHERE = " FROM users u WHERE u.search_text LIKE ? OR ? <% u.search_text";
+
+    /** A common surname, a rare one, and a misspelling only the trigram query can match. */
+    @Param({"banda", "kalaluka", "mwnsa"})
+    public String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement legacyPage;
+    private PreparedStatement legacyCount;
+    private PreparedStatement trigramPage;
+    private PreparedStatement trigramCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users ("
+                    + "id BIGSERIAL PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255), "
+                    + "username VARCHAR(255), email VARCHAR(255), student_id VARCHAR(255))");
+            statement.execute("INSERT INTO users (first_name, last_name, username, email, student_id) "
+                    + "SELECT f.names[1 + i % array_length(f.names, 1)], "
+                    + "       l.names[1 + (i / 7) % array_length(l.names, 1)] || CASE WHEN i % 3 = 0 THEN '' ELSE (i % 97)::text END, "
+                    + "       'user' || i, 'user' || i || '@student.unza.zm', (2015000000 + i)::text "
+                    + "FROM generate_series(1, " + USERS + ") AS i, "
+                    + "     (SELECT ARRAY['Chipo','Mwansa','Thandiwe','Bwalya','Mutale','Natasha','Mwila','Lubasi','Chanda','Kondwani'] AS names) f, "
+                    + "     (SELECT ARRAY['Banda','Phiri','Zulu','Mwale','Tembo','Lungu','Mulenga','Sakala','Daka','Ngoma','Chola','Musonda'] AS names) l");
+            // One user with a rare surname so the selective case is represented
+            statement.execute("INSERT INTO users (first_name, last_name, username, email, student_id) "
+                    + "VALUES ('Inonge', 'Kalaluka', 'ikalaluka', 'inonge.kalaluka@student.unza.zm', '2019099999')");
+            statement.execute(readMigration());
+            statement.execute("ANALYZE users");
+        }
+
+        legacyPage = connection.prepareStatement("SELECT u.*" + LEGACY_WHERE + " LIMIT " + PAGE_SIZE);
+        legacyCount = connection.prepareStatement("SELECT COUNT(*)" + LEGACY_WHERE);
+        trigramPage = connection.prepareStatement("SELECT u.*" + TRIGRAM_WHERE
+                + " ORDER BY word_similarity(?, u.search_text) DESC, u.last_name, u.first_name, u.id LIMIT " + PAGE_SIZE);
+        trigramCount = connection.prepareStatement("SELECT COUNT(*)" + TRIGRAM_WHERE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try {
+            connection.close();
+        } finally {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public long legacyLike() throws SQLException {
+        for (int i = 1; i <= 5; i++) {
+            legacyPage.setString(i, query);
+            legacyCount.setString(i, query);
+        }
+        return drain(legacyPage) + count(legacyCount);
+    }
+
+    @Benchmark
+    public long trigramSearchText() throws SQLException {
+        String keyword = PersonSearch.keyword(query);
+        String pattern = PersonSearch.containsPattern(keyword);
+        trigramPage.setString(1, pattern);
+        trigramPage.setString(2, keyword);
+        trigramPage.setString(3, keyword);
+        trigramCount.setString(1, pattern);
+        trigramCount.setString(2, keyword);
+        return drain(trigramPage) + count(trigramCount);
+    }
+
+    private static long drain(PreparedStatement statement) throws SQLException {
+        long rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows += resultSet.getLong("id");
+            }
+        }
+        return rows;
+    }
+
+    private static long count(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String readMigration() throws Exception {
+        try (InputStream in = PersonSearchBenchmark.class.getClassLoader().getResourceAsStream(SEARCH_MIGRATION)) {
+            if (in == null) {
+                throw new IllegalStateException("Migration not on the classpath: " + SEARCH_MIGRATION);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
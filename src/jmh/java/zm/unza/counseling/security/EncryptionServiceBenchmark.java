@@ -0,0 +1,56 @@
+package zm.unza.counseling.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EncryptionService} round trips for a short field (a phone number or note title) and a
+ * session-note sized payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptionServiceBenchmark {
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private EncryptionService encryptionService;
+    private String plainText;
+    private String cipherText;
+
+    @Setup
+    public void setUp() throws Exception {
+        encryptionService = new EncryptionService();
+        StringBuilder text = new StringBuilder(size);
+        for (int i = 0; text.length() < size; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        plainText = text.toString();
+        cipherText = encryptionService.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return encryptionService.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return encryptionService.decrypt(cipherText);
+    }
+}
@@ -0,0 +1,63 @@
+package zm.unza.counseling.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CrisisDetectionService#scan} over a message subject and body, as run on every chat message,
+ * intake form and self-assessment note. A trigger phrase, when present, is placed at the end of the
+ * body so the whole text is searched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrisisDetectionBenchmark {
+
+    private static final String FILLER = "I have been finding it difficult to keep up with assignments this semester "
+            + "and my sleep has not been great since the exams started. ";
+
+    @Param({"clean", "high", "critical"})
+    public String content;
+
+    @Param({"280", "4000"})
+    public int bodyLength;
+
+    private final CrisisDetectionService service = new CrisisDetectionService();
+    private String subject;
+    private String body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(bodyLength + 64);
+        while (text.length() < bodyLength) {
+            text.append(FILLER);
+        }
+        text.setLength(bodyLength);
+        switch (content) {
+            case "high" -> text.append(" Lately I feel hopeless about all of it.");
+            case "critical" -> text.append(" Some days I feel like I want to die.");
+            default -> text.append(" Thank you for your time.");
+        }
+        subject = "Follow-up on my last session";
+        body = text.toString();
+    }
+
+    @Benchmark
+    public CrisisDetectionService.CrisisResult scan() {
+        return service.scan(subject, body);
+    }
+}
@@ -0,0 +1,63 @@
+package zm.unza.counseling.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import zm.unza.counseling.config.JwtConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} signing and the parse/validate path the authentication filter runs on every
+ * request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("benchmark-secret-key-that-is-long-enough-for-hmac-sha256-signing");
+        config.setExpiration(TimeUnit.HOURS.toMillis(24));
+        config.setRefreshExpiration(TimeUnit.DAYS.toMillis(7));
+        jwtService = new JwtService(config);
+        userDetails = User.withUsername("student@unza.zm")
+                .password("unused")
+                .authorities("ROLE_STUDENT")
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+}
@@ -0,0 +1,95 @@
+package zm.unza.counseling.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+import zm.unza.counseling.config.JacksonConfig;
+import zm.unza.counseling.dto.sis.SisResultsDtos;
+import zm.unza.counseling.repository.AcademicQualificationRepository;
+import zm.unza.counseling.repository.ClientRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SisResultsService#parseResponse} on SIS results payloads. The payload is produced by
+ * serializing the SIS DTOs, so it has the same field names the live API returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SisResultsBenchmark {
+
+    /** Course rows in the history; 60 is a typical final-year student. */
+    @Param({"10", "60"})
+    public int courses;
+
+    private SisResultsService sisResultsService;
+    private String payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        sisResultsService = new SisResultsService(new RestTemplate(), objectMapper,
+                Mockito.mock(ClientRepository.class), Mockito.mock(AcademicQualificationRepository.class));
+
+        List<SisResultsDtos.StudentCourseHistory> history = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            String sessionId = String.valueOf(2020 + i / 10);
+            history.add(SisResultsDtos.StudentCourseHistory.builder()
+                    .intakeBatch(SisResultsDtos.IntakeBatch.builder()
+                            .periodName("Full Year").sessionId(sessionId).intakeId("12").build())
+                    .program(SisResultsDtos.Program.builder()
+                            .programDescription("Bachelor of Science in Computer Science").programAbbrev("BSC-CS").build())
+                    .study(SisResultsDtos.Study.builder().studyDescription("Full Time").build())
+                    .course(SisResultsDtos.Course.builder()
+                            .courseCode("CSC" + (1000 + i)).credits("15").courseDescription("Course " + i).build())
+                    .session(SisResultsDtos.Session.builder()
+                            .sessionCode(sessionId + "/" + (2021 + i / 10)).sessionEnd(sessionId + "-12-15").id(sessionId).build())
+                    .studentCourse(SisResultsDtos.StudentCourse.builder()
+                            .sessionId(sessionId).intakeId("12").tmpFinalGrade(String.valueOf(45 + i % 50)).build())
+                    .studentEndcomment(SisResultsDtos.StudentEndcomment.builder()
+                            .resultsWithheld("0").resultsPublished("1").build())
+                    .student(SisResultsDtos.Student.builder()
+                            .studentId("2019012345").surname("Banda").middleName("K").firstName("Chipo").gender("F").build())
+                    .studentStatus(SisResultsDtos.StudentStatus.builder().statusId("1").build())
+                    .comment(SisResultsDtos.Comment.builder().commentDescr("Clear pass").commentCode("CP").build())
+                    .grades(SisResultsDtos.Grades.builder().gradeCode(i % 3 == 0 ? "B+" : "C").gradepoint("3").build())
+                    .build());
+        }
+        SisResultsDtos.StudentInfo info = SisResultsDtos.StudentInfo.builder()
+                .studentId("2019012345").firstName("Chipo").lastName("Banda")
+                .programme("Bachelor of Science in Computer Science").faculty("Natural Sciences")
+                .department("Computer Science").yearOfStudy(4)
+                .currentGpa(new BigDecimal("3.10")).cumulativeGpa(new BigDecimal("3.02"))
+                .totalCreditsEarned(courses * 15).totalCreditsAttempted(courses * 15)
+                .classification("Credit")
+                .build();
+        payload = objectMapper.writeValueAsString(SisResultsDtos.SisResultsResponse.builder()
+                .status("success")
+                .message("Results retrieved")
+                .data(SisResultsDtos.SisResultsData.builder().studentCourseHistory(history).studentInfo(info).build())
+                .build());
+    }
+
+    @Benchmark
+    public SisResultsDtos.SisResultsResponse parseResponse() {
+        return sisResultsService.parseResponse(payload);
+    }
+}
@@ -0,0 +1,50 @@
+package zm.unza.counseling.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TotpService#verify(String, String)} during MFA login. Every time-step window is computed
+ * whether or not the code matches, so a fixed code measures the same work as a valid one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TotpServiceBenchmark {
+
+    private final TotpService totpService = new TotpService();
+    private String secret;
+
+    @Setup
+    public void setUp() {
+        secret = totpService.generateSecret();
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return totpService.verify(secret, "123456");
+    }
+
+    /**
+     * Concurrent logins, each thread re-keying its own cached Mac instance.
+     */
+    @Benchmark
+    @Threads(4)
+    public boolean verifyConcurrent() {
+        return totpService.verify(secret, "123456");
+    }
+}
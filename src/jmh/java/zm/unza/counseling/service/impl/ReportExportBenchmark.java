@@ -0,0 +1,122 @@
+package zm.unza.counseling.service.impl;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zm.unza.counseling.config.JacksonConfig;
+import zm.unza.counseling.entity.Report;
+import zm.unza.counseling.repository.AppointmentRepository;
+import zm.unza.counseling.repository.CaseRepository;
+import zm.unza.counseling.repository.ReportRepository;
+import zm.unza.counseling.repository.SessionRepository;
+import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.service.AuditLogService;
+import zm.unza.counseling.service.ClientIdentityService;
+import zm.unza.counseling.service.NotificationService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF, CSV and JSON rendering in {@link ReportServiceImpl#exportReport} and the legacy CSV listing.
+ * Repositories are stubbed and the report carries no linked client, case or session, so the numbers
+ * cover building, flattening and rendering the export rather than data access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportExportBenchmark {
+
+    private static final long REPORT_ID = 1L;
+
+    @Param({"pdf", "csv", "json"})
+    public String format;
+
+    /** Entries in the report's data section; 400 spans several PDF pages. */
+    @Param({"20", "400"})
+    public int dataEntries;
+
+    private ReportServiceImpl reportService;
+
+    @Setup
+    public void setUp() {
+        ReportRepository reportRepository = Mockito.mock(ReportRepository.class);
+        reportService = new ReportServiceImpl(
+                reportRepository,
+                Mockito.mock(CaseRepository.class),
+                Mockito.mock(AppointmentRepository.class),
+                Mockito.mock(SessionRepository.class),
+                Mockito.mock(UserRepository.class),
+                Mockito.mock(AuditLogService.class),
+                new JacksonConfig().objectMapper(),
+                Mockito.mock(ClientIdentityService.class),
+                Mockito.mock(NotificationService.class));
+
+        Mockito.when(reportRepository.findById(REPORT_ID)).thenReturn(Optional.of(report(REPORT_ID, dataEntries)));
+
+        List<Report> listing = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            listing.add(report(id, 0));
+        }
+        Mockito.when(reportRepository.findAll()).thenReturn(listing);
+    }
+
+    @Benchmark
+    public byte[] exportReport() {
+        return reportService.exportReport(REPORT_ID, format);
+    }
+
+    /**
+     * 1000-row listing; independent of the {@code format} and {@code dataEntries} parameters.
+     */
+    @Benchmark
+    public byte[] exportReportLegacy() {
+        return reportService.exportReportLegacy("csv");
+    }
+
+    private static Report report(long id, int dataEntries) {
+        Report report = new Report();
+        report.setId(id);
+        report.setTitle("Quarterly counseling summary, \"Faculty of Education\" #" + id);
+        report.setDescription("Sessions, outcomes and presenting concerns for the quarter");
+        report.setType("COUNSELOR_REPORT");
+        report.setFormat("PDF");
+        report.setStatus("COMPLETED");
+        report.setReportDate(LocalDateTime.of(2026, 9, 30, 17, 0));
+        report.setGeneratedAt(LocalDateTime.of(2026, 10, 1, 8, 0));
+        report.setCreatedAt(LocalDateTime.of(2026, 10, 1, 8, 0));
+        report.setUpdatedAt(LocalDateTime.of(2026, 10, 1, 8, 5));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < dataEntries; i++) {
+            if (i % 10 == 0) {
+                Map<String, Object> nested = new LinkedHashMap<>();
+                nested.put("sessions", i * 3);
+                nested.put("noShows", i % 7);
+                nested.put("summary", "Attendance improved after the mid-term check-in; follow-up scheduled");
+                data.put("week" + i, nested);
+            } else {
+                data.put("observation" + i, "Client reported improved sleep and reduced anxiety before tests, item " + i);
+            }
+        }
+        report.setReportData(data);
+        return report;
+    }
+}
@@ -0,0 +1,70 @@
+package zm.unza.counseling.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Population rescoring: {@link RiskCalculator#scoreAll} against calling {@link RiskCalculator#score}
+ * once per client over the same inputs. About a fifth of the inputs are missing, matching clients
+ * without recent assessments or GPA history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RiskCalculatorBenchmark {
+
+    @Param({"10000", "100000"})
+    public int clients;
+
+    private RiskCalculator.Batch batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        batch = new RiskCalculator.Batch(clients);
+        for (int i = 0; i < clients; i++) {
+            if (random.nextInt(5) != 0) {
+                batch.phq9[i] = random.nextInt(28);
+                batch.gad7[i] = random.nextInt(22);
+                batch.pss[i] = random.nextInt(41);
+            }
+            batch.crisisHits[i] = random.nextInt(50) == 0 ? 1 + random.nextInt(3) : 0;
+            if (random.nextInt(5) != 0) {
+                batch.gpa[i] = 1.0 + random.nextDouble() * 3.0;
+                batch.gpaChange[i] = random.nextDouble() - 0.6;
+            }
+            batch.appointments[i] = random.nextInt(8);
+            batch.noShows[i] = batch.appointments[i] > 0 ? random.nextInt(batch.appointments[i] + 1) : 0;
+        }
+    }
+
+    @Benchmark
+    public int[] scoreAll() {
+        return RiskCalculator.scoreAll(batch);
+    }
+
+    @Benchmark
+    public int[] scoreEach() {
+        int[] scores = new int[clients];
+        for (int i = 0; i < clients; i++) {
+            scores[i] = RiskCalculator.score(batch.phq9[i], batch.gad7[i], batch.pss[i], batch.crisisHits[i],
+                    batch.gpa[i], batch.gpaChange[i], batch.noShows[i], batch.appointments[i]);
+        }
+        return scores;
+    }
+}
@@ -3,11 +3,14 @@ package zm.unza.counseling.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Base URL of the university clinic system, used by {@link zm.unza.counseling.service.ClinicAlertSyncService}
  * to push SecurityAlert records created on this side over to the clinic system.
  *
- * Bound from CLINIC_SYSTEM_URL via application.yml (app.clinic.base-url).
+ * Bound from CLINIC_SYSTEM_URL via application.yml (app.clinic.base-url). Delivery tuning for the
+ * outbound sync outbox lives under app.clinic.sync.
  */
 @Configuration
 @ConfigurationProperties(prefix = "app.clinic")
@@ -15,6 +18,8 @@ public class ClinicProperties {
 
     private String baseUrl;
 
+    private final Sync sync = new Sync();
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -23,7 +28,85 @@ public class ClinicProperties {
         this.baseUrl = baseUrl;
     }
 
+    public Sync getSync() {
+        return sync;
+    }
+
     public boolean isConfigured() {
         return baseUrl != null && !baseUrl.isBlank();
     }
+
+    public static class Sync {
+
+        /** Max outbox rows claimed per dispatch cycle. */
+        private int batchSize = 50;
+
+        /** Attempts before a row is parked as DEAD. */
+        private int maxAttempts = 12;
+
+        private Duration initialBackoff = Duration.ofSeconds(5);
+
+        private Duration maxBackoff = Duration.ofMinutes(30);
+
+        /** How long a claimed row stays invisible to other nodes while it is being sent. */
+        private Duration claimLease = Duration.ofMinutes(2);
+
+        /**
+         * Optional clinic endpoint accepting a JSON array of status updates. When blank, status
+         * updates are sent one PATCH per alert.
+         */
+        private String statusBatchPath;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getClaimLease() {
+            return claimLease;
+        }
+
+        public void setClaimLease(Duration claimLease) {
+            this.claimLease = claimLease;
+        }
+
+        public String getStatusBatchPath() {
+            return statusBatchPath;
+        }
+
+        public void setStatusBatchPath(String statusBatchPath) {
+            this.statusBatchPath = statusBatchPath;
+        }
+
+        public boolean hasStatusBatchPath() {
+            return statusBatchPath != null && !statusBatchPath.isBlank();
+        }
+    }
 }
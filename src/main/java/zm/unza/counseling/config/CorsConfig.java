@@ -23,6 +23,9 @@ public class CorsConfig {
         
         config.addAllowedMethod("*");
         config.addAllowedHeader("*");
+        // Paging metadata of the contact picker, readable by browser clients
+        config.addExposedHeader("X-Total-Count");
+        config.addExposedHeader("X-Has-More");
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
         
@@ -0,0 +1,60 @@
+package zm.unza.counseling.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * SMTP delivery tuning for {@link zm.unza.counseling.service.mail.SmtpConnectionPool}. Server,
+ * credentials and TLS stay under spring.mail; this covers how connections are reused and how fast
+ * messages go out, which depends on the provider's limits.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.mail")
+public class MailDeliveryProperties {
+
+    /** Open SMTP connections at most, across all sending threads. */
+    private int maxConnections = 2;
+
+    /** Messages sent over one connection before it is closed and replaced. */
+    private int maxMessagesPerConnection = 100;
+
+    /** Idle connections are closed after this long, before the server drops them itself. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Messages per second across the application; 0 disables throttling. */
+    private double maxPerSecond = 5;
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxMessagesPerConnection() {
+        return maxMessagesPerConnection;
+    }
+
+    public void setMaxMessagesPerConnection(int maxMessagesPerConnection) {
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public double getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(double maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+}
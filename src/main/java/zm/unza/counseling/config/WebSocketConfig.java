@@ -1,12 +1,14 @@
 package zm.unza.counseling.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import zm.unza.counseling.config.querycount.QueryCountChannelInterceptor;
 import zm.unza.counseling.security.StompAuthChannelInterceptor;
 
 /**
@@ -18,6 +20,7 @@ import zm.unza.counseling.security.StompAuthChannelInterceptor;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final ObjectProvider<QueryCountChannelInterceptor> queryCountChannelInterceptor;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -43,5 +46,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompAuthChannelInterceptor);
+        // Absent when app.query-count.enabled=false
+        queryCountChannelInterceptor.ifAvailable(registration::interceptors);
     }
 }
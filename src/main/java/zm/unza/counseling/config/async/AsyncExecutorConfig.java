@@ -0,0 +1,122 @@
+package zm.unza.counseling.config.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated executors per workload, so slow SMTP, notification queries and report rendering cannot
+ * starve each other or the common ForkJoinPool:
+ * <ul>
+ *   <li>{@code mailExecutor}: SMTP delivery for the in-process email queue.</li>
+ *   <li>{@code notificationExecutor}: notification reads and the other in-process queue consumers,
+ *       all JDBC-bound.</li>
+ *   <li>{@code reportExecutor}: report export rendering; runs with the caller's security context.</li>
+ * </ul>
+ *
+ * Plain {@code @Async} methods default to the notification pool.
+ *
+ * Every pool is registered with Micrometer under {@code executor.*} tagged {@code name=<bean>}:
+ * active threads, pool size, queued and remaining queue capacity, plus {@code executor} (task run
+ * time) and {@code executor.idle} (time spent queued) timers.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class AsyncExecutorConfig implements AsyncConfigurer {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String REPORT_EXECUTOR = "reportExecutor";
+
+    private final ExecutorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean(name = MAIL_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService mailExecutor() {
+        return monitored(MAIL_EXECUTOR, properties.getMail());
+    }
+
+    @Bean(name = NOTIFICATION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService notificationExecutor() {
+        return monitored(NOTIFICATION_EXECUTOR, properties.getNotification());
+    }
+
+    @Bean(name = REPORT_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService reportExecutor() {
+        return new DelegatingSecurityContextExecutorService(monitored(REPORT_EXECUTOR, properties.getReport()));
+    }
+
+    /**
+     * Plain {@code @Async} methods run on the notification pool rather than an unbounded default.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return notificationExecutor();
+    }
+
+    private ExecutorService monitored(String name, ExecutorProperties.Pool pool) {
+        int coreSize = Math.max(1, pool.getCoreSize());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                coreSize,
+                Math.max(coreSize, pool.getMaxSize()),
+                pool.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, pool.getQueueCapacity())),
+                threadFactory(name),
+                rejectionHandler(pool.getRejection()));
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, name, Tags.empty());
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(ExecutorProperties.Rejection rejection) {
+        return rejection == ExecutorProperties.Rejection.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        String prefix = name.replace("Executor", "") + "-";
+        if (properties.isVirtualThreads()) {
+            ThreadFactory virtual = virtualThreadFactory(prefix);
+            if (virtual != null) {
+                return virtual;
+            }
+            log.warn("Virtual threads requested for {} but not supported by this JVM; using platform threads", name);
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * {@code Thread.ofVirtual().name(prefix, 0).factory()}, looked up reflectively so the code still
+     * compiles and runs on Java 17. Returns null where virtual threads are unavailable.
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
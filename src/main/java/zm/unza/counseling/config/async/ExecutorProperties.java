@@ -0,0 +1,116 @@
+package zm.unza.counseling.config.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the workload executors built by {@link AsyncExecutorConfig}. Each pool has a bounded
+ * queue; what happens when both threads and queue are full is set by {@code rejection}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+
+    /**
+     * Run pool workers on virtual threads when the JVM supports them (Java 21+). Pool sizes and
+     * queue bounds still apply, so they act as concurrency limits rather than thread budgets.
+     */
+    private boolean virtualThreads = false;
+
+    private final Pool mail = new Pool(2, 4, 500, Rejection.ABORT);
+    private final Pool notification = new Pool(2, 8, 1000, Rejection.CALLER_RUNS);
+    private final Pool report = new Pool(1, 2, 10, Rejection.ABORT);
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public Pool getMail() {
+        return mail;
+    }
+
+    public Pool getNotification() {
+        return notification;
+    }
+
+    public Pool getReport() {
+        return report;
+    }
+
+    public enum Rejection {
+        /** Fail the submission with {@link java.util.concurrent.RejectedExecutionException}. */
+        ABORT,
+        /** Run the task on the submitting thread, slowing the producer down. */
+        CALLER_RUNS
+    }
+
+    public static class Pool {
+
+        private int coreSize;
+
+        private int maxSize;
+
+        /** Tasks waiting for a thread; extra threads up to maxSize start only once this is full. */
+        private int queueCapacity;
+
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        private Rejection rejection;
+
+        public Pool() {
+        }
+
+        Pool(int coreSize, int maxSize, int queueCapacity, Rejection rejection) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.rejection = rejection;
+        }
+
+        public int getCoreSize() {
+            return coreSize;
+        }
+
+        public void setCoreSize(int coreSize) {
+            this.coreSize = coreSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Rejection getRejection() {
+            return rejection;
+        }
+
+        public void setRejection(Rejection rejection) {
+            this.rejection = rejection;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package zm.unza.counseling.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured datasource with a primary/replica pair when
+ * {@code app.datasource.read-replica.enabled} is set. Both pools are beans of their own, so
+ * Micrometer reports {@code hikaricp.*} metrics for each under its pool name, and the routing
+ * datasource in front of them is what JPA, Flyway and JdbcTemplate see.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /** The pool Spring Boot would otherwise create, configured from {@code spring.datasource.*}. */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource readReplicaDataSource(ReadReplicaProperties replica, DataSourceProperties primary,
+                                                  HikariDataSource primaryDataSource) {
+        if (!StringUtils.hasText(replica.getUrl())) {
+            throw new IllegalStateException("app.datasource.read-replica.url is required when the read replica is enabled");
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(StringUtils.hasText(primaryDataSource.getPoolName())
+                ? primaryDataSource.getPoolName() + "-replica" : "replica");
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername())
+                ? replica.getUsername() : primary.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(replica.getUsername())
+                ? replica.getPassword() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setMinimumIdle(replica.getMinimumIdle());
+        dataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+        dataSource.setIdleTimeout(primaryDataSource.getIdleTimeout());
+        dataSource.setMaxLifetime(primaryDataSource.getMaxLifetime());
+        dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource readReplicaDataSource,
+                                 ReadReplicaProperties replica) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(replica.getRoutedTransactions());
+        routing.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReadReplicaRoutingDataSource.REPLICA, readReplicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,99 @@
+package zm.unza.counseling.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional read replica for analytics queries, wired by {@link ReadReplicaDataSourceConfig}.
+ * Only read-only transactions of the listed services go to the replica; everything else, and
+ * every transaction while the replica is disabled, uses the primary datasource.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.read-replica")
+public class ReadReplicaProperties {
+
+    /** Route analytics transactions to the replica at {@link #url}. */
+    private boolean enabled = false;
+
+    /** JDBC URL of the replica. */
+    private String url;
+
+    /** Replica credentials; the primary datasource's are used when blank. */
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    private int minimumIdle = 2;
+
+    /**
+     * Transaction name prefixes (declaring class and method, as Spring names
+     * {@code @Transactional} methods) whose read-only transactions read from the replica.
+     * Replication lag is acceptable for these; user-facing reads that must see their own writes
+     * stay on the primary.
+     */
+    private List<String> routedTransactions = new ArrayList<>(List.of(
+            "zm.unza.counseling.service.AnalyticsService.",
+            "zm.unza.counseling.service.AppointmentStatisticsService.",
+            "zm.unza.counseling.service.DashboardService."));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public void setMinimumIdle(int minimumIdle) {
+        this.minimumIdle = minimumIdle;
+    }
+
+    public List<String> getRoutedTransactions() {
+        return routedTransactions;
+    }
+
+    public void setRoutedTransactions(List<String> routedTransactions) {
+        this.routedTransactions = routedTransactions;
+    }
+}
@@ -0,0 +1,36 @@
+package zm.unza.counseling.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Picks the replica for read-only transactions whose name starts with one of the routed
+ * prefixes, the primary for everything else. The lookup happens when a connection is
+ * requested, so it must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the read-only flag and name are bound.
+ */
+class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final List<String> routedTransactions;
+
+    ReadReplicaRoutingDataSource(List<String> routedTransactions) {
+        this.routedTransactions = List.copyOf(routedTransactions);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name != null && routedTransactions.stream().anyMatch(name::startsWith)) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,169 @@
+package zm.unza.counseling.config.messaging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Async work pipelines behind {@link zm.unza.counseling.service.messaging.MessagePublisher}.
+ *
+ * {@code broker=rabbit} (the default) publishes to the durable exchanges declared in
+ * {@link RabbitConfig} and consumes them with batch listeners. {@code broker=in-process} runs the
+ * same consumers on local worker threads; queued messages are lost on restart, so it has to be
+ * chosen explicitly and is only set for development and tests. Per-queue consumer tuning applies
+ * to both.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging")
+public class MessagingProperties {
+
+    public static final String BROKER_RABBIT = "rabbit";
+    public static final String BROKER_IN_PROCESS = "in-process";
+
+    private String broker = BROKER_RABBIT;
+
+    /** How long a consumer waits for a batch to fill before handling what it has. */
+    private Duration batchReceiveTimeout = Duration.ofMillis(250);
+
+    private final InProcess inProcess = new InProcess();
+
+    private final Consumer appointment = new Consumer(2, 4, 50, 25);
+    private final Consumer riskAlert = new Consumer(1, 2, 10, 10);
+    private final Consumer email = new Consumer(2, 4, 20, 20);
+    private final Consumer audit = new Consumer(1, 2, 250, 100);
+    private final Consumer notification = new Consumer(2, 4, 100, 50);
+
+    public String getBroker() {
+        return broker;
+    }
+
+    public void setBroker(String broker) {
+        this.broker = broker;
+    }
+
+    public Duration getBatchReceiveTimeout() {
+        return batchReceiveTimeout;
+    }
+
+    public void setBatchReceiveTimeout(Duration batchReceiveTimeout) {
+        this.batchReceiveTimeout = batchReceiveTimeout;
+    }
+
+    public InProcess getInProcess() {
+        return inProcess;
+    }
+
+    public Consumer getAppointment() {
+        return appointment;
+    }
+
+    public Consumer getRiskAlert() {
+        return riskAlert;
+    }
+
+    public Consumer getEmail() {
+        return email;
+    }
+
+    public Consumer getAudit() {
+        return audit;
+    }
+
+    public Consumer getNotification() {
+        return notification;
+    }
+
+    public Consumer consumer(String queue) {
+        return switch (queue) {
+            case RabbitConfig.APPOINTMENT_QUEUE -> appointment;
+            case RabbitConfig.RISK_ALERT_QUEUE -> riskAlert;
+            case RabbitConfig.EMAIL_QUEUE -> email;
+            case RabbitConfig.AUDIT_LOG_QUEUE -> audit;
+            case RabbitConfig.NOTIFICATION_QUEUE -> notification;
+            default -> throw new IllegalArgumentException("Unknown queue: " + queue);
+        };
+    }
+
+    public static class InProcess {
+
+        /** Buffered messages per queue; when full, publishers handle the message themselves. */
+        private int capacity = 10_000;
+
+        /** Handle every message on the publishing thread, for tests that assert on side effects. */
+        private boolean synchronous = false;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public boolean isSynchronous() {
+            return synchronous;
+        }
+
+        public void setSynchronous(boolean synchronous) {
+            this.synchronous = synchronous;
+        }
+    }
+
+    public static class Consumer {
+
+        /** Consumers started per queue. */
+        private int concurrency;
+
+        /** Upper bound the Rabbit container may scale to under sustained load. */
+        private int maxConcurrency;
+
+        /** Unacknowledged messages the broker may push to each consumer. */
+        private int prefetch;
+
+        /** Messages handed to the listener, and acknowledged, in one go. */
+        private int batchSize;
+
+        public Consumer() {
+        }
+
+        Consumer(int concurrency, int maxConcurrency, int prefetch, int batchSize) {
+            this.concurrency = concurrency;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package zm.unza.counseling.config.messaging;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broker topology for the async work pipelines. Active unless {@code app.messaging.broker=in-process}
+ * is set, in which case the in-process transport stands in and none of these beans exist.
+ *
+ * Every work queue dead-letters to {@link #DEAD_LETTER_EXCHANGE}, routed by its own name into
+ * {@code <queue>.dlq}. Each queue has its own batch listener container factory so concurrency,
+ * prefetch and batch size can be tuned per workload (see {@link MessagingProperties}).
+ */
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.messaging.broker", havingValue = MessagingProperties.BROKER_RABBIT, matchIfMissing = true)
 public class RabbitConfig {
 
     // Exchange names
@@ -34,9 +50,27 @@ public class RabbitConfig {
     public static final String AUDIT_LOG_KEY = "audit.log";
     public static final String NOTIFICATION_SEND_KEY = "notification.send";
 
+    // Dead lettering
+    public static final String DEAD_LETTER_EXCHANGE = "counseling.dlx";
+    public static final String DEAD_LETTER_SUFFIX = ".dlq";
+
+    // Listener container factories, one per queue
+    public static final String APPOINTMENT_LISTENER_FACTORY = "appointmentListenerContainerFactory";
+    public static final String RISK_ALERT_LISTENER_FACTORY = "riskAlertListenerContainerFactory";
+    public static final String EMAIL_LISTENER_FACTORY = "emailListenerContainerFactory";
+    public static final String AUDIT_LOG_LISTENER_FACTORY = "auditLogListenerContainerFactory";
+    public static final String NOTIFICATION_LISTENER_FACTORY = "notificationListenerContainerFactory";
+
+    private static final List<String> WORK_QUEUES = List.of(
+            APPOINTMENT_QUEUE, RISK_ALERT_QUEUE, EMAIL_QUEUE, AUDIT_LOG_QUEUE, NOTIFICATION_QUEUE);
+
+    private final MessagingProperties messagingProperties;
+    private final ObjectMapper objectMapper;
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+        // Shared mapper so LocalDateTime fields serialize the same way as in the REST API
+        return new Jackson2JsonMessageConverter(objectMapper);
     }
 
     @Bean
@@ -63,27 +97,27 @@ public class RabbitConfig {
 
     @Bean
     public Queue appointmentQueue() {
-        return new Queue(APPOINTMENT_QUEUE, true);
+        return workQueue(APPOINTMENT_QUEUE);
     }
 
     @Bean
     public Queue riskAlertQueue() {
-        return new Queue(RISK_ALERT_QUEUE, true);
+        return workQueue(RISK_ALERT_QUEUE);
     }
 
     @Bean
     public Queue emailQueue() {
-        return new Queue(EMAIL_QUEUE, true);
+        return workQueue(EMAIL_QUEUE);
     }
 
     @Bean
     public Queue auditLogQueue() {
-        return new Queue(AUDIT_LOG_QUEUE, true);
+        return workQueue(AUDIT_LOG_QUEUE);
     }
 
     @Bean
     public Queue notificationQueue() {
-        return new Queue(NOTIFICATION_QUEUE, true);
+        return workQueue(NOTIFICATION_QUEUE);
     }
 
     @Bean
@@ -127,4 +161,82 @@ public class RabbitConfig {
                 .to(notificationExchange())
                 .with(NOTIFICATION_SEND_KEY);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE);
+    }
+
+    @Bean
+    public Declarables deadLetterQueues() {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String queue : WORK_QUEUES) {
+            Queue deadLetterQueue = QueueBuilder.durable(queue + DEAD_LETTER_SUFFIX).build();
+            declarables.add(deadLetterQueue);
+            declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange()).with(queue));
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean(APPOINTMENT_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory appointmentListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return batchListenerFactory(configurer, connectionFactory, messagingProperties.getAppointment());
+    }
+
+    @Bean(RISK_ALERT_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory riskAlertListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return batchListenerFactory(configurer, connectionFactory, messagingProperties.getRiskAlert());
+    }
+
+    @Bean(EMAIL_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory emailListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return batchListenerFactory(configurer, connectionFactory, messagingProperties.getEmail());
+    }
+
+    @Bean(AUDIT_LOG_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory auditLogListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return batchListenerFactory(configurer, connectionFactory, messagingProperties.getAudit());
+    }
+
+    @Bean(NOTIFICATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory notificationListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return batchListenerFactory(configurer, connectionFactory, messagingProperties.getNotification());
+    }
+
+    private static Queue workQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(name)
+                .build();
+    }
+
+    /**
+     * Consumer-side batching: the container collects up to {@code batchSize} deliveries (or
+     * whatever arrived within the receive timeout), hands them to the listener as one list and
+     * acknowledges them with a single multiple-ack. A listener exception rejects the batch without
+     * requeue, which routes it to the dead-letter queue.
+     */
+    private SimpleRabbitListenerContainerFactory batchListenerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                      ConnectionFactory connectionFactory,
+                                                                      MessagingProperties.Consumer consumer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setConcurrentConsumers(consumer.getConcurrency());
+        factory.setMaxConcurrentConsumers(Math.max(consumer.getConcurrency(), consumer.getMaxConcurrency()));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(consumer.getBatchSize());
+        // A batch is only acknowledged once complete, so the broker must be allowed to push at least one full batch
+        factory.setPrefetchCount(Math.max(consumer.getPrefetch(), consumer.getBatchSize()));
+        factory.setReceiveTimeout(messagingProperties.getBatchReceiveTimeout().toMillis());
+        return factory;
+    }
+}
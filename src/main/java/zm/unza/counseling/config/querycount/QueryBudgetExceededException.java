@@ -0,0 +1,12 @@
+package zm.unza.counseling.config.querycount;
+
+/**
+ * An endpoint issued more SQL statements than its configured budget, with
+ * {@code app.query-count.fail-on-budget-exceeded} set.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String endpoint, int statements, int budget) {
+        super(endpoint + " issued " + statements + " SQL statements, budget is " + budget);
+    }
+}
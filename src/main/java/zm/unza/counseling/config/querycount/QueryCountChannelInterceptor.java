@@ -0,0 +1,49 @@
+package zm.unza.counseling.config.querycount;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Opens a {@link QueryScope} around each inbound STOMP message handled by a
+ * {@code @MessageMapping} method. Broker and user-destination handlers run no SQL and are skipped,
+ * so they do not dilute the per-message figures. Numeric destination segments
+ * ({@code /app/message.send/42}) are recorded as {@code {id}} to keep the endpoint tag bounded.
+ */
+public class QueryCountChannelInterceptor implements ExecutorChannelInterceptor {
+
+    private static final ThreadLocal<QueryScope> HANDLING = new ThreadLocal<>();
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final QueryCountRecorder recorder;
+
+    public QueryCountChannelInterceptor(QueryCountRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler) {
+            HANDLING.set(QueryScope.open());
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        QueryScope scope = HANDLING.get();
+        if (scope == null) {
+            return;
+        }
+        HANDLING.remove();
+        scope.close();
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String endpoint = destination != null ? NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}") : "UNKNOWN";
+        recorder.record("stomp", "STOMP " + endpoint, scope);
+    }
+}
@@ -0,0 +1,59 @@
+package zm.unza.counseling.config.querycount;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Per-request SQL instrumentation, replacing show-sql as the way to find chatty endpoints: every
+ * HTTP request and inbound STOMP message gets a {@link QueryScope}, Hibernate reports statements,
+ * JDBC time and entity loads into it, and {@link QueryCountRecorder} publishes the totals as
+ * metrics tagged by endpoint, flags repeated statements as N+1 candidates and enforces the
+ * budgets in {@link QueryCountProperties}.
+ *
+ * Disable with {@code app.query-count.enabled=false}; Hibernate is then configured as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfig {
+
+    /** Not exposed as a constant by Hibernate outside its internal bootstrap classes. */
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public QueryCountRecorder queryCountRecorder(MeterRegistry meterRegistry, QueryCountProperties properties) {
+        return new QueryCountRecorder(meterRegistry, properties);
+    }
+
+    /** Ordered ahead of the security filter chain so user lookups during authentication count too. */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCountRecorder recorder) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(recorder));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public QueryCountChannelInterceptor queryCountChannelInterceptor(QueryCountRecorder recorder) {
+        return new QueryCountChannelInterceptor(recorder);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountHibernateHooks.CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    QueryCountHibernateHooks.JdbcTimingListener.class.getName());
+            properties.put(INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new QueryCountHibernateHooks.EntityLoadCountingIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package zm.unza.counseling.config.querycount;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryScope} around each HTTP request, security filters included, and records it
+ * under the matched mapping pattern so path variables do not multiply the tag values.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryCountRecorder recorder;
+
+    public QueryCountFilter(QueryCountRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryScope scope = QueryScope.open();
+        if (scope == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+        recorder.record("http", endpoint(request), scope);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
@@ -0,0 +1,89 @@
+package zm.unza.counseling.config.querycount;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * The Hibernate extension points feeding {@link QueryScope}. Hibernate creates session listeners
+ * itself from a class name, so all three reach the scope through its thread binding rather than
+ * through Spring.
+ */
+public final class QueryCountHibernateHooks {
+
+    private QueryCountHibernateHooks() {
+    }
+
+    /** Sees every SQL statement Hibernate prepares, including those from native queries. */
+    static class CountingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            QueryScope scope = QueryScope.current();
+            if (scope != null) {
+                scope.statementPrepared(sql);
+            }
+            return sql;
+        }
+    }
+
+    /** Times statement and batch execution; registered by class name, one instance per session. */
+    public static class JdbcTimingListener implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            QueryScope scope = QueryScope.current();
+            if (scope != null) {
+                scope.executeStarted();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            QueryScope scope = QueryScope.current();
+            if (scope != null) {
+                scope.executeFinished();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            jdbcExecuteStatementStart();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            jdbcExecuteStatementEnd();
+        }
+    }
+
+    /** Adds a post-load listener counting entities materialized from result sets. */
+    static class EntityLoadCountingIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) QueryCountHibernateHooks::entityLoaded);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+
+    private static void entityLoaded(PostLoadEvent event) {
+        QueryScope scope = QueryScope.current();
+        if (scope != null) {
+            scope.entityLoaded();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package zm.unza.counseling.config.querycount;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL instrumentation set up by {@link QueryCountConfig}: what counts as an N+1
+ * candidate and how many statements each endpoint may issue.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.query-count")
+public class QueryCountProperties {
+
+    /** Count statements, JDBC time and entity loads per HTTP request and STOMP message. */
+    private boolean enabled = true;
+
+    /**
+     * The same SQL executed this many times within one request is reported as an N+1 candidate,
+     * typically a lazy association or a repository call inside a loop.
+     */
+    private int repeatThreshold = 5;
+
+    /**
+     * Statement budgets by endpoint, keyed as in the {@code endpoint} metric tag: method and
+     * mapping pattern for HTTP ({@code "[GET /v1/conversations]"}), {@code STOMP} and destination
+     * for messages. Endpoints without an entry are not checked.
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    /**
+     * Throw {@link QueryBudgetExceededException} when a budget is exceeded instead of logging a
+     * warning. Meant for test profiles, so a regression fails the build.
+     */
+    private boolean failOnBudgetExceeded = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public Map<String, Integer> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Integer> budgets) {
+        this.budgets = budgets;
+    }
+
+    public boolean isFailOnBudgetExceeded() {
+        return failOnBudgetExceeded;
+    }
+
+    public void setFailOnBudgetExceeded(boolean failOnBudgetExceeded) {
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+}
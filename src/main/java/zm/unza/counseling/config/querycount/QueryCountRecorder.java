@@ -0,0 +1,86 @@
+package zm.unza.counseling.config.querycount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a finished {@link QueryScope}, tagged {@code transport} (http or stomp) and
+ * {@code endpoint}:
+ * <ul>
+ *   <li>{@code db.statements}: SQL statements per request.</li>
+ *   <li>{@code db.jdbc.time}: time spent executing them.</li>
+ *   <li>{@code db.entity.loads}: entities materialized per request.</li>
+ *   <li>{@code db.repeated.statements}: statements repeated past the threshold, i.e. N+1 candidates.</li>
+ * </ul>
+ *
+ * Each N+1 candidate is logged at WARN the first time it is seen for an endpoint and at DEBUG after
+ * that, so a hot endpoint does not flood the log.
+ */
+@Slf4j
+public class QueryCountRecorder {
+
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final QueryCountProperties properties;
+    private final Set<String> reportedRepeats = ConcurrentHashMap.newKeySet();
+
+    public QueryCountRecorder(MeterRegistry meterRegistry, QueryCountProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public void record(String transport, String endpoint, QueryScope scope) {
+        DistributionSummary.builder("db.statements")
+                .description("SQL statements issued per request")
+                .tags("transport", transport, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.getStatements());
+        Timer.builder("db.jdbc.time")
+                .description("JDBC execution time per request")
+                .tags("transport", transport, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("db.entity.loads")
+                .description("Entities loaded per request")
+                .tags("transport", transport, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.getEntityLoads());
+
+        for (Map.Entry<String, Integer> entry : scope.getExecutionsBySql().entrySet()) {
+            if (entry.getValue() >= properties.getRepeatThreshold()) {
+                reportRepeat(transport, endpoint, entry.getKey(), entry.getValue());
+            }
+        }
+
+        Integer budget = properties.getBudgets().get(endpoint);
+        if (budget != null && scope.getStatements() > budget) {
+            if (properties.isFailOnBudgetExceeded()) {
+                throw new QueryBudgetExceededException(endpoint, scope.getStatements(), budget);
+            }
+            log.warn("{} issued {} SQL statements, budget is {}", endpoint, scope.getStatements(), budget);
+        }
+    }
+
+    private void reportRepeat(String transport, String endpoint, String sql, int times) {
+        Counter.builder("db.repeated.statements")
+                .description("Statements executed repeatedly within one request (N+1 candidates)")
+                .tags("transport", transport, "endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        String shown = sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql;
+        if (reportedRepeats.add(endpoint + '\n' + sql)) {
+            log.warn("Possible N+1 in {}: statement executed {} times: {}", endpoint, times, shown);
+        } else {
+            log.debug("Possible N+1 in {}: statement executed {} times: {}", endpoint, times, shown);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package zm.unza.counseling.config.querycount;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of one unit of work (an HTTP request or a STOMP message), bound to the thread
+ * handling it. The Hibernate hooks record into the current scope and do nothing when there is
+ * none, so work on scheduler and executor threads is not counted.
+ */
+public final class QueryScope {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private long jdbcNanos;
+    private long executeStartedAt;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private QueryScope() {
+    }
+
+    /**
+     * Starts a scope on this thread, or returns null if one is already open (a forward or error
+     * dispatch inside a request), in which case the outer scope keeps counting.
+     */
+    static QueryScope open() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        QueryScope scope = new QueryScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    void close() {
+        CURRENT.remove();
+    }
+
+    static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void executeStarted() {
+        executeStartedAt = System.nanoTime();
+    }
+
+    void executeFinished() {
+        if (executeStartedAt != 0) {
+            jdbcNanos += System.nanoTime() - executeStartedAt;
+            executeStartedAt = 0;
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /** Statement text to the number of times it was prepared in this scope. */
+    public Map<String, Integer> getExecutionsBySql() {
+        return executionsBySql;
+    }
+}
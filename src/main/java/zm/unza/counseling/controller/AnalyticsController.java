@@ -9,11 +9,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zm.unza.counseling.dto.MentalHealthAcademicDtos;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.response.DashboardStatsResponse;
 import zm.unza.counseling.service.AnalyticsService;
 import zm.unza.counseling.service.DashboardService;
+import zm.unza.counseling.service.export.ExportFormat;
+import zm.unza.counseling.service.export.ExportService;
 
 @RestController
 @RequestMapping({"/api/v1/analytics", "/api/analytics", "/v1/analytics", "/analytics"})
@@ -23,6 +26,7 @@ public class AnalyticsController {
 
     private final DashboardService dashboardService;
     private final AnalyticsService analyticsService;
+    private final ExportService exportService;
 
     @GetMapping("/overview")
     @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
@@ -84,10 +88,7 @@ public class AnalyticsController {
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Export analytics", description = "Export analytics data")
-    public ResponseEntity<byte[]> exportAnalytics(@RequestParam(defaultValue = "csv") String format) {
-        byte[] data = analyticsService.exportAnalytics(format);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=analytics." + format)
-                .body(data);
+    public ResponseEntity<StreamingResponseBody> exportAnalytics(@RequestParam(defaultValue = "csv") String format) {
+        return exportService.respond(analyticsService.exportAnalytics(), ExportFormat.from(format));
     }
 }
\ No newline at end of file
@@ -1,15 +1,19 @@
 package zm.unza.counseling.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import zm.unza.counseling.dto.response.AnonymousActivityPageResponse;
 import zm.unza.counseling.dto.response.AnonymousUserActivityDto;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.service.AnonymousActivityService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +30,16 @@ public class AnonymousActivityController {
         return ResponseEntity.ok(ApiResponse.success(anonymousActivityService.getAnonymousActivity()));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnonymousActivityPageResponse>> getAnonymousActivityPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterActivityAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                anonymousActivityService.getAnonymousActivityPage(afterActivityAt, afterId, limit)));
+    }
+
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getAnonymousActivityStats() {
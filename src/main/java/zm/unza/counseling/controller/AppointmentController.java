@@ -9,6 +9,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zm.unza.counseling.dto.AppointmentDto;
 import zm.unza.counseling.dto.AppointmentStats;
 import zm.unza.counseling.dto.AvailabilitySlot;
@@ -19,6 +20,8 @@ import zm.unza.counseling.dto.request.CancelRequest;
 import zm.unza.counseling.dto.request.RescheduleRequest;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.service.AppointmentService;
+import zm.unza.counseling.service.export.ExportFormat;
+import zm.unza.counseling.service.export.ExportService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +33,7 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final ExportService exportService;
 
     /**
      * Get all appointments with pagination
@@ -303,14 +307,11 @@ public class AppointmentController {
      */
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<byte[]> exportAppointments(
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
             @RequestParam(defaultValue = "csv") String format,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate) {
-        byte[] data = appointmentService.exportAppointments(format, startDate, endDate);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=appointments." + format)
-                .body(data);
+        return exportService.respond(appointmentService.exportAppointments(startDate, endDate), ExportFormat.from(format));
     }
 
     /**
@@ -275,7 +275,7 @@ public class AuthController {
         if (user.getTotpSecret() == null) {
             return ResponseEntity.badRequest().body(Map.of("error", "2FA setup not initiated. Call /2fa/enable first."));
         }
-        if (!totpService.verify(user.getTotpSecret(), code)) {
+        if (!totpService.verify(user.getId(), user.getTotpSecret(), code)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid 2FA code"));
         }
         user.setTwoFactorEnabled(true);
@@ -294,7 +294,7 @@ public class AuthController {
         if (!Boolean.TRUE.equals(user.getTwoFactorEnabled())) {
             return ResponseEntity.badRequest().body(Map.of("error", "2FA is not enabled"));
         }
-        if (!totpService.verify(user.getTotpSecret(), code)) {
+        if (!totpService.verify(user.getId(), user.getTotpSecret(), code)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid 2FA code"));
         }
         user.setTwoFactorEnabled(false);
@@ -1,14 +1,19 @@
 package zm.unza.counseling.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import zm.unza.counseling.dto.response.ApiResponse;
+import zm.unza.counseling.dto.response.ChatHistoryPageResponse;
 import zm.unza.counseling.entity.ChatMessage;
+import zm.unza.counseling.repository.ChatArchiveSegmentRepository.SegmentSummary;
 import zm.unza.counseling.repository.ChatMessageRepository;
+import zm.unza.counseling.service.ChatHistoryService;
 import zm.unza.counseling.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +23,7 @@ import java.util.Map;
 public class ChatController {
 
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatHistoryService chatHistoryService;
     private final UserService userService;
 
     /**
@@ -29,10 +35,40 @@ public class ChatController {
         return userService.getUserByEmail(authentication.getName()).getId();
     }
 
+    /**
+     * Most recent messages, newest first. Older messages are available through the paged endpoint.
+     */
     @GetMapping("/history/{userId}")
-    public ResponseEntity<ApiResponse<List<ChatMessage>>> getChatHistory(@PathVariable Long userId, Authentication authentication) {
-        List<ChatMessage> messages = chatMessageRepository.findByUserIdOrderByCreatedAtDesc(currentUserId(authentication));
-        return ResponseEntity.ok(ApiResponse.success(messages));
+    public ResponseEntity<ApiResponse<List<ChatMessage>>> getChatHistory(@PathVariable Long userId,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         Authentication authentication) {
+        ChatHistoryPageResponse page = chatHistoryService.getHistoryPage(currentUserId(authentication), null, null, limit);
+        return ResponseEntity.ok(ApiResponse.success(page.getItems()));
+    }
+
+    @GetMapping("/history/{userId}/page")
+    public ResponseEntity<ApiResponse<ChatHistoryPageResponse>> getChatHistoryPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                chatHistoryService.getHistoryPage(currentUserId(authentication), beforeCreatedAt, beforeId, limit)));
+    }
+
+    @GetMapping("/history/{userId}/archive")
+    public ResponseEntity<ApiResponse<List<SegmentSummary>>> getArchiveSegments(@PathVariable Long userId,
+                                                                                Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(chatHistoryService.getArchiveSegments(currentUserId(authentication))));
+    }
+
+    @GetMapping("/history/{userId}/archive/{segmentId}")
+    public ResponseEntity<ApiResponse<List<ChatMessage>>> getArchivedMessages(@PathVariable Long userId,
+                                                                              @PathVariable Long segmentId,
+                                                                              Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                chatHistoryService.getArchivedMessages(currentUserId(authentication), segmentId)));
     }
 
     @PostMapping("/message")
@@ -54,7 +90,7 @@ public class ChatController {
 
     @DeleteMapping("/history/{userId}")
     public ResponseEntity<ApiResponse> clearHistory(@PathVariable Long userId, Authentication authentication) {
-        chatMessageRepository.deleteByUserId(currentUserId(authentication));
+        chatHistoryService.clearHistory(currentUserId(authentication));
         return ResponseEntity.ok(ApiResponse.success(null, "History cleared"));
     }
 }
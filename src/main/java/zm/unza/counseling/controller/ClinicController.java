@@ -21,6 +21,7 @@ import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.response.ClinicReferralResponse;
 import zm.unza.counseling.dto.response.ClinicVisitFrequencyResponse;
 import zm.unza.counseling.dto.response.ClinicVisitResponse;
+import zm.unza.counseling.dto.response.FrequentVisitorPageResponse;
 import zm.unza.counseling.entity.ClinicReferral;
 import zm.unza.counseling.entity.SecurityAlert;
 import zm.unza.counseling.repository.UserRepository;
@@ -181,6 +182,21 @@ public class ClinicController {
                 clinicService.getFrequentVisitors(threshold, withinDays)));
     }
 
+    @GetMapping("/visits/frequent-visitors/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
+    @Operation(summary = "Scan frequent clinic visitors page by page",
+               description = "Keyset-paginated frequent-visitor scan ordered by visit count descending. " +
+                             "Pass nextAfterVisitCount/nextAfterClientId from the previous page as afterVisitCount/afterClientId")
+    public ResponseEntity<ApiResponse<FrequentVisitorPageResponse>> getFrequentVisitorsPage(
+            @RequestParam(defaultValue = "3") int threshold,
+            @RequestParam(defaultValue = "90") int withinDays,
+            @RequestParam(required = false) Long afterVisitCount,
+            @RequestParam(required = false) Long afterClientId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                clinicService.getFrequentVisitorsPage(threshold, withinDays, afterVisitCount, afterClientId, limit)));
+    }
+
     // ── Security Alerts (inbound from the clinic system) ────────────────
     //
     // These two endpoints are called by the clinic system's ClinicAlertSyncService
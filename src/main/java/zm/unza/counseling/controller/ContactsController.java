@@ -13,9 +13,13 @@ import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.response.UserResponse;
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.service.ContactDirectoryService;
 import zm.unza.counseling.service.UserService;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,25 +28,39 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ContactsController {
 
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_LIMIT = 500;
+
+    // Paging metadata for /available, sent as headers so the body stays a plain list
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String HAS_MORE_HEADER = "X-Has-More";
+
     private final UserService userService;
     private final UserRepository userRepository;
+    private final ContactDirectoryService contactDirectoryService;
 
+    /**
+     * One page of the contacts the caller can message, at most {@code limit} starting at
+     * {@code offset}. {@value #TOTAL_COUNT_HEADER} carries the total and {@value #HAS_MORE_HEADER}
+     * says whether a further page exists.
+     */
     @GetMapping("/available")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAvailableContacts(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
             User user = userService.getUserByUsernameOrEmail(userDetails.getUsername());
-            
-            List<User> contacts = userRepository.findAll().stream()
-                .filter(u -> !u.getId().equals(user.getId()))
-                .filter(u -> u.isCounselor() || u.isClient())
-                .collect(Collectors.toList());
 
-            List<UserResponse> responses = contacts.stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+            int from = Math.max(offset, 0);
+            ContactDirectoryService.AvailablePage page =
+                contactDirectoryService.findAvailable(user.getId(), from, resolveLimit(limit, DEFAULT_LIMIT));
 
-            return ResponseEntity.ok(ApiResponse.success(responses));
+            return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.total()))
+                .header(HAS_MORE_HEADER, String.valueOf(from + page.ids().size() < page.total()))
+                .body(ApiResponse.success(loadInOrder(page.ids())));
         } catch (Exception e) {
             log.error("Error getting available contacts", e);
             return ResponseEntity.internalServerError()
@@ -53,22 +71,14 @@ public class ContactsController {
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<UserResponse>>> searchContacts(
             @RequestParam String query,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
             User user = userService.getUserByUsernameOrEmail(userDetails.getUsername());
-            String lowerQuery = query.toLowerCase();
 
-            List<User> contacts = userRepository.findAll().stream()
-                .filter(u -> !u.getId().equals(user.getId()))
-                .filter(u -> {
-                    String name = u.getFirstName() + " " + u.getLastName();
-                    return name.toLowerCase().contains(lowerQuery) ||
-                           u.getEmail().toLowerCase().contains(lowerQuery);
-                })
-                .collect(Collectors.toList());
+            List<Long> ids = contactDirectoryService.search(query, user.getId(), resolveLimit(limit, DEFAULT_SEARCH_LIMIT));
 
-            return ResponseEntity.ok(ApiResponse.success(
-                contacts.stream().map(this::mapToUserResponse).collect(Collectors.toList())));
+            return ResponseEntity.ok(ApiResponse.success(loadInOrder(ids)));
         } catch (Exception e) {
             log.error("Error searching contacts", e);
             return ResponseEntity.internalServerError()
@@ -76,6 +86,24 @@ public class ContactsController {
         }
     }
 
+    private int resolveLimit(Integer limit, int defaultLimit) {
+        return limit == null || limit <= 0 ? defaultLimit : Math.min(limit, MAX_LIMIT);
+    }
+
+    // The directory ranks; one query then loads just the page of users, kept in ranked order
+    private List<UserResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAllWithRolesByIdIn(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToUserResponse)
+            .collect(Collectors.toList());
+    }
+
     private UserResponse mapToUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
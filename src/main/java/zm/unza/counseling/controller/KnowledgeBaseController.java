@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.entity.KnowledgeBaseArticle;
 import zm.unza.counseling.repository.KnowledgeBaseArticleRepository;
+import zm.unza.counseling.service.PublicContentCache;
+import zm.unza.counseling.service.ViewCounterService;
 
 import java.util.List;
 import java.util.Map;
@@ -17,15 +20,16 @@ import java.util.Map;
 public class KnowledgeBaseController {
 
     private final KnowledgeBaseArticleRepository articleRepository;
+    private final ViewCounterService viewCounterService;
+    private final PublicContentCache publicContentCache;
 
     /**
      * Get all published articles (public)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<KnowledgeBaseArticle>>> getPublishedArticles() {
+    public ResponseEntity<byte[]> getPublishedArticles(WebRequest webRequest) {
         
-        List<KnowledgeBaseArticle> articles = articleRepository.findByPublishedTrueOrderByViewCountDesc();
-        return ResponseEntity.ok(ApiResponse.success(articles));
+        return publicContentCache.respond(PublicContentCache.Key.KNOWLEDGE_BASE_PUBLISHED, webRequest);
     }
 
     /**
@@ -37,9 +41,8 @@ public class KnowledgeBaseController {
         KnowledgeBaseArticle article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
         
-        // Increment view count
-        article.setViewCount(article.getViewCount() + 1);
-        articleRepository.save(article);
+        // Buffered; written with the next batched flush
+        viewCounterService.increment(ViewCounterService.Counter.ARTICLE_VIEW, id);
         
         return ResponseEntity.ok(ApiResponse.success(article));
     }
@@ -83,6 +86,8 @@ public class KnowledgeBaseController {
         article.setPublished(false);
         
         article = articleRepository.save(article);
+        viewCounterService.invalidatePublishedArticles();
+        publicContentCache.invalidate(PublicContentCache.Key.KNOWLEDGE_BASE_PUBLISHED);
         
         return ResponseEntity.ok(ApiResponse.success(article, "Article created successfully"));
     }
@@ -106,6 +111,8 @@ public class KnowledgeBaseController {
         if (payload.containsKey("published")) article.setPublished(Boolean.valueOf(payload.get("published").toString()));
         
         article = articleRepository.save(article);
+        viewCounterService.invalidatePublishedArticles();
+        publicContentCache.invalidate(PublicContentCache.Key.KNOWLEDGE_BASE_PUBLISHED);
         
         return ResponseEntity.ok(ApiResponse.success(article, "Article updated successfully"));
     }
@@ -118,6 +125,8 @@ public class KnowledgeBaseController {
     public ResponseEntity<ApiResponse<Void>> deleteArticle(@PathVariable Long id) {
         
         articleRepository.deleteById(id);
+        viewCounterService.invalidatePublishedArticles();
+        publicContentCache.invalidate(PublicContentCache.Key.KNOWLEDGE_BASE_PUBLISHED);
         
         return ResponseEntity.ok(ApiResponse.success(null, "Article deleted successfully"));
     }
@@ -5,12 +5,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import zm.unza.counseling.dto.response.ApiResponse;
-import zm.unza.counseling.repository.CaseRepository;
-import zm.unza.counseling.repository.UserRepository;
-
-import java.util.LinkedHashMap;
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
+import zm.unza.counseling.service.PublicContentCache;
 
 // Unauthenticated: backs the login screen's stat cards, which render before
 // any token exists. See SecurityConfig's permitAll rule for this path.
@@ -19,15 +15,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PublicStatsController {
 
-    private final UserRepository userRepository;
-    private final CaseRepository caseRepository;
+    private final PublicContentCache publicContentCache;
 
+    // Served from precomputed JSON so crawlers and traffic spikes never reach the database
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, Long>>> getPublicStats() {
-        Map<String, Long> stats = new LinkedHashMap<>();
-        stats.put("studentsSupported", userRepository.countStudents());
-        stats.put("activeCounselors", userRepository.countCounselors());
-        stats.put("casesHandled", caseRepository.count());
-        return ResponseEntity.ok(ApiResponse.success(stats));
+    public ResponseEntity<byte[]> getPublicStats(WebRequest webRequest) {
+        return publicContentCache.respond(PublicContentCache.Key.PUBLIC_STATS, webRequest);
     }
 }
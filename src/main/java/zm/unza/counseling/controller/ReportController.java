@@ -2,18 +2,21 @@ package zm.unza.counseling.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import jakarta.validation.Valid;
+import zm.unza.counseling.config.async.AsyncExecutorConfig;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.request.CounselorReportRequest;
 import zm.unza.counseling.entity.Report;
@@ -22,15 +25,25 @@ import zm.unza.counseling.service.ReportService;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping({"/api/v1/reports", "/api/reports", "/v1/reports", "/reports"})
-@RequiredArgsConstructor
 @Tag(name = "Reports", description = "Report generation and management endpoints")
 public class ReportController {
 
     private final ReportService reportService;
+    private final ExecutorService reportExecutor;
+
+    public ReportController(ReportService reportService,
+                            @Qualifier(AsyncExecutorConfig.REPORT_EXECUTOR) ExecutorService reportExecutor) {
+        this.reportService = reportService;
+        this.reportExecutor = reportExecutor;
+    }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
@@ -128,17 +141,17 @@ public class ReportController {
     @GetMapping("/export/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
     @Operation(summary = "Export report", description = "Export a report in specified format")
-    public ResponseEntity<byte[]> exportReport(@PathVariable Long id,
-                                               @RequestParam(defaultValue = "pdf") String format) {
+    public CompletableFuture<ResponseEntity<byte[]>> exportReport(@PathVariable Long id,
+                                                                  @RequestParam(defaultValue = "pdf") String format) {
         Report report = reportService.getReportById(id);
-        byte[] reportData = reportService.exportReport(id, format);
-        return ResponseEntity.ok()
-                .contentType(resolveExportContentType(format))
-                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
-                        .filename(buildExportFilename(report, format))
-                        .build()
-                        .toString())
-                .body(reportData);
+        return render(() -> reportService.exportReport(id, format))
+                .thenApply(reportData -> ResponseEntity.ok()
+                        .contentType(resolveExportContentType(format))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(buildExportFilename(report, format))
+                                .build()
+                                .toString())
+                        .body(reportData));
     }
 
     @GetMapping("/history")
@@ -258,11 +271,23 @@ public class ReportController {
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Export report (legacy)", description = "Export report data in legacy format")
-    public ResponseEntity<byte[]> exportReportLegacy(@RequestParam(defaultValue = "csv") String format) {
-        byte[] data = reportService.exportReportLegacy(format);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=reports." + format)
-                .body(data);
+    public CompletableFuture<ResponseEntity<byte[]>> exportReportLegacy(@RequestParam(defaultValue = "csv") String format) {
+        return render(() -> reportService.exportReportLegacy(format))
+                .thenApply(data -> ResponseEntity.ok()
+                        .header("Content-Disposition", "attachment; filename=reports." + format)
+                        .body(data));
+    }
+
+    /**
+     * Rendering runs on the bounded report pool, off the request thread; when the pool and its
+     * queue are full the caller gets 429 straight away.
+     */
+    private CompletableFuture<byte[]> render(Supplier<byte[]> renderer) {
+        try {
+            return CompletableFuture.supplyAsync(renderer, reportExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many reports rendering, try again shortly");
+        }
     }
 
     private MediaType resolveExportContentType(String format) {
@@ -5,12 +5,17 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zm.unza.counseling.dto.request.FileUploadRequest;
 import zm.unza.counseling.dto.request.ResourceUpdateRequest;
 import zm.unza.counseling.entity.Resource;
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.service.PublicContentCache;
 import zm.unza.counseling.service.ResourceService;
+import zm.unza.counseling.service.export.ExportFormat;
+import zm.unza.counseling.service.export.ExportService;
 
 import java.security.Principal;
 import java.util.List;
@@ -23,6 +28,8 @@ public class ResourceController {
     
     private final ResourceService resourceService;
     private final UserRepository userRepository;
+    private final PublicContentCache publicContentCache;
+    private final ExportService exportService;
 
     @GetMapping
     public ResponseEntity<List<Resource>> getAllResources() {
@@ -112,20 +119,18 @@ public class ResourceController {
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<Resource>> getFeaturedResources() {
-        return ResponseEntity.ok(resourceService.getFeaturedResources());
+    public ResponseEntity<byte[]> getFeaturedResources(WebRequest webRequest) {
+        return publicContentCache.respond(PublicContentCache.Key.FEATURED_RESOURCES, webRequest);
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportResources(@RequestParam(defaultValue = "csv") String format) {
-        byte[] data = resourceService.exportResources(format);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=resources." + format)
-                .body(data);
+    public ResponseEntity<StreamingResponseBody> exportResources(@RequestParam(defaultValue = "csv") String format) {
+        return exportService.respond(resourceService.exportResources(), ExportFormat.from(format));
     }
 
     @GetMapping("/download/{id}")
-    public ResponseEntity<byte[]> downloadResource(@PathVariable Long id) {
-        return resourceService.downloadResource(id);
+    public ResponseEntity<org.springframework.core.io.Resource> downloadResource(@PathVariable Long id,
+                                                                                  WebRequest webRequest) {
+        return resourceService.downloadResource(id, webRequest);
     }
 }
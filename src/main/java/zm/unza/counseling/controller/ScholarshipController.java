@@ -14,13 +14,15 @@ import zm.unza.counseling.dto.request.ScholarshipRecommendationRequest;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.response.ScholarshipRecommendationResponse;
 import zm.unza.counseling.dto.response.ScholarshipResponse;
-import zm.unza.counseling.entity.Client;
 import zm.unza.counseling.entity.ScholarshipRecommendation;
 import zm.unza.counseling.entity.User;
+import zm.unza.counseling.repository.ScholarshipRepository.EligibleCandidate;
 import zm.unza.counseling.repository.UserRepository;
 import zm.unza.counseling.service.ScholarshipService;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -92,28 +94,45 @@ public class ScholarshipController {
 
     @GetMapping("/{id}/eligible-students")
     @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
-    @Operation(summary = "Get students eligible for a scholarship (not yet recommended)")
-    public ResponseEntity<ApiResponse<List<?>>> getEligibleStudents(@PathVariable Long id) {
-        List<Client> students = scholarshipService.getEligibleStudents(id);
-        List<Object> result = students.stream().map(c -> {
-            var map = new java.util.LinkedHashMap<String, Object>();
-            map.put("id", c.getId());
-            map.put("studentId", c.getStudentId());
-            map.put("name", c.getFirstName() + " " + c.getLastName());
-            map.put("email", c.getEmail());
-            map.put("phone", c.getPhoneNumber());
-            map.put("faculty", c.getFaculty());
-            map.put("programme", c.getProgramme());
-            map.put("yearOfStudy", c.getYearOfStudy());
-            map.put("gpa", c.getGpa());
-            map.put("riskLevel", c.getRiskLevel());
-            map.put("riskScore", c.getRiskScore());
-            map.put("totalSessions", c.getTotalSessions());
-            return (Object) map;
-        }).collect(Collectors.toList());
+    @Operation(summary = "Get students eligible for a scholarship (not yet recommended), most vulnerable first")
+    public ResponseEntity<ApiResponse<List<?>>> getEligibleStudents(@PathVariable Long id,
+                                                                   @RequestParam(required = false) Integer limit) {
+        List<Object> result = scholarshipService.getEligibleStudents(id, limit).stream()
+                .map(this::toCandidateMap)
+                .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(result, "Eligible students retrieved"));
     }
 
+    @GetMapping("/eligible-matches")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
+    @Operation(summary = "Match all open scholarships against eligible students in one batch")
+    public ResponseEntity<ApiResponse<Map<Long, List<Object>>>> matchOpenScholarships(
+            @RequestParam(defaultValue = "20") int perScholarship) {
+        Map<Long, List<Object>> result = new LinkedHashMap<>();
+        scholarshipService.matchOpenScholarships(Math.max(1, Math.min(perScholarship, 500)))
+                .forEach((scholarshipId, matches) -> result.put(scholarshipId,
+                        matches.stream().map(this::toCandidateMap).collect(Collectors.toList())));
+        return ResponseEntity.ok(ApiResponse.success(result, "Scholarship matches retrieved"));
+    }
+
+    private Object toCandidateMap(EligibleCandidate c) {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("id", c.getId());
+        map.put("studentId", c.getStudentId());
+        map.put("name", c.getFirstName() + " " + c.getLastName());
+        map.put("email", c.getEmail());
+        map.put("phone", c.getPhoneNumber());
+        map.put("faculty", c.getFaculty());
+        map.put("programme", c.getProgramme());
+        map.put("yearOfStudy", c.getYearOfStudy());
+        map.put("gpa", c.getGpa());
+        map.put("riskLevel", c.getRiskLevel());
+        map.put("riskScore", c.getRiskScore());
+        map.put("totalSessions", c.getTotalSessions());
+        map.put("vulnerabilityScore", c.getVulnerabilityScore());
+        return map;
+    }
+
     // ---- Recommendation endpoints ----
 
     @PostMapping("/recommendations")
@@ -8,11 +8,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zm.unza.counseling.dto.request.RegisterRequest;
 import zm.unza.counseling.dto.response.ApiResponse;
 import zm.unza.counseling.dto.response.UserResponse;
+import zm.unza.counseling.dto.response.UserSummaryPageResponse;
 import zm.unza.counseling.entity.User;
+import zm.unza.counseling.service.UserAdminService;
 import zm.unza.counseling.service.UserService;
+import zm.unza.counseling.service.export.ExportFormat;
+import zm.unza.counseling.service.export.ExportService;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +29,8 @@ import java.util.Map;
 public class UserController {
     
     private final UserService userService;
+    private final UserAdminService userAdminService;
+    private final ExportService exportService;
 
      @GetMapping
      @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
@@ -110,6 +117,16 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(userService.getUsersByRole(role)));
     }
 
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
+    public ResponseEntity<ApiResponse<UserSummaryPageResponse>> getUserSummaries(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(userAdminService.getUserPage(role, active, afterId, limit)));
+    }
+
     @GetMapping("/count")
     @PreAuthorize("hasAnyRole('ADMIN', 'COUNSELOR')")
     public ResponseEntity<ApiResponse<Long>> getUserCount() {
@@ -221,12 +238,13 @@ public class UserController {
 
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<byte[]> exportUsers(
-            @RequestParam(defaultValue = "csv") String format) {
-        byte[] exportedData = userService.exportUsers(format);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=users." + format)
-                .body(exportedData);
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active) {
+        return exportService.respond(
+                userAdminService.exportUsers(UserAdminService.parseRole(role), active),
+                ExportFormat.from(format));
     }
 
 }
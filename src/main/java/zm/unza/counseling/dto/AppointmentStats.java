@@ -18,6 +18,7 @@ public class AppointmentStats {
     private long monthlyAppointments;
     private long scheduled;
     private long confirmed;
+    private long inProgress;
     private long completed;
     private long cancelled;
     private long pending;
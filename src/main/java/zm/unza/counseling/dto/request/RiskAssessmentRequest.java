@@ -6,6 +6,7 @@ import zm.unza.counseling.entity.Client;
 @Data
 public class RiskAssessmentRequest {
     private Long clientId;
+    /** On the 0-100 scale of RiskCalculator; without a riskLevel, the level is derived from it. */
     private Integer riskScore;
     private Client.RiskLevel riskLevel;
     private String notes;
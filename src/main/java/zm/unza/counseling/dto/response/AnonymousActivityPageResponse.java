@@ -0,0 +1,22 @@
+package zm.unza.counseling.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One keyset page of anonymous-user activity. Pass nextAfterActivityAt/nextAfterId back as
+ * afterActivityAt/afterId to fetch the following page; both are null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnonymousActivityPageResponse {
+    private List<AnonymousUserActivityDto> items;
+    private boolean hasMore;
+    private LocalDateTime nextAfterActivityAt;
+    private Long nextAfterId;
+}
@@ -0,0 +1,24 @@
+package zm.unza.counseling.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import zm.unza.counseling.entity.ChatMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One keyset page of a user's AI chat history, newest first. Pass nextBeforeCreatedAt/nextBeforeId
+ * back as beforeCreatedAt/beforeId to fetch older messages; both are null on the last page, after
+ * which older history (if any) is in the archive segments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatHistoryPageResponse {
+    private List<ChatMessage> items;
+    private boolean hasMore;
+    private LocalDateTime nextBeforeCreatedAt;
+    private Long nextBeforeId;
+}
@@ -0,0 +1,23 @@
+package zm.unza.counseling.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One keyset page of the frequent-visitor scan, ordered by visit count descending then client id.
+ * Pass nextAfterVisitCount/nextAfterClientId back as afterVisitCount/afterClientId to fetch the
+ * following page; both are null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrequentVisitorPageResponse {
+    private List<Map<String, Object>> items;
+    private boolean hasMore;
+    private Long nextAfterVisitCount;
+    private Long nextAfterClientId;
+}
@@ -19,6 +19,9 @@ public class ScholarshipResponse {
     private Integer maxRecipients;
     private String eligibilityCriteria;
     private Double requiredMinGpa;
+    private String eligibleFaculty;
+    private Integer minYearOfStudy;
+    private Integer maxYearOfStudy;
     private Scholarship.ScholarshipStatus status;
     private Long createdBy;
     private LocalDateTime createdAt;
@@ -59,6 +62,15 @@ public class ScholarshipResponse {
     public Double getRequiredMinGpa() { return requiredMinGpa; }
     public void setRequiredMinGpa(Double requiredMinGpa) { this.requiredMinGpa = requiredMinGpa; }
 
+    public String getEligibleFaculty() { return eligibleFaculty; }
+    public void setEligibleFaculty(String eligibleFaculty) { this.eligibleFaculty = eligibleFaculty; }
+
+    public Integer getMinYearOfStudy() { return minYearOfStudy; }
+    public void setMinYearOfStudy(Integer minYearOfStudy) { this.minYearOfStudy = minYearOfStudy; }
+
+    public Integer getMaxYearOfStudy() { return maxYearOfStudy; }
+    public void setMaxYearOfStudy(Integer maxYearOfStudy) { this.maxYearOfStudy = maxYearOfStudy; }
+
     public Scholarship.ScholarshipStatus getStatus() { return status; }
     public void setStatus(Scholarship.ScholarshipStatus status) { this.status = status; }
 
@@ -0,0 +1,23 @@
+package zm.unza.counseling.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class UserSummaryDto {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phoneNumber;
+    private String studentId;
+    private String department;
+    private boolean active;
+    private boolean anonymous;
+    private List<String> roles;
+    private LocalDateTime lastLogin;
+    private LocalDateTime createdAt;
+}
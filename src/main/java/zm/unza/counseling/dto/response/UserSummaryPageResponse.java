@@ -0,0 +1,20 @@
+package zm.unza.counseling.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the user administration listing, ordered by id. Pass nextAfterId back as
+ * afterId to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryPageResponse {
+    private List<UserSummaryDto> items;
+    private boolean hasMore;
+    private Long nextAfterId;
+}
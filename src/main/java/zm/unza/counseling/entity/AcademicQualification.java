@@ -23,8 +23,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class AcademicQualification {
 
+    // Pooled sequence rather than IDENTITY so batch inserts are not split into single statements
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_qualifications_id")
+    @SequenceGenerator(name = "academic_qualifications_id", sequenceName = "academic_qualifications_id_pool_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
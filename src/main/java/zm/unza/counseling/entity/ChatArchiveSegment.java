@@ -0,0 +1,44 @@
+package zm.unza.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * A block of a user's old AI chat messages, moved out of chat_messages by the compaction job and
+ * stored as one gzip-compressed JSON array. Loaded only when the user opens that part of their history.
+ */
+@Entity
+@Table(name = "chat_archive_segments", indexes = {
+    @Index(name = "idx_chat_archive_user_range", columnList = "user_id, last_created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+public class ChatArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "first_created_at", nullable = false)
+    private LocalDateTime firstCreatedAt;
+
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
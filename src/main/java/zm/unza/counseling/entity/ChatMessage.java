@@ -8,7 +8,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+    @Index(name = "idx_chat_messages_user_created", columnList = "user_id, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 public class ChatMessage {
@@ -0,0 +1,73 @@
+package zm.unza.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * ClinicSyncOutbox Entity — one pending outbound call to the clinic system for a
+ * SecurityAlert (create or status update).
+ *
+ * Written in the same transaction as the alert change and drained in the background by
+ * {@link zm.unza.counseling.service.ClinicAlertSyncService#dispatchPending()}.
+ */
+@Entity
+@Table(name = "clinic_sync_outbox")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClinicSyncOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alert_id", nullable = false)
+    private Long alertId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Operation operation;
+
+    // Sent as the Idempotency-Key header so the clinic can drop redelivered requests
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 120)
+    private String idempotencyKey;
+
+    // JSON request body, snapshotted at enqueue time
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Operation {
+        CREATE, STATUS_UPDATE
+    }
+
+    public enum Status {
+        PENDING, SENT, SUPERSEDED, DEAD
+    }
+}
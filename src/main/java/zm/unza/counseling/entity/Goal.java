@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
  * Entity representing a client's wellness goal
  */
 @Entity
-@Table(name = "goals")
+@Table(name = "goals", indexes = {
+    @Index(name = "idx_goals_client_status", columnList = "client_id, status"),
+    @Index(name = "idx_goals_status_target_date", columnList = "status, target_date")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 public class Goal {
@@ -97,7 +100,8 @@ public class Goal {
         NOT_STARTED("Not Started"),
         IN_PROGRESS("In Progress"),
         COMPLETED("Completed"),
-        ABANDONED("Abandoned");
+        ABANDONED("Abandoned"),
+        OVERDUE("Overdue");
 
         private final String displayName;
 
@@ -35,6 +35,9 @@ public class KnowledgeBaseArticle {
     
     private Boolean published;
     
+    // Only ever changed by ViewCounterService's batched UPDATE, so saving an edited article
+    // can never roll back buffered views
+    @Column(updatable = false)
     private Integer viewCount;
     
     private LocalDateTime createdAt;
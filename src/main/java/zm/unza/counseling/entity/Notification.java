@@ -17,8 +17,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification {
 
+    // Pooled sequence rather than IDENTITY so batch inserts are not split into single statements
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_id")
+    @SequenceGenerator(name = "notifications_id", sequenceName = "notifications_id_pool_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "recipient_id", nullable = false)
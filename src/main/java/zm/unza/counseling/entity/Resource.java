@@ -83,7 +83,9 @@ public class Resource {
     @Column(name = "is_public")
     private boolean isPublic = true;
     
-    @Column(name = "download_count")
+    // Only ever changed by ViewCounterService's batched UPDATE, so a stale entity save
+    // can never roll back buffered download counts
+    @Column(name = "download_count", updatable = false)
     private int downloadCount;
     
     @Column(name = "uploaded_by")
@@ -55,6 +55,15 @@ public class Scholarship {
     @Column(name = "required_min_gpa")
     private Double requiredMinGpa;
 
+    @Column(name = "eligible_faculty")
+    private String eligibleFaculty;
+
+    @Column(name = "min_year_of_study")
+    private Integer minYearOfStudy;
+
+    @Column(name = "max_year_of_study")
+    private Integer maxYearOfStudy;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ScholarshipStatus status = ScholarshipStatus.OPEN;
@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import zm.unza.counseling.security.AuthenticationSource;
+import zm.unza.counseling.service.ContactDirectoryListener;
 
 /**
  * User Entity - Represents all system users (counselors, admins, students)
@@ -39,7 +40,7 @@ import zm.unza.counseling.security.AuthenticationSource;
            @Index(name = "idx_user_student_id", columnList = "studentId"),
            @Index(name = "idx_user_name_search", columnList = "firstName, lastName")
        })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ContactDirectoryListener.class})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("USER")
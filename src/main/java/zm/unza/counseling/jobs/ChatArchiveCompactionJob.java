@@ -0,0 +1,47 @@
+package zm.unza.counseling.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.service.ChatHistoryService;
+
+/**
+ * Scheduled job compacting old AI chat messages into archive segments
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatArchiveCompactionJob implements Job {
+
+    private final ChatHistoryService chatHistoryService;
+
+    /**
+     * Compact old chat messages nightly at 2:45 AM
+     */
+    @Scheduled(cron = "${app.chat.compact-cron:0 45 2 * * *}")
+    public void compactChatHistory() {
+        log.info("Starting nightly chat archive compaction");
+        try {
+            chatHistoryService.compactOldMessages();
+            log.info("Nightly chat archive compaction completed");
+        } catch (Exception e) {
+            log.error("Failed to compact chat history", e);
+        }
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        // This method is called by Quartz scheduler
+        log.info("Executing ChatArchiveCompactionJob via Quartz");
+        try {
+            compactChatHistory();
+        } catch (Exception e) {
+            log.error("Error executing ChatArchiveCompactionJob", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package zm.unza.counseling.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.service.ClientRiskScoringService;
+
+/**
+ * Scheduled job rescoring the whole client population
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientRiskRescoringJob implements Job {
+
+    private final ClientRiskScoringService clientRiskScoringService;
+
+    /**
+     * Rescore all clients nightly at 1:30 AM
+     */
+    @Scheduled(cron = "${app.risk.rescore-cron:0 30 1 * * *}")
+    public void rescoreAllClients() {
+        log.info("Starting nightly client risk rescoring");
+        try {
+            clientRiskScoringService.rescoreAllClients();
+            log.info("Nightly client risk rescoring completed");
+        } catch (Exception e) {
+            log.error("Failed to rescore client risk", e);
+        }
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        // This method is called by Quartz scheduler
+        log.info("Executing ClientRiskRescoringJob via Quartz");
+        try {
+            rescoreAllClients();
+        } catch (Exception e) {
+            log.error("Error executing ClientRiskRescoringJob", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
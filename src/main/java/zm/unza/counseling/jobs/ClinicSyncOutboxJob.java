@@ -0,0 +1,48 @@
+package zm.unza.counseling.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.service.ClinicAlertSyncService;
+
+/**
+ * Scheduled job draining the clinic sync outbox
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClinicSyncOutboxJob implements Job {
+
+    private final ClinicAlertSyncService clinicAlertSyncService;
+
+    /**
+     * Deliver due outbox rows; fixed delay so a slow clinic never causes overlapping runs
+     */
+    @Scheduled(fixedDelayString = "${app.clinic.sync.poll-interval-ms:5000}")
+    public void dispatchOutbox() {
+        try {
+            int delivered = clinicAlertSyncService.dispatchPending();
+            if (delivered > 0) {
+                log.info("Delivered {} clinic sync outbox row(s)", delivered);
+            }
+        } catch (Exception e) {
+            log.error("Failed to dispatch clinic sync outbox", e);
+        }
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        // This method is called by Quartz scheduler
+        log.info("Executing ClinicSyncOutboxJob via Quartz");
+        try {
+            dispatchOutbox();
+        } catch (Exception e) {
+            log.error("Error executing ClinicSyncOutboxJob", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
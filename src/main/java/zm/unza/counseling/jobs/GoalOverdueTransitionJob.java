@@ -0,0 +1,47 @@
+package zm.unza.counseling.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.service.GoalService;
+
+/**
+ * Scheduled job flagging goals that passed their deadline as overdue
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GoalOverdueTransitionJob implements Job {
+
+    private final GoalService goalService;
+
+    /**
+     * Flag overdue goals nightly at 12:15 AM, just after the date rolls over
+     */
+    @Scheduled(cron = "${app.goals.overdue-cron:0 15 0 * * *}")
+    public void transitionOverdueGoals() {
+        log.info("Starting nightly overdue goal transition");
+        try {
+            goalService.transitionOverdueGoals();
+            log.info("Nightly overdue goal transition completed");
+        } catch (Exception e) {
+            log.error("Failed to transition overdue goals", e);
+        }
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        // This method is called by Quartz scheduler
+        log.info("Executing GoalOverdueTransitionJob via Quartz");
+        try {
+            transitionOverdueGoals();
+        } catch (Exception e) {
+            log.error("Error executing GoalOverdueTransitionJob", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
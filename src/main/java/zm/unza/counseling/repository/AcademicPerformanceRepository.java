@@ -1,10 +1,13 @@
 package zm.unza.counseling.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.AcademicPerformance;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +23,15 @@ public interface AcademicPerformanceRepository extends JpaRepository<AcademicPer
     Double getAverageGpa();
     
     long count();
+
+    // [clientId, gpa] newest record first within each client, for latest-vs-previous GPA trend
+    @Query("SELECT ap.client.id, ap.gpa FROM AcademicPerformance ap " +
+           "WHERE ap.gpa IS NOT NULL AND ap.recordDate >= :since ORDER BY ap.client.id, ap.recordDate DESC")
+    List<Object[]> findGpaHistorySince(@Param("since") LocalDate since);
+
+    // Same rows as findGpaHistorySince for one client
+    @Query("SELECT ap.client.id, ap.gpa FROM AcademicPerformance ap " +
+           "WHERE ap.client.id = :clientId AND ap.gpa IS NOT NULL AND ap.recordDate >= :since " +
+           "ORDER BY ap.recordDate DESC")
+    List<Object[]> findGpaHistoryForClientSince(@Param("clientId") Long clientId, @Param("since") LocalDate since);
 }
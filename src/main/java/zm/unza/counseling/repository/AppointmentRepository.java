@@ -5,17 +5,21 @@ import zm.unza.counseling.entity.Appointment.AppointmentStatus;
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.entity.Client;
 import zm.unza.counseling.entity.Case;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Appointment Repository - Data access for Appointment entity
@@ -184,6 +188,36 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.counselor IS NULL")
     Long countUnassignedAppointments();
 
+    // Overlap probe on the generated time_range column (see V2026.10.19.6), served by the GiST index of the
+    // counselor overlap exclusion constraint; the statuses are the ones that block a slot
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM appointments a " +
+                   "WHERE a.counselor_id = :counselorId AND a.id <> :excludeId AND a.deleted_at IS NULL " +
+                   "AND a.status IN ('SCHEDULED', 'CONFIRMED', 'RESCHEDULED', 'IN_PROGRESS', 'PENDING') " +
+                   "AND a.time_range && tstzrange(CAST(:start AS timestamp) AT TIME ZONE 'UTC', " +
+                   "CAST(:end AS timestamp) AT TIME ZONE 'UTC', '[)'))",
+           nativeQuery = true)
+    boolean existsOverlappingForCounselor(@Param("counselorId") Long counselorId,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("excludeId") Long excludeId);
+
+    // All dashboard counters in one scan; day and month bounds are half-open [start, end)
+    @Query("SELECT COUNT(a) AS total, " +
+           "COUNT(a) FILTER (WHERE a.appointmentDate >= :dayStart AND a.appointmentDate < :dayEnd) AS today, " +
+           "COUNT(a) FILTER (WHERE a.appointmentDate >= :monthStart AND a.appointmentDate < :monthEnd) AS month, " +
+           "COUNT(a) FILTER (WHERE a.status = 'SCHEDULED') AS scheduled, " +
+           "COUNT(a) FILTER (WHERE a.status = 'CONFIRMED') AS confirmed, " +
+           "COUNT(a) FILTER (WHERE a.status = 'IN_PROGRESS') AS inProgress, " +
+           "COUNT(a) FILTER (WHERE a.status = 'COMPLETED') AS completed, " +
+           "COUNT(a) FILTER (WHERE a.status = 'CANCELLED') AS cancelled, " +
+           "COUNT(a) FILTER (WHERE a.status = 'PENDING') AS pending, " +
+           "COUNT(a) FILTER (WHERE a.counselor IS NULL) AS unassigned " +
+           "FROM Appointment a")
+    AppointmentCountsRow countForStatistics(@Param("dayStart") LocalDateTime dayStart,
+                                            @Param("dayEnd") LocalDateTime dayEnd,
+                                            @Param("monthStart") LocalDateTime monthStart,
+                                            @Param("monthEnd") LocalDateTime monthEnd);
+
     // Dashboard query with eager fetching to avoid lazy-loading issues
     @Query("SELECT DISTINCT a FROM Appointment a " +
            "LEFT JOIN FETCH a.student " +
@@ -230,4 +264,57 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Modifying
     @Query(value = "DELETE FROM appointments WHERE counselor_id = :counselorId", nativeQuery = true)
     void deleteAllByCounselorId(@Param("counselorId") Long counselorId);
+
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.student.anonymous = true")
+    long countForAnonymousStudents();
+
+    // [studentId, noShowCount, appointmentCount] for appointments since the given time
+    @Query("SELECT a.student.id, " +
+           "SUM(CASE WHEN a.status = zm.unza.counseling.entity.Appointment.AppointmentStatus.NO_SHOW THEN 1 ELSE 0 END), " +
+           "COUNT(a) FROM Appointment a WHERE a.appointmentDate >= :since GROUP BY a.student.id")
+    List<Object[]> countNoShowsPerStudentSince(@Param("since") LocalDateTime since);
+
+    // Single [noShowCount, appointmentCount] row for one student
+    @Query("SELECT SUM(CASE WHEN a.status = zm.unza.counseling.entity.Appointment.AppointmentStatus.NO_SHOW THEN 1 ELSE 0 END), " +
+           "COUNT(a) FROM Appointment a WHERE a.student.id = :studentId AND a.appointmentDate >= :since")
+    List<Object[]> countNoShowsForStudentSince(@Param("studentId") Long studentId, @Param("since") LocalDateTime since);
+
+    // Export cursor: scalar columns only, so neither the student/counselor entities nor their EAGER
+    // roles are loaded per row. Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS id, a.title AS title, st.firstName AS studentFirstName, st.lastName AS studentLastName, " +
+           "co.firstName AS counselorFirstName, co.lastName AS counselorLastName, c.caseNumber AS caseNumber, " +
+           "a.appointmentDate AS appointmentDate, a.duration AS duration, a.type AS type, a.status AS status, " +
+           "a.description AS description " +
+           "FROM Appointment a LEFT JOIN a.student st LEFT JOIN a.counselor co LEFT JOIN a.caseEntity c " +
+           "WHERE a.appointmentDate BETWEEN :start AND :end ORDER BY a.appointmentDate, a.id")
+    Stream<AppointmentExportRow> streamForExport(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    interface AppointmentExportRow {
+        Long getId();
+        String getTitle();
+        String getStudentFirstName();
+        String getStudentLastName();
+        String getCounselorFirstName();
+        String getCounselorLastName();
+        String getCaseNumber();
+        LocalDateTime getAppointmentDate();
+        Integer getDuration();
+        Appointment.AppointmentType getType();
+        AppointmentStatus getStatus();
+        String getDescription();
+    }
+
+    interface AppointmentCountsRow {
+        Long getTotal();
+        Long getToday();
+        Long getMonth();
+        Long getScheduled();
+        Long getConfirmed();
+        Long getInProgress();
+        Long getCompleted();
+        Long getCancelled();
+        Long getPending();
+        Long getUnassigned();
+    }
 }
@@ -1,6 +1,7 @@
 package zm.unza.counseling.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.AuditLog;
 
@@ -15,4 +16,8 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime start, LocalDateTime end);
     List<AuditLog> findBySuccessFalseOrderByCreatedAtDesc();
     List<AuditLog> findByActionStartingWithOrderByCreatedAtDesc(String action);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(l) FROM AuditLog l " +
+           "WHERE l.userId IN (SELECT CAST(u.id AS String) FROM User u WHERE u.anonymous = true)")
+    long countByAnonymousUsers();
+}
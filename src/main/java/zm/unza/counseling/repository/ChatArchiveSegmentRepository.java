@@ -0,0 +1,35 @@
+package zm.unza.counseling.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zm.unza.counseling.entity.ChatArchiveSegment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatArchiveSegmentRepository extends JpaRepository<ChatArchiveSegment, Long> {
+
+    // Segment index for one user, newest first, without the compressed payloads
+    @Query("SELECT s.id AS id, s.firstCreatedAt AS firstCreatedAt, s.lastCreatedAt AS lastCreatedAt, " +
+           "s.messageCount AS messageCount FROM ChatArchiveSegment s " +
+           "WHERE s.userId = :userId ORDER BY s.lastCreatedAt DESC, s.id DESC")
+    List<SegmentSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    Optional<ChatArchiveSegment> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ChatArchiveSegment s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    interface SegmentSummary {
+        Long getId();
+        LocalDateTime getFirstCreatedAt();
+        LocalDateTime getLastCreatedAt();
+        Integer getMessageCount();
+    }
+}
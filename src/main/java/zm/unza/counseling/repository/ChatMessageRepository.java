@@ -1,14 +1,46 @@
 package zm.unza.counseling.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.ChatMessage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<ChatMessage> findBySessionIdOrderByCreatedAtDesc(String sessionId);
-    void deleteByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Newest-first history page served from idx_chat_messages_user_created
+    @Query("SELECT m FROM ChatMessage m WHERE m.userId = :userId ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findHistory(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset continuation: messages strictly older than (beforeCreatedAt, beforeId)
+    @Query("SELECT m FROM ChatMessage m WHERE m.userId = :userId " +
+           "AND (m.createdAt < :beforeCreatedAt OR (m.createdAt = :beforeCreatedAt AND m.id < :beforeId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findHistoryBefore(@Param("userId") Long userId,
+                                        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                        @Param("beforeId") Long beforeId,
+                                        Pageable pageable);
+
+    // Oldest messages first, for compaction into archive segments
+    @Query("SELECT m FROM ChatMessage m WHERE m.userId = :userId AND m.createdAt < :cutoff ORDER BY m.createdAt, m.id")
+    List<ChatMessage> findOldestBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT DISTINCT m.userId FROM ChatMessage m WHERE m.createdAt < :cutoff AND m.userId IS NOT NULL")
+    List<Long> findUserIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT m.id FROM ChatMessage m WHERE m.userId = :userId ORDER BY m.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -3,11 +3,13 @@ package zm.unza.counseling.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.Client;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +18,20 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     
     Optional<Client> findByStudentId(String studentId);
     
-    @Query("SELECT c FROM Client c WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(c.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(c.studentId) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Client> searchClients(String query, Pageable pageable);
+    // Ranked client search; same contract as UserRepository.searchUsers
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE u.user_type = 'CLIENT'
+              AND (u.search_text LIKE :pattern OR :keyword <% u.search_text)
+            ORDER BY word_similarity(:keyword, u.search_text) DESC, u.last_name, u.first_name, u.id
+            """,
+           countQuery = """
+            SELECT COUNT(*) FROM users u
+            WHERE u.user_type = 'CLIENT'
+              AND (u.search_text LIKE :pattern OR :keyword <% u.search_text)
+            """,
+           nativeQuery = true)
+    Page<Client> searchClients(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
     
     Page<Client> findByClientStatus(Client.ClientStatus status, Pageable pageable);
     
@@ -37,4 +51,14 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     default List<Client> findTop10ByOrderByCreatedAtDesc() {
         return findTop10ByOrderByCreatedAtDesc(org.springframework.data.domain.PageRequest.of(0, 10));
     }
-}
\ No newline at end of file
+
+    // [clientId, gpa, riskLevel, riskScore] for population rescoring without loading entities
+    @Query("SELECT c.id, c.gpa, c.riskLevel, c.riskScore FROM Client c")
+    List<Object[]> findRiskScoringBaseline();
+
+    @Modifying
+    @Query("UPDATE Client c SET c.riskScore = :riskScore, c.riskLevel = :riskLevel WHERE c.id IN :ids")
+    int updateRiskScores(@Param("ids") Collection<Long> ids,
+                         @Param("riskScore") Integer riskScore,
+                         @Param("riskLevel") Client.RiskLevel riskLevel);
+}
@@ -0,0 +1,43 @@
+package zm.unza.counseling.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zm.unza.counseling.entity.ClinicSyncOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClinicSyncOutboxRepository extends JpaRepository<ClinicSyncOutbox, Long> {
+
+    // Due rows in enqueue order; SKIP LOCKED lets several nodes drain the outbox concurrently
+    @Query(value = """
+            SELECT * FROM clinic_sync_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ClinicSyncOutbox> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    boolean existsByAlertIdAndOperationAndStatus(Long alertId,
+                                                 ClinicSyncOutbox.Operation operation,
+                                                 ClinicSyncOutbox.Status status);
+
+    long countByStatus(ClinicSyncOutbox.Status status);
+
+    @Query("SELECT MIN(o.createdAt) FROM ClinicSyncOutbox o WHERE o.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") ClinicSyncOutbox.Status status);
+
+    // Only the newest status for an alert matters to the clinic; older queued ones are dropped
+    @Modifying
+    @Query("UPDATE ClinicSyncOutbox o SET o.status = zm.unza.counseling.entity.ClinicSyncOutbox.Status.SUPERSEDED " +
+           "WHERE o.alertId = :alertId " +
+           "AND o.operation = zm.unza.counseling.entity.ClinicSyncOutbox.Operation.STATUS_UPDATE " +
+           "AND o.status = zm.unza.counseling.entity.ClinicSyncOutbox.Status.PENDING " +
+           "AND o.id < :beforeId")
+    int supersedeOlderStatusUpdates(@Param("alertId") Long alertId, @Param("beforeId") Long beforeId);
+}
@@ -52,4 +52,66 @@ public interface ClinicVisitRepository extends JpaRepository<ClinicVisit, Long>
             ORDER BY month
             """, nativeQuery = true)
     List<Object[]> countByClientIdGroupedByMonth(@Param("clientId") Long clientId);
+
+    /**
+     * Month-by-month counts for a client, each row also carrying the client's overall bucket
+     * totals as window aggregates: [month, count, total, last30, last90, thisYear]. Returns no
+     * rows when the client has no visits.
+     */
+    @Query(value = """
+            SELECT DATE_TRUNC('month', visit_date) AS month,
+                   COUNT(*) AS cnt,
+                   SUM(COUNT(*)) OVER () AS total,
+                   SUM(COUNT(*) FILTER (WHERE visit_date >= :from30 AND visit_date <= :now)) OVER () AS last30,
+                   SUM(COUNT(*) FILTER (WHERE visit_date >= :from90 AND visit_date <= :now)) OVER () AS last90,
+                   SUM(COUNT(*) FILTER (WHERE visit_date >= :yearStart AND visit_date <= :now)) OVER () AS this_year
+            FROM clinic_visits
+            WHERE client_id = :clientId
+            GROUP BY DATE_TRUNC('month', visit_date)
+            ORDER BY month
+            """, nativeQuery = true)
+    List<Object[]> findVisitFrequencyBuckets(@Param("clientId") Long clientId,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("from30") LocalDateTime from30,
+                                             @Param("from90") LocalDateTime from90,
+                                             @Param("yearStart") LocalDateTime yearStart);
+
+    @Query("SELECT v FROM ClinicVisit v JOIN FETCH v.client LEFT JOIN FETCH v.referral " +
+           "WHERE v.client.id = :clientId AND v.visitDate >= :from ORDER BY v.visitDate DESC")
+    List<ClinicVisit> findRecentByClientId(@Param("clientId") Long clientId,
+                                           @Param("from") LocalDateTime from,
+                                           Pageable pageable);
+
+    // First keyset page of the frequent-visitor scan: [clientId, visitCount] by count desc, client id asc
+    @Query(value = """
+            SELECT v.client_id, COUNT(*) AS visit_count
+            FROM clinic_visits v
+            WHERE v.visit_date >= :from AND v.visit_date <= :to
+            GROUP BY v.client_id
+            HAVING COUNT(*) >= :threshold
+            ORDER BY visit_count DESC, v.client_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findFrequentVisitorsPage(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("threshold") long threshold,
+                                            @Param("limit") int limit);
+
+    // Following keyset pages: rows strictly after (afterCount, afterClientId) in scan order
+    @Query(value = """
+            SELECT v.client_id, COUNT(*) AS visit_count
+            FROM clinic_visits v
+            WHERE v.visit_date >= :from AND v.visit_date <= :to
+            GROUP BY v.client_id
+            HAVING COUNT(*) >= :threshold
+               AND (COUNT(*) < :afterCount OR (COUNT(*) = :afterCount AND v.client_id > :afterClientId))
+            ORDER BY visit_count DESC, v.client_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findFrequentVisitorsPageAfter(@Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("threshold") long threshold,
+                                                 @Param("afterCount") long afterCount,
+                                                 @Param("afterClientId") long afterClientId,
+                                                 @Param("limit") int limit);
 }
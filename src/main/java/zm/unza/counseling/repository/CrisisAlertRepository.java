@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import zm.unza.counseling.entity.CrisisAlert;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CrisisAlertRepository extends JpaRepository<CrisisAlert, Long> {
@@ -19,4 +20,12 @@ public interface CrisisAlertRepository extends JpaRepository<CrisisAlert, Long>
 
     @Query("SELECT ca FROM CrisisAlert ca WHERE ca.client.id = :clientId ORDER BY ca.createdAt DESC")
     List<CrisisAlert> findByClientId(@Param("clientId") Long clientId);
+
+    // [clientId, alertCount] for alerts raised since the given time
+    @Query("SELECT ca.client.id, COUNT(ca) FROM CrisisAlert ca " +
+           "WHERE ca.client IS NOT NULL AND ca.createdAt >= :since GROUP BY ca.client.id")
+    List<Object[]> countPerClientSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT COUNT(ca) FROM CrisisAlert ca WHERE ca.client.id = :clientId AND ca.createdAt >= :since")
+    long countForClientSince(@Param("clientId") Long clientId, @Param("since") LocalDateTime since);
 }
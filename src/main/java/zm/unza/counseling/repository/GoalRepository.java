@@ -3,6 +3,7 @@ package zm.unza.counseling.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,7 @@ import zm.unza.counseling.entity.Goal.GoalCategory;
 import zm.unza.counseling.entity.Goal.GoalStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -81,13 +83,46 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     List<Goal> findByTargetDateBetween(LocalDate start, LocalDate end);
 
     /**
-     * Find overdue goals (deadline passed and not completed)
+     * Find overdue goals: already flagged OVERDUE, or still open with a passed deadline that the
+     * nightly transition has not reached yet
      * @param currentDate the current date
-     * @return list of overdue goals
+     * @return list of overdue goals, earliest deadline first
      */
-    @Query("SELECT g FROM Goal g WHERE g.targetDate < :currentDate AND g.status NOT IN ('COMPLETED', 'ABANDONED')")
+    @Query("SELECT g FROM Goal g WHERE g.status = zm.unza.counseling.entity.Goal.GoalStatus.OVERDUE " +
+           "OR (g.status IN (zm.unza.counseling.entity.Goal.GoalStatus.NOT_STARTED, zm.unza.counseling.entity.Goal.GoalStatus.IN_PROGRESS) " +
+           "AND g.targetDate < :currentDate) " +
+           "ORDER BY g.targetDate, g.id")
     List<Goal> findOverdueGoals(@Param("currentDate") LocalDate currentDate);
 
+    /**
+     * Open goals whose deadline has passed, as [id, clientId], in id order after {@code afterId}
+     * @param currentDate the current date
+     * @param afterId last goal id of the previous chunk
+     * @param pageable chunk size
+     * @return overdue transition candidates
+     */
+    @Query("SELECT g.id, g.clientId FROM Goal g " +
+           "WHERE g.status IN (zm.unza.counseling.entity.Goal.GoalStatus.NOT_STARTED, zm.unza.counseling.entity.Goal.GoalStatus.IN_PROGRESS) " +
+           "AND g.targetDate < :currentDate AND g.id > :afterId " +
+           "ORDER BY g.id")
+    List<Object[]> findOverdueTransitionCandidates(@Param("currentDate") LocalDate currentDate,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * Flag goals as OVERDUE in bulk. Re-checks status and deadline so a goal completed or
+     * rescheduled since it was selected is left alone.
+     * @param ids goal IDs
+     * @param currentDate the current date
+     * @return number of goals updated
+     */
+    @Modifying
+    @Query("UPDATE Goal g SET g.status = zm.unza.counseling.entity.Goal.GoalStatus.OVERDUE, g.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE g.id IN :ids " +
+           "AND g.status IN (zm.unza.counseling.entity.Goal.GoalStatus.NOT_STARTED, zm.unza.counseling.entity.Goal.GoalStatus.IN_PROGRESS) " +
+           "AND g.targetDate < :currentDate")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("currentDate") LocalDate currentDate);
+
     /**
      * Count goals by client and status
      * @param clientId the client ID
@@ -104,17 +139,26 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     Long countByClientId(Long clientId);
 
     /**
-     * Get goal statistics for a client
+     * Goal statistics for one client in a single pass over that client's goals. Open goals past
+     * their deadline count as overdue rather than in progress or not started, whether or not the
+     * nightly transition has flagged them yet, so the buckets always add up to the total.
      * @param clientId the client ID
-     * @return array with [total, completed, inProgress, notStarted, abandoned]
-     */
-    @Query("SELECT COUNT(g), " +
-           "SUM(CASE WHEN g.status = 'COMPLETED' THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN g.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN g.status = 'NOT_STARTED' THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN g.status = 'ABANDONED' THEN 1 ELSE 0 END) " +
+     * @param currentDate the current date
+     * @return statistics row
+     */
+    @Query("SELECT COUNT(g) AS total, " +
+           "SUM(CASE WHEN g.status = zm.unza.counseling.entity.Goal.GoalStatus.COMPLETED THEN 1 ELSE 0 END) AS completed, " +
+           "SUM(CASE WHEN g.status = zm.unza.counseling.entity.Goal.GoalStatus.IN_PROGRESS " +
+           "AND (g.targetDate IS NULL OR g.targetDate >= :currentDate) THEN 1 ELSE 0 END) AS inProgress, " +
+           "SUM(CASE WHEN g.status = zm.unza.counseling.entity.Goal.GoalStatus.NOT_STARTED " +
+           "AND (g.targetDate IS NULL OR g.targetDate >= :currentDate) THEN 1 ELSE 0 END) AS notStarted, " +
+           "SUM(CASE WHEN g.status = zm.unza.counseling.entity.Goal.GoalStatus.ABANDONED THEN 1 ELSE 0 END) AS abandoned, " +
+           "SUM(CASE WHEN g.status = zm.unza.counseling.entity.Goal.GoalStatus.OVERDUE " +
+           "OR (g.status IN (zm.unza.counseling.entity.Goal.GoalStatus.NOT_STARTED, zm.unza.counseling.entity.Goal.GoalStatus.IN_PROGRESS) " +
+           "AND g.targetDate < :currentDate) THEN 1 ELSE 0 END) AS overdue, " +
+           "AVG(g.progress) AS averageProgress " +
            "FROM Goal g WHERE g.clientId = :clientId")
-    Object[] getGoalStatsByClient(@Param("clientId") Long clientId);
+    GoalStats getGoalStatsByClient(@Param("clientId") Long clientId, @Param("currentDate") LocalDate currentDate);
 
     /**
      * Get average progress for a client's goals
@@ -151,4 +195,14 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
            "LOWER(g.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(g.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Goal> searchGoals(@Param("keyword") String keyword, Pageable pageable);
+
+    interface GoalStats {
+        Long getTotal();
+        Long getCompleted();
+        Long getInProgress();
+        Long getNotStarted();
+        Long getAbandoned();
+        Long getOverdue();
+        Double getAverageProgress();
+    }
 }
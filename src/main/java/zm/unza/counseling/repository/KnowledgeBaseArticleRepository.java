@@ -1,17 +1,25 @@
 package zm.unza.counseling.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.KnowledgeBaseArticle;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface KnowledgeBaseArticleRepository extends JpaRepository<KnowledgeBaseArticle, Long> {
     
     List<KnowledgeBaseArticle> findByPublishedTrueOrderByViewCountDesc();
-    
+
     List<KnowledgeBaseArticle> findByCategoryOrderByViewCountDesc(String category);
     
     List<KnowledgeBaseArticle> findByTitleContainingIgnoreCase(String searchTerm);
+
+    @Modifying
+    @Query("UPDATE KnowledgeBaseArticle a SET a.viewCount = COALESCE(a.viewCount, 0) + :delta WHERE a.id IN :ids")
+    int incrementViewCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
 }
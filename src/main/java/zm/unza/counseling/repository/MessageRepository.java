@@ -114,4 +114,8 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Modifying
     @Query("DELETE FROM Message m WHERE m.sender.id = :userId OR m.recipient.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(m) FROM Message m LEFT JOIN m.sender s LEFT JOIN m.recipient r " +
+           "WHERE s.anonymous = true OR r.anonymous = true")
+    long countInvolvingAnonymousUsers();
 }
@@ -1,11 +1,18 @@
 package zm.unza.counseling.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.Resource;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
@@ -19,4 +26,13 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
     List<Resource> findByCategory(String category);
 
     List<Resource> findByFeaturedTrue();
-}
\ No newline at end of file
+
+    // Export cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Resource r ORDER BY r.id")
+    Stream<Resource> streamAllForExport();
+
+    @Modifying
+    @Query("UPDATE Resource r SET r.downloadCount = r.downloadCount + :delta WHERE r.id IN :ids")
+    int incrementDownloadCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+}
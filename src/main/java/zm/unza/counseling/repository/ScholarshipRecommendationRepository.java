@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zm.unza.counseling.entity.ScholarshipRecommendation;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +38,10 @@ public interface ScholarshipRecommendationRepository extends JpaRepository<Schol
 
     @Query("SELECT r FROM ScholarshipRecommendation r JOIN FETCH r.client JOIN FETCH r.scholarship WHERE r.status = :status")
     List<ScholarshipRecommendation> findByStatusWithDetails(@Param("status") ScholarshipRecommendation.RecommendationStatus status);
+
+    // [scholarshipId, recommendationCount, awardedCount] for a page of scholarships
+    @Query("SELECT r.scholarship.id, COUNT(r), " +
+           "SUM(CASE WHEN r.status = zm.unza.counseling.entity.ScholarshipRecommendation.RecommendationStatus.AWARDED THEN 1 ELSE 0 END) " +
+           "FROM ScholarshipRecommendation r WHERE r.scholarship.id IN :scholarshipIds GROUP BY r.scholarship.id")
+    List<Object[]> countByScholarshipIds(@Param("scholarshipIds") Collection<Long> scholarshipIds);
 }
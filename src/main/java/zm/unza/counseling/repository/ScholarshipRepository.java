@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import zm.unza.counseling.entity.Client;
 import zm.unza.counseling.entity.Scholarship;
 
 import java.time.LocalDate;
@@ -27,4 +28,96 @@ public interface ScholarshipRepository extends JpaRepository<Scholarship, Long>
     Page<Scholarship> searchScholarships(@Param("query") String query, Pageable pageable);
 
     long countByStatus(Scholarship.ScholarshipStatus status);
+
+    // Mirrors ScholarshipService.computeVulnerabilityScore so candidates can be ranked in the query
+    String VULNERABILITY_SCORE =
+            "(CASE WHEN COALESCE(c.riskScore, 0) > 40 THEN 40 ELSE COALESCE(c.riskScore, 0) END " +
+            "+ CASE WHEN c.totalSessions > 3 THEN 20 ELSE 0 END " +
+            "+ CASE WHEN c.gpa < 2.5 THEN 20 ELSE 0 END " +
+            "+ CASE WHEN c.riskLevel = zm.unza.counseling.entity.Client.RiskLevel.CRITICAL THEN 20 " +
+            "       WHEN c.riskLevel = zm.unza.counseling.entity.Client.RiskLevel.HIGH THEN 15 " +
+            "       WHEN c.riskLevel = zm.unza.counseling.entity.Client.RiskLevel.MODERATE THEN 8 ELSE 0 END)";
+
+    /**
+     * Active clients meeting the given criteria who have not yet been recommended for the
+     * scholarship, most vulnerable first. Null criteria are not applied; {@code faculty} must be
+     * lower-cased.
+     */
+    @Query("SELECT c.id AS id, c.studentId AS studentId, c.firstName AS firstName, c.lastName AS lastName, " +
+           "c.email AS email, c.phoneNumber AS phoneNumber, c.faculty AS faculty, c.programme AS programme, " +
+           "c.yearOfStudy AS yearOfStudy, c.gpa AS gpa, c.riskLevel AS riskLevel, c.riskScore AS riskScore, " +
+           "c.totalSessions AS totalSessions, " + VULNERABILITY_SCORE + " AS vulnerabilityScore " +
+           "FROM Client c " +
+           "WHERE c.active = true " +
+           "AND (:minGpa IS NULL OR c.gpa >= :minGpa) " +
+           "AND (:faculty IS NULL OR LOWER(c.faculty) = :faculty) " +
+           "AND (:minYear IS NULL OR c.yearOfStudy >= :minYear) " +
+           "AND (:maxYear IS NULL OR c.yearOfStudy <= :maxYear) " +
+           "AND NOT EXISTS (SELECT r.id FROM ScholarshipRecommendation r " +
+           "                WHERE r.scholarship.id = :scholarshipId AND r.client.id = c.id) " +
+           "ORDER BY vulnerabilityScore DESC, c.id")
+    List<EligibleCandidate> findEligibleCandidates(@Param("scholarshipId") Long scholarshipId,
+                                                   @Param("minGpa") Double minGpa,
+                                                   @Param("faculty") String faculty,
+                                                   @Param("minYear") Integer minYear,
+                                                   @Param("maxYear") Integer maxYear,
+                                                   Pageable pageable);
+
+    /**
+     * Batch match of every open scholarship against the active client population: the top
+     * {@code perScholarship} not-yet-recommended candidates of each, in one statement.
+     */
+    @Query(value = """
+            SELECT m.* FROM (
+                SELECT s.id AS "scholarshipId", u.id AS "id", u.student_id AS "studentId",
+                       u.first_name AS "firstName", u.last_name AS "lastName", u.email AS "email",
+                       u.phone_number AS "phoneNumber", u.faculty AS "faculty", u.programme AS "programme",
+                       u.year_of_study AS "yearOfStudy", u.gpa AS "gpa", u.risk_level AS "riskLevel",
+                       u.risk_score AS "riskScore", u.total_sessions AS "totalSessions",
+                       v.score AS "vulnerabilityScore",
+                       ROW_NUMBER() OVER (PARTITION BY s.id ORDER BY v.score DESC, u.id) AS rn
+                FROM scholarships s
+                JOIN users u
+                  ON u.user_type = 'CLIENT' AND u.is_active = TRUE
+                 AND (s.required_min_gpa IS NULL OR u.gpa >= s.required_min_gpa)
+                 AND (s.eligible_faculty IS NULL OR lower(u.faculty) = lower(s.eligible_faculty))
+                 AND (s.min_year_of_study IS NULL OR u.year_of_study >= s.min_year_of_study)
+                 AND (s.max_year_of_study IS NULL OR u.year_of_study <= s.max_year_of_study)
+                CROSS JOIN LATERAL (
+                    SELECT LEAST(COALESCE(u.risk_score, 0), 40)
+                         + CASE WHEN u.total_sessions > 3 THEN 20 ELSE 0 END
+                         + CASE WHEN u.gpa < 2.5 THEN 20 ELSE 0 END
+                         + CASE u.risk_level WHEN 'CRITICAL' THEN 20 WHEN 'HIGH' THEN 15 WHEN 'MODERATE' THEN 8 ELSE 0 END
+                      AS score
+                ) v
+                WHERE s.status = 'OPEN' AND s.deadline >= :today
+                  AND NOT EXISTS (SELECT 1 FROM scholarship_recommendations r
+                                  WHERE r.scholarship_id = s.id AND r.client_id = u.id)
+            ) m
+            WHERE m.rn <= :perScholarship
+            ORDER BY m."scholarshipId", m.rn
+            """, nativeQuery = true)
+    List<ScholarshipMatch> matchOpenScholarships(@Param("today") LocalDate today,
+                                                 @Param("perScholarship") int perScholarship);
+
+    interface EligibleCandidate {
+        Long getId();
+        String getStudentId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPhoneNumber();
+        String getFaculty();
+        String getProgramme();
+        Integer getYearOfStudy();
+        Double getGpa();
+        Client.RiskLevel getRiskLevel();
+        Integer getRiskScore();
+        Integer getTotalSessions();
+        Integer getVulnerabilityScore();
+    }
+
+    interface ScholarshipMatch extends EligibleCandidate {
+        Long getScholarshipId();
+    }
 }
@@ -1,10 +1,12 @@
 package zm.unza.counseling.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import zm.unza.counseling.entity.SecurityAlert;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SecurityAlertRepository extends JpaRepository<SecurityAlert, Long> {
@@ -17,4 +19,16 @@ public interface SecurityAlertRepository extends JpaRepository<SecurityAlert, Lo
            "ORDER BY s.createdAt DESC")
     List<SecurityAlert> search(@Param("status") SecurityAlert.Status status,
                                 @Param("category") SecurityAlert.Category category);
+
+    // Targeted column update so a background sync never overwrites a concurrent status change
+    @Modifying
+    @Query("UPDATE SecurityAlert s SET s.externalAlertId = :externalAlertId, s.externalSystem = :externalSystem " +
+           "WHERE s.id = :id")
+    int linkExternalAlert(@Param("id") Long id,
+                          @Param("externalAlertId") String externalAlertId,
+                          @Param("externalSystem") SecurityAlert.ExternalSystem externalSystem);
+
+    // [id, externalAlertId] pairs, resolved in one round trip for a whole outbox batch
+    @Query("SELECT s.id, s.externalAlertId FROM SecurityAlert s WHERE s.id IN :ids")
+    List<Object[]> findExternalAlertIds(@Param("ids") Collection<Long> ids);
 }
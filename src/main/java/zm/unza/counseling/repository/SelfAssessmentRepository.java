@@ -24,4 +24,20 @@ public interface SelfAssessmentRepository extends JpaRepository<SelfAssessment,
     Optional<SelfAssessment> findTopBySubmittedByUserIdOrderByAssessmentDateDesc(Long submittedByUserId);
 
     long countBySubmittedByUserId(Long submittedByUserId);
+
+    @Query("SELECT COUNT(s) FROM SelfAssessment s " +
+           "WHERE s.submittedByUserId IN (SELECT u.id FROM User u WHERE u.anonymous = true)")
+    long countSubmittedByAnonymousUsers();
+
+    // Latest scores per submitting user: [userId, phq9, gad7, pss]
+    @Query("SELECT s.submittedByUserId, s.phq9Score, s.gad7Score, s.pssScore FROM SelfAssessment s " +
+           "WHERE s.submittedByUserId IS NOT NULL AND s.assessmentDate = " +
+           "(SELECT MAX(s2.assessmentDate) FROM SelfAssessment s2 WHERE s2.submittedByUserId = s.submittedByUserId)")
+    List<Object[]> findLatestScoresPerUser();
+
+    // Same rows as findLatestScoresPerUser for one user; several when assessments share the latest date
+    @Query("SELECT s.submittedByUserId, s.phq9Score, s.gad7Score, s.pssScore FROM SelfAssessment s " +
+           "WHERE s.submittedByUserId = :userId AND s.assessmentDate = " +
+           "(SELECT MAX(s2.assessmentDate) FROM SelfAssessment s2 WHERE s2.submittedByUserId = :userId)")
+    List<Object[]> findLatestScoresForUser(@Param("userId") Long userId);
 }
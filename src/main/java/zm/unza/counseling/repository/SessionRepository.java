@@ -11,6 +11,7 @@ import zm.unza.counseling.entity.Session;
 import zm.unza.counseling.entity.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +52,12 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
 
     Optional<Session> findFirstByAppointmentIdOrderBySessionDateDesc(Long appointmentId);
 
+    // Session ids for a page of appointments in one query. Oldest first, so collecting into a map
+    // leaves the latest session per appointment, as findFirstByAppointmentIdOrderBySessionDateDesc would
+    @Query("SELECT s.appointment.id AS appointmentId, s.id AS sessionId FROM Session s " +
+           "WHERE s.appointment.id IN :appointmentIds ORDER BY s.sessionDate ASC, s.id ASC")
+    List<AppointmentSessionRow> findSessionIdsByAppointmentIds(@Param("appointmentIds") Collection<Long> appointmentIds);
+
     List<Session> findByStudentIdOrderBySessionDateDesc(Long studentId);
 
     @Query(value = "SELECT COUNT(*) FROM sessions s JOIN appointments a ON s.appointment_id = a.id WHERE a.case_id = :caseId", nativeQuery = true)
@@ -70,4 +77,9 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     @Modifying
     @Query("DELETE FROM Session s WHERE s.counselor.id = :counselorId")
     void deleteAllByCounselorId(@Param("counselorId") Long counselorId);
+
+    interface AppointmentSessionRow {
+        Long getAppointmentId();
+        Long getSessionId();
+    }
 }
@@ -2,16 +2,21 @@ package zm.unza.counseling.repository;
 
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository - Data access for User entity
@@ -51,13 +56,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAvailableCounselors(@Param("roleName") Role.ERole roleName);
 
     // Search queries
-    @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.studentId) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
+    /**
+     * Ranked person search over the trigram-indexed users.search_text column: substring matches
+     * plus typo-tolerant word-similarity matches, best match first. {@code keyword} must be
+     * lower-cased and {@code pattern} its LIKE-escaped {@code %keyword%} form. Pass an unsorted
+     * Pageable; the ranking is the order.
+     */
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE u.search_text LIKE :pattern OR :keyword <% u.search_text
+            ORDER BY word_similarity(:keyword, u.search_text) DESC, u.last_name, u.first_name, u.id
+            """,
+           countQuery = """
+            SELECT COUNT(*) FROM users u
+            WHERE u.search_text LIKE :pattern OR :keyword <% u.search_text
+            """,
+           nativeQuery = true)
+    Page<User> searchUsers(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
 
     /**
      * Search users by email, first name, or last name with pagination
@@ -81,9 +96,110 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByActive(Boolean active);
 
     List<User> findByAnonymousTrueOrderByLastAnonymousActivityAtDesc();
+
+    long countByAnonymousTrue();
+
+    // Anonymous-user activity: one statement per page, each count an indexed correlated subquery
+    // instead of loading every appointment/assessment/audit row per user.
+    String ANONYMOUS_ACTIVITY_SELECT =
+            "SELECT u.id AS userId, u.username AS username, u.anonymousDisplayName AS anonymousDisplayName, " +
+            "u.firstName AS firstName, u.lastName AS lastName, u.email AS email, u.createdAt AS createdAt, " +
+            "u.lastLogin AS lastLoginAt, u.lastAnonymousActivityAt AS lastAnonymousActivityAt, " +
+            "COALESCE(u.lastAnonymousActivityAt, u.createdAt) AS sortKey, " +
+            "(SELECT COUNT(a) FROM Appointment a WHERE a.student = u) AS appointmentCount, " +
+            "(SELECT COUNT(m) FROM Message m WHERE m.sender = u OR m.recipient = u) AS messageCount, " +
+            "(SELECT COUNT(s) FROM SelfAssessment s WHERE s.submittedByUserId = u.id) AS selfAssessmentCount, " +
+            "(SELECT COUNT(l) FROM AuditLog l WHERE l.userId = CAST(u.id AS String)) AS auditEventCount " +
+            "FROM User u WHERE u.anonymous = true ";
+
+    String ANONYMOUS_ACTIVITY_ORDER =
+            "ORDER BY COALESCE(u.lastAnonymousActivityAt, u.createdAt) DESC, u.id DESC";
+
+    @Query(ANONYMOUS_ACTIVITY_SELECT + ANONYMOUS_ACTIVITY_ORDER)
+    List<AnonymousActivityRow> findAnonymousActivity(Pageable pageable);
+
+    // Keyset continuation: rows strictly after (afterActivityAt, afterId) in the listing order
+    @Query(ANONYMOUS_ACTIVITY_SELECT +
+           "AND (COALESCE(u.lastAnonymousActivityAt, u.createdAt) < :afterActivityAt " +
+           "OR (COALESCE(u.lastAnonymousActivityAt, u.createdAt) = :afterActivityAt AND u.id < :afterId)) " +
+           ANONYMOUS_ACTIVITY_ORDER)
+    List<AnonymousActivityRow> findAnonymousActivityAfter(@Param("afterActivityAt") LocalDateTime afterActivityAt,
+                                                          @Param("afterId") Long afterId,
+                                                          Pageable pageable);
+
+    interface AnonymousActivityRow {
+        Long getUserId();
+        String getUsername();
+        String getAnonymousDisplayName();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getLastLoginAt();
+        LocalDateTime getLastAnonymousActivityAt();
+        LocalDateTime getSortKey();
+        long getAppointmentCount();
+        long getMessageCount();
+        long getSelfAssessmentCount();
+        long getAuditEventCount();
+    }
     
     Page<User> findByActive(Boolean active, Pageable pageable);
 
+    // User administration read model: scalar columns only, never the EAGER roles/permissions graph.
+    // Both filters are optional; the role filter is an indexed semi-join on user_roles.
+    String USER_ADMIN_COLUMNS =
+            "u.id AS id, u.username AS username, u.email AS email, u.firstName AS firstName, " +
+            "u.lastName AS lastName, u.phoneNumber AS phoneNumber, u.studentId AS studentId, " +
+            "u.department AS department, u.active AS active, u.anonymous AS anonymous, " +
+            "u.lastLogin AS lastLogin, u.createdAt AS createdAt";
+
+    String USER_ADMIN_FILTER =
+            "WHERE (:active IS NULL OR u.active = :active) " +
+            "AND (:role IS NULL OR EXISTS (SELECT 1 FROM User ur JOIN ur.roles r WHERE ur.id = u.id AND r.name = :role)) ";
+
+    @Query("SELECT " + USER_ADMIN_COLUMNS + " FROM User u " + USER_ADMIN_FILTER + "ORDER BY u.id")
+    List<UserAdminRow> findUserAdminRows(@Param("role") Role.ERole role,
+                                         @Param("active") Boolean active,
+                                         Pageable pageable);
+
+    // Keyset continuation: rows with id strictly greater than afterId
+    @Query("SELECT " + USER_ADMIN_COLUMNS + " FROM User u " + USER_ADMIN_FILTER + "AND u.id > :afterId ORDER BY u.id")
+    List<UserAdminRow> findUserAdminRowsAfter(@Param("role") Role.ERole role,
+                                              @Param("active") Boolean active,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // [userId, roleName] for the users on one admin page
+    @Query("SELECT u.id, r.name FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findRoleNamesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    // Forward-only export cursor: one row per (user, role), consecutive per user so the caller can
+    // fold roles while streaming. Must be consumed inside a read-only transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + USER_ADMIN_COLUMNS + ", r.name AS roleName FROM User u LEFT JOIN u.roles r " +
+           USER_ADMIN_FILTER + "ORDER BY u.id")
+    Stream<UserExportRow> streamUserExportRows(@Param("role") Role.ERole role, @Param("active") Boolean active);
+
+    interface UserAdminRow {
+        Long getId();
+        String getUsername();
+        String getEmail();
+        String getFirstName();
+        String getLastName();
+        String getPhoneNumber();
+        String getStudentId();
+        String getDepartment();
+        Boolean getActive();
+        Boolean getAnonymous();
+        LocalDateTime getLastLogin();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface UserExportRow extends UserAdminRow {
+        Role.ERole getRoleName();
+    }
+
     // Department queries
     List<User> findByDepartment(String department);
     
@@ -131,4 +247,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT r.name, COUNT(u) FROM User u JOIN u.roles r GROUP BY r.name")
     List<Object[]> countUsersByRole();
+
+    // [id, firstName, lastName, email, roleName] per role of every active user, for the contact directory
+    @Query("SELECT u.id, u.firstName, u.lastName, u.email, r.name FROM User u LEFT JOIN u.roles r WHERE u.active = true")
+    List<Object[]> findActiveContactRows();
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [id, firstName, lastName, email] for resolving report identities in one query
+    @Query("SELECT u.id, u.firstName, u.lastName, u.email FROM User u WHERE u.id IN :ids")
+    List<Object[]> findIdentitiesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,6 +2,7 @@ package zm.unza.counseling.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import zm.unza.counseling.dto.MentalHealthAcademicDtos.InterventionReport;
 import zm.unza.counseling.dto.MentalHealthAcademicDtos.StudentAnalysisSummary;
 import zm.unza.counseling.entity.Appointment;
@@ -18,8 +19,9 @@ import zm.unza.counseling.repository.MentalHealthAcademicAnalysisRepository;
 import zm.unza.counseling.repository.RiskAssessmentRepository;
 import zm.unza.counseling.repository.SessionRepository;
 import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.service.export.ExportColumn;
+import zm.unza.counseling.service.export.TabularExport;
 
-import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AnalyticsService {
 
     private final MentalHealthAcademicAnalysisRepository analysisRepository;
@@ -369,44 +372,41 @@ public class AnalyticsService {
         return analytics;
     }
 
-    public byte[] exportAnalytics(String format) {
-        Map<String, Object> analytics = new LinkedHashMap<>();
-        analytics.put("generatedAt", LocalDateTime.now());
-        analytics.put("counselorPerformance", getCounselorPerformanceAnalytics());
-        analytics.put("clientDemographics", getClientDemographics());
-        analytics.put("sessionAnalytics", getSessionAnalytics());
-        analytics.put("riskAssessmentAnalytics", getRiskAssessmentAnalytics());
-        analytics.put("timeAnalysis", getTimeAnalysis());
-        analytics.put("outcomesAnalytics", getOutcomesAnalytics());
-
-        String normalizedFormat = format == null ? "csv" : format.toLowerCase(Locale.ROOT);
-        if ("csv".equals(normalizedFormat) || "excel".equals(normalizedFormat)) {
-            StringBuilder csv = new StringBuilder();
-            csv.append("section,metric,value\n");
-
-            Map<String, Object> clientDemographics = castMap(getClientDemographics());
-            csv.append("clients,totalClients,").append(clientDemographics.get("totalClients")).append("\n");
-
-            Map<String, Object> sessionAnalytics = castMap(getSessionAnalytics());
-            csv.append("sessions,totalSessions,").append(sessionAnalytics.get("totalSessions")).append("\n");
-            csv.append("sessions,averageSessionDuration,").append(sessionAnalytics.get("averageSessionDuration")).append("\n");
-            csv.append("sessions,completionRate,").append(sessionAnalytics.get("completionRate")).append("\n");
-
-            Map<String, Object> riskAnalytics = castMap(getRiskAssessmentAnalytics());
-            csv.append("risk,totalAssessments,").append(riskAnalytics.get("totalAssessments")).append("\n");
-            csv.append("risk,highRiskCount,").append(riskAnalytics.get("highRiskCount")).append("\n");
-            csv.append("risk,criticalRiskCount,").append(riskAnalytics.get("criticalRiskCount")).append("\n");
-
-            Map<String, Object> outcomesAnalytics = castMap(getOutcomesAnalytics());
-            csv.append("outcomes,totalOutcomes,").append(outcomesAnalytics.get("totalOutcomes")).append("\n");
-            csv.append("outcomes,improved,").append(outcomesAnalytics.get("improved")).append("\n");
-            csv.append("outcomes,stable,").append(outcomesAnalytics.get("stable")).append("\n");
-            csv.append("outcomes,declined,").append(outcomesAnalytics.get("declined")).append("\n");
-
-            return csv.toString().getBytes(StandardCharsets.UTF_8);
-        }
+    /**
+     * Headline metrics as (section, metric, value) rows. The figures are aggregates, so they are
+     * computed up front inside the export transaction and the row list stays small.
+     */
+    public TabularExport<Object[]> exportAnalytics() {
+        return new TabularExport<>("analytics", List.of(
+                ExportColumn.of("section", row -> row[0]),
+                ExportColumn.of("metric", row -> row[1]),
+                ExportColumn.of("value", row -> row[2])
+        ), () -> analyticsExportRows().stream());
+    }
+
+    private List<Object[]> analyticsExportRows() {
+        List<Object[]> rows = new ArrayList<>();
+
+        Map<String, Object> clientDemographics = castMap(getClientDemographics());
+        rows.add(new Object[]{"clients", "totalClients", clientDemographics.get("totalClients")});
+
+        Map<String, Object> sessionAnalytics = castMap(getSessionAnalytics());
+        rows.add(new Object[]{"sessions", "totalSessions", sessionAnalytics.get("totalSessions")});
+        rows.add(new Object[]{"sessions", "averageSessionDuration", sessionAnalytics.get("averageSessionDuration")});
+        rows.add(new Object[]{"sessions", "completionRate", sessionAnalytics.get("completionRate")});
+
+        Map<String, Object> riskAnalytics = castMap(getRiskAssessmentAnalytics());
+        rows.add(new Object[]{"risk", "totalAssessments", riskAnalytics.get("totalAssessments")});
+        rows.add(new Object[]{"risk", "highRiskCount", riskAnalytics.get("highRiskCount")});
+        rows.add(new Object[]{"risk", "criticalRiskCount", riskAnalytics.get("criticalRiskCount")});
+
+        Map<String, Object> outcomesAnalytics = castMap(getOutcomesAnalytics());
+        rows.add(new Object[]{"outcomes", "totalOutcomes", outcomesAnalytics.get("totalOutcomes")});
+        rows.add(new Object[]{"outcomes", "improved", outcomesAnalytics.get("improved")});
+        rows.add(new Object[]{"outcomes", "stable", outcomesAnalytics.get("stable")});
+        rows.add(new Object[]{"outcomes", "declined", outcomesAnalytics.get("declined")});
 
-        return analytics.toString().getBytes(StandardCharsets.UTF_8);
+        return rows;
     }
 
     private List<Map<String, Object>> buildSessionTrends(List<Session> sessions) {
@@ -1,23 +1,37 @@
 package zm.unza.counseling.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zm.unza.counseling.dto.response.AnonymousActivityPageResponse;
 import zm.unza.counseling.dto.response.AnonymousUserActivityDto;
-import zm.unza.counseling.entity.User;
 import zm.unza.counseling.repository.AppointmentRepository;
 import zm.unza.counseling.repository.AuditLogRepository;
 import zm.unza.counseling.repository.MessageRepository;
 import zm.unza.counseling.repository.SelfAssessmentRepository;
 import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.repository.UserRepository.AnonymousActivityRow;
 
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Admin view of anonymous-account activity. Per-user counts come from a single projection query
+ * (see {@link UserRepository#findAnonymousActivity}) and the totals from one aggregate per table,
+ * so neither endpoint loads entities or issues queries per user.
+ */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AnonymousActivityService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
     private final MessageRepository messageRepository;
@@ -25,37 +39,59 @@ public class AnonymousActivityService {
     private final AuditLogRepository auditLogRepository;
 
     public List<AnonymousUserActivityDto> getAnonymousActivity() {
-        return userRepository.findByAnonymousTrueOrderByLastAnonymousActivityAtDesc().stream()
+        return userRepository.findAnonymousActivity(Pageable.unpaged()).stream()
                 .map(this::toDto)
                 .toList();
     }
 
+    /**
+     * Keyset page ordered by most recent activity. Cost stays constant however deep the caller
+     * pages, unlike OFFSET paging.
+     */
+    public AnonymousActivityPageResponse getAnonymousActivityPage(LocalDateTime afterActivityAt, Long afterId, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable fetch = PageRequest.of(0, size + 1);
+        List<AnonymousActivityRow> rows = afterActivityAt != null && afterId != null
+                ? userRepository.findAnonymousActivityAfter(afterActivityAt, afterId, fetch)
+                : userRepository.findAnonymousActivity(fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<AnonymousActivityRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+        AnonymousActivityRow last = hasMore ? pageRows.get(pageRows.size() - 1) : null;
+
+        return new AnonymousActivityPageResponse(
+                pageRows.stream().map(this::toDto).toList(),
+                hasMore,
+                last != null ? last.getSortKey() : null,
+                last != null ? last.getUserId() : null);
+    }
+
     public Map<String, Long> getAnonymousActivityStats() {
-        List<AnonymousUserActivityDto> activity = getAnonymousActivity();
         Map<String, Long> stats = new LinkedHashMap<>();
-        stats.put("totalAnonymousUsers", (long) activity.size());
-        stats.put("totalAppointments", activity.stream().mapToLong(AnonymousUserActivityDto::getAppointmentCount).sum());
-        stats.put("totalMessages", activity.stream().mapToLong(AnonymousUserActivityDto::getMessageCount).sum());
-        stats.put("totalSelfAssessments", activity.stream().mapToLong(AnonymousUserActivityDto::getSelfAssessmentCount).sum());
-        stats.put("totalAuditEvents", activity.stream().mapToLong(AnonymousUserActivityDto::getAuditEventCount).sum());
+        stats.put("totalAnonymousUsers", userRepository.countByAnonymousTrue());
+        stats.put("totalAppointments", appointmentRepository.countForAnonymousStudents());
+        stats.put("totalMessages", messageRepository.countInvolvingAnonymousUsers());
+        stats.put("totalSelfAssessments", selfAssessmentRepository.countSubmittedByAnonymousUsers());
+        stats.put("totalAuditEvents", auditLogRepository.countByAnonymousUsers());
         return stats;
     }
 
-    private AnonymousUserActivityDto toDto(User user) {
+    private AnonymousUserActivityDto toDto(AnonymousActivityRow row) {
         AnonymousUserActivityDto dto = new AnonymousUserActivityDto();
-        dto.setUserId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setDisplayName(user.getAnonymousDisplayName() != null && !user.getAnonymousDisplayName().isBlank()
-                ? user.getAnonymousDisplayName()
-                : user.getFullName());
-        dto.setEmail(user.getEmail());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setLastLoginAt(user.getLastLogin());
-        dto.setLastActivityAt(user.getLastAnonymousActivityAt() != null ? user.getLastAnonymousActivityAt() : user.getLastLogin());
-        dto.setAppointmentCount(appointmentRepository.findByStudent(user).size());
-        dto.setMessageCount(messageRepository.countTotalMessages(user.getId()));
-        dto.setSelfAssessmentCount(selfAssessmentRepository.findBySubmittedByUserIdOrderByAssessmentDateDesc(user.getId()).size());
-        dto.setAuditEventCount(auditLogRepository.findByUserIdOrderByCreatedAtDesc(String.valueOf(user.getId())).size());
+        dto.setUserId(row.getUserId());
+        dto.setUsername(row.getUsername());
+        dto.setDisplayName(row.getAnonymousDisplayName() != null && !row.getAnonymousDisplayName().isBlank()
+                ? row.getAnonymousDisplayName()
+                : row.getFirstName() + " " + row.getLastName());
+        dto.setEmail(row.getEmail());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setLastLoginAt(row.getLastLoginAt());
+        dto.setLastActivityAt(row.getLastAnonymousActivityAt() != null ? row.getLastAnonymousActivityAt() : row.getLastLoginAt());
+        dto.setAppointmentCount(row.getAppointmentCount());
+        dto.setMessageCount(row.getMessageCount());
+        dto.setSelfAssessmentCount(row.getSelfAssessmentCount());
+        dto.setAuditEventCount(row.getAuditEventCount());
         return dto;
     }
 }
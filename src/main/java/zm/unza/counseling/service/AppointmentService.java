@@ -10,6 +10,8 @@ import zm.unza.counseling.dto.UpdateAppointmentRequest;
 import zm.unza.counseling.dto.request.AssignAppointmentRequest;
 import zm.unza.counseling.dto.request.CancelRequest;
 import zm.unza.counseling.dto.request.RescheduleRequest;
+import zm.unza.counseling.repository.AppointmentRepository.AppointmentExportRow;
+import zm.unza.counseling.service.export.TabularExport;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -193,12 +195,11 @@ public interface AppointmentService {
 
     /**
      * Export appointments
-     * @param format the export format
-     * @param startDate the start date
-     * @param endDate the end date
-     * @return the exported appointment data
+     * @param startDate the start date (defaults to one month ago)
+     * @param endDate the end date (defaults to now)
+     * @return streaming export of appointments in the range
      */
-    byte[] exportAppointments(String format, String startDate, String endDate);
+    TabularExport<AppointmentExportRow> exportAppointments(String startDate, String endDate);
     
     /**
      * Get today's appointments
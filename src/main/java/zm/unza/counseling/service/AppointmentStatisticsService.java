@@ -0,0 +1,74 @@
+package zm.unza.counseling.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zm.unza.counseling.dto.AppointmentStats;
+import zm.unza.counseling.repository.AppointmentRepository;
+import zm.unza.counseling.repository.AppointmentRepository.AppointmentCountsRow;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Appointment counters behind the appointment statistics endpoint and the dashboard performance
+ * metrics. All of them come from one conditional-aggregation query, and the result is reused for
+ * a few seconds ({@code app.appointments.statistics-ttl}), so dashboards polling at the same time
+ * share a single scan of the appointments table.
+ */
+@Service
+public class AppointmentStatisticsService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final long ttlNanos;
+
+    private volatile Snapshot snapshot;
+
+    public AppointmentStatisticsService(AppointmentRepository appointmentRepository,
+                                        @Value("${app.appointments.statistics-ttl:5s}") Duration ttl) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Transactional(readOnly = true)
+    public AppointmentStats getStatistics() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.computedAt() > ttlNanos) {
+            // Concurrent misses may both query; either result is current enough to keep
+            current = new Snapshot(compute(), System.nanoTime());
+            snapshot = current;
+        }
+        return copy(current.stats());
+    }
+
+    private AppointmentStats compute() {
+        LocalDate today = LocalDate.now();
+        LocalDate firstOfMonth = today.withDayOfMonth(1);
+        AppointmentCountsRow counts = appointmentRepository.countForStatistics(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                firstOfMonth.atStartOfDay(), firstOfMonth.plusMonths(1).atStartOfDay());
+
+        return AppointmentStats.builder()
+                .totalAppointments(counts.getTotal())
+                .todayAppointments(counts.getToday())
+                .monthlyAppointments(counts.getMonth())
+                .scheduled(counts.getScheduled())
+                .confirmed(counts.getConfirmed())
+                .inProgress(counts.getInProgress())
+                .completed(counts.getCompleted())
+                .cancelled(counts.getCancelled())
+                .pending(counts.getPending())
+                .unassigned(counts.getUnassigned())
+                .build();
+    }
+
+    // AppointmentStats is mutable; callers get their own copy of the cached figures
+    private static AppointmentStats copy(AppointmentStats stats) {
+        return new AppointmentStats(stats.getTotalAppointments(), stats.getTodayAppointments(),
+                stats.getMonthlyAppointments(), stats.getScheduled(), stats.getConfirmed(), stats.getInProgress(),
+                stats.getCompleted(), stats.getCancelled(), stats.getPending(), stats.getUnassigned());
+    }
+
+    private record Snapshot(AppointmentStats stats, long computedAt) {
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import zm.unza.counseling.entity.AuditLog;
 import zm.unza.counseling.repository.AuditLogRepository;
+import zm.unza.counseling.service.messaging.AuditMessage;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.service.messaging.MessageRoute;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,29 +24,40 @@ public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
 
+    private final MessagePublisher messagePublisher;
+
+    /**
+     * Queue an audit entry; it is written by the audit log consumer, in batches, after the calling
+     * transaction commits.
+     */
     public void logAction(String action, String entityType, String entityId, String details, String userId, String ipAddress, boolean success) {
-        AuditLog log = new AuditLog();
-        log.setAction(action);
-        log.setEntityType(entityType);
-        log.setEntityId(entityId);
-        log.setDetails(details);
-        log.setUserId(userId);
-        log.setIpAddress(ipAddress);
-        log.setSuccess(success);
-        log.setCreatedAt(LocalDateTime.now());
-        auditLogRepository.save(log);
+        messagePublisher.publish(MessageRoute.AUDIT_LOG, new AuditMessage(
+                action, entityType, entityId, details, userId, ipAddress, success, null, LocalDateTime.now()));
     }
 
     public void logSecurityEvent(String action, String userId, String details, String ipAddress, boolean success, String severity) {
-        AuditLog log = new AuditLog();
-        log.setAction(action);
-        log.setUserId(userId);
-        log.setDetails(details);
-        log.setIpAddress(ipAddress);
-        log.setSuccess(success);
-        log.setSeverity(severity);
-        log.setCreatedAt(LocalDateTime.now());
-        auditLogRepository.save(log);
+        messagePublisher.publish(MessageRoute.AUDIT_LOG, new AuditMessage(
+                action, null, null, details, userId, ipAddress, success, severity, LocalDateTime.now()));
+    }
+
+    /**
+     * Insert queued audit entries in one batch.
+     */
+    public void record(List<AuditMessage> entries) {
+        List<AuditLog> logs = entries.stream().map(entry -> {
+            AuditLog log = new AuditLog();
+            log.setAction(entry.action());
+            log.setEntityType(entry.entityType());
+            log.setEntityId(entry.entityId());
+            log.setDetails(entry.details());
+            log.setUserId(entry.userId());
+            log.setIpAddress(entry.ipAddress());
+            log.setSuccess(entry.success());
+            log.setSeverity(entry.severity());
+            log.setCreatedAt(entry.occurredAt());
+            return log;
+        }).toList();
+        auditLogRepository.saveAll(logs);
     }
 
     public List<AuditLog> getLogsByEntity(String entityType, String entityId) {
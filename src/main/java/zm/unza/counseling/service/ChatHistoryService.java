@@ -0,0 +1,223 @@
+package zm.unza.counseling.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zm.unza.counseling.dto.response.ChatHistoryPageResponse;
+import zm.unza.counseling.entity.ChatArchiveSegment;
+import zm.unza.counseling.entity.ChatMessage;
+import zm.unza.counseling.exception.ResourceNotFoundException;
+import zm.unza.counseling.repository.ChatArchiveSegmentRepository;
+import zm.unza.counseling.repository.ChatArchiveSegmentRepository.SegmentSummary;
+import zm.unza.counseling.repository.ChatMessageRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage for the AI chat history. Recent messages live in chat_messages and are read in
+ * (createdAt, id) keyset pages. Messages older than {@code archive-after-days} are compacted by
+ * {@code ChatArchiveCompactionJob} into gzip-compressed per-user {@link ChatArchiveSegment}s that
+ * are only decompressed when the user asks for them. Deletes run in bounded batches, each in its
+ * own transaction, so clearing a long history never holds one huge lock set.
+ */
+@Service
+@Slf4j
+public class ChatHistoryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int SEGMENT_SIZE = 1000;
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private static final TypeReference<List<ArchivedMessage>> ARCHIVE_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Segments are stored for years, so their JSON is written by this mapper rather than the
+     * application one, whose naming and inclusion settings are free to change with the API.
+     * camelCase properties, nulls included and ISO date-times, as the first segments were written.
+     */
+    private static final ObjectMapper ARCHIVE_MAPPER = archiveMapper();
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatArchiveSegmentRepository segmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int archiveAfterDays;
+
+    /**
+     * Archived form of a message; kept separate from the entity so the payload format does not
+     * change with it.
+     */
+    record ArchivedMessage(Long id, String sessionId, String message, String response,
+                           Boolean isFromUser, LocalDateTime createdAt) {
+    }
+
+    public ChatHistoryService(ChatMessageRepository chatMessageRepository,
+                              ChatArchiveSegmentRepository segmentRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.chat.archive-after-days:90}") int archiveAfterDays) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.segmentRepository = segmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    public ChatHistoryPageResponse getHistoryPage(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable fetch = PageRequest.of(0, size + 1);
+        List<ChatMessage> rows = beforeCreatedAt != null && beforeId != null
+                ? chatMessageRepository.findHistoryBefore(userId, beforeCreatedAt, beforeId, fetch)
+                : chatMessageRepository.findHistory(userId, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<ChatMessage> page = hasMore ? rows.subList(0, size) : rows;
+        ChatMessage last = hasMore ? page.get(page.size() - 1) : null;
+        return new ChatHistoryPageResponse(page, hasMore,
+                last != null ? last.getCreatedAt() : null,
+                last != null ? last.getId() : null);
+    }
+
+    public List<SegmentSummary> getArchiveSegments(Long userId) {
+        return segmentRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * Decompress one archive segment, newest message first like the live history.
+     */
+    public List<ChatMessage> getArchivedMessages(Long userId, Long segmentId) {
+        ChatArchiveSegment segment = segmentRepository.findByIdAndUserId(segmentId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Chat archive segment not found with id: " + segmentId));
+        List<ChatMessage> messages = new ArrayList<>();
+        for (ArchivedMessage archived : decompress(segment.getPayload())) {
+            messages.add(toEntity(userId, archived));
+        }
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    /**
+     * Delete a user's live messages and archive segments. Returns the number of live messages removed.
+     */
+    public int clearHistory(Long userId) {
+        int deleted = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> ids = chatMessageRepository.findIdsByUserId(userId, PageRequest.of(0, DELETE_BATCH_SIZE));
+                return ids.isEmpty() ? 0 : chatMessageRepository.deleteByIdIn(ids);
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            deleted += batch;
+        }
+        transactionTemplate.executeWithoutResult(status -> segmentRepository.deleteByUserId(userId));
+        return deleted;
+    }
+
+    /**
+     * Move every message older than the retention window into archive segments of up to
+     * {@value #SEGMENT_SIZE} messages. Each segment is written and its source rows deleted in one
+     * transaction. Returns the number of messages archived.
+     */
+    public int compactOldMessages() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        int archived = 0;
+        for (Long userId : chatMessageRepository.findUserIdsWithMessagesBefore(cutoff)) {
+            while (true) {
+                Integer moved = transactionTemplate.execute(status -> archiveOldestSegment(userId, cutoff));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+            }
+        }
+        log.info("Archived {} chat messages older than {}", archived, cutoff);
+        return archived;
+    }
+
+    private int archiveOldestSegment(Long userId, LocalDateTime cutoff) {
+        List<ChatMessage> messages = chatMessageRepository.findOldestBefore(userId, cutoff, PageRequest.of(0, SEGMENT_SIZE));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        List<ArchivedMessage> archived = messages.stream()
+                .map(m -> new ArchivedMessage(m.getId(), m.getSessionId(), m.getMessage(), m.getResponse(),
+                        m.getIsFromUser(), m.getCreatedAt()))
+                .toList();
+
+        ChatArchiveSegment segment = new ChatArchiveSegment();
+        segment.setUserId(userId);
+        segment.setFirstCreatedAt(messages.get(0).getCreatedAt());
+        segment.setLastCreatedAt(messages.get(messages.size() - 1).getCreatedAt());
+        segment.setMessageCount(messages.size());
+        segment.setPayload(compress(archived));
+        segmentRepository.save(segment);
+
+        chatMessageRepository.deleteByIdIn(messages.stream().map(ChatMessage::getId).toList());
+        return messages.size();
+    }
+
+    private byte[] compress(List<ArchivedMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            ARCHIVE_MAPPER.writeValue(gzip, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress chat archive segment", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedMessage> decompress(byte[] payload) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return ARCHIVE_MAPPER.readValue(gzip, ARCHIVE_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read chat archive segment", e);
+        }
+    }
+
+    private static ObjectMapper archiveMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+        mapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // A segment written by a newer release with an extra field must still open
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    private static ChatMessage toEntity(Long userId, ArchivedMessage archived) {
+        ChatMessage message = new ChatMessage();
+        message.setId(archived.id());
+        message.setUserId(userId);
+        message.setSessionId(archived.sessionId());
+        message.setMessage(archived.message());
+        message.setResponse(archived.response());
+        message.setIsFromUser(archived.isFromUser());
+        message.setCreatedAt(archived.createdAt());
+        return message;
+    }
+}
@@ -0,0 +1,216 @@
+package zm.unza.counseling.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zm.unza.counseling.entity.Client;
+import zm.unza.counseling.repository.AcademicPerformanceRepository;
+import zm.unza.counseling.repository.AppointmentRepository;
+import zm.unza.counseling.repository.ClientRepository;
+import zm.unza.counseling.repository.CrisisAlertRepository;
+import zm.unza.counseling.repository.SelfAssessmentRepository;
+import zm.unza.counseling.util.RiskCalculator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link Client#getRiskScore()} and {@link Client#getRiskLevel()} in line with
+ * {@link RiskCalculator}. Write paths call {@link #rescoreClient}; the nightly
+ * {@code ClientRiskRescoringJob} calls {@link #rescoreAllClients}, which gathers every input with
+ * one grouped query per source table and scores the whole population in a single batch.
+ *
+ * A computed score is stored together with its own level, and only when that level is at or above
+ * the client's current one, so the stored score and level always agree. A higher current level,
+ * set by a counselor through a risk assessment or {@link ClientService#updateRiskLevel}, keeps the
+ * score it was set with: lowering a level stays a counselor decision.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClientRiskScoringService {
+
+    private static final int CRISIS_WINDOW_DAYS = 90;
+    private static final int NO_SHOW_WINDOW_DAYS = 180;
+    private static final int GPA_WINDOW_YEARS = 2;
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private final ClientRepository clientRepository;
+    private final SelfAssessmentRepository selfAssessmentRepository;
+    private final CrisisAlertRepository crisisAlertRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AcademicPerformanceRepository academicPerformanceRepository;
+
+    @Transactional
+    public void rescoreClient(Long clientId) {
+        Client client = clientRepository.findById(clientId).orElse(null);
+        if (client == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // A batch of one, filled by the same rules as rescoreAllClients so both modes agree
+        Map<Long, Integer> rowByClientId = Map.of(clientId, 0);
+        RiskCalculator.Batch batch = new RiskCalculator.Batch(1);
+        if (client.getGpa() != null) {
+            batch.gpa[0] = client.getGpa();
+        }
+        applyLatestAssessments(selfAssessmentRepository.findLatestScoresForUser(clientId), rowByClientId, batch);
+        batch.crisisHits[0] = (int) crisisAlertRepository.countForClientSince(clientId, now.minusDays(CRISIS_WINDOW_DAYS));
+
+        List<Object[]> attendance = appointmentRepository.countNoShowsForStudentSince(clientId, now.minusDays(NO_SHOW_WINDOW_DAYS));
+        if (!attendance.isEmpty() && attendance.get(0)[1] != null) {
+            batch.noShows[0] = toInt(attendance.get(0)[0]);
+            batch.appointments[0] = toInt(attendance.get(0)[1]);
+        }
+        applyGpaHistory(academicPerformanceRepository.findGpaHistoryForClientSince(clientId, gpaWindowStart()),
+                rowByClientId, batch);
+
+        int score = RiskCalculator.scoreAll(batch)[0];
+
+        Client.RiskLevel level = RiskCalculator.levelFor(score);
+        if (supersedes(client.getRiskLevel(), level)
+                && (!Integer.valueOf(score).equals(client.getRiskScore()) || level != client.getRiskLevel())) {
+            client.setRiskScore(score);
+            client.setRiskLevel(level);
+            clientRepository.save(client);
+        }
+    }
+
+    /**
+     * Rescore every client. Returns the number of clients whose score or level changed.
+     */
+    @Transactional
+    public int rescoreAllClients() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> baseline = clientRepository.findRiskScoringBaseline();
+        int size = baseline.size();
+
+        long[] ids = new long[size];
+        Client.RiskLevel[] currentLevels = new Client.RiskLevel[size];
+        Integer[] currentScores = new Integer[size];
+        Map<Long, Integer> rowByClientId = new HashMap<>(size * 2);
+        RiskCalculator.Batch batch = new RiskCalculator.Batch(size);
+
+        for (int i = 0; i < size; i++) {
+            Object[] row = baseline.get(i);
+            ids[i] = (Long) row[0];
+            if (row[1] != null) {
+                batch.gpa[i] = ((Number) row[1]).doubleValue();
+            }
+            currentLevels[i] = (Client.RiskLevel) row[2];
+            currentScores[i] = (Integer) row[3];
+            rowByClientId.put(ids[i], i);
+        }
+
+        applyLatestAssessments(selfAssessmentRepository.findLatestScoresPerUser(), rowByClientId, batch);
+
+        for (Object[] row : crisisAlertRepository.countPerClientSince(now.minusDays(CRISIS_WINDOW_DAYS))) {
+            Integer i = rowByClientId.get((Long) row[0]);
+            if (i != null) {
+                batch.crisisHits[i] = toInt(row[1]);
+            }
+        }
+
+        for (Object[] row : appointmentRepository.countNoShowsPerStudentSince(now.minusDays(NO_SHOW_WINDOW_DAYS))) {
+            Integer i = rowByClientId.get((Long) row[0]);
+            if (i != null) {
+                batch.noShows[i] = toInt(row[1]);
+                batch.appointments[i] = toInt(row[2]);
+            }
+        }
+
+        applyGpaHistory(academicPerformanceRepository.findGpaHistorySince(gpaWindowStart()), rowByClientId, batch);
+
+        int[] scores = RiskCalculator.scoreAll(batch);
+
+        Map<Integer, Map<Client.RiskLevel, List<Long>>> changes = new HashMap<>();
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            Client.RiskLevel level = RiskCalculator.levelFor(scores[i]);
+            if (!supersedes(currentLevels[i], level)
+                    || (Integer.valueOf(scores[i]).equals(currentScores[i]) && level == currentLevels[i])) {
+                continue;
+            }
+            changes.computeIfAbsent(scores[i], s -> new HashMap<>())
+                    .computeIfAbsent(level, l -> new ArrayList<>())
+                    .add(ids[i]);
+            changed++;
+        }
+
+        // At most 101 scores x 4 levels groups, each written with chunked bulk updates
+        changes.forEach((score, byLevel) -> byLevel.forEach((level, clientIds) -> {
+            for (int from = 0; from < clientIds.size(); from += UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = clientIds.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, clientIds.size()));
+                clientRepository.updateRiskScores(chunk, score, level);
+            }
+        }));
+
+        log.info("Rescored {} clients, {} changed", size, changed);
+        return changed;
+    }
+
+    /**
+     * Rows of [userId, phq9, gad7, pss] from the latest assessment date. Ties on that date keep the
+     * highest score for each instrument.
+     */
+    private static void applyLatestAssessments(List<Object[]> rows, Map<Long, Integer> rowByClientId,
+                                               RiskCalculator.Batch batch) {
+        for (Object[] row : rows) {
+            Integer i = rowByClientId.get((Long) row[0]);
+            if (i != null) {
+                batch.phq9[i] = Math.max(batch.phq9[i], orMissing((Integer) row[1]));
+                batch.gad7[i] = Math.max(batch.gad7[i], orMissing((Integer) row[2]));
+                batch.pss[i] = Math.max(batch.pss[i], orMissing((Integer) row[3]));
+            }
+        }
+    }
+
+    /**
+     * Rows of [clientId, gpa] within the GPA window, newest first per client: the first is the
+     * latest GPA, the second the one before it. Without records in the window the client's own GPA
+     * stands and there is no trend.
+     */
+    private static void applyGpaHistory(List<Object[]> rows, Map<Long, Integer> rowByClientId,
+                                        RiskCalculator.Batch batch) {
+        Long previousClientId = null;
+        int seen = 0;
+        for (Object[] row : rows) {
+            Long clientId = (Long) row[0];
+            seen = clientId.equals(previousClientId) ? seen + 1 : 0;
+            previousClientId = clientId;
+            Integer i = rowByClientId.get(clientId);
+            if (i == null || seen > 1) {
+                continue;
+            }
+            double gpa = ((BigDecimal) row[1]).doubleValue();
+            if (seen == 0) {
+                batch.gpa[i] = gpa;
+            } else {
+                batch.gpaChange[i] = batch.gpa[i] - gpa;
+            }
+        }
+    }
+
+    private static LocalDate gpaWindowStart() {
+        return LocalDate.now().minusYears(GPA_WINDOW_YEARS);
+    }
+
+    private static boolean supersedes(Client.RiskLevel current, Client.RiskLevel computed) {
+        return current == null || computed.ordinal() >= current.ordinal();
+    }
+
+    private static int orMissing(Integer value) {
+        return value != null ? value : RiskCalculator.MISSING;
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+}
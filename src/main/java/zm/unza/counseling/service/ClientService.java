@@ -23,6 +23,7 @@ import zm.unza.counseling.repository.ClientRepository;
 import zm.unza.counseling.repository.RoleRepository;
 import zm.unza.counseling.repository.UserRepository;
 import zm.unza.counseling.security.AuthenticationSource;
+import zm.unza.counseling.util.PersonSearch;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -196,7 +197,8 @@ public class ClientService {
     }
 
     public Page<Client> searchClients(String searchTerm, Pageable pageable) {
-        return clientRepository.searchClients(searchTerm, pageable);
+        String keyword = PersonSearch.keyword(searchTerm);
+        return clientRepository.searchClients(keyword, PersonSearch.containsPattern(keyword), PersonSearch.ranked(pageable));
     }
 
     public Page<Client> getClientsByStatus(Client.ClientStatus status, Pageable pageable) {
@@ -1,27 +1,51 @@
 package zm.unza.counseling.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import zm.unza.counseling.config.ClinicProperties;
+import zm.unza.counseling.entity.ClinicSyncOutbox;
 import zm.unza.counseling.entity.SecurityAlert;
+import zm.unza.counseling.repository.ClinicSyncOutboxRepository;
+import zm.unza.counseling.repository.SecurityAlertRepository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Pushes SecurityAlert create/status-update events out to the university clinic system
  * so alerts raised on either side are visible on both.
  *
- * Best-effort only: every method swallows and logs exceptions so a clinic-system outage
- * never breaks a local security-alert operation.
+ * Delivery goes through a transactional outbox: {@link #syncCreate} and {@link #syncStatusUpdate}
+ * only write a {@link ClinicSyncOutbox} row inside the caller's transaction, and
+ * {@link #dispatchPending()} (driven by ClinicSyncOutboxJob) sends them later with exponential
+ * backoff. A clinic-system outage therefore delays alerts instead of losing them, and never
+ * adds latency to the local security-alert operation.
  */
 @Service
 @Slf4j
@@ -29,97 +53,411 @@ public class ClinicAlertSyncService {
 
     private static final String CREATE_PATH = "/api/external/counseling/security-alerts/inbound";
     private static final String STATUS_PATH = "/api/external/counseling/security-alerts/inbound/%s/status";
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+    private static final int MAX_ERROR_LENGTH = 500;
 
     private final RestTemplate restTemplate;
     private final ClinicProperties clinicProperties;
+    private final ClinicSyncOutboxRepository outboxRepository;
+    private final SecurityAlertRepository securityAlertRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Refreshed after every dispatch cycle so a metrics scrape never hits the database
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
 
     @Value("${app.cross-system.api-key:}")
     private String crossSystemApiKey;
 
-    public ClinicAlertSyncService(RestTemplate restTemplate, ClinicProperties clinicProperties) {
+    public ClinicAlertSyncService(RestTemplate restTemplate,
+                                  ClinicProperties clinicProperties,
+                                  ClinicSyncOutboxRepository outboxRepository,
+                                  SecurityAlertRepository securityAlertRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.clinicProperties = clinicProperties;
+        this.outboxRepository = outboxRepository;
+        this.securityAlertRepository = securityAlertRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("clinic.sync.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Clinic sync outbox rows waiting to be delivered")
+                .register(meterRegistry);
+        Gauge.builder("clinic.sync.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered clinic sync outbox row")
+                .register(meterRegistry);
     }
 
+    // ── Enqueue ───────────────────────────────────────────────────────────
+
     /**
-     * Notify the clinic system that a new alert was raised here. On success, stores the
-     * clinic's own local id for this alert back onto {@code alert} (externalAlertId/externalSystem)
-     * — callers are responsible for persisting the entity afterwards.
+     * Queue a create call to the clinic system for an alert raised here. Must be called inside the
+     * transaction that saved {@code alert} so the outbox row commits or rolls back with it. Once
+     * delivered, the clinic's own id for the alert is written back to externalAlertId/externalSystem.
      */
     public void syncCreate(SecurityAlert alert) {
         if (!clinicProperties.isConfigured()) {
             log.debug("Clinic system URL not configured — skipping outbound sync for alert {}", alert.getId());
             return;
         }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("externalAlertId", alert.getId() != null ? String.valueOf(alert.getId()) : null);
+        body.put("category", alert.getCategory() != null ? alert.getCategory().name() : null);
+        body.put("severity", alert.getSeverity() != null ? alert.getSeverity().name() : null);
+        body.put("sourceType", alert.getSourceType() != null ? alert.getSourceType().name() : null);
+        body.put("subjectStudentId", alert.getSubjectStudentId());
+        body.put("subjectName", alert.getSubjectName());
+        body.put("reportedByName", alert.getReportedByName());
+        body.put("description", alert.getDescription());
+        body.put("latitude", alert.getLatitude());
+        body.put("longitude", alert.getLongitude());
+        body.put("occurredAt", alert.getOccurredAt() != null
+                ? alert.getOccurredAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+
+        enqueue(alert.getId(), ClinicSyncOutbox.Operation.CREATE,
+                "counselling-alert-" + alert.getId() + "-create", body);
+    }
+
+    /**
+     * Queue a status change (acknowledge/resolve) for the clinic system. Accepted either when the
+     * alert is already linked (externalAlertId set) or when it originated here and its create call
+     * may still be waiting in the outbox; the dispatcher holds the update back until the link exists.
+     */
+    public void syncStatusUpdate(SecurityAlert alert) {
+        if (!clinicProperties.isConfigured()) {
+            return;
+        }
+        boolean linked = alert.getExternalAlertId() != null && !alert.getExternalAlertId().isBlank();
+        if (!linked && alert.getOriginSystem() != SecurityAlert.OriginSystem.COUNSELLING) {
+            return;
+        }
+        String actorName = switch (alert.getStatus()) {
+            case RESOLVED, FALSE_POSITIVE -> alert.getResolvedByName();
+            case ACKNOWLEDGED -> alert.getAcknowledgedByName();
+            default -> null;
+        };
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", alert.getStatus().name());
+        body.put("actorName", actorName);
+        body.put("resolutionNotes", alert.getResolutionNotes());
+
+        enqueue(alert.getId(), ClinicSyncOutbox.Operation.STATUS_UPDATE,
+                "counselling-alert-" + alert.getId() + "-status-" + UUID.randomUUID(), body);
+    }
+
+    private void enqueue(Long alertId, ClinicSyncOutbox.Operation operation,
+                         String idempotencyKey, Map<String, Object> body) {
+        ClinicSyncOutbox entry = new ClinicSyncOutbox();
+        entry.setAlertId(alertId);
+        entry.setOperation(operation);
+        entry.setIdempotencyKey(idempotencyKey);
+        entry.setPayload(toJson(body));
+        entry.setStatus(ClinicSyncOutbox.Status.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(entry);
+    }
+
+    // ── Dispatch ──────────────────────────────────────────────────────────
+
+    /**
+     * Claim one batch of due outbox rows and deliver them. Creates go first so status updates
+     * for the same alert in the same batch can already see the clinic's id.
+     *
+     * @return number of rows delivered successfully
+     */
+    public int dispatchPending() {
+        if (!clinicProperties.isConfigured()) {
+            return 0;
+        }
+        List<ClinicSyncOutbox> claimed = transactionTemplate.execute(tx -> claimBatch());
+        int delivered = 0;
+        if (claimed != null && !claimed.isEmpty()) {
+            List<ClinicSyncOutbox> statusUpdates = new ArrayList<>();
+            for (ClinicSyncOutbox entry : claimed) {
+                if (entry.getOperation() == ClinicSyncOutbox.Operation.CREATE) {
+                    if (deliverCreate(entry)) {
+                        delivered++;
+                    }
+                } else {
+                    statusUpdates.add(entry);
+                }
+            }
+            delivered += deliverStatusUpdates(statusUpdates);
+        }
+        refreshLagMetrics();
+        return delivered;
+    }
+
+    /**
+     * Lock due rows, push their next attempt past the claim lease so other nodes skip them while
+     * they are in flight, and collapse queued status updates down to the newest one per alert.
+     */
+    private List<ClinicSyncOutbox> claimBatch() {
+        ClinicProperties.Sync sync = clinicProperties.getSync();
+        LocalDateTime now = LocalDateTime.now();
+        List<ClinicSyncOutbox> due = outboxRepository.claimDue(now, sync.getBatchSize());
+
+        Map<Long, ClinicSyncOutbox> latestStatusByAlert = new LinkedHashMap<>();
+        List<ClinicSyncOutbox> claimed = new ArrayList<>();
+        for (ClinicSyncOutbox entry : due) {
+            if (entry.getOperation() == ClinicSyncOutbox.Operation.STATUS_UPDATE) {
+                // Rows arrive in id order, so a later row for the same alert is always newer
+                ClinicSyncOutbox previous = latestStatusByAlert.put(entry.getAlertId(), entry);
+                if (previous != null) {
+                    previous.setStatus(ClinicSyncOutbox.Status.SUPERSEDED);
+                    claimed.remove(previous);
+                }
+            }
+            entry.setNextAttemptAt(now.plus(sync.getClaimLease()));
+            claimed.add(entry);
+        }
+        outboxRepository.flush();
+        for (ClinicSyncOutbox latest : latestStatusByAlert.values()) {
+            outboxRepository.supersedeOlderStatusUpdates(latest.getAlertId(), latest.getId());
+        }
+        return claimed;
+    }
+
+    private boolean deliverCreate(ClinicSyncOutbox entry) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Map<String, Object> body = new LinkedHashMap<>();
-            body.put("externalAlertId", alert.getId() != null ? String.valueOf(alert.getId()) : null);
-            body.put("category", alert.getCategory() != null ? alert.getCategory().name() : null);
-            body.put("severity", alert.getSeverity() != null ? alert.getSeverity().name() : null);
-            body.put("sourceType", alert.getSourceType() != null ? alert.getSourceType().name() : null);
-            body.put("subjectStudentId", alert.getSubjectStudentId());
-            body.put("subjectName", alert.getSubjectName());
-            body.put("reportedByName", alert.getReportedByName());
-            body.put("description", alert.getDescription());
-            body.put("latitude", alert.getLatitude());
-            body.put("longitude", alert.getLongitude());
-            body.put("occurredAt", alert.getOccurredAt() != null
-                    ? alert.getOccurredAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, jsonHeaders());
+            HttpEntity<String> request = new HttpEntity<>(entry.getPayload(), jsonHeaders(entry.getIdempotencyKey()));
             ResponseEntity<Map> response = restTemplate.postForEntity(
-                    clinicProperties.getBaseUrl() + CREATE_PATH, entity, Map.class);
+                    clinicProperties.getBaseUrl() + CREATE_PATH, request, Map.class);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException("Clinic system returned status " + response.getStatusCode());
+            }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Object localAlertId = response.getBody().get("localAlertId");
+            Object localAlertId = response.getBody() != null ? response.getBody().get("localAlertId") : null;
+            if (localAlertId == null) {
+                log.warn("Clinic system accepted alert {} but returned no localAlertId; status updates cannot be linked",
+                        entry.getAlertId());
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
                 if (localAlertId != null) {
-                    alert.setExternalAlertId(String.valueOf(localAlertId));
-                    alert.setExternalSystem(SecurityAlert.ExternalSystem.CLINIC);
+                    securityAlertRepository.linkExternalAlert(entry.getAlertId(),
+                            String.valueOf(localAlertId), SecurityAlert.ExternalSystem.CLINIC);
                 }
+                markSent(entry);
+            });
+            return true;
+        } catch (Exception e) {
+            recordFailure(entry, e);
+            return false;
+        } finally {
+            sample.stop(deliveryTimer(entry.getOperation()));
+        }
+    }
+
+    private int deliverStatusUpdates(List<ClinicSyncOutbox> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> externalIds = new HashMap<>();
+        for (Object[] row : securityAlertRepository.findExternalAlertIds(
+                entries.stream().map(ClinicSyncOutbox::getAlertId).toList())) {
+            if (row[1] != null && !((String) row[1]).isBlank()) {
+                externalIds.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<ClinicSyncOutbox> ready = new ArrayList<>();
+        for (ClinicSyncOutbox entry : entries) {
+            if (externalIds.containsKey(entry.getAlertId())) {
+                ready.add(entry);
+            } else if (outboxRepository.existsByAlertIdAndOperationAndStatus(
+                    entry.getAlertId(), ClinicSyncOutbox.Operation.CREATE, ClinicSyncOutbox.Status.PENDING)) {
+                deferUntilLinked(entry);
             } else {
-                log.warn("Clinic system returned non-success status {} while syncing alert {}",
-                        response.getStatusCode(), alert.getId());
+                park(entry, "Alert was never linked to a clinic-system record");
             }
+        }
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        if (clinicProperties.getSync().hasStatusBatchPath() && ready.size() > 1) {
+            return sendStatusBatch(ready, externalIds);
+        }
+        int delivered = 0;
+        for (ClinicSyncOutbox entry : ready) {
+            if (sendStatus(entry, externalIds.get(entry.getAlertId()))) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private boolean sendStatus(ClinicSyncOutbox entry, String externalAlertId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String url = clinicProperties.getBaseUrl() + String.format(STATUS_PATH, externalAlertId);
+            HttpEntity<String> request = new HttpEntity<>(entry.getPayload(), jsonHeaders(entry.getIdempotencyKey()));
+            restTemplate.exchange(url, HttpMethod.PATCH, request, Void.class);
+            transactionTemplate.executeWithoutResult(tx -> markSent(entry));
+            return true;
         } catch (Exception e) {
-            log.warn("Failed to sync security alert {} to clinic system: {}", alert.getId(), e.getMessage());
+            recordFailure(entry, e);
+            return false;
+        } finally {
+            sample.stop(deliveryTimer(entry.getOperation()));
         }
     }
 
     /**
-     * Push a status change (acknowledge/resolve) to the clinic system for an alert that was
-     * previously synced there (i.e. {@code externalAlertId} is set).
+     * One POST carrying every ready status update. Each item keeps its own idempotency key so the
+     * clinic can drop individual items it has already applied.
      */
-    public void syncStatusUpdate(SecurityAlert alert) {
-        if (!clinicProperties.isConfigured()) {
-            return;
+    private int sendStatusBatch(List<ClinicSyncOutbox> entries, Map<Long, String> externalIds) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<Map<String, Object>> items = new ArrayList<>(entries.size());
+            for (ClinicSyncOutbox entry : entries) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("externalAlertId", externalIds.get(entry.getAlertId()));
+                item.put("idempotencyKey", entry.getIdempotencyKey());
+                item.putAll(fromJson(entry.getPayload()));
+                items.add(item);
+            }
+            String batchKey = "counselling-status-batch-" + entries.get(0).getId()
+                    + "-" + entries.get(entries.size() - 1).getId();
+            HttpEntity<String> request = new HttpEntity<>(toJson(items), jsonHeaders(batchKey));
+            restTemplate.postForEntity(
+                    clinicProperties.getBaseUrl() + clinicProperties.getSync().getStatusBatchPath(), request, Void.class);
+            transactionTemplate.executeWithoutResult(tx -> entries.forEach(this::markSent));
+            return entries.size();
+        } catch (Exception e) {
+            entries.forEach(entry -> recordFailure(entry, e));
+            return 0;
+        } finally {
+            sample.stop(deliveryTimer(ClinicSyncOutbox.Operation.STATUS_UPDATE));
         }
-        if (alert.getExternalAlertId() == null || alert.getExternalAlertId().isBlank()) {
-            return;
+    }
+
+    // ── Outcome bookkeeping ───────────────────────────────────────────────
+
+    private void markSent(ClinicSyncOutbox entry) {
+        entry.setStatus(ClinicSyncOutbox.Status.SENT);
+        entry.setSentAt(LocalDateTime.now());
+        entry.setLastError(null);
+        outboxRepository.save(entry);
+        meterRegistry.counter("clinic.sync.sent", "operation", entry.getOperation().name()).increment();
+    }
+
+    private void recordFailure(ClinicSyncOutbox entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(e.getMessage()));
+        meterRegistry.counter("clinic.sync.failed", "operation", entry.getOperation().name()).increment();
+
+        if (isPermanentFailure(e) || attempts >= clinicProperties.getSync().getMaxAttempts()) {
+            entry.setStatus(ClinicSyncOutbox.Status.DEAD);
+            meterRegistry.counter("clinic.sync.dead", "operation", entry.getOperation().name()).increment();
+            log.error("Giving up on clinic sync {} for security alert {} after {} attempt(s): {}",
+                    entry.getOperation(), entry.getAlertId(), attempts, e.getMessage());
+        } else {
+            Duration delay = backoff(attempts);
+            entry.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            log.warn("Clinic sync {} for security alert {} failed (attempt {}), retrying in {}s: {}",
+                    entry.getOperation(), entry.getAlertId(), attempts, delay.toSeconds(), e.getMessage());
+        }
+        saveQuietly(entry);
+    }
+
+    private void deferUntilLinked(ClinicSyncOutbox entry) {
+        entry.setNextAttemptAt(LocalDateTime.now().plus(clinicProperties.getSync().getInitialBackoff()));
+        saveQuietly(entry);
+    }
+
+    private void park(ClinicSyncOutbox entry, String reason) {
+        entry.setStatus(ClinicSyncOutbox.Status.DEAD);
+        entry.setLastError(reason);
+        meterRegistry.counter("clinic.sync.dead", "operation", entry.getOperation().name()).increment();
+        log.warn("Dropping clinic status sync for security alert {}: {}", entry.getAlertId(), reason);
+        saveQuietly(entry);
+    }
+
+    private void saveQuietly(ClinicSyncOutbox entry) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> outboxRepository.save(entry));
+        } catch (Exception e) {
+            // The claim lease expires and the row is picked up again
+            log.warn("Failed to persist outcome of clinic sync outbox row {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    /** Client errors other than timeouts/rate limiting will not succeed on retry. */
+    private boolean isPermanentFailure(Exception e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            int status = clientError.getStatusCode().value();
+            return status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
         }
+        return false;
+    }
+
+    /** initialBackoff * 2^(attempts-1), capped at maxBackoff, minus up to 20% jitter. */
+    private Duration backoff(int attempts) {
+        ClinicProperties.Sync sync = clinicProperties.getSync();
+        long base = sync.getInitialBackoff().toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, sync.getMaxBackoff().toMillis());
+        long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+        return Duration.ofMillis(capped - jitter);
+    }
+
+    private void refreshLagMetrics() {
         try {
-            String actorName = switch (alert.getStatus()) {
-                case RESOLVED, FALSE_POSITIVE -> alert.getResolvedByName();
-                case ACKNOWLEDGED -> alert.getAcknowledgedByName();
-                default -> null;
-            };
-
-            Map<String, Object> body = new LinkedHashMap<>();
-            body.put("status", alert.getStatus().name());
-            body.put("actorName", actorName);
-            body.put("resolutionNotes", alert.getResolutionNotes());
-
-            String url = clinicProperties.getBaseUrl() + String.format(STATUS_PATH, alert.getExternalAlertId());
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, jsonHeaders());
-            restTemplate.exchange(url, HttpMethod.PATCH, entity, Void.class);
+            pendingCount.set(outboxRepository.countByStatus(ClinicSyncOutbox.Status.PENDING));
+            LocalDateTime oldest = outboxRepository.findOldestCreatedAt(ClinicSyncOutbox.Status.PENDING);
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
         } catch (Exception e) {
-            log.warn("Failed to sync status update for security alert {} (external id {}) to clinic system: {}",
-                    alert.getId(), alert.getExternalAlertId(), e.getMessage());
+            log.debug("Failed to refresh clinic sync lag metrics: {}", e.getMessage());
+        }
+    }
+
+    private Timer deliveryTimer(ClinicSyncOutbox.Operation operation) {
+        return Timer.builder("clinic.sync.delivery")
+                .description("Time spent delivering outbox rows to the clinic system")
+                .tag("operation", operation.name())
+                .register(meterRegistry);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize clinic sync payload", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt clinic sync payload", e);
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
         }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
     }
 
-    private HttpHeaders jsonHeaders() {
+    private HttpHeaders jsonHeaders(String idempotencyKey) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IDEMPOTENCY_HEADER, idempotencyKey);
         if (crossSystemApiKey != null && !crossSystemApiKey.isBlank()) {
             headers.set("X-Service-Api-Key", crossSystemApiKey);
         }
@@ -2,6 +2,7 @@ package zm.unza.counseling.service;
 
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import zm.unza.counseling.dto.request.ClinicReferralRequest;
@@ -9,6 +10,7 @@ import zm.unza.counseling.dto.request.ClinicVisitRequest;
 import zm.unza.counseling.dto.response.ClinicReferralResponse;
 import zm.unza.counseling.dto.response.ClinicVisitFrequencyResponse;
 import zm.unza.counseling.dto.response.ClinicVisitResponse;
+import zm.unza.counseling.dto.response.FrequentVisitorPageResponse;
 import zm.unza.counseling.entity.Case;
 import zm.unza.counseling.entity.ClinicReferral;
 import zm.unza.counseling.entity.ClinicVisit;
@@ -27,6 +29,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class ClinicService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ClinicReferralRepository referralRepo;
     private final ClinicVisitRepository visitRepo;
     private final UserRepository userRepo;
@@ -152,26 +157,24 @@ public class ClinicService {
         LocalDateTime startOf90  = now.minusDays(90);
         LocalDateTime startOfYear = now.withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
 
-        long total       = visitRepo.countByClientId(clientId);
-        long last30      = visitRepo.countByClientIdAndDateRange(clientId, startOf30, now);
-        long last90      = visitRepo.countByClientIdAndDateRange(clientId, startOf90, now);
-        long thisYear    = visitRepo.countByClientIdAndDateRange(clientId, startOfYear, now);
-        boolean frequent = last90 >= 3;
-
-        // Month breakdown
-        List<Object[]> monthly = visitRepo.countByClientIdGroupedByMonth(clientId);
+        // One grouped query: monthly counts, with the 30d/90d/YTD/total buckets as window sums on every row
+        List<Object[]> monthly = visitRepo.findVisitFrequencyBuckets(clientId, now, startOf30, startOf90, startOfYear);
+        long total = 0, last30 = 0, last90 = 0, thisYear = 0;
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM");
         Map<String, Long> byMonth = new LinkedHashMap<>();
         for (Object[] row : monthly) {
-            // row[0] is a Timestamp from DATE_TRUNC
-            String month = ((java.sql.Timestamp) row[0]).toLocalDateTime().format(fmt);
-            byMonth.put(month, ((Number) row[1]).longValue());
+            byMonth.put(toLocalDateTime(row[0]).format(fmt), ((Number) row[1]).longValue());
+            total    = ((Number) row[2]).longValue();
+            last30   = ((Number) row[3]).longValue();
+            last90   = ((Number) row[4]).longValue();
+            thisYear = ((Number) row[5]).longValue();
         }
+        boolean frequent = last90 >= 3;
 
         // Recent 10 visits
         List<ClinicVisitResponse> recent = visitRepo
-                .findByClientIdAndDateRange(clientId, now.minusYears(1), now)
-                .stream().limit(10).map(ClinicVisitResponse::from).collect(Collectors.toList());
+                .findRecentByClientId(clientId, now.minusYears(1), PageRequest.of(0, 10))
+                .stream().map(ClinicVisitResponse::from).collect(Collectors.toList());
 
         ClinicVisitFrequencyResponse freq = new ClinicVisitFrequencyResponse();
         freq.setClientId(clientId);
@@ -190,25 +193,71 @@ public class ClinicService {
     public List<Map<String, Object>> getFrequentVisitors(int thresholdVisits, int withinDays) {
         LocalDateTime from = LocalDateTime.now().minusDays(withinDays);
         List<Object[]> rows = visitRepo.findFrequentVisitors(from, LocalDateTime.now(), thresholdVisits);
+        return toFrequentVisitorEntries(rows, withinDays);
+    }
+
+    /**
+     * Population-wide frequent-visitor scan in keyset pages ordered by visit count descending,
+     * then client id. Each page is one aggregate query plus one identity lookup.
+     */
+    public FrequentVisitorPageResponse getFrequentVisitorsPage(int thresholdVisits, int withinDays,
+                                                               Long afterVisitCount, Long afterClientId,
+                                                               Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(withinDays);
+        // Fetch one extra row to learn whether another page exists
+        List<Object[]> rows = afterVisitCount != null && afterClientId != null
+                ? visitRepo.findFrequentVisitorsPageAfter(from, to, thresholdVisits, afterVisitCount, afterClientId, size + 1)
+                : visitRepo.findFrequentVisitorsPage(from, to, thresholdVisits, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<Object[]> pageRows = hasMore ? rows.subList(0, size) : rows;
+        Object[] last = hasMore ? pageRows.get(pageRows.size() - 1) : null;
+
+        return new FrequentVisitorPageResponse(
+                toFrequentVisitorEntries(pageRows, withinDays),
+                hasMore,
+                last != null ? ((Number) last[1]).longValue() : null,
+                last != null ? ((Number) last[0]).longValue() : null);
+    }
+
+    // Resolves every visitor's name and email with a single query instead of one findById per row
+    private List<Map<String, Object>> toFrequentVisitorEntries(List<Object[]> rows, int withinDays) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+        Map<Long, Object[]> identities = new HashMap<>();
+        for (Object[] identity : userRepo.findIdentitiesByIdIn(ids)) {
+            identities.put((Long) identity[0], identity);
+        }
+
         List<Map<String, Object>> result = new ArrayList<>();
         for (Object[] row : rows) {
             Long cid = ((Number) row[0]).longValue();
-            long cnt = ((Number) row[1]).longValue();
-            userRepo.findById(cid).ifPresent(u -> {
-                Map<String, Object> entry = new LinkedHashMap<>();
-                entry.put("clientId", cid);
-                entry.put("clientName", u.getFullName());
-                entry.put("clientEmail", u.getEmail());
-                entry.put("visitCount", cnt);
-                entry.put("periodDays", withinDays);
-                result.add(entry);
-            });
+            Object[] identity = identities.get(cid);
+            if (identity == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("clientId", cid);
+            entry.put("clientName", identity[1] + " " + identity[2]);
+            entry.put("clientEmail", identity[3]);
+            entry.put("visitCount", ((Number) row[1]).longValue());
+            entry.put("periodDays", withinDays);
+            result.add(entry);
         }
         return result;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────
 
+    private static LocalDateTime toLocalDateTime(Object value) {
+        // DATE_TRUNC results surface as Timestamp or LocalDateTime depending on the JDBC type mapping
+        return value instanceof java.sql.Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+    }
+
     private ClinicReferral findReferral(Long id) {
         return referralRepo.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Clinic referral not found: " + id));
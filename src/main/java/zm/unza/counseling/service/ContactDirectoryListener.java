@@ -0,0 +1,54 @@
+package zm.unza.counseling.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import zm.unza.counseling.entity.User;
+
+/**
+ * JPA callbacks on {@link User} that keep {@link ContactDirectoryService} current. Changes are
+ * applied only after the surrounding transaction commits so a rollback never leaks into the
+ * directory. The directory is resolved lazily because it depends on the repositories that the
+ * entity manager factory hosting this listener provides.
+ */
+@Component
+public class ContactDirectoryListener {
+
+    private final ObjectProvider<ContactDirectoryService> contactDirectory;
+
+    public ContactDirectoryListener(ObjectProvider<ContactDirectoryService> contactDirectory) {
+        this.contactDirectory = contactDirectory;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(User user) {
+        // Snapshot now; the entity may be detached or modified again by the time the transaction commits
+        ContactDirectoryService.Entry entry = ContactDirectoryService.toEntry(user);
+        boolean active = Boolean.TRUE.equals(user.getActive());
+        afterCommit(() -> contactDirectory.getObject().upsert(entry, active));
+    }
+
+    @PostRemove
+    public void onRemoved(User user) {
+        Long userId = user.getId();
+        afterCommit(() -> contactDirectory.getObject().remove(userId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package zm.unza.counseling.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import zm.unza.counseling.entity.Role;
+import zm.unza.counseling.entity.User;
+import zm.unza.counseling.repository.UserRepository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory directory of active users for the messaging contact picker. Holds one compact entry
+ * per user (id, display name, email, role bitmask, normalized tokens) plus a sorted token index for
+ * prefix lookups, so searches never touch the database.
+ *
+ * Kept current by {@link ContactDirectoryListener} after each committed user insert, update or
+ * delete, and rebuilt periodically to pick up bulk JPQL updates that bypass entity callbacks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContactDirectoryService {
+
+    // Users who may appear in the "available contacts" list, mirroring User.isCounselor() || User.isClient()
+    private static final int CONTACTABLE_ROLES = roleBit(Role.ERole.ROLE_COUNSELOR) | roleBit(Role.ERole.ROLE_ADMIN)
+            | roleBit(Role.ERole.ROLE_STUDENT) | roleBit(Role.ERole.ROLE_CLIENT);
+    private static final int COUNSELOR_ROLES = roleBit(Role.ERole.ROLE_COUNSELOR) | roleBit(Role.ERole.ROLE_ADMIN);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int FUZZY_MIN_TOKEN_LENGTH = 3;
+
+    private static final int EXACT_MATCH = 3;
+    private static final int PREFIX_MATCH = 2;
+    private static final int FUZZY_MATCH = 1;
+
+    private final UserRepository userRepository;
+
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile NavigableMap<String, Set<Long>> tokenIndex = new ConcurrentSkipListMap<>();
+
+    private final Object rebuildLock = new Object();
+    // Non-null while a rebuild reads its snapshot; guarded by this
+    private List<Mutation> mutationsDuringRebuild;
+
+    /**
+     * Compact directory entry; {@code tokens} are the normalized name and email parts.
+     */
+    public record Entry(long id, String displayName, String email, int roleMask, String[] tokens) {
+
+        boolean isContactable() {
+            return (roleMask & CONTACTABLE_ROLES) != 0;
+        }
+
+        boolean isCounselor() {
+            return (roleMask & COUNSELOR_ROLES) != 0;
+        }
+    }
+
+    public static Entry toEntry(User user) {
+        int mask = 0;
+        for (Role role : user.getRoles()) {
+            if (role.getName() != null) {
+                mask |= roleBit(role.getName());
+            }
+        }
+        return newEntry(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), mask);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.contacts.rebuild-interval-ms:900000}",
+               fixedDelayString = "${app.contacts.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            // Upserts and removes arriving while the snapshot is read are logged and replayed onto
+            // it before the swap; otherwise the older snapshot would silently overwrite them
+            List<Mutation> pending = new ArrayList<>();
+            synchronized (this) {
+                mutationsDuringRebuild = pending;
+            }
+            try {
+                Map<Long, Entry> rebuiltEntries = new ConcurrentHashMap<>();
+                NavigableMap<String, Set<Long>> rebuiltIndex = new ConcurrentSkipListMap<>();
+                loadSnapshot(rebuiltEntries, rebuiltIndex);
+
+                synchronized (this) {
+                    pending.forEach(mutation -> mutation.apply(rebuiltEntries, rebuiltIndex));
+                    entries = rebuiltEntries;
+                    tokenIndex = rebuiltIndex;
+                }
+                log.debug("Contact directory rebuilt with {} entries, {} changes replayed",
+                        rebuiltEntries.size(), pending.size());
+            } finally {
+                synchronized (this) {
+                    mutationsDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void loadSnapshot(Map<Long, Entry> target, NavigableMap<String, Set<Long>> targetIndex) {
+        Map<Long, Object[]> users = new HashMap<>();
+        Map<Long, Integer> masks = new HashMap<>();
+        for (Object[] row : userRepository.findActiveContactRows()) {
+            Long id = (Long) row[0];
+            users.putIfAbsent(id, row);
+            int bit = row[4] != null ? roleBit((Role.ERole) row[4]) : 0;
+            masks.merge(id, bit, (a, b) -> a | b);
+        }
+        users.forEach((id, row) -> {
+            Entry entry = newEntry(id, (String) row[1], (String) row[2], (String) row[3], masks.get(id));
+            target.put(id, entry);
+            index(targetIndex, entry);
+        });
+    }
+
+    public synchronized void upsert(Entry entry, boolean active) {
+        apply((targetEntries, targetIndex) -> {
+            Entry previous = active ? targetEntries.put(entry.id(), entry) : targetEntries.remove(entry.id());
+            if (previous != null) {
+                unindex(targetIndex, previous);
+            }
+            if (active) {
+                index(targetIndex, entry);
+            }
+        });
+    }
+
+    public synchronized void remove(Long userId) {
+        apply((targetEntries, targetIndex) -> {
+            Entry previous = targetEntries.remove(userId);
+            if (previous != null) {
+                unindex(targetIndex, previous);
+            }
+        });
+    }
+
+    // Callers hold the monitor
+    private void apply(Mutation mutation) {
+        mutation.apply(entries, tokenIndex);
+        if (mutationsDuringRebuild != null) {
+            mutationsDuringRebuild.add(mutation);
+        }
+    }
+
+    /** A change to the directory, applicable to the live maps and to a snapshot being rebuilt. */
+    @FunctionalInterface
+    private interface Mutation {
+        void apply(Map<Long, Entry> entries, NavigableMap<String, Set<Long>> tokenIndex);
+    }
+
+    /**
+     * One page of the available contacts and how many there are in all.
+     */
+    public record AvailablePage(List<Long> ids, int total) {
+    }
+
+    /**
+     * Counselors first, then everyone else who can receive messages, each group by display name.
+     * Returns up to {@code limit} of them starting at {@code offset}, with the total so callers can
+     * tell a partial list from a complete one.
+     */
+    public AvailablePage findAvailable(Long excludeUserId, int offset, int limit) {
+        List<Long> available = entries.values().stream()
+                .filter(Entry::isContactable)
+                .filter(e -> excludeUserId == null || e.id() != excludeUserId)
+                .sorted(Comparator.comparing((Entry e) -> !e.isCounselor())
+                        .thenComparing(Entry::displayName, String.CASE_INSENSITIVE_ORDER))
+                .map(Entry::id)
+                .toList();
+        int from = Math.min(Math.max(offset, 0), available.size());
+        int to = (int) Math.min((long) from + limit, available.size());
+        return new AvailablePage(available.subList(from, to), available.size());
+    }
+
+    /**
+     * Every query token must match some token of the user by prefix; when that yields fewer than
+     * {@code limit} users, tokens of three or more characters may also match within a small edit
+     * distance. Exact token matches rank above prefix matches, which rank above fuzzy ones.
+     */
+    public List<Long> search(String query, Long excludeUserId, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            return List.of();
+        }
+        Map<Long, Entry> snapshot = entries;
+
+        Map<Long, Integer> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Long, Integer> tokenScores = new HashMap<>();
+            tokenIndex.subMap(queryToken, true, queryToken + Character.MAX_VALUE, true).forEach((token, ids) -> {
+                int score = token.equals(queryToken) ? EXACT_MATCH : PREFIX_MATCH;
+                for (Long id : ids) {
+                    tokenScores.merge(id, score, Math::max);
+                }
+            });
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((id, score) -> score + tokenScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        if (scores.size() < limit) {
+            for (Entry entry : snapshot.values()) {
+                if (!scores.containsKey(entry.id())) {
+                    int score = fuzzyScore(entry, queryTokens);
+                    if (score > 0) {
+                        scores.put(entry.id(), score);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Integer> ranked = scores;
+        return ranked.keySet().stream()
+                .filter(id -> excludeUserId == null || !id.equals(excludeUserId))
+                .filter(snapshot::containsKey)
+                .sorted(Comparator.comparing((Long id) -> -ranked.get(id))
+                        .thenComparing(id -> snapshot.get(id).displayName(), String.CASE_INSENSITIVE_ORDER))
+                .limit(limit)
+                .toList();
+    }
+
+    // ---- private helpers ----
+
+    private static Entry newEntry(Long id, String firstName, String lastName, String email, int roleMask) {
+        String displayName = (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String source : new String[]{firstName, lastName, email}) {
+            for (String token : tokenize(source)) {
+                tokens.add(token);
+            }
+        }
+        return new Entry(id, displayName.trim(), email, roleMask, tokens.toArray(String[]::new));
+    }
+
+    private static void index(NavigableMap<String, Set<Long>> index, Entry entry) {
+        for (String token : entry.tokens()) {
+            index.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    private static void unindex(NavigableMap<String, Set<Long>> index, Entry entry) {
+        for (String token : entry.tokens()) {
+            index.computeIfPresent(token, (t, ids) -> {
+                ids.remove(entry.id());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static int fuzzyScore(Entry entry, String[] queryTokens) {
+        int total = 0;
+        for (String queryToken : queryTokens) {
+            int best = 0;
+            for (String token : entry.tokens()) {
+                if (token.startsWith(queryToken)) {
+                    best = token.equals(queryToken) ? EXACT_MATCH : PREFIX_MATCH;
+                } else if (queryToken.length() >= FUZZY_MIN_TOKEN_LENGTH && withinEditDistance(queryToken, token)) {
+                    best = Math.max(best, FUZZY_MATCH);
+                }
+                if (best == EXACT_MATCH) {
+                    break;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Whether {@code query} is within edit distance 1 (2 for six or more characters) of a prefix
+     * of {@code token} of similar length. Uses a single-row Levenshtein with early exit.
+     */
+    private static boolean withinEditDistance(String query, String token) {
+        int maxDistance = query.length() >= 6 ? 2 : 1;
+        int targetLength = Math.min(token.length(), query.length() + maxDistance);
+        if (Math.abs(targetLength - query.length()) > maxDistance) {
+            return false;
+        }
+        int[] row = new int[targetLength + 1];
+        for (int j = 0; j <= targetLength; j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            int diagonal = row[0];
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= targetLength; j++) {
+                int above = row[j];
+                int cost = query.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, above + 1), diagonal + cost);
+                diagonal = above;
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > maxDistance) {
+                return false;
+            }
+        }
+        // Any prefix of the token within range counts, so the query may stop short of the full token
+        for (int j = Math.max(0, query.length() - maxDistance); j <= targetLength; j++) {
+            if (row[j] <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+    }
+
+    private static int roleBit(Role.ERole role) {
+        return 1 << role.ordinal();
+    }
+}
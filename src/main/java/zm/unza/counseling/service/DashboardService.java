@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import zm.unza.counseling.dto.AppointmentDto;
+import zm.unza.counseling.dto.AppointmentStats;
 import zm.unza.counseling.dto.response.DashboardStatsResponse;
 import zm.unza.counseling.entity.Appointment;
 import zm.unza.counseling.entity.Client;
@@ -29,6 +30,7 @@ public class DashboardService {
     private final SessionRepository sessionRepository;
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
+    private final AppointmentStatisticsService appointmentStatisticsService;
 
     public DashboardStatsResponse getStats() {
         long totalClients = clientRepository.count();
@@ -76,11 +78,12 @@ public class DashboardService {
     public Map<String, Object> getPerformanceMetrics() {
         Map<String, Object> metrics = new HashMap<>();
 
-        long totalAppointments      = appointmentRepository.count();
-        long completedAppointments  = appointmentRepository.countByStatus(Appointment.AppointmentStatus.COMPLETED);
-        long cancelledAppointments  = appointmentRepository.countByStatus(Appointment.AppointmentStatus.CANCELLED);
-        long scheduledAppointments  = appointmentRepository.countByStatus(Appointment.AppointmentStatus.SCHEDULED);
-        long inProgressAppointments = appointmentRepository.countByStatus(Appointment.AppointmentStatus.IN_PROGRESS);
+        AppointmentStats stats = appointmentStatisticsService.getStatistics();
+        long totalAppointments      = stats.getTotalAppointments();
+        long completedAppointments  = stats.getCompleted();
+        long cancelledAppointments  = stats.getCancelled();
+        long scheduledAppointments  = stats.getScheduled();
+        long inProgressAppointments = stats.getInProgress();
 
         double completionRate = totalAppointments > 0
                 ? (double) completedAppointments / totalAppointments * 100
@@ -110,6 +110,12 @@ public interface GoalService {
      */
     List<GoalResponse> getOverdueGoals();
 
+    /**
+     * Flag every open goal past its deadline as OVERDUE and notify each affected client once
+     * @return number of goals flagged
+     */
+    int transitionOverdueGoals();
+
     /**
      * Search goals by keyword
      * @param keyword the search keyword
@@ -41,16 +41,7 @@ public class NotificationService {
             return CompletableFuture.completedFuture(null);
         }
 
-        Notification notification = new Notification();
-        notification.setRecipientId(userId);
-        notification.setTitle(title);
-        notification.setMessage(message);
-        notification.setType(type != null ? type : "SYSTEM");
-        notification.setPriority(priority);
-        notification.setActionUrl(actionUrl);
-        notification.setIsRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-
+        Notification notification = newNotification(userId, title, message, type, priority, actionUrl);
         return CompletableFuture.completedFuture(notificationRepository.saveAndFlush(notification));
     }
 
@@ -67,22 +58,10 @@ public class NotificationService {
             return;
         }
 
-        LocalDateTime now = LocalDateTime.now();
         List<Notification> notifications = userIds.stream()
                 .filter(userId -> userId != null)
                 .distinct()
-                .map(userId -> {
-                    Notification notification = new Notification();
-                    notification.setRecipientId(userId);
-                    notification.setTitle(title);
-                    notification.setMessage(message);
-                    notification.setType(type != null ? type : "SYSTEM");
-                    notification.setPriority(priority);
-                    notification.setActionUrl(actionUrl);
-                    notification.setIsRead(false);
-                    notification.setCreatedAt(now);
-                    return notification;
-                })
+                .map(userId -> newNotification(userId, title, message, type, priority, actionUrl))
                 .toList();
 
         if (!notifications.isEmpty()) {
@@ -90,6 +69,30 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Insert prepared notifications in one batch; used by the async notification consumers.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveNotifications(List<Notification> notifications) {
+        if (!notifications.isEmpty()) {
+            notificationRepository.saveAllAndFlush(notifications);
+        }
+    }
+
+    public static Notification newNotification(Long userId, String title, String message, String type,
+                                               String priority, String actionUrl) {
+        Notification notification = new Notification();
+        notification.setRecipientId(userId);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType(type != null ? type : "SYSTEM");
+        notification.setPriority(priority);
+        notification.setActionUrl(actionUrl);
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+
     public List<Notification> getUserNotifications(Long userId) {
         return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
     }
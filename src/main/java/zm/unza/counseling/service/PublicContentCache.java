@@ -0,0 +1,169 @@
+package zm.unza.counseling.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+import zm.unza.counseling.dto.response.ApiResponse;
+import zm.unza.counseling.repository.CaseRepository;
+import zm.unza.counseling.repository.ResourceRepository;
+import zm.unza.counseling.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed JSON for high-traffic read-only endpoints (login-screen stats, the published
+ * knowledge base listing, featured resources). Payloads are serialized once per refresh with the
+ * application's ObjectMapper, so responses are byte-identical to what the controllers used to
+ * return, and requests are answered from memory with an ETag and Cache-Control; a matching
+ * If-None-Match gets a 304 without a body.
+ *
+ * Payloads are rebuilt on a schedule, and within one tick of {@link #invalidate} after an edit.
+ * Rebuilds never run on the request path unless a payload has never been built.
+ */
+@Service
+@Slf4j
+public class PublicContentCache {
+
+    public enum Key {
+        PUBLIC_STATS(true),
+        KNOWLEDGE_BASE_PUBLISHED(false),
+        FEATURED_RESOURCES(false);
+
+        // Whether shared caches may store it; the others sit behind authentication
+        private final boolean shared;
+
+        Key(boolean shared) {
+            this.shared = shared;
+        }
+    }
+
+    private record Payload(byte[] json, String eTag, Instant builtAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final CaseRepository caseRepository;
+    private final ResourceRepository resourceRepository;
+    private final ViewCounterService viewCounterService;
+    private final Duration refreshInterval;
+    private final CacheControl sharedCacheControl;
+    private final CacheControl privateCacheControl;
+
+    private final Map<Key, Payload> payloads = new ConcurrentHashMap<>();
+    private final Map<Key, Boolean> stale = new ConcurrentHashMap<>();
+
+    public PublicContentCache(ObjectMapper objectMapper,
+                              UserRepository userRepository,
+                              CaseRepository caseRepository,
+                              ResourceRepository resourceRepository,
+                              ViewCounterService viewCounterService,
+                              @Value("${app.public-cache.refresh-ms:60000}") long refreshMs,
+                              @Value("${app.public-cache.max-age-seconds:60}") long maxAgeSeconds) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.caseRepository = caseRepository;
+        this.resourceRepository = resourceRepository;
+        this.viewCounterService = viewCounterService;
+        this.refreshInterval = Duration.ofMillis(refreshMs);
+        this.sharedCacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        this.privateCacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate();
+    }
+
+    /**
+     * The cached payload as a response, or {@code null} once {@code webRequest} has been answered
+     * with 304 Not Modified.
+     */
+    public ResponseEntity<byte[]> respond(Key key, WebRequest webRequest) {
+        Payload payload = payloads.get(key);
+        if (payload == null) {
+            payload = rebuild(key);
+        }
+        if (webRequest.checkNotModified(payload.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(payload.eTag())
+                .cacheControl(key.shared ? sharedCacheControl : privateCacheControl)
+                .body(payload.json());
+    }
+
+    /**
+     * Mark a payload for rebuild on the next refresh tick, e.g. after the underlying data changed.
+     */
+    public void invalidate(Key key) {
+        stale.put(key, Boolean.TRUE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Key key : Key.values()) {
+            rebuildQuietly(key);
+        }
+    }
+
+    /**
+     * Rebuild payloads that were invalidated or have reached the refresh interval.
+     */
+    @Scheduled(fixedDelayString = "${app.public-cache.check-interval-ms:5000}")
+    public void refreshStale() {
+        Instant cutoff = Instant.now().minus(refreshInterval);
+        for (Key key : Key.values()) {
+            Payload payload = payloads.get(key);
+            if (stale.remove(key) != null || payload == null || payload.builtAt().isBefore(cutoff)) {
+                rebuildQuietly(key);
+            }
+        }
+    }
+
+    // ---- private helpers ----
+
+    private void rebuildQuietly(Key key) {
+        try {
+            rebuild(key);
+        } catch (Exception e) {
+            // Keep serving the previous payload; the next tick retries
+            stale.put(key, Boolean.TRUE);
+            log.warn("Failed to rebuild public content {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Payload rebuild(Key key) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(load(key));
+            Payload payload = new Payload(json, "\"0" + DigestUtils.md5DigestAsHex(json) + "\"", Instant.now());
+            payloads.put(key, payload);
+            return payload;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize public content " + key, e);
+        }
+    }
+
+    private Object load(Key key) {
+        return switch (key) {
+            case PUBLIC_STATS -> {
+                Map<String, Long> stats = new LinkedHashMap<>();
+                stats.put("studentsSupported", userRepository.countStudents());
+                stats.put("activeCounselors", userRepository.countCounselors());
+                stats.put("casesHandled", caseRepository.count());
+                yield ApiResponse.success(stats);
+            }
+            case KNOWLEDGE_BASE_PUBLISHED -> ApiResponse.success(viewCounterService.getPublishedArticles());
+            case FEATURED_RESOURCES -> resourceRepository.findByFeaturedTrue();
+        };
+    }
+}
@@ -1,23 +1,32 @@
 package zm.unza.counseling.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import zm.unza.counseling.dto.request.FileUploadRequest;
 import zm.unza.counseling.dto.request.ResourceUpdateRequest;
 import zm.unza.counseling.entity.Resource;
 import zm.unza.counseling.repository.ResourceRepository;
+import zm.unza.counseling.service.export.ExportColumn;
+import zm.unza.counseling.service.export.TabularExport;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -27,6 +36,8 @@ import java.util.stream.Collectors;
 public class ResourceService {
 
     private final ResourceRepository resourceRepository;
+    private final ViewCounterService viewCounterService;
+    private final PublicContentCache publicContentCache;
     private static final String UPLOAD_DIR = "uploads/resources/";
 
     public List<Resource> getAllResources() {
@@ -40,7 +51,7 @@ public class ResourceService {
 
     public Resource createResource(Resource resource) {
         prepareNewResource(resource);
-        return resourceRepository.save(resource);
+        return saveResource(resource);
     }
 
     public Resource createResource(ResourceUpdateRequest request) {
@@ -69,7 +80,7 @@ public class ResourceService {
         }
 
         prepareNewResource(resource);
-        return resourceRepository.save(resource);
+        return saveResource(resource);
     }
 
     public Resource updateResource(Long id, ResourceUpdateRequest updates) {
@@ -94,7 +105,7 @@ public class ResourceService {
         if (updates.getIsActive() != null) existing.setIsActive(updates.getIsActive());
         existing.setUpdatedAt(LocalDateTime.now());
 
-        return resourceRepository.save(existing);
+        return saveResource(existing);
     }
 
     public void deleteResource(Long id) {
@@ -110,6 +121,14 @@ public class ResourceService {
         }
 
         resourceRepository.delete(resource);
+        publicContentCache.invalidate(PublicContentCache.Key.FEATURED_RESOURCES);
+    }
+
+    // Any saved resource may enter or leave the cached featured listing
+    private Resource saveResource(Resource resource) {
+        Resource saved = resourceRepository.save(resource);
+        publicContentCache.invalidate(PublicContentCache.Key.FEATURED_RESOURCES);
+        return saved;
     }
 
     public List<Resource> searchResources(String query) {
@@ -151,39 +170,18 @@ public class ResourceService {
         return resourceRepository.findByFeaturedTrue();
     }
 
-    public byte[] exportResources(String format) {
-        List<Resource> resources = resourceRepository.findAll();
-        String normalizedFormat = format == null ? "csv" : format.toLowerCase(Locale.ROOT);
-
-        if ("json".equals(normalizedFormat)) {
-            String json = resources.stream()
-                    .map(resource -> String.format(
-                            Locale.ROOT,
-                            "{\"id\":%d,\"title\":\"%s\",\"type\":\"%s\",\"category\":\"%s\",\"active\":%s}",
-                            resource.getId(),
-                            escapeJson(resource.getTitle()),
-                            escapeJson(resource.getType()),
-                            escapeJson(resource.getCategory()),
-                            resource.isPublic()
-                    ))
-                    .collect(Collectors.joining(",", "[", "]"));
-            return json.getBytes(StandardCharsets.UTF_8);
-        }
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("id,title,type,category,isActive,featured,downloads,fileName,url\n");
-        for (Resource resource : resources) {
-            csv.append(resource.getId()).append(",")
-                    .append(escapeCsv(resource.getTitle())).append(",")
-                    .append(escapeCsv(resource.getType())).append(",")
-                    .append(escapeCsv(resource.getCategory())).append(",")
-                    .append(resource.isPublic()).append(",")
-                    .append(resource.isFeatured()).append(",")
-                    .append(resource.getDownloadCount()).append(",")
-                    .append(escapeCsv(resource.getFileName())).append(",")
-                    .append(escapeCsv(resource.getUrl())).append("\n");
-        }
-        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    public TabularExport<Resource> exportResources() {
+        return new TabularExport<>("resources", List.of(
+                ExportColumn.of("id", Resource::getId),
+                ExportColumn.of("title", Resource::getTitle),
+                ExportColumn.of("type", Resource::getType),
+                ExportColumn.of("category", Resource::getCategory),
+                ExportColumn.of("isActive", Resource::isPublic),
+                ExportColumn.of("featured", Resource::isFeatured),
+                ExportColumn.of("downloads", Resource::getDownloadCount),
+                ExportColumn.of("fileName", Resource::getFileName),
+                ExportColumn.of("url", Resource::getUrl)
+        ), resourceRepository::streamAllForExport);
     }
 
     public Resource uploadResource(FileUploadRequest request) {
@@ -246,13 +244,20 @@ public class ResourceService {
             prepareNewResource(resource);
             Resource saved = resourceRepository.save(resource);
             saved.setFileUrl("/api/v1/resources/download/" + saved.getId());
-            return resourceRepository.save(saved);
+            return saveResource(saved);
         } catch (IOException e) {
             throw new RuntimeException("Could not save file: " + e.getMessage(), e);
         }
     }
 
-    public ResponseEntity<byte[]> downloadResource(Long id) {
+    /**
+     * Streams a stored file instead of buffering it in memory. Range requests are answered with
+     * 206 partial content by Spring's ResourceRegion support, and ETag/Last-Modified revalidation
+     * returns 304 without touching the file body.
+     *
+     * @return {@code null} when {@code webRequest} was answered with 304 Not Modified
+     */
+    public ResponseEntity<org.springframework.core.io.Resource> downloadResource(Long id, WebRequest webRequest) {
         Resource resource = getResourceById(id);
         Path filePath = resource.getFileKey() != null
                 ? Paths.get(UPLOAD_DIR, resource.getFileKey())
@@ -263,19 +268,46 @@ public class ResourceService {
         }
 
         try {
-            byte[] fileBytes = Files.readAllBytes(filePath);
-            resource.setDownloadCount(resource.getDownloadCount() + 1);
-            resourceRepository.save(resource);
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            long size = Files.size(filePath);
+            String eTag = "\"" + resource.getId() + "-" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                return null;
+            }
 
+            // Count whole downloads only, not every follow-up chunk of a ranged (e.g. video) fetch
+            String range = webRequest.getHeader(HttpHeaders.RANGE);
+            if (range == null || range.startsWith("bytes=0-")) {
+                viewCounterService.increment(ViewCounterService.Counter.RESOURCE_DOWNLOAD, resource.getId());
+            }
+
+            String fileName = resource.getFileName() != null ? resource.getFileName() : filePath.getFileName().toString();
             return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=" + resource.getFileName())
-                    .header("Content-Type", resource.getFileType())
-                    .body(fileBytes);
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(fileName, StandardCharsets.UTF_8)
+                            .build()
+                            .toString())
+                    .contentType(resolveMediaType(resource.getFileType()))
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePrivate().mustRevalidate())
+                    .body(new FileSystemResource(filePath));
         } catch (IOException e) {
             throw new RuntimeException("Could not read file: " + e.getMessage(), e);
         }
     }
 
+    private MediaType resolveMediaType(String fileType) {
+        if (fileType == null || fileType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(fileType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
     private void prepareNewResource(Resource resource) {
         if (resource.getCreatedAt() == null) {
             resource.setCreatedAt(LocalDateTime.now());
@@ -324,16 +356,4 @@ public class ResourceService {
         }
         return false;
     }
-
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        String escaped = value.replace("\"", "\"\"");
-        return "\"" + escaped + "\"";
-    }
-
-    private String escapeJson(String value) {
-        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
 }
@@ -1,5 +1,7 @@
 package zm.unza.counseling.service;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import zm.unza.counseling.dto.request.ScholarshipRequest;
@@ -13,9 +15,16 @@ import zm.unza.counseling.exception.ResourceNotFoundException;
 import zm.unza.counseling.repository.ClientRepository;
 import zm.unza.counseling.repository.ScholarshipRecommendationRepository;
 import zm.unza.counseling.repository.ScholarshipRepository;
+import zm.unza.counseling.repository.ScholarshipRepository.EligibleCandidate;
+import zm.unza.counseling.repository.ScholarshipRepository.ScholarshipMatch;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,15 +58,11 @@ public class ScholarshipService {
     }
 
     public List<ScholarshipResponse> getAllScholarships() {
-        return scholarshipRepository.findAll().stream()
-                .map(this::mapToScholarshipResponse)
-                .collect(Collectors.toList());
+        return mapToScholarshipResponses(scholarshipRepository.findAll());
     }
 
     public List<ScholarshipResponse> getActiveScholarships() {
-        return scholarshipRepository.findActiveScholarships(LocalDate.now()).stream()
-                .map(this::mapToScholarshipResponse)
-                .collect(Collectors.toList());
+        return mapToScholarshipResponses(scholarshipRepository.findActiveScholarships(LocalDate.now()));
     }
 
     public ScholarshipResponse updateScholarship(Long id, ScholarshipRequest request) {
@@ -151,17 +156,29 @@ public class ScholarshipService {
 
     // ---- Eligible Students ----
 
-    public List<Client> getEligibleStudents(Long scholarshipId) {
+    /**
+     * Clients eligible for a scholarship and not yet recommended, most vulnerable first. GPA,
+     * faculty, year of study and the already-recommended exclusion are all evaluated in SQL.
+     */
+    @Transactional(readOnly = true)
+    public List<EligibleCandidate> getEligibleStudents(Long scholarshipId, Integer limit) {
         Scholarship scholarship = findScholarship(scholarshipId);
-        List<Long> alreadyRecommended = recommendationRepository.findByScholarshipId(scholarshipId)
-                .stream().map(r -> r.getClient().getId()).collect(Collectors.toList());
-
-        List<Client> allClients = clientRepository.findAll();
-        return allClients.stream()
-                .filter(c -> !alreadyRecommended.contains(c.getId()))
-                .filter(c -> scholarship.getRequiredMinGpa() == null
-                        || (c.getGpa() != null && c.getGpa() >= scholarship.getRequiredMinGpa()))
-                .collect(Collectors.toList());
+        String faculty = scholarship.getEligibleFaculty() != null && !scholarship.getEligibleFaculty().isBlank()
+                ? scholarship.getEligibleFaculty().trim().toLowerCase(Locale.ROOT)
+                : null;
+        Pageable pageable = limit != null && limit > 0 ? PageRequest.of(0, limit) : Pageable.unpaged();
+        return scholarshipRepository.findEligibleCandidates(scholarshipId, scholarship.getRequiredMinGpa(), faculty,
+                scholarship.getMinYearOfStudy(), scholarship.getMaxYearOfStudy(), pageable);
+    }
+
+    /**
+     * Match every open scholarship against the client population in one query, keeping the
+     * {@code perScholarship} most vulnerable eligible candidates of each. Keyed by scholarship id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<ScholarshipMatch>> matchOpenScholarships(int perScholarship) {
+        return scholarshipRepository.matchOpenScholarships(LocalDate.now(), perScholarship).stream()
+                .collect(Collectors.groupingBy(ScholarshipMatch::getScholarshipId, LinkedHashMap::new, Collectors.toList()));
     }
 
     // ---- Private helpers ----
@@ -187,6 +204,9 @@ public class ScholarshipService {
         s.setMaxRecipients(request.getMaxRecipients());
         s.setEligibilityCriteria(request.getEligibilityCriteria());
         s.setRequiredMinGpa(request.getRequiredMinGpa());
+        s.setEligibleFaculty(request.getEligibleFaculty());
+        s.setMinYearOfStudy(request.getMinYearOfStudy());
+        s.setMaxYearOfStudy(request.getMaxYearOfStudy());
         if (request.getStatus() != null) s.setStatus(request.getStatus());
     }
 
@@ -218,27 +238,47 @@ public class ScholarshipService {
     }
 
     private ScholarshipResponse mapToScholarshipResponse(Scholarship s) {
-        ScholarshipResponse r = new ScholarshipResponse();
-        r.setId(s.getId());
-        r.setName(s.getName());
-        r.setDescription(s.getDescription());
-        r.setSponsor(s.getSponsor());
-        r.setAmount(s.getAmount());
-        r.setType(s.getType());
-        r.setDeadline(s.getDeadline());
-        r.setAcademicYear(s.getAcademicYear());
-        r.setMaxRecipients(s.getMaxRecipients());
-        r.setEligibilityCriteria(s.getEligibilityCriteria());
-        r.setRequiredMinGpa(s.getRequiredMinGpa());
-        r.setStatus(s.getStatus());
-        r.setCreatedBy(s.getCreatedBy());
-        r.setCreatedAt(s.getCreatedAt());
-        r.setUpdatedAt(s.getUpdatedAt());
-        r.setRecommendationCount(recommendationRepository.countByScholarshipId(s.getId()));
-        r.setAwardedCount(recommendationRepository.findByScholarshipId(s.getId()).stream()
-                .filter(rec -> rec.getStatus() == ScholarshipRecommendation.RecommendationStatus.AWARDED)
-                .count());
-        return r;
+        return mapToScholarshipResponses(List.of(s)).get(0);
+    }
+
+    // Recommendation and award counts for all scholarships come from one grouped query
+    private List<ScholarshipResponse> mapToScholarshipResponses(List<Scholarship> scholarships) {
+        if (scholarships.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Object[]> counts = new HashMap<>();
+        for (Object[] row : recommendationRepository.countByScholarshipIds(
+                scholarships.stream().map(Scholarship::getId).toList())) {
+            counts.put((Long) row[0], row);
+        }
+
+        List<ScholarshipResponse> responses = new ArrayList<>(scholarships.size());
+        for (Scholarship s : scholarships) {
+            ScholarshipResponse r = new ScholarshipResponse();
+            r.setId(s.getId());
+            r.setName(s.getName());
+            r.setDescription(s.getDescription());
+            r.setSponsor(s.getSponsor());
+            r.setAmount(s.getAmount());
+            r.setType(s.getType());
+            r.setDeadline(s.getDeadline());
+            r.setAcademicYear(s.getAcademicYear());
+            r.setMaxRecipients(s.getMaxRecipients());
+            r.setEligibilityCriteria(s.getEligibilityCriteria());
+            r.setRequiredMinGpa(s.getRequiredMinGpa());
+            r.setEligibleFaculty(s.getEligibleFaculty());
+            r.setMinYearOfStudy(s.getMinYearOfStudy());
+            r.setMaxYearOfStudy(s.getMaxYearOfStudy());
+            r.setStatus(s.getStatus());
+            r.setCreatedBy(s.getCreatedBy());
+            r.setCreatedAt(s.getCreatedAt());
+            r.setUpdatedAt(s.getUpdatedAt());
+            Object[] row = counts.get(s.getId());
+            r.setRecommendationCount(row != null ? ((Number) row[1]).longValue() : 0L);
+            r.setAwardedCount(row != null && row[2] != null ? ((Number) row[2]).longValue() : 0L);
+            responses.add(r);
+        }
+        return responses;
     }
 
     private ScholarshipRecommendationResponse mapToRecommendationResponse(ScholarshipRecommendation rec) {
@@ -23,7 +23,8 @@ import java.util.NoSuchElementException;
 /**
  * Central service for the SecurityAlert feature: creating alerts (manual report, panic
  * button, auto-escalation from crisis detection, or mirrored in from the clinic system),
- * acknowledging/resolving them, and keeping the clinic system in sync.
+ * acknowledging/resolving them, and keeping the clinic system in sync (via the outbox queued
+ * by {@link ClinicAlertSyncService}).
  */
 @Service
 @Slf4j
@@ -176,11 +177,10 @@ public class SecurityAlertService {
         SecurityAlert saved = securityAlertRepository.save(alert);
         broadcast(saved);
         try {
+            // Only queues an outbox row in this transaction; delivery happens in the background
             clinicAlertSyncService.syncCreate(saved);
-            // syncCreate may have populated externalAlertId/externalSystem on success
-            securityAlertRepository.save(saved);
         } catch (Exception e) {
-            log.warn("Outbound sync failed for security alert {}: {}", saved.getId(), e.getMessage());
+            log.warn("Failed to queue outbound sync for security alert {}: {}", saved.getId(), e.getMessage());
         }
         return saved;
     }
@@ -223,12 +223,12 @@ public class SecurityAlertService {
     }
 
     private void syncStatusIfLinked(SecurityAlert alert) {
-        if (alert.getExternalAlertId() != null && !alert.getExternalAlertId().isBlank()) {
-            try {
-                clinicAlertSyncService.syncStatusUpdate(alert);
-            } catch (Exception e) {
-                log.warn("Failed to sync status update to clinic system for alert {}: {}", alert.getId(), e.getMessage());
-            }
+        // Alerts raised here may still have their create call queued, so let the sync service
+        // decide whether the update is deliverable rather than requiring externalAlertId now.
+        try {
+            clinicAlertSyncService.syncStatusUpdate(alert);
+        } catch (Exception e) {
+            log.warn("Failed to queue status update to clinic system for alert {}: {}", alert.getId(), e.getMessage());
         }
     }
 
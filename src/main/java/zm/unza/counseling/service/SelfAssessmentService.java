@@ -36,6 +36,7 @@ public class SelfAssessmentService {
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
     private final SecurityAlertService securityAlertService;
+    private final ClientRiskScoringService clientRiskScoringService;
 
     // 0-indexed position of the PHQ-9 item that screens for suicidal ideation / self-harm,
     // matching PHQ9_SELF_HARM_ITEM_INDEX in the frontend's selfAssessmentInstruments module.
@@ -101,6 +102,10 @@ public class SelfAssessmentService {
             );
         }
 
+        if (savedAssessment.getClient() != null) {
+            clientRiskScoringService.rescoreClient(savedAssessment.getClient().getId());
+        }
+
         auditLogService.logAction(
                 "SELF_ASSESSMENT_SUBMITTED",
                 "SELF_ASSESSMENT",
@@ -148,13 +153,15 @@ public class SelfAssessmentService {
             return;
         }
 
+        List<AssessmentResponse> rows = new ArrayList<>(responses.size());
         responses.forEach((question, answer) -> {
             AssessmentResponse response = new AssessmentResponse();
             response.setAssessment(assessment);
             response.setQuestion(question);
             response.setAnswer(String.valueOf(answer));
-            assessmentResponseRepository.save(response);
+            rows.add(response);
         });
+        assessmentResponseRepository.saveAll(rows);
     }
 
     // Checks whether the PHQ-9 self-harm item was answered above "Not at all". Values in
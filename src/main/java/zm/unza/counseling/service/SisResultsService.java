@@ -418,9 +418,9 @@ public class SisResultsService {
     }
 
     /**
-     * Parse the SIS API response
+     * Parse the SIS API response (package-private for SisResultsBenchmark)
      */
-    private SisResultsResponse parseResponse(String responseBody) {
+    SisResultsResponse parseResponse(String responseBody) {
         try {
             JsonNode jsonNode = objectMapper.readTree(responseBody);
             
@@ -488,12 +488,12 @@ public class SisResultsService {
         List<StudentCourseHistory> courses = sisResponse.getData() != null ? 
                 sisResponse.getData().getStudentCourseHistory() : Collections.emptyList();
         
-        List<AcademicQualification> savedQualifications = new ArrayList<>();
-        
+        List<AcademicQualification> qualifications = new ArrayList<>(courses.size());
         for (StudentCourseHistory course : courses) {
-            AcademicQualification qualification = convertToEntity(course, client, studentId);
-            savedQualifications.add(academicQualificationRepository.save(qualification));
+            qualifications.add(convertToEntity(course, client, studentId));
         }
+        // One saveAll so the inserts go out as JDBC batches
+        List<AcademicQualification> savedQualifications = academicQualificationRepository.saveAll(qualifications);
 
         // Update client with latest academic info
         updateClientAcademicInfo(client, sisResponse.getData());
@@ -1,14 +1,16 @@
 package zm.unza.counseling.service;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TOTP (Time-based One-Time Password) service — RFC 6238, compatible with Google Authenticator.
@@ -19,6 +21,22 @@ public class TotpService {
     private static final int CODE_DIGITS = 6;
     private static final int TIME_STEP_SECONDS = 30;
     private static final int WINDOW = 1; // allow 1 step tolerance in each direction
+    private static final int CODE_MODULUS = 1_000_000; // 10^CODE_DIGITS
+    private static final long NO_MATCH = Long.MIN_VALUE;
+    private static final int MAX_REPLAY_ENTRIES = 100_000;
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+
+    // Mac.getInstance does a provider lookup on every call; each thread keeps one instance and re-keys it
+    private static final ThreadLocal<Mac> HMAC_SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HmacSHA1 not available", e);
+        }
+    });
+
+    // userId -> last accepted time step; entries expire once their step falls outside the window
+    private final Map<Long, Long> lastUsedSteps = new ConcurrentHashMap<>();
 
     /**
      * Generate a new random base32-encoded TOTP secret.
@@ -42,33 +60,96 @@ public class TotpService {
      * Allows ±1 time-step tolerance for clock drift.
      */
     public boolean verify(String secret, String code) {
-        if (secret == null || code == null || code.length() != CODE_DIGITS) return false;
-        long timeStep = Instant.now().getEpochSecond() / TIME_STEP_SECONDS;
-        byte[] keyBytes = base32Decode(secret);
-        for (int i = -WINDOW; i <= WINDOW; i++) {
-            if (totp(keyBytes, timeStep + i).equals(code)) return true;
+        return matchingTimeStep(secret, code, Instant.now().getEpochSecond() / TIME_STEP_SECONDS) != NO_MATCH;
+    }
+
+    /**
+     * Verify a code for a user and consume it: once a code is accepted, neither it nor any code
+     * from an earlier time step is accepted again for that user (RFC 6238 section 5.2).
+     */
+    public boolean verify(Long userId, String secret, String code) {
+        if (userId == null) return verify(secret, code);
+        long currentStep = Instant.now().getEpochSecond() / TIME_STEP_SECONDS;
+        long matchedStep = matchingTimeStep(secret, code, currentStep);
+        if (matchedStep == NO_MATCH) return false;
+
+        if (lastUsedSteps.size() >= MAX_REPLAY_ENTRIES) {
+            purgeExpired(currentStep);
         }
-        return false;
+        boolean[] accepted = new boolean[1];
+        lastUsedSteps.compute(userId, (id, lastUsed) -> {
+            if (lastUsed != null && lastUsed >= matchedStep) {
+                return lastUsed;
+            }
+            accepted[0] = true;
+            return matchedStep;
+        });
+        return accepted[0];
+    }
+
+    /**
+     * Drop replay entries whose time step can no longer be matched by any code.
+     */
+    @Scheduled(fixedDelay = TIME_STEP_SECONDS * 1000L)
+    public void purgeExpiredReplayEntries() {
+        purgeExpired(Instant.now().getEpochSecond() / TIME_STEP_SECONDS);
     }
 
     // ---- private helpers ----
 
-    private String totp(byte[] key, long counter) {
-        byte[] counterBytes = ByteBuffer.allocate(8).putLong(counter).array();
+    private void purgeExpired(long currentStep) {
+        long oldestLiveStep = currentStep - WINDOW;
+        lastUsedSteps.values().removeIf(step -> step < oldestLiveStep);
+    }
+
+    /**
+     * Returns the time step whose code matches, or {@link #NO_MATCH}. Every window is computed so
+     * the response time does not reveal which step matched.
+     */
+    private long matchingTimeStep(String secret, String code, long currentStep) {
+        if (secret == null) return NO_MATCH;
+        int submitted = parseCode(code);
+        if (submitted < 0) return NO_MATCH;
+
+        Mac mac = HMAC_SHA1.get();
         try {
-            Mac mac = Mac.getInstance("HmacSHA1");
-            mac.init(new SecretKeySpec(key, "HmacSHA1"));
-            byte[] hash = mac.doFinal(counterBytes);
-            int offset = hash[hash.length - 1] & 0x0F;
-            int binary = ((hash[offset] & 0x7F) << 24)
-                    | ((hash[offset + 1] & 0xFF) << 16)
-                    | ((hash[offset + 2] & 0xFF) << 8)
-                    | (hash[offset + 3] & 0xFF);
-            int otp = binary % (int) Math.pow(10, CODE_DIGITS);
-            return String.format("%0" + CODE_DIGITS + "d", otp);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException("TOTP computation failed", e);
+            mac.init(new SecretKeySpec(base32Decode(secret), HMAC_ALGORITHM));
+        } catch (InvalidKeyException e) {
+            return NO_MATCH;
+        }
+        byte[] counterBytes = new byte[8];
+        long matched = NO_MATCH;
+        for (long step = currentStep - WINDOW; step <= currentStep + WINDOW; step++) {
+            if (totp(mac, counterBytes, step) == submitted && matched == NO_MATCH) {
+                matched = step;
+            }
+        }
+        return matched;
+    }
+
+    private static int parseCode(String code) {
+        if (code == null || code.length() != CODE_DIGITS) return -1;
+        int value = 0;
+        for (int i = 0; i < CODE_DIGITS; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int totp(Mac mac, byte[] counterBytes, long counter) {
+        for (int i = 7; i >= 0; i--) {
+            counterBytes[i] = (byte) counter;
+            counter >>>= 8;
         }
+        byte[] hash = mac.doFinal(counterBytes);
+        int offset = hash[hash.length - 1] & 0x0F;
+        int binary = ((hash[offset] & 0x7F) << 24)
+                | ((hash[offset + 1] & 0xFF) << 16)
+                | ((hash[offset + 2] & 0xFF) << 8)
+                | (hash[offset + 3] & 0xFF);
+        return binary % CODE_MODULUS;
     }
 
     private static final String BASE32_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
@@ -0,0 +1,154 @@
+package zm.unza.counseling.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zm.unza.counseling.dto.response.UserSummaryDto;
+import zm.unza.counseling.dto.response.UserSummaryPageResponse;
+import zm.unza.counseling.entity.Role;
+import zm.unza.counseling.exception.ValidationException;
+import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.repository.UserRepository.UserAdminRow;
+import zm.unza.counseling.repository.UserRepository.UserExportRow;
+import zm.unza.counseling.service.export.ExportColumn;
+import zm.unza.counseling.service.export.TabularExport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read model behind the user administration screens. Listings and exports select scalar columns
+ * through {@link UserAdminRow} projections, so they never load User entities or their EAGER
+ * roles and permissions. Pages use id keysets; the export walks a forward-only cursor through
+ * {@link zm.unza.counseling.service.export.ExportService}, so memory use does not grow with the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserAdminService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+
+    public UserSummaryPageResponse getUserPage(String role, Boolean active, Long afterId, Integer limit) {
+        Role.ERole roleFilter = parseRole(role);
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable fetch = PageRequest.of(0, size + 1);
+        List<UserAdminRow> rows = afterId != null
+                ? userRepository.findUserAdminRowsAfter(roleFilter, active, afterId, fetch)
+                : userRepository.findUserAdminRows(roleFilter, active, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<UserAdminRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+
+        Map<Long, List<String>> rolesByUser = new HashMap<>();
+        if (!pageRows.isEmpty()) {
+            for (Object[] row : userRepository.findRoleNamesByUserIdIn(pageRows.stream().map(UserAdminRow::getId).toList())) {
+                rolesByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(((Role.ERole) row[1]).name());
+            }
+        }
+
+        List<UserSummaryDto> items = pageRows.stream()
+                .map(row -> toDto(row, rolesByUser.getOrDefault(row.getId(), List.of())))
+                .toList();
+        return new UserSummaryPageResponse(items, hasMore, hasMore ? pageRows.get(pageRows.size() - 1).getId() : null);
+    }
+
+    /**
+     * Matching users in id order. The cursor returns one row per (user, role); rows for a user are
+     * consecutive and are folded into a single record as they stream past.
+     */
+    public TabularExport<UserSummaryDto> exportUsers(Role.ERole role, Boolean active) {
+        return new TabularExport<>("users", List.of(
+                ExportColumn.of("id", UserSummaryDto::getId),
+                ExportColumn.of("username", UserSummaryDto::getUsername),
+                ExportColumn.of("email", UserSummaryDto::getEmail),
+                ExportColumn.of("first_name", UserSummaryDto::getFirstName),
+                ExportColumn.of("last_name", UserSummaryDto::getLastName),
+                ExportColumn.of("phone_number", UserSummaryDto::getPhoneNumber),
+                ExportColumn.of("student_id", UserSummaryDto::getStudentId),
+                ExportColumn.of("department", UserSummaryDto::getDepartment),
+                ExportColumn.of("roles", dto -> String.join(";", dto.getRoles())),
+                ExportColumn.of("active", UserSummaryDto::isActive),
+                ExportColumn.of("anonymous", UserSummaryDto::isAnonymous),
+                ExportColumn.of("last_login", UserSummaryDto::getLastLogin),
+                ExportColumn.of("created_at", UserSummaryDto::getCreatedAt)
+        ), () -> foldRoles(userRepository.streamUserExportRows(role, active)));
+    }
+
+    /**
+     * Accepts "ADMIN" or "ROLE_ADMIN"; null or blank means no role filter.
+     */
+    public static Role.ERole parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        String name = role.trim().toUpperCase();
+        try {
+            return Role.ERole.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid role specified: " + role);
+        }
+    }
+
+    private UserSummaryDto toDto(UserAdminRow row, List<String> roles) {
+        UserSummaryDto dto = new UserSummaryDto();
+        dto.setId(row.getId());
+        dto.setUsername(row.getUsername());
+        dto.setEmail(row.getEmail());
+        dto.setFirstName(row.getFirstName());
+        dto.setLastName(row.getLastName());
+        dto.setPhoneNumber(row.getPhoneNumber());
+        dto.setStudentId(row.getStudentId());
+        dto.setDepartment(row.getDepartment());
+        dto.setActive(Boolean.TRUE.equals(row.getActive()));
+        dto.setAnonymous(Boolean.TRUE.equals(row.getAnonymous()));
+        dto.setRoles(roles);
+        dto.setLastLogin(row.getLastLogin());
+        dto.setCreatedAt(row.getCreatedAt());
+        return dto;
+    }
+
+    private Stream<UserSummaryDto> foldRoles(Stream<UserExportRow> rows) {
+        Iterator<UserExportRow> iterator = rows.iterator();
+        Iterator<UserSummaryDto> users = new Iterator<>() {
+            private UserExportRow next = iterator.hasNext() ? iterator.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public UserSummaryDto next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                UserExportRow first = next;
+                List<String> roles = new ArrayList<>();
+                do {
+                    if (next.getRoleName() != null) {
+                        roles.add(next.getRoleName().name());
+                    }
+                    next = iterator.hasNext() ? iterator.next() : null;
+                } while (next != null && next.getId().equals(first.getId()));
+                return toDto(first, roles);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(users, Spliterator.ORDERED), false)
+                .onClose(rows::close);
+    }
+}
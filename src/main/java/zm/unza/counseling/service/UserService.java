@@ -44,6 +44,7 @@ import zm.unza.counseling.repository.UserConsentRepository;
 import zm.unza.counseling.repository.UserDashboardConfigRepository;
 import zm.unza.counseling.repository.UserFeedbackRepository;
 import zm.unza.counseling.repository.UserRepository;
+import zm.unza.counseling.util.PersonSearch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -102,10 +103,6 @@ public class UserService {
                         .orElseThrow(() -> new ResourceNotFoundException("User not found with identifier: " + identifier)));
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
-    }
-
     public Page<User> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable);
     }
@@ -214,8 +211,8 @@ public class UserService {
     }
 
     public Page<User> searchUsers(String query, Pageable pageable) {
-        return userRepository.findByEmailContainingOrFirstNameContainingOrLastNameContaining(
-                query, query, query, pageable);
+        String keyword = PersonSearch.keyword(query);
+        return userRepository.searchUsers(keyword, PersonSearch.containsPattern(keyword), PersonSearch.ranked(pageable));
     }
 
     public Page<User> getActiveUsers(Pageable pageable) {
@@ -264,11 +261,6 @@ public class UserService {
         userRepository.save(user);
     }
 
-    public byte[] exportUsers(String format) {
-        // TODO: Implement export logic for CSV/Excel
-        return new byte[0];
-    }
-
     private User deactivateUserInternal(User user) {
         guardAgainstSelfRemoval(user);
         guardAgainstRemovingLastAdministrator(user);
@@ -379,6 +371,7 @@ public class UserService {
         // user-owned artifacts and legacy profile rows here.
         deleteByUserIdIfTableExists("notifications", "recipient_id", userId);
         deleteByUserIdIfTableExists("chat_messages", "user_id", userId);
+        deleteByUserIdIfTableExists("chat_archive_segments", "user_id", userId);
         deleteByUserIdIfTableExists("user_dashboard_config", "user_id", userId);
         deleteByUserIdIfTableExists("keyboard_shortcuts", "user_id", userId);
         deleteByUserIdIfTableExists("user_bookmarks", "user_id", userId);
@@ -0,0 +1,151 @@
+package zm.unza.counseling.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zm.unza.counseling.entity.KnowledgeBaseArticle;
+import zm.unza.counseling.repository.KnowledgeBaseArticleRepository;
+import zm.unza.counseling.repository.ResourceRepository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counters for public page views and downloads. Increments land in striped
+ * {@link LongAdder}s and are written in periodic batches, so a view never costs a row UPDATE (or a
+ * row lock on a popular article). Each flush groups ids by delta and issues one bulk
+ * {@code SET count = count + :delta WHERE id IN (...)} per group.
+ *
+ * Also caches the public listing of every published article, most viewed first, refreshed after
+ * each flush that changed article views and whenever articles are edited.
+ *
+ * Counts not yet flushed are lost if the JVM dies hard; they are flushed on normal shutdown.
+ */
+@Service
+@Slf4j
+public class ViewCounterService {
+
+    public enum Counter {
+        ARTICLE_VIEW,
+        RESOURCE_DOWNLOAD
+    }
+
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private final KnowledgeBaseArticleRepository articleRepository;
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Populated once in the constructor and only read afterwards
+    private final Map<Counter, Map<Long, LongAdder>> pending = new EnumMap<>(Counter.class);
+
+    // Articles are null until loaded; each invalidation starts a new generation, so a load that began
+    // before it cannot store its (stale) result over the newer state
+    private final AtomicReference<PublishedArticles> publishedArticles =
+            new AtomicReference<>(new PublishedArticles(0, null));
+
+    private record PublishedArticles(long generation, List<KnowledgeBaseArticle> articles) {
+    }
+
+    public ViewCounterService(KnowledgeBaseArticleRepository articleRepository,
+                              ResourceRepository resourceRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.resourceRepository = resourceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Counter counter : Counter.values()) {
+            pending.put(counter, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void increment(Counter counter, Long id) {
+        pending.get(counter).computeIfAbsent(id, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Every published article, most viewed first, as of the last flush.
+     */
+    public List<KnowledgeBaseArticle> getPublishedArticles() {
+        PublishedArticles current = publishedArticles.get();
+        if (current.articles() != null) {
+            return current.articles();
+        }
+        List<KnowledgeBaseArticle> loaded = loadPublishedArticles();
+        // Fails if an invalidation (or another load) got in first; the result is still returned
+        publishedArticles.compareAndSet(current, new PublishedArticles(current.generation(), loaded));
+        return loaded;
+    }
+
+    /**
+     * Drop the cached listing after an article is created, edited, published or deleted.
+     */
+    public void invalidatePublishedArticles() {
+        publishedArticles.updateAndGet(current -> new PublishedArticles(current.generation() + 1, null));
+    }
+
+    /**
+     * Apply all buffered increments. Adders are reset rather than removed so an increment racing
+     * with the flush lands in the next batch instead of being dropped.
+     */
+    @Scheduled(fixedDelayString = "${app.counters.flush-ms:30000}")
+    @PreDestroy
+    public void flush() {
+        if (flush(Counter.ARTICLE_VIEW)) {
+            invalidatePublishedArticles();
+        }
+        flush(Counter.RESOURCE_DOWNLOAD);
+    }
+
+    // ---- private helpers ----
+
+    private boolean flush(Counter counter) {
+        Map<Long, LongAdder> adders = pending.get(counter);
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        adders.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(id, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return false;
+        }
+
+        // Most rows share a handful of small deltas, so this is a few statements rather than one per row
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(id));
+
+        try {
+            transactionTemplate.executeWithoutResult(tx -> idsByDelta.forEach((delta, ids) -> {
+                for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+                    switch (counter) {
+                        case ARTICLE_VIEW -> articleRepository.incrementViewCounts(chunk, delta.intValue());
+                        case RESOURCE_DOWNLOAD -> resourceRepository.incrementDownloadCounts(chunk, delta.intValue());
+                    }
+                }
+            }));
+            log.debug("Flushed {} counts for {} row(s) in {} statement group(s)", counter, deltas.size(), idsByDelta.size());
+            return true;
+        } catch (Exception e) {
+            // Put the counts back so the next flush retries them
+            deltas.forEach((id, delta) -> adders.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+            log.warn("Failed to flush {} counts: {}", counter, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<KnowledgeBaseArticle> loadPublishedArticles() {
+        return List.copyOf(articleRepository.findByPublishedTrueOrderByViewCountDesc());
+    }
+}
@@ -0,0 +1,63 @@
+package zm.unza.counseling.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV. Text values are always quoted; numbers, booleans and dates are written bare.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof CharSequence || value instanceof Enum<?>) {
+                writer.write('"');
+                writer.write(value.toString().replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value.toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,14 @@
+package zm.unza.counseling.service.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of a {@link TabularExport}: its name (CSV/XLSX header, JSON-lines key) and how to
+ * read the value from a row. Values may be null, strings, numbers, booleans or java.time types.
+ */
+public record ExportColumn<T>(String name, Function<? super T, ?> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<? super T, ?> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
@@ -0,0 +1,59 @@
+package zm.unza.counseling.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import zm.unza.counseling.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Output formats supported by {@link ExportService}.
+ */
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    JSON_LINES("jsonl", MediaType.parseMediaType("application/x-ndjson")),
+    XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Parse the {@code format} request parameter. "json" and "ndjson" mean JSON Lines, "excel"
+     * means XLSX; null or blank means CSV.
+     */
+    public static ExportFormat from(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        return switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "json", "jsonl", "ndjson" -> JSON_LINES;
+            case "xlsx", "excel" -> XLSX;
+            default -> throw new ValidationException("Unsupported export format: " + format);
+        };
+    }
+
+    ExportWriter newWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExportWriter(out);
+            case JSON_LINES -> new JsonLinesExportWriter(out, objectMapper);
+            case XLSX -> new XlsxExportWriter(out);
+        };
+    }
+}
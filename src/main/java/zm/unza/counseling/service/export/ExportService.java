@@ -0,0 +1,232 @@
+package zm.unza.counseling.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streams a {@link TabularExport} straight to the servlet output stream.
+ *
+ * Rows are read from the export's cursor inside a read-only transaction on the async request
+ * thread and written through a format-specific {@link ExportWriter}, so no export is ever held in
+ * memory as a whole. Every {@code flush-rows} rows the writer is flushed to the client (a slow
+ * client therefore blocks the cursor rather than letting output pile up) and the persistence
+ * context is cleared so streamed entities do not accumulate. A semaphore caps concurrent exports;
+ * callers beyond the cap get 429 before anything is written, and a permit is returned however the
+ * request ends. Export requests get their own async timeout ({@code app.export.request-timeout}), so
+ * a long download is not cut off while every other async request keeps the default.
+ *
+ * Publishes {@code exports.rows}, {@code exports.bytes} and {@code exports.duration}, tagged by
+ * export name and format.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final String PERMIT_KEY = ExportService.class.getName() + ".permit";
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+    private final int flushRows;
+    private final long requestTimeoutMillis;
+
+    public ExportService(ObjectMapper objectMapper,
+                         EntityManager entityManager,
+                         MeterRegistry meterRegistry,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.export.max-concurrent:4}") int maxConcurrent,
+                         @Value("${app.export.flush-rows:1000}") int flushRows,
+                         @Value("${app.export.request-timeout:30m}") Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+        this.flushRows = flushRows;
+        this.requestTimeoutMillis = requestTimeout.toMillis();
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> respond(TabularExport<T> export, ExportFormat format) {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many exports in progress, try again shortly");
+        }
+        ExportPermit permit = new ExportPermit(permits);
+        prepareAsyncRequest(permit);
+        StreamingResponseBody body = out -> {
+            try {
+                write(export, format, out);
+            } finally {
+                permit.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + export.name() + "." + format.getExtension())
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
+    /**
+     * Give this request the export timeout just before async processing starts, and make sure the
+     * permit comes back. The body normally releases it, but it never runs if the client disconnects
+     * before the async dispatch, the async request times out or errors first, or the request fails
+     * between the controller returning and async processing starting. Release on those paths too:
+     * when async processing completes for any reason, or when the initial dispatch ends without
+     * starting it.
+     */
+    private void prepareAsyncRequest(ExportPermit permit) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(attributes.getRequest());
+        asyncManager.registerCallableInterceptor(PERMIT_KEY, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Called with the request's AsyncWebRequest before it starts, so the timeout still applies
+                if (request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(requestTimeoutMillis);
+                }
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                permit.release();
+            }
+        });
+        attributes.registerDestructionCallback(PERMIT_KEY, () -> {
+            if (!asyncManager.isConcurrentHandlingStarted()) {
+                permit.release();
+            }
+        }, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private <T> void write(TabularExport<T> export, ExportFormat format, OutputStream target) throws IOException {
+        String formatTag = format.name().toLowerCase(Locale.ROOT);
+        Counter rowCounter = meterRegistry.counter("exports.rows", "export", export.name(), "format", formatTag);
+        Counter byteCounter = meterRegistry.counter("exports.bytes", "export", export.name(), "format", formatTag);
+        CountingOutputStream out = new CountingOutputStream(target);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        long[] rows = {0};
+
+        try {
+            ExportWriter writer = format.newWriter(out, objectMapper);
+            List<ExportColumn<T>> columns = export.columns();
+            writer.writeHeader(columns.stream().map(ExportColumn::name).toList());
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = export.rows().get()) {
+                    Iterator<T> iterator = stream.iterator();
+                    Object[] values = new Object[columns.size()];
+                    while (iterator.hasNext()) {
+                        T row = iterator.next();
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = columns.get(i).value().apply(row);
+                        }
+                        writer.writeRow(values);
+                        if (++rows[0] % flushRows == 0) {
+                            writer.flush();
+                            entityManager.clear();
+                            rowCounter.increment(flushRows);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            outcome = "success";
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            log.warn("Export {} aborted after {} bytes: {}", export.name(), out.count, e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            rowCounter.increment(rows[0] % flushRows);
+            byteCounter.increment(out.count);
+            long nanos = sample.stop(meterRegistry.timer("exports.duration",
+                    "export", export.name(), "format", formatTag, "outcome", outcome));
+            log.info("Export {} ({}) wrote {} rows, {} bytes in {} ms",
+                    export.name(), formatTag, rows[0], out.count, nanos / 1_000_000);
+        }
+    }
+
+    /** One export's hold on the concurrency semaphore; released at most once whichever path gets there first. */
+    private static final class ExportPermit {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ExportPermit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The servlet container owns the response stream
+            flush();
+        }
+    }
+}
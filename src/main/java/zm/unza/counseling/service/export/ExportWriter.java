@@ -0,0 +1,25 @@
+package zm.unza.counseling.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Format-specific row writer. Implementations buffer internally and write straight to the
+ * target stream; they never close it.
+ */
+interface ExportWriter {
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Push buffered output to the target stream.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Write any trailer and flush.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,57 @@
+package zm.unza.counseling.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * JSON Lines: one object per row keyed by column name, serialized with the application
+ * ObjectMapper so dates match the REST API.
+ */
+class JsonLinesExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private List<String> columns;
+    private boolean empty = true;
+
+    JsonLinesExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setCodec(objectMapper);
+        // Jackson separates root-level values with a space by default
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i));
+            generator.writeObject(values[i]);
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,14 @@
+package zm.unza.counseling.service.export;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Description of an export: a name (used for the download file name and metric tags), its
+ * columns, and a supplier opening the row stream. {@link ExportService} opens the stream inside a
+ * read-only transaction while the response is being written, so the supplier should return a
+ * cursor-backed repository {@code Stream} rather than a materialized list.
+ */
+public record TabularExport<T>(String name, List<ExportColumn<T>> columns, Supplier<Stream<T>> rows) {
+}
@@ -0,0 +1,147 @@
+package zm.unza.counseling.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal single-sheet XLSX written as it goes: the fixed package parts are emitted up front and
+ * the worksheet XML is streamed row by row into the zip, using inline strings so no shared
+ * string table has to be held in memory. Excel caps a sheet at 1,048,576 rows.
+ */
+class XlsxExportWriter implements ExportWriter {
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Export" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private static final String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+
+    XlsxExportWriter(OutputStream out) throws IOException {
+        // Only ever finished, never closed, so the response stream stays open
+        this.zip = new ZipOutputStream(out);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+        writePart("[Content_Types].xml", CONTENT_TYPES);
+        writePart("_rels/.rels", ROOT_RELS);
+        writePart("xl/workbook.xml", WORKBOOK);
+        writePart("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write(SHEET_START);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number number && isFinite(number)) {
+                writer.write("<c><v>");
+                writer.write(number.toString());
+                writer.write("</v></c>");
+            } else if (value instanceof Boolean bool) {
+                writer.write(bool ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+            } else {
+                // Includes NaN and the infinities, which a numeric <v> cannot hold
+                writeInlineString(value.toString());
+            }
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+        zip.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.write(SHEET_END);
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeInlineString(String text) throws IOException {
+        writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        writeEscaped(text);
+        writer.write("</t></is></c>");
+    }
+
+    private static boolean isFinite(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            return Double.isFinite(number.doubleValue());
+        }
+        return true;
+    }
+
+    private void writePart(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // XML 1.0 forbids most control characters even when escaped
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -28,24 +29,33 @@ import zm.unza.counseling.entity.Session;
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.exception.ValidationException;
 import zm.unza.counseling.repository.AppointmentRepository;
+import zm.unza.counseling.repository.AppointmentRepository.AppointmentExportRow;
 import zm.unza.counseling.repository.CaseRepository;
 import zm.unza.counseling.repository.SessionRepository;
 import zm.unza.counseling.repository.UserRepository;
 import zm.unza.counseling.service.AppointmentService;
+import zm.unza.counseling.service.AppointmentStatisticsService;
 import zm.unza.counseling.service.AuditLogService;
 import zm.unza.counseling.service.ClientIdentityService;
 import zm.unza.counseling.service.CrisisDetectionService;
-import zm.unza.counseling.service.NotificationService;
 import zm.unza.counseling.service.impl.EmailServiceImpl;
 import zm.unza.counseling.entity.CrisisAlert;
 import zm.unza.counseling.entity.Role;
 import zm.unza.counseling.repository.CrisisAlertRepository;
 import zm.unza.counseling.service.SecurityAlertService;
-
+import zm.unza.counseling.service.export.ExportColumn;
+import zm.unza.counseling.service.export.TabularExport;
+import zm.unza.counseling.service.messaging.AppointmentEventMessage;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.service.messaging.MessageRoute;
+import zm.unza.counseling.service.messaging.NotificationMessage;
+
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +74,12 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
     private static final DateTimeFormatter NOTIFICATION_DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy 'at' HH:mm");
+    private static final String COUNSELOR_CONFLICT_MESSAGE = "Counselor has conflicting appointments at this time";
+    private static final String COUNSELOR_OVERLAP_CONSTRAINT = "appointments_no_counselor_overlap";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String DURATION_MESSAGE = "Appointment duration must be greater than zero";
+    private static final String DURATION_CONSTRAINT = "appointments_duration_positive";
+    private static final String CHECK_VIOLATION = "23514";
 
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
@@ -71,19 +87,20 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final CaseRepository caseRepository;
     private final AuditLogService auditLogService;
     private final ClientIdentityService clientIdentityService;
-    private final NotificationService notificationService;
     private final EmailServiceImpl emailService;
+    private final MessagePublisher messagePublisher;
     private final ObjectMapper objectMapper;
     private final CrisisDetectionService crisisDetectionService;
     private final CrisisAlertRepository crisisAlertRepository;
     private final SecurityAlertService securityAlertService;
+    private final AppointmentStatisticsService appointmentStatisticsService;
 
     @Value("${app.meeting.default-provider:google-meet}")
     private String defaultMeetingProvider;
 
     @Override
     public Page<AppointmentDto> getAllAppointments(Pageable pageable) {
-        return getScopedAppointments(pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointments(pageable));
     }
 
     @Override
@@ -97,7 +114,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new NoSuchElementException("Client not found with id: " + clientId));
         authorizeClientScopedRead(user);
         ensureAppointmentClientUser(user);
-        return appointmentRepository.findByStudent(user, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(appointmentRepository.findByStudent(user, pageable));
     }
 
     @Override
@@ -106,17 +123,16 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new NoSuchElementException("Client not found with id: " + clientId));
         authorizeClientScopedRead(user);
         ensureAppointmentClientUser(user);
-        return appointmentRepository.findByStudent(user).stream()
+        return toAppointmentDtoList(appointmentRepository.findByStudent(user).stream()
                 .sorted(java.util.Comparator.comparing(Appointment::getAppointmentDate, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder())))
-                .map(this::toAppointmentDto)
-                .toList();
+                .toList());
     }
 
     @Override
     public Page<AppointmentDto> getAppointmentsByCounselorId(Long counselorId, Pageable pageable) {
         User counselor = resolveCounselorUser(counselorId);
         validateCounselorScopedRead(counselor);
-        return appointmentRepository.findByCounselor(counselor, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(appointmentRepository.findByCounselor(counselor, pageable));
     }
 
     @Override
@@ -125,7 +141,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new NoSuchElementException("Student not found with identifier: " + studentId));
         authorizeStudentScopedRead(student);
         ensureAppointmentClientUser(student);
-        return appointmentRepository.findByStudent(student, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(appointmentRepository.findByStudent(student, pageable));
     }
 
     @Override
@@ -133,7 +149,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         Case caseEntity = caseRepository.findById(caseId)
                 .orElseThrow(() -> new NoSuchElementException("Case not found with id: " + caseId));
         authorizeCaseRead(caseEntity);
-        return appointmentRepository.findByCaseEntity(caseEntity, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(appointmentRepository.findByCaseEntity(caseEntity, pageable));
     }
 
     @Override
@@ -184,7 +200,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 : Appointment.AppointmentStatus.UNASSIGNED);
         applyVenueDetails(appointment, sessionMode, request.getMeetingLink(), request.getLocation());
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
         notifyStudentOnCreate(savedAppointment);
         touchCaseTransition(null, savedAppointment.getCaseEntity());
@@ -266,7 +282,7 @@ public class AppointmentServiceImpl implements AppointmentService {
             ensureLinkedCaseSupportsActiveAppointment(appointment);
         }
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
         touchCaseTransition(previousCase, savedAppointment.getCaseEntity());
         auditAppointment("APPOINTMENT_UPDATED", savedAppointment, "Appointment updated");
@@ -297,7 +313,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         applyStatusChange(appointment, request.getStatus(), request.getCancellationReason());
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
         touchCaseTransition(previousCase, savedAppointment.getCaseEntity());
         auditAppointment("APPOINTMENT_STATUS_UPDATED", savedAppointment, "Appointment status updated");
@@ -327,27 +343,27 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public Page<AppointmentDto> getUpcomingAppointments(Pageable pageable) {
-        return getScopedAppointmentsAfter(LocalDateTime.now(), pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsAfter(LocalDateTime.now(), pageable));
     }
 
     @Override
     public Page<AppointmentDto> getPastAppointments(Pageable pageable) {
-        return getScopedAppointmentsBefore(LocalDateTime.now(), pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsBefore(LocalDateTime.now(), pageable));
     }
 
     @Override
     public Page<AppointmentDto> getCancelledAppointments(Pageable pageable) {
-        return getScopedAppointmentsByStatus(Appointment.AppointmentStatus.CANCELLED, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsByStatus(Appointment.AppointmentStatus.CANCELLED, pageable));
     }
 
     @Override
     public Page<AppointmentDto> getConfirmedAppointments(Pageable pageable) {
-        return getScopedAppointmentsByStatus(Appointment.AppointmentStatus.CONFIRMED, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsByStatus(Appointment.AppointmentStatus.CONFIRMED, pageable));
     }
 
     @Override
     public Page<AppointmentDto> getPendingAppointments(Pageable pageable) {
-        return getScopedAppointmentsByStatus(Appointment.AppointmentStatus.PENDING, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsByStatus(Appointment.AppointmentStatus.PENDING, pageable));
     }
 
     @Override
@@ -368,7 +384,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
         syncSessionFromAppointment(savedAppointment);
-        notifyStudent(savedAppointment, "Appointment Cancelled", buildCancellationMessage(savedAppointment));
+        notifyStudent(savedAppointment, "APPOINTMENT_CANCELLED", "Appointment Cancelled", buildCancellationMessage(savedAppointment));
         touchCaseTransition(savedAppointment.getCaseEntity(), savedAppointment.getCaseEntity());
         auditAppointment("APPOINTMENT_CANCELLED", savedAppointment, "Appointment cancelled");
         return toAppointmentDto(savedAppointment);
@@ -380,9 +396,9 @@ public class AppointmentServiceImpl implements AppointmentService {
         assertAppointmentUpdatable(appointment, "confirm");
 
         applyStatusChange(appointment, Appointment.AppointmentStatus.CONFIRMED, null);
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
-        notifyStudent(savedAppointment,
+        notifyStudent(savedAppointment, "APPOINTMENT_CONFIRMED",
                 "Appointment Confirmed",
                 String.format("Your appointment with %s on %s has been confirmed.",
                         describeCounselor(savedAppointment),
@@ -410,8 +426,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         int duration = 60;
         LocalDateTime endTime = requestedTime.plusMinutes(duration);
 
-        List<Appointment> conflicts = findConflictingAppointments(counselor, requestedTime, endTime, null);
-        return conflicts.isEmpty();
+        return !hasConflictingAppointment(counselor, requestedTime, endTime, null);
     }
 
     @Override
@@ -431,27 +446,11 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public AppointmentStats getAppointmentStatistics() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime endOfDay = now.withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime endOfMonth = now.withDayOfMonth(now.toLocalDate().lengthOfMonth()).withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-
-        return AppointmentStats.builder()
-                .totalAppointments(appointmentRepository.count())
-                .todayAppointments(appointmentRepository.findByAppointmentDateBetween(startOfDay, endOfDay, Pageable.unpaged()).getTotalElements())
-                .monthlyAppointments(appointmentRepository.findByAppointmentDateBetween(startOfMonth, endOfMonth, Pageable.unpaged()).getTotalElements())
-                .scheduled(appointmentRepository.findByStatus(Appointment.AppointmentStatus.SCHEDULED, Pageable.unpaged()).getTotalElements())
-                .confirmed(appointmentRepository.findByStatus(Appointment.AppointmentStatus.CONFIRMED, Pageable.unpaged()).getTotalElements())
-                .completed(appointmentRepository.findByStatus(Appointment.AppointmentStatus.COMPLETED, Pageable.unpaged()).getTotalElements())
-                .cancelled(appointmentRepository.findByStatus(Appointment.AppointmentStatus.CANCELLED, Pageable.unpaged()).getTotalElements())
-                .pending(appointmentRepository.findByStatus(Appointment.AppointmentStatus.PENDING, Pageable.unpaged()).getTotalElements())
-                .unassigned(appointmentRepository.countUnassignedAppointments())
-                .build();
+        return appointmentStatisticsService.getStatistics();
     }
 
     @Override
-    public byte[] exportAppointments(String format, String startDate, String endDate) {
+    public TabularExport<AppointmentExportRow> exportAppointments(String startDate, String endDate) {
         LocalDateTime start = startDate != null
                 ? LocalDateTime.parse(startDate + "T00:00:00", DateTimeFormatter.ISO_DATE_TIME)
                 : LocalDateTime.now().minusMonths(1);
@@ -459,44 +458,37 @@ public class AppointmentServiceImpl implements AppointmentService {
                 ? LocalDateTime.parse(endDate + "T23:59:59", DateTimeFormatter.ISO_DATE_TIME)
                 : LocalDateTime.now();
 
-        Page<Appointment> appointments = appointmentRepository.findByAppointmentDateBetween(start, end, Pageable.unpaged());
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Title,Student,Counselor,Case Number,Date,Time,Duration,Type,Status,Description\n");
-
-        for (Appointment appointment : appointments.getContent()) {
-            String counselorName = appointment.getCounselor() != null
-                    ? appointment.getCounselor().getFirstName() + " " + appointment.getCounselor().getLastName()
-                    : "Unassigned";
-            csv.append(String.format("%d,\"%s\",\"%s %s\",\"%s\",\"%s\",%s,%s,%d,\"%s\",\"%s\",\"%s\"\n",
-                    appointment.getId(),
-                    appointment.getTitle(),
-                    appointment.getStudent().getFirstName(),
-                    appointment.getStudent().getLastName(),
-                    counselorName,
-                    appointment.getCaseEntity() != null ? appointment.getCaseEntity().getCaseNumber() : "",
-                    appointment.getAppointmentDate().toLocalDate(),
-                    appointment.getAppointmentDate().toLocalTime(),
-                    appointment.getDuration(),
-                    appointment.getType(),
-                    appointment.getStatus(),
-                    appointment.getDescription() != null ? appointment.getDescription().replace("\"", "\"\"") : ""
-            ));
-        }
+        return new TabularExport<>("appointments", List.of(
+                ExportColumn.of("ID", AppointmentExportRow::getId),
+                ExportColumn.of("Title", AppointmentExportRow::getTitle),
+                ExportColumn.of("Student", row -> fullName(row.getStudentFirstName(), row.getStudentLastName())),
+                ExportColumn.of("Counselor", row -> row.getCounselorFirstName() != null || row.getCounselorLastName() != null
+                        ? fullName(row.getCounselorFirstName(), row.getCounselorLastName())
+                        : "Unassigned"),
+                ExportColumn.of("Case Number", AppointmentExportRow::getCaseNumber),
+                ExportColumn.of("Date", row -> row.getAppointmentDate().toLocalDate()),
+                ExportColumn.of("Time", row -> row.getAppointmentDate().toLocalTime()),
+                ExportColumn.of("Duration", AppointmentExportRow::getDuration),
+                ExportColumn.of("Type", AppointmentExportRow::getType),
+                ExportColumn.of("Status", AppointmentExportRow::getStatus),
+                ExportColumn.of("Description", AppointmentExportRow::getDescription)
+        ), () -> appointmentRepository.streamForExport(start, end));
+    }
 
-        return csv.toString().getBytes();
+    private static String fullName(String firstName, String lastName) {
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
     }
 
     @Override
     public Page<AppointmentDto> getTodaysAppointments(Pageable pageable) {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
         LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-        return getScopedAppointmentsBetween(startOfDay, endOfDay, pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(getScopedAppointmentsBetween(startOfDay, endOfDay, pageable));
     }
 
     @Override
     public Page<AppointmentDto> getUnassignedAppointments(Pageable pageable) {
-        return appointmentRepository.findUnassignedAppointments(LocalDateTime.now(), pageable).map(this::toAppointmentDto);
+        return toAppointmentDtoPage(appointmentRepository.findUnassignedAppointments(LocalDateTime.now(), pageable));
     }
 
     @Override
@@ -515,9 +507,9 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
         applyVenueDetails(appointment, appointment.getSessionMode(), appointment.getMeetingLink(), appointment.getLocation());
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
-        notifyStudent(savedAppointment,
+        notifyStudent(savedAppointment, "APPOINTMENT_ASSIGNED",
                 "Counselor Assigned",
                 String.format("Your appointment on %s has been assigned to %s.",
                         formatAppointmentDate(savedAppointment),
@@ -546,9 +538,9 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
         applyVenueDetails(appointment, appointment.getSessionMode(), appointment.getMeetingLink(), appointment.getLocation());
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
-        notifyStudent(savedAppointment,
+        notifyStudent(savedAppointment, "APPOINTMENT_TAKEN",
                 "Counselor Assigned",
                 String.format("Your appointment on %s has been taken by %s.",
                         formatAppointmentDate(savedAppointment),
@@ -586,9 +578,9 @@ public class AppointmentServiceImpl implements AppointmentService {
                 null
         );
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveCheckingOverlap(appointment);
         syncSessionFromAppointment(savedAppointment);
-        notifyStudent(savedAppointment,
+        notifyStudent(savedAppointment, "APPOINTMENT_RESCHEDULED",
                 "Appointment Rescheduled",
                 String.format("Your appointment has been rescheduled to %s.",
                         formatAppointmentDate(savedAppointment)));
@@ -673,41 +665,53 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         LocalDateTime endTime = dateTime.plusHours(1);
-        List<Appointment> conflicts = findConflictingAppointments(counselor, dateTime, endTime, null);
-        return conflicts.isEmpty();
+        return !hasConflictingAppointment(counselor, dateTime, endTime, null);
     }
 
-    private List<Appointment> findConflictingAppointments(
+    private boolean hasConflictingAppointment(
             User counselor,
             LocalDateTime start,
             LocalDateTime end,
             Long excludeAppointmentId
     ) {
         if (counselor == null) {
-            return Collections.emptyList();
+            return false;
         }
+        // Ids start at 1, so 0 excludes nothing
+        return appointmentRepository.existsOverlappingForCounselor(
+                counselor.getId(), start, end, excludeAppointmentId != null ? excludeAppointmentId : 0L);
+    }
 
-        return appointmentRepository.findByCounselor(counselor).stream()
-                .filter(appointment -> appointment.getStatus() == Appointment.AppointmentStatus.SCHEDULED
-                        || appointment.getStatus() == Appointment.AppointmentStatus.CONFIRMED
-                        || appointment.getStatus() == Appointment.AppointmentStatus.RESCHEDULED
-                        || appointment.getStatus() == Appointment.AppointmentStatus.IN_PROGRESS
-                        || appointment.getStatus() == Appointment.AppointmentStatus.PENDING)
-                .filter(appointment -> excludeAppointmentId == null || !appointment.getId().equals(excludeAppointmentId))
-                .filter(appointment -> overlaps(appointment, start, end))
-                .toList();
+    // Flushes so the counselor overlap exclusion constraint is checked here rather than at commit, and a
+    // booking that raced past hasConflictingAppointment gets the same error as one caught by it. The
+    // duration check constraint backs normalizeDuration the same way.
+    private Appointment saveCheckingOverlap(Appointment appointment) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException exception) {
+            if (isConstraintViolation(exception, EXCLUSION_VIOLATION, COUNSELOR_OVERLAP_CONSTRAINT)) {
+                throw new ValidationException(COUNSELOR_CONFLICT_MESSAGE);
+            }
+            if (isConstraintViolation(exception, CHECK_VIOLATION, DURATION_CONSTRAINT)) {
+                throw new ValidationException(DURATION_MESSAGE);
+            }
+            throw exception;
+        }
     }
 
-    private boolean overlaps(Appointment appointment, LocalDateTime start, LocalDateTime end) {
-        LocalDateTime appointmentStart = appointment.getAppointmentDate();
-        LocalDateTime appointmentEnd = appointmentStart.plusMinutes(resolveAppointmentDuration(appointment));
-        return appointmentStart.isBefore(end) && appointmentEnd.isAfter(start);
+    private static boolean isConstraintViolation(DataIntegrityViolationException exception, String sqlState,
+                                                 String constraint) {
+        Throwable cause = exception.getMostSpecificCause();
+        return cause instanceof SQLException sqlException
+                && sqlState.equals(sqlException.getSQLState())
+                && String.valueOf(sqlException.getMessage()).contains(constraint);
     }
 
     private int resolveAppointmentDuration(Appointment appointment) {
         return appointment.getDuration() != null ? appointment.getDuration() : 60;
     }
 
+    // Detail view of a single appointment, including the parsed booking details
     private AppointmentDto toAppointmentDto(Appointment appointment) {
         AppointmentDto dto = AppointmentDto.from(appointment, readJsonMap(appointment.getIntakeDataJson()));
         sessionRepository.findFirstByAppointmentIdOrderBySessionDateDesc(appointment.getId())
@@ -716,6 +720,38 @@ public class AppointmentServiceImpl implements AppointmentService {
         return dto;
     }
 
+    // Listings: session ids for the whole page in one query, and no booking details; clients
+    // fetch those from the detail endpoint
+    private Page<AppointmentDto> toAppointmentDtoPage(Page<Appointment> appointments) {
+        Map<Long, Long> sessionIds = latestSessionIds(appointments.getContent());
+        return appointments.map(appointment -> toListingDto(appointment, sessionIds));
+    }
+
+    private List<AppointmentDto> toAppointmentDtoList(List<Appointment> appointments) {
+        Map<Long, Long> sessionIds = latestSessionIds(appointments);
+        return appointments.stream()
+                .map(appointment -> toListingDto(appointment, sessionIds))
+                .toList();
+    }
+
+    private AppointmentDto toListingDto(Appointment appointment, Map<Long, Long> sessionIds) {
+        AppointmentDto dto = AppointmentDto.from(appointment);
+        dto.setSessionId(sessionIds.get(appointment.getId()));
+        return dto;
+    }
+
+    private Map<Long, Long> latestSessionIds(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> appointmentIds = appointments.stream().map(Appointment::getId).toList();
+        Map<Long, Long> sessionIds = new HashMap<>();
+        for (SessionRepository.AppointmentSessionRow row : sessionRepository.findSessionIdsByAppointmentIds(appointmentIds)) {
+            sessionIds.put(row.getAppointmentId(), row.getSessionId());
+        }
+        return sessionIds;
+    }
+
     private User resolveCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
@@ -966,9 +1002,8 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         LocalDateTime appointmentEnd = appointmentDate.plusMinutes(duration);
-        List<Appointment> conflicts = findConflictingAppointments(counselor, appointmentDate, appointmentEnd, excludeAppointmentId);
-        if (!conflicts.isEmpty()) {
-            throw new ValidationException("Counselor has conflicting appointments at this time");
+        if (hasConflictingAppointment(counselor, appointmentDate, appointmentEnd, excludeAppointmentId)) {
+            throw new ValidationException(COUNSELOR_CONFLICT_MESSAGE);
         }
     }
 
@@ -1168,14 +1203,14 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private void notifyStudentOnCreate(Appointment appointment) {
         if (appointment.getStatus() == Appointment.AppointmentStatus.UNASSIGNED) {
-            notifyStudent(appointment,
+            publishAppointmentEvent(MessageRoute.APPOINTMENT_CREATED, appointment, "APPOINTMENT_CREATED",
                     "Appointment Request Received",
                     String.format("Your appointment request for %s has been received and is awaiting counselor assignment.",
                             formatAppointmentDate(appointment)));
             return;
         }
 
-        notifyStudent(appointment,
+        publishAppointmentEvent(MessageRoute.APPOINTMENT_CREATED, appointment, "APPOINTMENT_CREATED",
                 "Appointment Scheduled",
                 String.format("Your appointment with %s has been scheduled for %s.",
                         describeCounselor(appointment),
@@ -1183,16 +1218,20 @@ public class AppointmentServiceImpl implements AppointmentService {
         sendConfirmationEmail(appointment);
     }
 
-    private void notifyStudent(Appointment appointment, String title, String message) {
+    private void notifyStudent(Appointment appointment, String event, String title, String message) {
+        publishAppointmentEvent(MessageRoute.APPOINTMENT_UPDATED, appointment, event, title, message);
+    }
+
+    /**
+     * The student's in-app notification is written by the appointment consumers once this
+     * transaction commits.
+     */
+    private void publishAppointmentEvent(MessageRoute route, Appointment appointment, String event, String title, String message) {
         Long recipientId = appointment.getStudent() != null ? appointment.getStudent().getId()
                 : appointment.getClient() != null ? appointment.getClient().getId() : null;
         if (recipientId == null) return;
 
-        try {
-            notificationService.sendSystemNotification(recipientId, title, message, "MEDIUM");
-        } catch (Exception ex) {
-            log.warn("Failed to create notification for appointment {}", appointment.getId(), ex);
-        }
+        messagePublisher.publish(route, new AppointmentEventMessage(appointment.getId(), event, recipientId, title, message));
     }
 
     private void sendConfirmationEmail(Appointment appointment) {
@@ -1373,7 +1412,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     private int normalizeDuration(Integer duration) {
         int resolvedDuration = duration != null ? duration : 60;
         if (resolvedDuration <= 0) {
-            throw new ValidationException("Appointment duration must be greater than zero");
+            throw new ValidationException(DURATION_MESSAGE);
         }
         return resolvedDuration;
     }
@@ -1522,8 +1561,8 @@ public class AppointmentServiceImpl implements AppointmentService {
             counselors.forEach(u -> recipientIds.add(u.getId()));
             admins.forEach(u -> recipientIds.add(u.getId()));
 
-            notificationService.sendNotifications(recipientIds, notifTitle, notifBody, "CRISIS_ALERT", "CRITICAL",
-                    "/counselor/crisis-alerts");
+            messagePublisher.publish(MessageRoute.RISK_ALERT, new NotificationMessage(List.copyOf(recipientIds),
+                    notifTitle, notifBody, "CRISIS_ALERT", "CRITICAL", "/counselor/crisis-alerts"));
             log.warn("CRISIS ALERT [{}] — appointment {} for client {}: {}",
                     result.severity(), appointment.getId(), client.getId(), result.triggeredKeywords());
         } catch (Exception e) {
@@ -4,15 +4,21 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import zm.unza.counseling.service.mail.EmailTemplate;
+import zm.unza.counseling.service.mail.SmtpConnectionPool;
+import zm.unza.counseling.service.messaging.EmailMessage;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.service.messaging.MessageRoute;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -21,102 +27,8 @@ public class EmailServiceImpl {
 
     private static final Logger log = LoggerFactory.getLogger(EmailServiceImpl.class);
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
-    @Value("${app.name:UNZA Counseling Management System}")
-    private String appName;
-
-    /**
-     * Send a simple text email asynchronously
-     */
-    @Async("taskExecutor")
-    public CompletableFuture<Void> sendSimpleEmail(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            
-            mailSender.send(message);
-            log.info("Simple email sent successfully to: {}", to);
-            return CompletableFuture.completedFuture(null);
-        } catch (MailException e) {
-            log.error("Failed to send simple email to: {}", to, e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    /**
-     * Send a rich HTML email asynchronously
-     */
-    @Async("taskExecutor")
-    public CompletableFuture<Void> sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            log.info("HTML email sent successfully to: {}", to);
-            return CompletableFuture.completedFuture(null);
-        } catch (MessagingException | MailException e) {
-            log.error("Failed to send HTML email to: {}", to, e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    /**
-     * Send appointment confirmation email
-     */
-    public CompletableFuture<Void> sendAppointmentConfirmation(String clientEmail, String clientName, 
-                                                              String counselorName, String appointmentDate, 
-                                                              String appointmentTime) {
-        String subject = String.format("%s - Appointment Confirmation", appName);
-        String htmlContent = buildAppointmentConfirmationHtml(clientName, counselorName, appointmentDate, appointmentTime);
-        return sendHtmlEmail(clientEmail, subject, htmlContent);
-    }
-
-    /**
-     * Send appointment reminder email
-     */
-    public CompletableFuture<Void> sendAppointmentReminder(String clientEmail, String clientName, 
-                                                         String counselorName, String appointmentDate, 
-                                                         String appointmentTime) {
-        String subject = String.format("%s - Appointment Reminder", appName);
-        String htmlContent = buildAppointmentReminderHtml(clientName, counselorName, appointmentDate, appointmentTime);
-        return sendHtmlEmail(clientEmail, subject, htmlContent);
-    }
-
-    /**
-     * Send risk assessment alert email
-     */
-    public CompletableFuture<Void> sendRiskAssessmentAlert(String counselorEmail, String clientName, 
-                                                         String riskLevel, String assessmentDate) {
-        String subject = String.format("%s - Risk Assessment Alert: %s Risk Level", appName, riskLevel);
-        String htmlContent = buildRiskAssessmentAlertHtml(counselorEmail, clientName, riskLevel, assessmentDate);
-        return sendHtmlEmail(counselorEmail, subject, htmlContent);
-    }
-
-    /**
-     * Send welcome email to new users
-     */
-    public CompletableFuture<Void> sendWelcomeEmail(String userEmail, String userName, String role) {
-        String subject = String.format("Welcome to %s", appName);
-        String htmlContent = buildWelcomeHtml(userName, role);
-        return sendHtmlEmail(userEmail, subject, htmlContent);
-    }
-
-    private String buildAppointmentConfirmationHtml(String clientName, String counselorName, 
-                                                  String appointmentDate, String appointmentTime) {
-        return """
+    // Parsed once at class load; rendering only appends segments and escaped values
+    private static final EmailTemplate APPOINTMENT_CONFIRMATION_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -136,27 +48,24 @@ public class EmailServiceImpl {
                         <h1>Appointment Confirmed</h1>
                     </div>
                     <div class="content">
-                        <h2>Dear %s,</h2>
+                        <h2>Dear {{clientName}},</h2>
                         <p>Your counseling appointment has been confirmed with the following details:</p>
                         <ul>
-                            <li><strong>Counselor:</strong> %s</li>
-                            <li><strong>Date:</strong> %s</li>
-                            <li><strong>Time:</strong> %s</li>
+                            <li><strong>Counselor:</strong> {{counselorName}}</li>
+                            <li><strong>Date:</strong> {{appointmentDate}}</li>
+                            <li><strong>Time:</strong> {{appointmentTime}}</li>
                         </ul>
                         <p>Please arrive 10 minutes early for your appointment. If you need to reschedule, please contact us at least 24 hours in advance.</p>
                     </div>
                     <div class="footer">
-                        <p>%s</p>
+                        <p>{{appName}}</p>
                     </div>
                 </div>
             </body>
             </html>
-            """.formatted(clientName, counselorName, appointmentDate, appointmentTime, appName);
-    }
+            """);
 
-    private String buildAppointmentReminderHtml(String clientName, String counselorName, 
-                                              String appointmentDate, String appointmentTime) {
-        return """
+    private static final EmailTemplate APPOINTMENT_REMINDER_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -176,27 +85,24 @@ public class EmailServiceImpl {
                         <h1>Appointment Reminder</h1>
                     </div>
                     <div class="content">
-                        <h2>Dear %s,</h2>
+                        <h2>Dear {{clientName}},</h2>
                         <p>This is a friendly reminder about your upcoming counseling appointment:</p>
                         <ul>
-                            <li><strong>Counselor:</strong> %s</li>
-                            <li><strong>Date:</strong> %s</li>
-                            <li><strong>Time:</strong> %s</li>
+                            <li><strong>Counselor:</strong> {{counselorName}}</li>
+                            <li><strong>Date:</strong> {{appointmentDate}}</li>
+                            <li><strong>Time:</strong> {{appointmentTime}}</li>
                         </ul>
                         <p>We're looking forward to seeing you!</p>
                     </div>
                     <div class="footer">
-                        <p>%s</p>
+                        <p>{{appName}}</p>
                     </div>
                 </div>
             </body>
             </html>
-            """.formatted(clientName, counselorName, appointmentDate, appointmentTime, appName);
-    }
+            """);
 
-    private String buildRiskAssessmentAlertHtml(String counselorEmail, String clientName, 
-                                              String riskLevel, String assessmentDate) {
-        return """
+    private static final EmailTemplate RISK_ASSESSMENT_ALERT_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -219,23 +125,21 @@ public class EmailServiceImpl {
                     <div class="content">
                         <h2>Attention Required</h2>
                         <div class="alert">
-                            <p><strong>Client:</strong> %s</p>
-                            <p><strong>Risk Level:</strong> %s</p>
-                            <p><strong>Assessment Date:</strong> %s</p>
+                            <p><strong>Client:</strong> {{clientName}}</p>
+                            <p><strong>Risk Level:</strong> {{riskLevel}}</p>
+                            <p><strong>Assessment Date:</strong> {{assessmentDate}}</p>
                         </div>
                         <p>A new risk assessment has been completed that requires your attention. Please review the assessment details and take appropriate action as needed.</p>
                     </div>
                     <div class="footer">
-                        <p>%s</p>
+                        <p>{{appName}}</p>
                     </div>
                 </div>
             </body>
             </html>
-            """.formatted(clientName, riskLevel, assessmentDate, appName);
-    }
+            """);
 
-    private String buildWelcomeHtml(String userName, String role) {
-        return """
+    private static final EmailTemplate WELCOME_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -252,20 +156,146 @@ public class EmailServiceImpl {
             <body>
                 <div class="container">
                     <div class="header">
-                        <h1>Welcome to %s</h1>
+                        <h1>Welcome to {{appName}}</h1>
                     </div>
                     <div class="content">
-                        <h2>Dear %s,</h2>
-                        <p>Welcome to the %s! Your account has been successfully created with the following role:</p>
-                        <p><strong>Role:</strong> %s</p>
+                        <h2>Dear {{userName}},</h2>
+                        <p>Welcome to the {{appName}}! Your account has been successfully created with the following role:</p>
+                        <p><strong>Role:</strong> {{role}}</p>
                         <p>You can now log in to access the system and start using our counseling management services.</p>
                     </div>
                     <div class="footer">
-                        <p>%s</p>
+                        <p>{{appName}}</p>
                     </div>
                 </div>
             </body>
             </html>
-            """.formatted(appName, userName, appName, role, appName);
+            """);
+
+    private final JavaMailSender mailSender;
+    private final MessagePublisher messagePublisher;
+    private final SmtpConnectionPool smtpConnectionPool;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.name:UNZA Counseling Management System}")
+    private String appName;
+
+    /**
+     * Queue a plain text email for the email consumers
+     */
+    public CompletableFuture<Void> sendSimpleEmail(String to, String subject, String text) {
+        messagePublisher.publish(MessageRoute.EMAIL, new EmailMessage(to, subject, text, false));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Queue a rich HTML email for the email consumers
+     */
+    public CompletableFuture<Void> sendHtmlEmail(String to, String subject, String htmlContent) {
+        messagePublisher.publish(MessageRoute.EMAIL, new EmailMessage(to, subject, htmlContent, true));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Send a batch of queued emails over pooled SMTP connections. Called by the email consumers;
+     * returns the emails that could not be sent so they can be dead-lettered.
+     */
+    public List<EmailMessage> deliverAll(List<EmailMessage> emails) {
+        List<EmailMessage> failed = new ArrayList<>();
+        Map<MimeMessage, EmailMessage> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+        for (EmailMessage email : emails) {
+            try {
+                MimeMessage message = toMimeMessage(email);
+                byMessage.put(message, email);
+                messages.add(message);
+            } catch (MessagingException e) {
+                log.error("Failed to build email to: {}", email.to(), e);
+                failed.add(email);
+            }
+        }
+
+        smtpConnectionPool.send(messages).forEach((message, e) -> {
+            EmailMessage email = byMessage.get(message);
+            log.error("Failed to send email to: {}", email.to(), e);
+            failed.add(email);
+        });
+        log.info("Sent {} of {} email(s)", emails.size() - failed.size(), emails.size());
+        return failed;
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.html(), "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.body(), email.html());
+        return message;
+    }
+
+    /**
+     * Send appointment confirmation email
+     */
+    public CompletableFuture<Void> sendAppointmentConfirmation(String clientEmail, String clientName, 
+                                                              String counselorName, String appointmentDate, 
+                                                              String appointmentTime) {
+        String subject = String.format("%s - Appointment Confirmation", appName);
+        String htmlContent = buildAppointmentConfirmationHtml(clientName, counselorName, appointmentDate, appointmentTime);
+        return sendHtmlEmail(clientEmail, subject, htmlContent);
+    }
+
+    /**
+     * Send appointment reminder email
+     */
+    public CompletableFuture<Void> sendAppointmentReminder(String clientEmail, String clientName, 
+                                                         String counselorName, String appointmentDate, 
+                                                         String appointmentTime) {
+        String subject = String.format("%s - Appointment Reminder", appName);
+        String htmlContent = buildAppointmentReminderHtml(clientName, counselorName, appointmentDate, appointmentTime);
+        return sendHtmlEmail(clientEmail, subject, htmlContent);
+    }
+
+    /**
+     * Send risk assessment alert email
+     */
+    public CompletableFuture<Void> sendRiskAssessmentAlert(String counselorEmail, String clientName, 
+                                                         String riskLevel, String assessmentDate) {
+        String subject = String.format("%s - Risk Assessment Alert: %s Risk Level", appName, riskLevel);
+        String htmlContent = buildRiskAssessmentAlertHtml(counselorEmail, clientName, riskLevel, assessmentDate);
+        return sendHtmlEmail(counselorEmail, subject, htmlContent);
+    }
+
+    /**
+     * Send welcome email to new users
+     */
+    public CompletableFuture<Void> sendWelcomeEmail(String userEmail, String userName, String role) {
+        String subject = String.format("Welcome to %s", appName);
+        String htmlContent = buildWelcomeHtml(userName, role);
+        return sendHtmlEmail(userEmail, subject, htmlContent);
+    }
+
+    private String buildAppointmentConfirmationHtml(String clientName, String counselorName, 
+                                                  String appointmentDate, String appointmentTime) {
+        return APPOINTMENT_CONFIRMATION_TEMPLATE.render("clientName", clientName, "counselorName", counselorName,
+                "appointmentDate", appointmentDate, "appointmentTime", appointmentTime, "appName", appName);
+    }
+
+    private String buildAppointmentReminderHtml(String clientName, String counselorName, 
+                                              String appointmentDate, String appointmentTime) {
+        return APPOINTMENT_REMINDER_TEMPLATE.render("clientName", clientName, "counselorName", counselorName,
+                "appointmentDate", appointmentDate, "appointmentTime", appointmentTime, "appName", appName);
+    }
+
+    private String buildRiskAssessmentAlertHtml(String counselorEmail, String clientName, 
+                                              String riskLevel, String assessmentDate) {
+        return RISK_ASSESSMENT_ALERT_TEMPLATE.render("clientName", clientName, "riskLevel", riskLevel,
+                "assessmentDate", assessmentDate, "appName", appName);
+    }
+
+    private String buildWelcomeHtml(String userName, String role) {
+        return WELCOME_TEMPLATE.render("appName", appName, "userName", userName, "role", role);
     }
 }
\ No newline at end of file
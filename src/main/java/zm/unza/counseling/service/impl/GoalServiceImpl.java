@@ -3,24 +3,34 @@ package zm.unza.counseling.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import zm.unza.counseling.dto.request.GoalRequest;
 import zm.unza.counseling.dto.response.GoalResponse;
 import zm.unza.counseling.dto.response.GoalStatsResponse;
-import zm.unza.counseling.entity.Client;
 import zm.unza.counseling.entity.Goal;
 import zm.unza.counseling.entity.Goal.GoalCategory;
 import zm.unza.counseling.entity.Goal.GoalStatus;
 import zm.unza.counseling.exception.ResourceNotFoundException;
 import zm.unza.counseling.repository.ClientRepository;
 import zm.unza.counseling.repository.GoalRepository;
+import zm.unza.counseling.repository.GoalRepository.GoalStats;
+import zm.unza.counseling.repository.UserRepository;
 import zm.unza.counseling.service.GoalService;
+import zm.unza.counseling.service.NotificationService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * Implementation of GoalService
@@ -30,14 +40,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GoalServiceImpl implements GoalService {
 
+    private static final int TRANSITION_CHUNK_SIZE = 1000;
+
     private final GoalRepository goalRepository;
     private final ClientRepository clientRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public Page<GoalResponse> getAllGoals(Pageable pageable) {
         log.info("Fetching all goals");
-        return goalRepository.findAll(pageable)
-                .map(this::mapToResponse);
+        return mapToResponses(goalRepository.findAll(pageable));
     }
 
     @Override
@@ -51,32 +65,25 @@ public class GoalServiceImpl implements GoalService {
     @Override
     public List<GoalResponse> getGoalsByClient(Long clientId) {
         log.info("Fetching goals for client: {}", clientId);
-        return goalRepository.findByClientId(clientId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(goalRepository.findByClientId(clientId));
     }
 
     @Override
     public Page<GoalResponse> getGoalsByClient(Long clientId, Pageable pageable) {
         log.info("Fetching goals for client: {} with pagination", clientId);
-        return goalRepository.findByClientId(clientId, pageable)
-                .map(this::mapToResponse);
+        return mapToResponses(goalRepository.findByClientId(clientId, pageable));
     }
 
     @Override
     public List<GoalResponse> getGoalsByClientAndStatus(Long clientId, GoalStatus status) {
         log.info("Fetching goals for client: {} with status: {}", clientId, status);
-        return goalRepository.findByClientIdAndStatus(clientId, status).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(goalRepository.findByClientIdAndStatus(clientId, status));
     }
 
     @Override
     public List<GoalResponse> getGoalsByClientAndCategory(Long clientId, GoalCategory category) {
         log.info("Fetching goals for client: {} with category: {}", clientId, category);
-        return goalRepository.findByClientIdAndCategory(clientId, category).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(goalRepository.findByClientIdAndCategory(clientId, category));
     }
 
     @Override
@@ -85,8 +92,9 @@ public class GoalServiceImpl implements GoalService {
         log.info("Creating goal for client: {}", request.getClientId());
         
         // Verify client exists
-        Client client = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + request.getClientId()));
+        if (!clientRepository.existsById(request.getClientId())) {
+            throw new ResourceNotFoundException("Client not found with id: " + request.getClientId());
+        }
         
         Goal goal = new Goal();
         goal.setClientId(request.getClientId());
@@ -130,6 +138,8 @@ public class GoalServiceImpl implements GoalService {
         
         if (request.getStatus() != null) {
             goal.setStatus(GoalStatus.valueOf(request.getStatus()));
+        } else {
+            reopenIfRescheduled(goal);
         }
         
         // Recalculate progress
@@ -176,7 +186,8 @@ public class GoalServiceImpl implements GoalService {
             if (goal.getProgress() >= 100 && goal.getStatus() != GoalStatus.COMPLETED) {
                 goal.setStatus(GoalStatus.COMPLETED);
                 log.info("Goal {} automatically marked as completed", id);
-            } else if (goal.getProgress() > 0 && goal.getStatus() == GoalStatus.NOT_STARTED) {
+            } else if (goal.getProgress() > 0 && goal.getStatus() == GoalStatus.NOT_STARTED
+                    && !isPastDeadline(goal)) {
                 goal.setStatus(GoalStatus.IN_PROGRESS);
                 log.info("Goal {} automatically marked as in progress", id);
             }
@@ -212,51 +223,95 @@ public class GoalServiceImpl implements GoalService {
     public GoalStatsResponse getGoalStats(Long clientId) {
         log.info("Fetching goal statistics for client: {}", clientId);
         
-        Object[] stats = goalRepository.getGoalStatsByClient(clientId);
-        Double avgProgress = goalRepository.getAverageProgressByClient(clientId);
-        List<Goal> overdueGoals = goalRepository.findOverdueGoals(LocalDate.now());
-        
-        long overdueCount = overdueGoals.stream()
-                .filter(g -> g.getClientId().equals(clientId))
-                .count();
-        
-        Object[] statArray = (Object[]) stats[0];
+        GoalStats stats = goalRepository.getGoalStatsByClient(clientId, LocalDate.now());
         
         return GoalStatsResponse.builder()
                 .clientId(clientId)
-                .totalGoals(((Number) statArray[0]).longValue())
-                .completedGoals(((Number) statArray[1]).longValue())
-                .inProgressGoals(((Number) statArray[2]).longValue())
-                .notStartedGoals(((Number) statArray[3]).longValue())
-                .abandonedGoals(((Number) statArray[4]).longValue())
-                .averageProgress(avgProgress != null ? avgProgress : 0.0)
-                .overdueGoals(overdueCount)
+                .totalGoals(orZero(stats.getTotal()))
+                .completedGoals(orZero(stats.getCompleted()))
+                .inProgressGoals(orZero(stats.getInProgress()))
+                .notStartedGoals(orZero(stats.getNotStarted()))
+                .abandonedGoals(orZero(stats.getAbandoned()))
+                .averageProgress(stats.getAverageProgress() != null ? stats.getAverageProgress() : 0.0)
+                .overdueGoals(orZero(stats.getOverdue()))
                 .build();
     }
 
     @Override
     public List<GoalResponse> getOverdueGoals() {
         log.info("Fetching overdue goals");
-        return goalRepository.findOverdueGoals(LocalDate.now()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(goalRepository.findOverdueGoals(LocalDate.now()));
+    }
+
+    /**
+     * Walks overdue candidates in id order, flagging each chunk in its own short transaction.
+     * Owners are notified once the flags are committed, one batch insert per distinct overdue
+     * count so the message can state how many of their goals slipped.
+     */
+    @Override
+    public int transitionOverdueGoals() {
+        LocalDate today = LocalDate.now();
+        Map<Long, Integer> overdueByClient = new HashMap<>();
+        int flagged = 0;
+        long afterId = 0L;
+
+        while (true) {
+            long cursor = afterId;
+            List<Object[]> candidates = goalRepository.findOverdueTransitionCandidates(
+                    today, cursor, PageRequest.of(0, TRANSITION_CHUNK_SIZE));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(candidates.size());
+            for (Object[] row : candidates) {
+                ids.add((Long) row[0]);
+                overdueByClient.merge((Long) row[1], 1, Integer::sum);
+            }
+            Integer updated = transactionTemplate.execute(status -> goalRepository.markOverdue(ids, today));
+            flagged += updated != null ? updated : 0;
+            afterId = ids.get(ids.size() - 1);
+            if (candidates.size() < TRANSITION_CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        Map<Integer, List<Long>> clientsByCount = new TreeMap<>();
+        overdueByClient.forEach((clientId, count) ->
+                clientsByCount.computeIfAbsent(count, c -> new ArrayList<>()).add(clientId));
+        clientsByCount.forEach(this::notifyOverdueOwners);
+
+        log.info("Flagged {} overdue goals for {} clients", flagged, overdueByClient.size());
+        return flagged;
     }
 
     @Override
     public Page<GoalResponse> searchGoals(String keyword, Pageable pageable) {
         log.info("Searching goals with keyword: {}", keyword);
-        return goalRepository.searchGoals(keyword, pageable)
-                .map(this::mapToResponse);
+        return mapToResponses(goalRepository.searchGoals(keyword, pageable));
+    }
+
+    private Page<GoalResponse> mapToResponses(Page<Goal> goals) {
+        return new PageImpl<>(mapToResponses(goals.getContent()), goals.getPageable(), goals.getTotalElements());
+    }
+
+    /**
+     * Map goals to responses, resolving every client name with one query
+     */
+    private List<GoalResponse> mapToResponses(List<Goal> goals) {
+        Map<Long, String> clientNames = findClientNames(goals.stream().map(Goal::getClientId).toList());
+        return goals.stream()
+                .map(goal -> toResponse(goal, clientNames.get(goal.getClientId())))
+                .toList();
     }
 
     /**
      * Map Goal entity to GoalResponse DTO
      */
     private GoalResponse mapToResponse(Goal goal) {
-        String clientName = clientRepository.findById(goal.getClientId())
-                .map(c -> (c.getFirstName() + " " + c.getLastName()).trim())
-                .orElse(null);
+        return toResponse(goal, findClientNames(List.of(goal.getClientId())).get(goal.getClientId()));
+    }
 
+    private GoalResponse toResponse(Goal goal, String clientName) {
         return GoalResponse.builder()
                 .id(goal.getId())
                 .clientId(goal.getClientId())
@@ -273,4 +328,50 @@ public class GoalServiceImpl implements GoalService {
                 .updatedAt(goal.getUpdatedAt())
                 .build();
     }
+
+    private Map<Long, String> findClientNames(Collection<Long> clientIds) {
+        List<Long> ids = clientIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> names = new HashMap<>(ids.size() * 2);
+        for (Object[] row : userRepository.findIdentitiesByIdIn(ids)) {
+            String firstName = row[1] != null ? (String) row[1] : "";
+            String lastName = row[2] != null ? (String) row[2] : "";
+            names.put((Long) row[0], (firstName + " " + lastName).trim());
+        }
+        return names;
+    }
+
+    /**
+     * An OVERDUE goal whose deadline was moved forward goes back to being an open goal
+     */
+    private void reopenIfRescheduled(Goal goal) {
+        if (goal.getStatus() == GoalStatus.OVERDUE && !isPastDeadline(goal)) {
+            goal.setStatus(goal.getProgress() != null && goal.getProgress() > 0
+                    ? GoalStatus.IN_PROGRESS : GoalStatus.NOT_STARTED);
+        }
+    }
+
+    private static boolean isPastDeadline(Goal goal) {
+        return goal.getTargetDate() != null && goal.getTargetDate().isBefore(LocalDate.now());
+    }
+
+    private void notifyOverdueOwners(int overdueCount, List<Long> clientIds) {
+        String message = overdueCount == 1
+                ? "One of your goals has passed its target date. Review it or set a new deadline."
+                : overdueCount + " of your goals have passed their target dates. Review them or set new deadlines.";
+        for (int from = 0; from < clientIds.size(); from += TRANSITION_CHUNK_SIZE) {
+            List<Long> chunk = clientIds.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, clientIds.size()));
+            try {
+                notificationService.sendNotifications(chunk, "Goals Overdue", message, "GOAL", "MEDIUM", "/goals");
+            } catch (Exception e) {
+                log.warn("Failed to notify {} clients about overdue goals", chunk.size(), e);
+            }
+        }
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
 }
@@ -2,6 +2,7 @@ package zm.unza.counseling.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -9,8 +10,13 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import zm.unza.counseling.config.async.AsyncExecutorConfig;
 import zm.unza.counseling.entity.Notification;
 import zm.unza.counseling.repository.NotificationRepository;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.service.messaging.MessageRoute;
+import zm.unza.counseling.service.messaging.NotificationMessage;
 
 @Service
 @Slf4j
@@ -18,14 +24,21 @@ public class NotificationServiceImpl {
 
     private final NotificationRepository notificationRepository;
     private final EmailServiceImpl emailService;
+    private final MessagePublisher messagePublisher;
+    // JDBC-bound work; kept off the common ForkJoinPool
+    private final ExecutorService notificationExecutor;
     
     // Make SimpMessagingTemplate optional (lazy injected)
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    public NotificationServiceImpl(NotificationRepository notificationRepository, EmailServiceImpl emailService) {
+    public NotificationServiceImpl(NotificationRepository notificationRepository, EmailServiceImpl emailService,
+                                   MessagePublisher messagePublisher,
+                                   @Qualifier(AsyncExecutorConfig.NOTIFICATION_EXECUTOR) ExecutorService notificationExecutor) {
         this.notificationRepository = notificationRepository;
         this.emailService = emailService;
+        this.messagePublisher = messagePublisher;
+        this.notificationExecutor = notificationExecutor;
     }
 
     @Autowired(required = false)
@@ -133,25 +146,25 @@ public class NotificationServiceImpl {
             // notification.setRead(true);
             // notification.setReadAt(LocalDateTime.now());
             return notificationRepository.save(notification);
-        });
+        }, notificationExecutor);
     }
 
     /**
      * Get unread notifications for a user
      */
     public CompletableFuture<List<Notification>> getUnreadNotifications(Long userId) {
-        return CompletableFuture.supplyAsync(() -> 
-            notificationRepository.findByRecipientIdAndIsReadOrderByCreatedAtDesc(userId, false)
-        );
+        return CompletableFuture.supplyAsync(() ->
+            notificationRepository.findByRecipientIdAndIsReadOrderByCreatedAtDesc(userId, false),
+            notificationExecutor);
     }
 
     /**
      * Get all notifications for a user
      */
     public CompletableFuture<List<Notification>> getAllNotifications(Long userId) {
-        return CompletableFuture.supplyAsync(() -> 
-            notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId)
-        );
+        return CompletableFuture.supplyAsync(() ->
+            notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId),
+            notificationExecutor);
     }
 
     /**
@@ -186,32 +199,13 @@ public class NotificationServiceImpl {
     }
 
     /**
-     * Bulk create notifications
+     * Queue the same notification for many users; the notification consumers insert them in batches
      */
-    public CompletableFuture<List<Notification>> createBulkNotifications(List<Long> userIds, 
-                                                                        String title, String message, 
-                                                                        String type, String priority) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Notification> notifications = userIds.stream().map(userId -> {
-                Notification notification = new Notification();
-                notification.setRecipientId(userId);
-                notification.setTitle(title);
-                notification.setMessage(message);
-                notification.setType(type);
-                notification.setPriority(priority);
-                notification.setIsRead(false);
-                notification.setCreatedAt(LocalDateTime.now());
-                return notification;
-            }).toList();
-
-            List<Notification> saved = notificationRepository.saveAll(notifications);
-            
-            // Send real-time notifications
-            // saved.forEach(notification -> 
-            //     sendRealtimeNotification(notification.getRecipientId(), notification)
-            // );
-            
-            return saved;
-        });
+    public CompletableFuture<Void> createBulkNotifications(List<Long> userIds,
+                                                          String title, String message,
+                                                          String type, String priority) {
+        messagePublisher.publish(MessageRoute.NOTIFICATION,
+                new NotificationMessage(List.copyOf(userIds), title, message, type, priority, null));
+        return CompletableFuture.completedFuture(null);
     }
 }
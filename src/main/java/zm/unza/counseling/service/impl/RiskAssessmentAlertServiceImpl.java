@@ -10,12 +10,15 @@ import zm.unza.counseling.entity.User;
 import zm.unza.counseling.repository.ClientRepository;
 import zm.unza.counseling.repository.RiskAssessmentRepository;
 import zm.unza.counseling.repository.UserRepository;
-import zm.unza.counseling.service.NotificationService;
 import zm.unza.counseling.service.RiskAssessmentAlertService;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.service.messaging.MessageRoute;
+import zm.unza.counseling.service.messaging.NotificationMessage;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +28,7 @@ public class RiskAssessmentAlertServiceImpl implements RiskAssessmentAlertServic
     private final RiskAssessmentRepository riskAssessmentRepository;
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final MessagePublisher messagePublisher;
     private final EmailServiceImpl emailService;
 
     @Override
@@ -41,6 +44,7 @@ public class RiskAssessmentAlertServiceImpl implements RiskAssessmentAlertServic
 
         List<User> admins = userRepository.findActiveByRoleName(Role.ERole.ROLE_ADMIN);
         List<User> counselors = userRepository.findActiveByRoleName(Role.ERole.ROLE_COUNSELOR);
+        List<Long> recipientIds = Stream.concat(admins.stream(), counselors.stream()).map(User::getId).distinct().toList();
 
         for (RiskAssessment assessment : pending) {
             try {
@@ -57,19 +61,11 @@ public class RiskAssessmentAlertServiceImpl implements RiskAssessmentAlertServic
                 String message = String.format("Client %s was assessed as %s risk on %s and requires follow-up.",
                         clientName, riskLevel, assessmentDate);
 
-                // Notify all active admins
-                for (User admin : admins) {
-                    notificationService.sendNotification(
-                            admin.getId(), title, message, "RISK_ASSESSMENT", "HIGH", "/risk-assessments");
-                }
+                // Notify all active admins and counselors
+                messagePublisher.publish(MessageRoute.RISK_ALERT, new NotificationMessage(recipientIds,
+                        title, message, "RISK_ASSESSMENT", "HIGH", "/risk-assessments"));
 
-                // Notify all active counselors
-                for (User counselor : counselors) {
-                    notificationService.sendNotification(
-                            counselor.getId(), title, message, "RISK_ASSESSMENT", "HIGH", "/risk-assessments");
-                }
-
-                log.info("Alerts sent for follow-up on client {} ({})", client.getId(), riskLevel);
+                log.info("Alerts queued for follow-up on client {} ({})", client.getId(), riskLevel);
             } catch (Exception e) {
                 log.error("Failed to send alert for risk assessment {}", assessment.getId(), e);
             }
@@ -114,18 +110,17 @@ public class RiskAssessmentAlertServiceImpl implements RiskAssessmentAlertServic
         for (User admin : admins) {
             try {
                 emailService.sendSimpleEmail(admin.getEmail(), subject, body);
-                notificationService.sendNotification(
-                        admin.getId(),
-                        "Daily Risk Summary",
-                        String.format("%d client(s) at HIGH/CRITICAL risk as of %s", highRiskClients.size(), dateStr),
-                        "SYSTEM",
-                        highRiskClients.isEmpty() ? "LOW" : "HIGH",
-                        "/admin/analytics"
-                );
-                log.info("Daily risk summary sent to admin {}", admin.getId());
             } catch (Exception e) {
-                log.error("Failed to send daily risk summary to admin {}", admin.getId(), e);
+                log.warn("Failed to queue daily risk summary email for admin {}", admin.getId(), e);
             }
         }
+        messagePublisher.publish(MessageRoute.NOTIFICATION, new NotificationMessage(
+                admins.stream().map(User::getId).toList(),
+                "Daily Risk Summary",
+                String.format("%d client(s) at HIGH/CRITICAL risk as of %s", highRiskClients.size(), dateStr),
+                "SYSTEM",
+                highRiskClients.isEmpty() ? "LOW" : "HIGH",
+                "/admin/analytics"));
+        log.info("Daily risk summary queued for {} admin(s)", admins.size());
     }
 }
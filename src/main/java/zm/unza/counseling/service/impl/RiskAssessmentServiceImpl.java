@@ -5,10 +5,12 @@ import zm.unza.counseling.entity.Client;
 import zm.unza.counseling.entity.RiskAssessment;
 import zm.unza.counseling.entity.User;
 import zm.unza.counseling.exception.ResourceNotFoundException;
+import zm.unza.counseling.exception.ValidationException;
 import zm.unza.counseling.repository.ClientRepository;
 import zm.unza.counseling.repository.RiskAssessmentRepository;
 import zm.unza.counseling.repository.UserRepository;
 import zm.unza.counseling.service.RiskAssessmentService;
+import zm.unza.counseling.util.RiskCalculator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -58,6 +60,19 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
                 .orElse(null);
     }
 
+    // An explicit level from the assessor wins; otherwise derive it from the score on RiskCalculator's
+    // 0-100 scale, which is the only scale a submitted score is accepted on
+    private Client.RiskLevel resolveRiskLevel(RiskAssessmentRequest request) {
+        Integer score = request.getRiskScore();
+        if (score != null && (score < 0 || score > RiskCalculator.MAX_SCORE)) {
+            throw new ValidationException("Risk score must be between 0 and " + RiskCalculator.MAX_SCORE);
+        }
+        if (request.getRiskLevel() != null || score == null) {
+            return request.getRiskLevel();
+        }
+        return RiskCalculator.levelFor(score);
+    }
+
     @Override
     public RiskAssessment createRiskAssessment(RiskAssessmentRequest request) {
         Client client = clientRepository.findById(request.getClientId())
@@ -66,7 +81,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
         RiskAssessment riskAssessment = new RiskAssessment();
         riskAssessment.setClient(client);
         riskAssessment.setRiskScore(request.getRiskScore());
-        riskAssessment.setRiskLevel(request.getRiskLevel());
+        riskAssessment.setRiskLevel(resolveRiskLevel(request));
         riskAssessment.setNotes(request.getNotes());
         riskAssessment.setAssessmentDate(LocalDateTime.now());
         riskAssessment.setAssessorId(resolveCurrentUserId());
@@ -82,7 +97,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
             existing.setClient(client);
         }
         existing.setRiskScore(request.getRiskScore());
-        existing.setRiskLevel(request.getRiskLevel());
+        existing.setRiskLevel(resolveRiskLevel(request));
         existing.setNotes(request.getNotes());
         return riskAssessmentRepository.save(existing);
     }
@@ -0,0 +1,78 @@
+package zm.unza.counseling.service.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTML email template parsed once into literal segments and {@code {{name}}} placeholders, so
+ * rendering is a single pass of appends. Values are HTML-escaped; missing or null values render
+ * as empty text.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals[i] precedes names[i]; the last literal follows the last placeholder
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(from, open));
+            names.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new EmailTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    /**
+     * Render with alternating names and values, e.g. {@code render("clientName", name, "date", date)}.
+     */
+    public String render(String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected name/value pairs");
+        }
+        Map<String, String> values = new HashMap<>(namesAndValues.length);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return render(values);
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(literalLength + names.length * 32);
+        for (int i = 0; i < names.length; i++) {
+            html.append(literals[i]);
+            String value = values.get(names[i]);
+            if (value != null) {
+                html.append(HtmlUtils.htmlEscape(value));
+            }
+        }
+        return html.append(literals[names.length]).toString();
+    }
+}
@@ -0,0 +1,248 @@
+package zm.unza.counseling.service.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.config.MailDeliveryProperties;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps authenticated SMTP connections open between batches, so a burst of emails pays for the
+ * connect, STARTTLS and AUTH handshake once per connection instead of once per message.
+ *
+ * At most {@code app.mail.max-connections} are open at a time; a connection is retired after
+ * {@code max-messages-per-connection} messages or {@code idle-timeout} without use. Sends are paced
+ * to {@code max-per-second} across all threads to stay inside the provider's limits.
+ *
+ * When the configured {@link JavaMailSender} is not a {@link JavaMailSenderImpl} (a test double),
+ * batches go through {@link JavaMailSender#send(MimeMessage...)} unpooled.
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool {
+
+    private final JavaMailSender mailSender;
+    private final MailDeliveryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore connections;
+
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+    private final Object rateLock = new Object();
+    private long nextSendNanos;
+
+    public SmtpConnectionPool(JavaMailSender mailSender, MailDeliveryProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.connections = new Semaphore(Math.max(1, properties.getMaxConnections()), true);
+    }
+
+    /**
+     * Send every message, reusing one connection for the batch. Returns the messages that could
+     * not be sent with the reason; an empty map means all were accepted by the server.
+     */
+    public Map<MimeMessage, Exception> send(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        if (!(mailSender instanceof JavaMailSenderImpl sender)) {
+            return sendUnpooled(messages);
+        }
+
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        connections.acquireUninterruptibly();
+        PooledTransport transport = null;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                if (transport == null || transport.exhausted()) {
+                    close(transport);
+                    transport = null;
+                    try {
+                        transport = borrow(sender);
+                    } catch (MessagingException e) {
+                        // Server unreachable or rejecting AUTH: the rest of the batch would fail the same way
+                        log.warn("Could not open SMTP connection: {}", e.getMessage());
+                        for (MimeMessage remaining : messages.subList(i, messages.size())) {
+                            failures.put(remaining, e);
+                        }
+                        break;
+                    }
+                }
+                throttle();
+                try {
+                    transport.send(message);
+                } catch (MessagingException e) {
+                    failures.put(message, e);
+                    if (!transport.transport.isConnected()) {
+                        close(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            release(transport);
+            connections.release();
+        }
+
+        meterRegistry.counter("mail.messages", "outcome", "sent").increment(messages.size() - failures.size());
+        meterRegistry.counter("mail.messages", "outcome", "failed").increment(failures.size());
+        return failures;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.idle-check-ms:10000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        List<PooledTransport> expired = new ArrayList<>();
+        synchronized (idle) {
+            for (Iterator<PooledTransport> it = idle.iterator(); it.hasNext(); ) {
+                PooledTransport transport = it.next();
+                if (transport.lastUsedNanos < cutoff) {
+                    it.remove();
+                    expired.add(transport);
+                }
+            }
+        }
+        expired.forEach(this::close);
+    }
+
+    @PreDestroy
+    void closeAll() {
+        List<PooledTransport> open;
+        synchronized (idle) {
+            open = new ArrayList<>(idle);
+            idle.clear();
+        }
+        open.forEach(this::close);
+    }
+
+    private PooledTransport borrow(JavaMailSenderImpl sender) throws MessagingException {
+        while (true) {
+            PooledTransport pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                break;
+            }
+            // isConnected() issues a NOOP, catching connections the server has already dropped
+            if (pooled.transport.isConnected()) {
+                return pooled;
+            }
+            close(pooled);
+        }
+
+        Transport transport = sender.getSession().getTransport(
+                sender.getProtocol() != null ? sender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        transport.connect(sender.getHost(), sender.getPort(),
+                username != null && !username.isEmpty() ? username : null,
+                password != null && !password.isEmpty() ? password : null);
+        meterRegistry.counter("mail.connections.opened").increment();
+        return new PooledTransport(transport);
+    }
+
+    private void release(PooledTransport transport) {
+        if (transport == null) {
+            return;
+        }
+        if (transport.exhausted()) {
+            close(transport);
+            return;
+        }
+        transport.lastUsedNanos = System.nanoTime();
+        synchronized (idle) {
+            idle.addFirst(transport);
+        }
+    }
+
+    private void close(PooledTransport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private void throttle() {
+        double perSecond = properties.getMaxPerSecond();
+        if (perSecond <= 0) {
+            return;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        long wait;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSendNanos);
+            nextSendNanos = slot + interval;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private Map<MimeMessage, Exception> sendUnpooled(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put((MimeMessage) message, cause));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> failures.put(message, e));
+        }
+        return failures;
+    }
+
+    private final class PooledTransport {
+
+        private final Transport transport;
+        private int sent;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        boolean exhausted() {
+            return sent >= properties.getMaxMessagesPerConnection();
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+        }
+    }
+}
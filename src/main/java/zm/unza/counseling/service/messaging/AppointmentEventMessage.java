@@ -0,0 +1,8 @@
+package zm.unza.counseling.service.messaging;
+
+/**
+ * A change to an appointment that the student (or client) should hear about. {@code event} is the
+ * audit action name, e.g. {@code APPOINTMENT_CANCELLED}.
+ */
+public record AppointmentEventMessage(Long appointmentId, String event, Long recipientId, String title, String message) {
+}
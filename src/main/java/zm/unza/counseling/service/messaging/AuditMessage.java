@@ -0,0 +1,11 @@
+package zm.unza.counseling.service.messaging;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit log entry captured on the request thread. {@code occurredAt} is the time of the action,
+ * not of the eventual insert.
+ */
+public record AuditMessage(String action, String entityType, String entityId, String details, String userId,
+                           String ipAddress, boolean success, String severity, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,7 @@
+package zm.unza.counseling.service.messaging;
+
+/**
+ * One outgoing email, fully rendered; {@code html} selects a MIME body over plain text.
+ */
+public record EmailMessage(String to, String subject, String body, boolean html) {
+}
@@ -0,0 +1,193 @@
+package zm.unza.counseling.service.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.config.async.AsyncExecutorConfig;
+import zm.unza.counseling.config.messaging.MessagingProperties;
+import zm.unza.counseling.config.messaging.RabbitConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broker stand-in for development and tests, used only with {@code app.messaging.broker=in-process}. Each queue gets a bounded
+ * buffer drained in batches by up to {@code concurrency} drain tasks, mirroring the Rabbit consumer
+ * settings, so request threads still only enqueue. Drain tasks run on the workload executors: the
+ * email queue on {@code mailExecutor}, the database-bound queues on {@code notificationExecutor}.
+ *
+ * A full buffer pushes back by handling the message on the publishing thread. Failed messages are
+ * kept in a small per-queue dead-letter buffer, readable through {@link #deadLetters}. Nothing
+ * survives a restart; deployments that need durability use {@code app.messaging.broker=rabbit}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.messaging.broker", havingValue = MessagingProperties.BROKER_IN_PROCESS)
+class InProcessMessageTransport implements MessageTransport {
+
+    private static final int DEAD_LETTERS_KEPT = 1000;
+    private static final long SHUTDOWN_GRACE_MILLIS = 10_000;
+    private static final long SHUTDOWN_POLL_MILLIS = 50;
+
+    private final MessagingProperties properties;
+    // Looked up lazily: consumers depend on services that themselves publish
+    private final ObjectProvider<MessageConsumers> consumers;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService mailExecutor;
+    private final ExecutorService notificationExecutor;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Object>> deadLetters = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    InProcessMessageTransport(MessagingProperties properties, ObjectProvider<MessageConsumers> consumers,
+                              MeterRegistry meterRegistry,
+                              @Qualifier(AsyncExecutorConfig.MAIL_EXECUTOR) ExecutorService mailExecutor,
+                              @Qualifier(AsyncExecutorConfig.NOTIFICATION_EXECUTOR) ExecutorService notificationExecutor) {
+        this.properties = properties;
+        this.consumers = consumers;
+        this.meterRegistry = meterRegistry;
+        this.mailExecutor = mailExecutor;
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    @Override
+    public void send(MessageRoute route, Object payload) {
+        String queue = route.getQueue();
+        if (properties.getInProcess().isSynchronous() || !running) {
+            deliver(queue, List.of(payload));
+            return;
+        }
+        Lane lane = lanes.computeIfAbsent(queue, Lane::new);
+        if (!lane.buffer.offer(payload)) {
+            log.warn("In-process {} buffer full, handling message on the calling thread", queue);
+            deliver(queue, List.of(payload));
+            return;
+        }
+        lane.signal();
+    }
+
+    List<Object> deadLetters(String queue) {
+        Deque<Object> kept = deadLetters.get(queue);
+        if (kept == null) {
+            return List.of();
+        }
+        synchronized (kept) {
+            return new ArrayList<>(kept);
+        }
+    }
+
+    /**
+     * Runs before the executors shut down (they are dependencies): new messages are handled inline,
+     * running drains get a grace period, and whatever is still buffered is handled on this thread.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_GRACE_MILLIS;
+        for (Lane lane : lanes.values()) {
+            while (lane.drainers.get() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(SHUTDOWN_POLL_MILLIS);
+            }
+            lane.drain();
+        }
+    }
+
+    private void deliver(String queue, List<Object> batch) {
+        List<?> failed;
+        try {
+            failed = consumers.getObject().dispatch(queue, batch);
+        } catch (RuntimeException e) {
+            log.error("Consumer for {} failed on a batch of {}", queue, batch.size(), e);
+            failed = batch;
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        Deque<Object> kept = deadLetters.computeIfAbsent(queue, q -> new ArrayDeque<>());
+        synchronized (kept) {
+            for (Object message : failed) {
+                if (kept.size() == DEAD_LETTERS_KEPT) {
+                    kept.removeFirst();
+                }
+                kept.addLast(message);
+            }
+        }
+        meterRegistry.counter("messaging.dead_lettered", "queue", queue).increment(failed.size());
+        log.warn("Dead-lettered {} message(s) from {}", failed.size(), queue);
+    }
+
+    private final class Lane {
+
+        private final String queue;
+        private final BlockingQueue<Object> buffer;
+        private final int batchSize;
+        private final int concurrency;
+        private final ExecutorService executor;
+        private final AtomicInteger drainers = new AtomicInteger();
+
+        Lane(String queue) {
+            MessagingProperties.Consumer settings = properties.consumer(queue);
+            this.queue = queue;
+            this.buffer = new ArrayBlockingQueue<>(properties.getInProcess().getCapacity());
+            this.batchSize = Math.max(1, settings.getBatchSize());
+            this.concurrency = Math.max(1, settings.getConcurrency());
+            this.executor = RabbitConfig.EMAIL_QUEUE.equals(queue) ? mailExecutor : notificationExecutor;
+        }
+
+        /**
+         * Start another drain task if there is buffered work and fewer than {@code concurrency}
+         * are running.
+         */
+        void signal() {
+            while (true) {
+                int active = drainers.get();
+                if (active >= concurrency || buffer.isEmpty()) {
+                    return;
+                }
+                if (drainers.compareAndSet(active, active + 1)) {
+                    break;
+                }
+            }
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                drainers.decrementAndGet();
+                log.warn("Executor saturated; {} message(s) on {} wait for the next drain", buffer.size(), queue);
+            }
+        }
+
+        private void run() {
+            try {
+                drain();
+            } finally {
+                drainers.decrementAndGet();
+            }
+            // Catch anything offered between the last empty poll and the decrement above
+            if (running) {
+                signal();
+            }
+        }
+
+        private void drain() {
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                deliver(queue, List.copyOf(batch));
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package zm.unza.counseling.service.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.config.messaging.RabbitConfig;
+import zm.unza.counseling.entity.Notification;
+import zm.unza.counseling.service.AuditLogService;
+import zm.unza.counseling.service.NotificationService;
+import zm.unza.counseling.service.impl.EmailServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The work behind each queue, shared by the Rabbit listeners and the in-process transport. Every
+ * handler takes a batch and returns the messages it could not process, which the caller
+ * dead-letters; the rest of the batch counts as done.
+ *
+ * Database-backed handlers write a whole batch in one transaction and only fall back to one
+ * message at a time when that fails, so a single bad message cannot sink its neighbours.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessageConsumers {
+
+    private static final String APPOINTMENT_NOTIFICATION_TYPE = "SYSTEM";
+    private static final String APPOINTMENT_NOTIFICATION_PRIORITY = "MEDIUM";
+    private static final String APPOINTMENT_NOTIFICATION_URL = "/dashboard";
+
+    private final EmailServiceImpl emailService;
+    private final AuditLogService auditLogService;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public List<?> dispatch(String queue, List<?> messages) {
+        List<?> failed = switch (queue) {
+            case RabbitConfig.APPOINTMENT_QUEUE -> handleAppointmentEvents((List<AppointmentEventMessage>) messages);
+            case RabbitConfig.RISK_ALERT_QUEUE, RabbitConfig.NOTIFICATION_QUEUE ->
+                    handleNotifications((List<NotificationMessage>) messages);
+            case RabbitConfig.EMAIL_QUEUE -> handleEmails((List<EmailMessage>) messages);
+            case RabbitConfig.AUDIT_LOG_QUEUE -> handleAuditEvents((List<AuditMessage>) messages);
+            default -> throw new IllegalArgumentException("No consumer for queue: " + queue);
+        };
+        meterRegistry.counter("messaging.consumed", "queue", queue).increment(messages.size() - failed.size());
+        return failed;
+    }
+
+    public List<AppointmentEventMessage> handleAppointmentEvents(List<AppointmentEventMessage> events) {
+        return writeBatch(events, batch -> notificationService.saveNotifications(batch.stream()
+                .filter(event -> event.recipientId() != null)
+                .map(event -> NotificationService.newNotification(event.recipientId(), event.title(), event.message(),
+                        APPOINTMENT_NOTIFICATION_TYPE, APPOINTMENT_NOTIFICATION_PRIORITY, APPOINTMENT_NOTIFICATION_URL))
+                .toList()), "appointment event");
+    }
+
+    public List<NotificationMessage> handleNotifications(List<NotificationMessage> messages) {
+        return writeBatch(messages, batch -> {
+            List<Notification> notifications = new ArrayList<>();
+            for (NotificationMessage message : batch) {
+                message.recipientIds().stream().distinct().forEach(recipientId -> notifications.add(
+                        NotificationService.newNotification(recipientId, message.title(), message.message(),
+                                message.type(), message.priority(), message.actionUrl())));
+            }
+            notificationService.saveNotifications(notifications);
+        }, "notification");
+    }
+
+    public List<AuditMessage> handleAuditEvents(List<AuditMessage> messages) {
+        return writeBatch(messages, auditLogService::record, "audit event");
+    }
+
+    /**
+     * The whole batch goes out over pooled SMTP connections; see {@link EmailServiceImpl#deliverAll}.
+     */
+    public List<EmailMessage> handleEmails(List<EmailMessage> messages) {
+        return emailService.deliverAll(messages);
+    }
+
+    private <T> List<T> writeBatch(List<T> messages, Consumer<List<T>> writer, String kind) {
+        try {
+            writer.accept(messages);
+            return List.of();
+        } catch (Exception batchFailure) {
+            if (messages.size() == 1) {
+                log.error("Failed to process {}", kind, batchFailure);
+                return List.copyOf(messages);
+            }
+            log.warn("Batch of {} {}s failed, retrying one at a time: {}", messages.size(), kind, batchFailure.getMessage());
+        }
+
+        List<T> failed = new ArrayList<>();
+        for (T message : messages) {
+            try {
+                writer.accept(List.of(message));
+            } catch (Exception e) {
+                log.error("Failed to process {}", kind, e);
+                failed.add(message);
+            }
+        }
+        return failed;
+    }
+}
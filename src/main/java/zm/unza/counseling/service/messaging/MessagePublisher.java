@@ -0,0 +1,49 @@
+package zm.unza.counseling.service.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entry point for request paths that hand off emails, audit entries, notifications and appointment
+ * events. Publishing only enqueues; the work runs on the consumers for the route's queue.
+ *
+ * Inside a transaction the message is sent after commit, so consumers never see rows that are not
+ * yet visible and a rolled-back request publishes nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MessagePublisher {
+
+    private final MessageTransport transport;
+    private final MeterRegistry meterRegistry;
+
+    public void publish(MessageRoute route, Object payload) {
+        if (payload == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(route, payload);
+                }
+            });
+        } else {
+            send(route, payload);
+        }
+    }
+
+    private void send(MessageRoute route, Object payload) {
+        try {
+            transport.send(route, payload);
+            meterRegistry.counter("messaging.published", "queue", route.getQueue()).increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to publish {} message", route, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package zm.unza.counseling.service.messaging;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import zm.unza.counseling.config.messaging.RabbitConfig;
+
+/**
+ * Where each kind of async work is published: the exchange and routing key used with a broker,
+ * and the queue those resolve to, which the in-process transport uses directly.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MessageRoute {
+    APPOINTMENT_CREATED(RabbitConfig.COUNSELING_EXCHANGE, RabbitConfig.APPOINTMENT_CREATED_KEY, RabbitConfig.APPOINTMENT_QUEUE),
+    APPOINTMENT_UPDATED(RabbitConfig.COUNSELING_EXCHANGE, RabbitConfig.APPOINTMENT_UPDATED_KEY, RabbitConfig.APPOINTMENT_QUEUE),
+    RISK_ALERT(RabbitConfig.COUNSELING_EXCHANGE, RabbitConfig.RISK_ASSESSMENT_KEY, RabbitConfig.RISK_ALERT_QUEUE),
+    EMAIL(RabbitConfig.NOTIFICATION_EXCHANGE, RabbitConfig.EMAIL_SEND_KEY, RabbitConfig.EMAIL_QUEUE),
+    AUDIT_LOG(RabbitConfig.AUDIT_EXCHANGE, RabbitConfig.AUDIT_LOG_KEY, RabbitConfig.AUDIT_LOG_QUEUE),
+    NOTIFICATION(RabbitConfig.NOTIFICATION_EXCHANGE, RabbitConfig.NOTIFICATION_SEND_KEY, RabbitConfig.NOTIFICATION_QUEUE);
+
+    private final String exchange;
+    private final String routingKey;
+    private final String queue;
+}
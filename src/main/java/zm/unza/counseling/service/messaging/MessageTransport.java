@@ -0,0 +1,10 @@
+package zm.unza.counseling.service.messaging;
+
+/**
+ * Hands a message to whatever carries it to its consumer: the Rabbit broker or the in-process
+ * stand-in, selected by {@code app.messaging.broker}.
+ */
+interface MessageTransport {
+
+    void send(MessageRoute route, Object payload);
+}
@@ -0,0 +1,10 @@
+package zm.unza.counseling.service.messaging;
+
+import java.util.List;
+
+/**
+ * The same in-app notification for one or more recipients.
+ */
+public record NotificationMessage(List<Long> recipientIds, String title, String message, String type,
+                                  String priority, String actionUrl) {
+}
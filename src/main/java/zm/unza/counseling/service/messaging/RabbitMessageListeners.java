@@ -0,0 +1,65 @@
+package zm.unza.counseling.service.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.config.messaging.MessagingProperties;
+import zm.unza.counseling.config.messaging.RabbitConfig;
+
+import java.util.List;
+
+/**
+ * Batch consumers for the work queues. Each listener runs on the container factory of its queue
+ * (see {@link RabbitConfig}); messages a handler reports as failed are republished to the
+ * dead-letter exchange individually, and the batch is acknowledged as a whole.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.messaging.broker", havingValue = MessagingProperties.BROKER_RABBIT, matchIfMissing = true)
+class RabbitMessageListeners {
+
+    private final MessageConsumers consumers;
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @RabbitListener(queues = RabbitConfig.APPOINTMENT_QUEUE, containerFactory = RabbitConfig.APPOINTMENT_LISTENER_FACTORY)
+    public void onAppointmentEvents(List<AppointmentEventMessage> events) {
+        deadLetter(RabbitConfig.APPOINTMENT_QUEUE, consumers.dispatch(RabbitConfig.APPOINTMENT_QUEUE, events));
+    }
+
+    @RabbitListener(queues = RabbitConfig.RISK_ALERT_QUEUE, containerFactory = RabbitConfig.RISK_ALERT_LISTENER_FACTORY)
+    public void onRiskAlerts(List<NotificationMessage> alerts) {
+        deadLetter(RabbitConfig.RISK_ALERT_QUEUE, consumers.dispatch(RabbitConfig.RISK_ALERT_QUEUE, alerts));
+    }
+
+    @RabbitListener(queues = RabbitConfig.EMAIL_QUEUE, containerFactory = RabbitConfig.EMAIL_LISTENER_FACTORY)
+    public void onEmails(List<EmailMessage> emails) {
+        deadLetter(RabbitConfig.EMAIL_QUEUE, consumers.dispatch(RabbitConfig.EMAIL_QUEUE, emails));
+    }
+
+    @RabbitListener(queues = RabbitConfig.AUDIT_LOG_QUEUE, containerFactory = RabbitConfig.AUDIT_LOG_LISTENER_FACTORY)
+    public void onAuditEvents(List<AuditMessage> entries) {
+        deadLetter(RabbitConfig.AUDIT_LOG_QUEUE, consumers.dispatch(RabbitConfig.AUDIT_LOG_QUEUE, entries));
+    }
+
+    @RabbitListener(queues = RabbitConfig.NOTIFICATION_QUEUE, containerFactory = RabbitConfig.NOTIFICATION_LISTENER_FACTORY)
+    public void onNotifications(List<NotificationMessage> notifications) {
+        deadLetter(RabbitConfig.NOTIFICATION_QUEUE, consumers.dispatch(RabbitConfig.NOTIFICATION_QUEUE, notifications));
+    }
+
+    private void deadLetter(String queue, List<?> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        for (Object message : failed) {
+            rabbitTemplate.convertAndSend(RabbitConfig.DEAD_LETTER_EXCHANGE, queue, message);
+        }
+        meterRegistry.counter("messaging.dead_lettered", "queue", queue).increment(failed.size());
+        log.warn("Dead-lettered {} message(s) from {}", failed.size(), queue);
+    }
+}
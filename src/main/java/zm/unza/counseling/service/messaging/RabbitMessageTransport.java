@@ -0,0 +1,39 @@
+package zm.unza.counseling.service.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import zm.unza.counseling.config.messaging.MessagingProperties;
+
+import java.util.List;
+
+/**
+ * Publishes to the broker. If the broker cannot take the message it is handled on the calling
+ * thread instead, so an outage slows requests down rather than losing audit entries or emails.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.messaging.broker", havingValue = MessagingProperties.BROKER_RABBIT, matchIfMissing = true)
+class RabbitMessageTransport implements MessageTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+    // Looked up lazily: consumers depend on services that themselves publish
+    private final ObjectProvider<MessageConsumers> consumers;
+
+    @Override
+    public void send(MessageRoute route, Object payload) {
+        try {
+            rabbitTemplate.convertAndSend(route.getExchange(), route.getRoutingKey(), payload);
+        } catch (AmqpException e) {
+            log.warn("Broker unavailable, handling {} message on the calling thread: {}", route, e.getMessage());
+            if (!consumers.getObject().dispatch(route.getQueue(), List.of(payload)).isEmpty()) {
+                log.error("Dropped {} message: broker unavailable and inline handling failed", route);
+            }
+        }
+    }
+}
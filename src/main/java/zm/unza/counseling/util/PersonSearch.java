@@ -0,0 +1,37 @@
+package zm.unza.counseling.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Locale;
+
+/**
+ * Parameters for the ranked person search queries on users.search_text
+ * (see UserRepository.searchUsers and ClientRepository.searchClients).
+ */
+public final class PersonSearch {
+
+    private PersonSearch() {
+    }
+
+    /**
+     * Lower-cased, trimmed keyword, matching how users.search_text is generated.
+     */
+    public static String keyword(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * {@code %keyword%} with LIKE wildcards in the keyword escaped (PostgreSQL's default escape is backslash).
+     */
+    public static String containsPattern(String keyword) {
+        return "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Results are ordered by relevance, so any caller-supplied sort is dropped.
+     */
+    public static Pageable ranked(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
+}
@@ -1,5 +1,149 @@
 package zm.unza.counseling.util;
 
-public class RiskCalculator {
-    
+import zm.unza.counseling.entity.Client;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Client risk scoring engine. Combines the latest PHQ-9/GAD-7/PSS scores, recent crisis-keyword
+ * hits, GPA level and trend, and appointment no-shows into a 0-100 score.
+ *
+ * Two entry points share one formula: {@link #score} for a single client on write paths, and
+ * {@link #scoreAll} for whole-population rescoring over primitive arrays. Missing inputs are
+ * passed as {@link #MISSING} (or {@code Double.NaN} for GPA values) and contribute nothing.
+ */
+public final class RiskCalculator {
+
+    public static final int MISSING = -1;
+    public static final int MAX_SCORE = 100;
+
+    // Level thresholds on the 0-100 scale
+    public static final int MODERATE_THRESHOLD = 25;
+    public static final int HIGH_THRESHOLD = 50;
+    public static final int CRITICAL_THRESHOLD = 75;
+
+    // Instrument maxima
+    private static final double PHQ9_MAX = 27.0;
+    private static final double GAD7_MAX = 21.0;
+    private static final double PSS_MAX = 40.0;
+
+    // Weights: the maximum points each factor can contribute
+    private static final double PHQ9_WEIGHT = 30.0;
+    private static final double GAD7_WEIGHT = 20.0;
+    private static final double PSS_WEIGHT = 10.0;
+    private static final double CRISIS_HIT_POINTS = 10.0;
+    private static final int CRISIS_HITS_CAP = 2;
+    private static final double LOW_GPA_WEIGHT = 5.0;
+    private static final double LOW_GPA_CUTOFF = 2.0;
+    private static final double GPA_DECLINE_WEIGHT = 10.0;
+    private static final double GPA_DECLINE_CAP = 1.0;
+    private static final double NO_SHOW_WEIGHT = 10.0;
+
+    // Rows per parallel task in scoreAll; large enough that each task runs a tight sequential loop
+    private static final int BLOCK_SIZE = 4096;
+
+    private RiskCalculator() {
+    }
+
+    /**
+     * Inputs for one client, used on write paths.
+     */
+    public record Factors(int phq9, int gad7, int pss, int crisisHits,
+                          double gpa, double gpaChange, int noShows, int appointments) {
+    }
+
+    /**
+     * Struct-of-arrays input for population rescoring: index {@code i} in every array describes
+     * the same client. Arrays start filled with missing markers.
+     */
+    public static final class Batch {
+        public final int size;
+        public final int[] phq9;
+        public final int[] gad7;
+        public final int[] pss;
+        public final int[] crisisHits;
+        public final double[] gpa;
+        public final double[] gpaChange;
+        public final int[] noShows;
+        public final int[] appointments;
+
+        public Batch(int size) {
+            this.size = size;
+            this.phq9 = filled(size, MISSING);
+            this.gad7 = filled(size, MISSING);
+            this.pss = filled(size, MISSING);
+            this.crisisHits = new int[size];
+            this.gpa = filled(size, Double.NaN);
+            this.gpaChange = filled(size, Double.NaN);
+            this.noShows = new int[size];
+            this.appointments = new int[size];
+        }
+
+        private static int[] filled(int size, int value) {
+            int[] array = new int[size];
+            Arrays.fill(array, value);
+            return array;
+        }
+
+        private static double[] filled(int size, double value) {
+            double[] array = new double[size];
+            Arrays.fill(array, value);
+            return array;
+        }
+    }
+
+    public static int score(Factors f) {
+        return score(f.phq9(), f.gad7(), f.pss(), f.crisisHits(), f.gpa(), f.gpaChange(), f.noShows(), f.appointments());
+    }
+
+    /**
+     * Score one client. Any crisis hit floors the score at {@link #HIGH_THRESHOLD} so a flagged
+     * client can never be scored LOW or MODERATE on questionnaire data alone.
+     */
+    public static int score(int phq9, int gad7, int pss, int crisisHits,
+                            double gpa, double gpaChange, int noShows, int appointments) {
+        double total = Math.min(Math.max(phq9, 0), PHQ9_MAX) / PHQ9_MAX * PHQ9_WEIGHT
+                + Math.min(Math.max(gad7, 0), GAD7_MAX) / GAD7_MAX * GAD7_WEIGHT
+                + Math.min(Math.max(pss, 0), PSS_MAX) / PSS_MAX * PSS_WEIGHT
+                + Math.min(Math.max(crisisHits, 0), CRISIS_HITS_CAP) * CRISIS_HIT_POINTS;
+
+        if (gpa < LOW_GPA_CUTOFF) { // false for NaN
+            total += (LOW_GPA_CUTOFF - Math.max(gpa, 0.0)) / LOW_GPA_CUTOFF * LOW_GPA_WEIGHT;
+        }
+        if (gpaChange < 0.0) { // false for NaN
+            total += Math.min(-gpaChange, GPA_DECLINE_CAP) / GPA_DECLINE_CAP * GPA_DECLINE_WEIGHT;
+        }
+        if (appointments > 0) {
+            total += Math.min((double) Math.max(noShows, 0) / appointments, 1.0) * NO_SHOW_WEIGHT;
+        }
+
+        int rounded = (int) Math.min(Math.round(total), MAX_SCORE);
+        return crisisHits > 0 ? Math.max(rounded, HIGH_THRESHOLD) : rounded;
+    }
+
+    /**
+     * Score every client in {@code batch}. Blocks of rows are scored in parallel; each block is a
+     * plain loop over the primitive arrays with no per-row allocation.
+     */
+    public static int[] scoreAll(Batch batch) {
+        int[] scores = new int[batch.size];
+        int blocks = (batch.size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, batch.size);
+            for (int i = from; i < to; i++) {
+                scores[i] = score(batch.phq9[i], batch.gad7[i], batch.pss[i], batch.crisisHits[i],
+                        batch.gpa[i], batch.gpaChange[i], batch.noShows[i], batch.appointments[i]);
+            }
+        });
+        return scores;
+    }
+
+    public static Client.RiskLevel levelFor(int score) {
+        if (score >= CRITICAL_THRESHOLD) return Client.RiskLevel.CRITICAL;
+        if (score >= HIGH_THRESHOLD) return Client.RiskLevel.HIGH;
+        if (score >= MODERATE_THRESHOLD) return Client.RiskLevel.MODERATE;
+        return Client.RiskLevel.LOW;
+    }
 }
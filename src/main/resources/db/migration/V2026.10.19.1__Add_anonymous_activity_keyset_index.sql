@@ -0,0 +1,5 @@
+-- Keyset pagination for the admin anonymous-activity listing orders by
+-- COALESCE(last_anonymous_activity_at, created_at) DESC, id DESC over anonymous users only.
+CREATE INDEX IF NOT EXISTS idx_users_anonymous_activity_keyset
+    ON users ((COALESCE(last_anonymous_activity_at, created_at)) DESC, id DESC)
+    WHERE is_anonymous = TRUE;
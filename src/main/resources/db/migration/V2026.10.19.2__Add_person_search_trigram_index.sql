@@ -0,0 +1,14 @@
+-- Person search (UserRepository.searchUsers, ClientRepository.searchClients) matches a keyword anywhere
+-- in name, username, email or student id. Substring LIKE cannot use the existing b-tree indexes, so keep
+-- one lower-cased search column and index it with trigrams; it serves both '%q%' LIKE and the
+-- word-similarity (<%) operator used for typo-tolerant matches and ranking.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS search_text TEXT GENERATED ALWAYS AS (
+        lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' ||
+              coalesce(username, '') || ' ' || coalesce(email, '') || ' ' || coalesce(student_id, ''))
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_text_trgm
+    ON users USING GIN (search_text gin_trgm_ops);
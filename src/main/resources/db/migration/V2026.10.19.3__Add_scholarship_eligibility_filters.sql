@@ -0,0 +1,9 @@
+-- Structured eligibility criteria evaluated in SQL by the scholarship matcher
+ALTER TABLE scholarships ADD COLUMN IF NOT EXISTS eligible_faculty VARCHAR(255);
+ALTER TABLE scholarships ADD COLUMN IF NOT EXISTS min_year_of_study INTEGER;
+ALTER TABLE scholarships ADD COLUMN IF NOT EXISTS max_year_of_study INTEGER;
+
+-- Candidate scans filter active clients by GPA threshold
+CREATE INDEX IF NOT EXISTS idx_users_active_client_gpa
+    ON users (gpa)
+    WHERE user_type = 'CLIENT' AND is_active = TRUE;
@@ -0,0 +1,2 @@
+-- Per-client frequency buckets and recent-visit lookups filter on client_id and range/sort on visit_date
+CREATE INDEX IF NOT EXISTS idx_clinic_visits_client_date ON clinic_visits(client_id, visit_date DESC);
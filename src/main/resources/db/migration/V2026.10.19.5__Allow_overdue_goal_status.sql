@@ -0,0 +1,3 @@
+-- Goals now move to OVERDUE in the nightly transition job. Hibernate created the status check
+-- constraint from the old enum and ddl-auto=update never widens it, so drop it on existing schemas.
+ALTER TABLE IF EXISTS goals DROP CONSTRAINT IF EXISTS goals_status_check;
@@ -0,0 +1,75 @@
+-- Counselor double-booking was only prevented by a read-then-write check in AppointmentServiceImpl, which
+-- two concurrent bookings (or two nodes) can both pass. Enforce it in the database instead: each appointment
+-- gets its [start, start + duration) slot as a generated tstzrange, and an exclusion constraint rejects two
+-- active appointments of the same counselor whose slots overlap. The constraint's GiST index also serves
+-- the availability checks (AppointmentRepository.existsOverlappingForCounselor).
+--
+-- The active statuses match the ones the service treats as blocking a slot. appointment_date is a UTC
+-- TIMESTAMP (hibernate.jdbc.time_zone); the duration is added before converting, which keeps the
+-- expression immutable as a generated column requires.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- A slot needs a positive length. The service has always rejected other durations on create and update;
+-- rows that got in anyway take the default the service assumes for a missing duration.
+UPDATE appointments SET duration = 60 WHERE duration <= 0;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'appointments_duration_positive') THEN
+        ALTER TABLE appointments
+            ADD CONSTRAINT appointments_duration_positive CHECK (duration IS NULL OR duration > 0);
+    END IF;
+END $$;
+
+-- GREATEST keeps a non-positive duration from failing inside tstzrange(); such a row is rejected by
+-- appointments_duration_positive instead, which the service reports as a validation error
+ALTER TABLE appointments
+    ADD COLUMN IF NOT EXISTS time_range TSTZRANGE GENERATED ALWAYS AS (
+        tstzrange(
+            appointment_date AT TIME ZONE 'UTC',
+            (appointment_date + make_interval(mins => GREATEST(COALESCE(duration, 60), 0))) AT TIME ZONE 'UTC',
+            '[)')
+    ) STORED;
+
+-- Existing overlaps would make ADD CONSTRAINT fail with a bare constraint error. Fail with the conflicting
+-- appointments instead: they have to be resolved (one rescheduled, reassigned or cancelled) before this
+-- migration can apply, since Flyway does not revisit an applied version.
+DO $$
+DECLARE
+    overlapping BIGINT;
+    examples TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'appointments_no_counselor_overlap') THEN
+        RETURN;
+    END IF;
+
+    SELECT COUNT(*),
+           string_agg(format('counselor %s: appointments %s and %s', counselor_id, first_id, second_id), '; ')
+               FILTER (WHERE pair_number <= 20)
+    INTO overlapping, examples
+    FROM (
+        SELECT a.counselor_id, a.id AS first_id, b.id AS second_id,
+               row_number() OVER (ORDER BY a.counselor_id, a.id, b.id) AS pair_number
+        FROM appointments a
+        JOIN appointments b
+          ON a.counselor_id = b.counselor_id
+         AND a.id < b.id
+         AND a.time_range && b.time_range
+        WHERE a.deleted_at IS NULL AND b.deleted_at IS NULL
+          AND a.status IN ('SCHEDULED', 'CONFIRMED', 'RESCHEDULED', 'IN_PROGRESS', 'PENDING')
+          AND b.status IN ('SCHEDULED', 'CONFIRMED', 'RESCHEDULED', 'IN_PROGRESS', 'PENDING')
+    ) pairs;
+
+    IF overlapping > 0 THEN
+        RAISE EXCEPTION 'Cannot add appointments_no_counselor_overlap: % overlapping active appointment pairs', overlapping
+            USING DETAIL = examples || CASE WHEN overlapping > 20 THEN '; ...' ELSE '' END,
+                  HINT = 'Reschedule, reassign or cancel one appointment of each pair, then rerun the migration.';
+    END IF;
+
+    ALTER TABLE appointments
+        ADD CONSTRAINT appointments_no_counselor_overlap
+        EXCLUDE USING gist (counselor_id WITH =, time_range WITH &&)
+        WHERE (counselor_id IS NOT NULL
+               AND deleted_at IS NULL
+               AND status IN ('SCHEDULED', 'CONFIRMED', 'RESCHEDULED', 'IN_PROGRESS', 'PENDING'));
+END $$;
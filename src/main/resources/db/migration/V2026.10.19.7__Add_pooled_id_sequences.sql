@@ -0,0 +1,17 @@
+-- AcademicQualification (SIS results sync) and Notification (broadcasts, async consumers) are inserted in
+-- bulk. With IDENTITY keys Hibernate must insert each row on its own to read the generated id, so
+-- hibernate.jdbc.batch_size never applied to them. They now draw ids from pooled sequences: one nextval
+-- reserves a block of 50 (the entities' allocationSize, which the INCREMENT must match).
+CREATE SEQUENCE IF NOT EXISTS academic_qualifications_id_pool_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notifications_id_pool_seq START WITH 1 INCREMENT BY 50;
+
+-- After setval(seq, n) the next block Hibernate hands out is n + 1 .. n + 50
+SELECT setval('academic_qualifications_id_pool_seq', MAX(id)) FROM academic_qualifications HAVING MAX(id) IS NOT NULL;
+SELECT setval('notifications_id_pool_seq', MAX(id)) FROM notifications HAVING MAX(id) IS NOT NULL;
+
+-- The old serial/identity sequences would keep handing out ids the pooled ones also use. Remove the
+-- column defaults so an insert that does not go through JPA fails instead of colliding later.
+ALTER TABLE academic_qualifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE academic_qualifications ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE notifications ALTER COLUMN id DROP DEFAULT;
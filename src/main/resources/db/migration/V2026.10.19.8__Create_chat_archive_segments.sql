@@ -0,0 +1,31 @@
+-- Chat history keyset paging and compaction (ChatHistoryService).
+-- chat_messages has so far only been created by Hibernate from the ChatMessage entity;
+-- Flyway runs first on a fresh database, so create it here when missing so the history
+-- index below can always be built.
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id                  BIGSERIAL PRIMARY KEY,
+    user_id             BIGINT,
+    session_id          VARCHAR(255),
+    message             TEXT,
+    response            TEXT,
+    is_from_user        BOOLEAN       DEFAULT TRUE,
+    created_at          TIMESTAMP     NOT NULL
+);
+
+-- Serves the (created_at, id) keyset pages of one user's live history
+CREATE INDEX IF NOT EXISTS idx_chat_messages_user_created
+    ON chat_messages(user_id, created_at, id);
+
+-- Older messages compacted into gzip-compressed JSON segments, one row per batch
+CREATE TABLE IF NOT EXISTS chat_archive_segments (
+    id                  BIGSERIAL PRIMARY KEY,
+    user_id             BIGINT        NOT NULL,
+    first_created_at    TIMESTAMP     NOT NULL,
+    last_created_at     TIMESTAMP     NOT NULL,
+    message_count       INTEGER       NOT NULL,
+    payload             BYTEA         NOT NULL,
+    created_at          TIMESTAMP     NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_archive_user_range
+    ON chat_archive_segments(user_id, last_created_at);
@@ -0,0 +1,22 @@
+-- Transactional outbox for SecurityAlert sync to the university clinic system.
+-- Rows are written in the same transaction as the alert change and drained by
+-- ClinicSyncOutboxJob, so a clinic outage delays delivery instead of losing it.
+CREATE TABLE IF NOT EXISTS clinic_sync_outbox (
+    id                  BIGSERIAL PRIMARY KEY,
+    alert_id            BIGINT        NOT NULL,
+    operation           VARCHAR(20)   NOT NULL,
+    idempotency_key     VARCHAR(120)  NOT NULL,
+    payload             TEXT          NOT NULL,
+    status              VARCHAR(20)   NOT NULL DEFAULT 'PENDING',
+    attempts            INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at     TIMESTAMP     NOT NULL DEFAULT now(),
+    last_error          VARCHAR(500),
+    sent_at             TIMESTAMP,
+    created_at          TIMESTAMP     NOT NULL DEFAULT now(),
+    CONSTRAINT uk_clinic_sync_outbox_idempotency_key UNIQUE (idempotency_key)
+);
+
+-- Partial index: the dispatcher only ever scans due PENDING rows
+CREATE INDEX IF NOT EXISTS idx_clinic_sync_outbox_due
+    ON clinic_sync_outbox(next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_clinic_sync_outbox_alert_id ON clinic_sync_outbox(alert_id);
@@ -0,0 +1,129 @@
+package zm.unza.counseling.config.querycount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import zm.unza.counseling.entity.Role;
+import zm.unza.counseling.support.PostgresContainerTest;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Requests through {@link QueryCountFilter} with the Hibernate hooks counting real statements:
+ * a budget fails the request when {@code fail-on-budget-exceeded} is set and only warns otherwise,
+ * and a statement repeated {@code repeat-threshold} times is flagged as an N+1 candidate.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryCountConfig.class, QueryCountProperties.class, QueryCountFilterTest.Metrics.class})
+class QueryCountFilterTest extends PostgresContainerTest {
+
+    private static final String PATTERN = "/v1/roles/{id}";
+    private static final String ENDPOINT = "GET " + PATTERN;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private QueryCountRecorder recorder;
+
+    @Autowired
+    private QueryCountProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long roleId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.clear();
+        properties.setRepeatThreshold(5);
+        properties.setBudgets(new HashMap<>());
+        properties.setFailOnBudgetExceeded(false);
+        roleId = entityManager.persistFlushFind(Role.builder().name(Role.ERole.ROLE_COUNSELOR).build()).getId();
+    }
+
+    @Test
+    void requestOverItsBudgetFailsWhenConfiguredTo() {
+        properties.getBudgets().put(ENDPOINT, 2);
+        properties.setFailOnBudgetExceeded(true);
+
+        assertThatThrownBy(() -> request(3))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessage(ENDPOINT + " issued 3 SQL statements, budget is 2");
+    }
+
+    @Test
+    void requestWithinItsBudgetPasses() {
+        properties.getBudgets().put(ENDPOINT, 2);
+        properties.setFailOnBudgetExceeded(true);
+
+        assertThatCode(() -> request(2)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void requestOverItsBudgetOnlyWarnsByDefault() {
+        properties.getBudgets().put(ENDPOINT, 2);
+
+        assertThatCode(() -> request(3)).doesNotThrowAnyException();
+        assertThat(meterRegistry.find("db.statements").tag("endpoint", ENDPOINT).summary().max()).isEqualTo(3.0);
+    }
+
+    @Test
+    void statementRepeatedUpToTheThresholdIsFlagged() throws Exception {
+        request(5);
+
+        assertThat(repeatedStatements()).isNotNull();
+        assertThat(repeatedStatements().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void statementRepeatedBelowTheThresholdIsNotFlagged() throws Exception {
+        request(4);
+
+        assertThat(repeatedStatements()).isNull();
+    }
+
+    /** A request that loads the same role {@code lookups} times, one identical SELECT each. */
+    private void request(int lookups) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/roles/" + roleId);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+            for (int n = 0; n < lookups; n++) {
+                entityManager.clear();
+                entityManager.find(Role.class, roleId);
+            }
+        };
+        new QueryCountFilter(recorder).doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private Counter repeatedStatements() {
+        return meterRegistry.find("db.repeated.statements").tags("transport", "http", "endpoint", ENDPOINT).counter();
+    }
+}
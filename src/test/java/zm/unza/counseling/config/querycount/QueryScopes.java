@@ -0,0 +1,24 @@
+package zm.unza.counseling.config.querycount;
+
+/**
+ * Test access to {@link QueryScope}, whose lifecycle is package-private: runs a block in a fresh
+ * scope, the way {@link QueryCountFilter} wraps a request, and returns what it recorded.
+ */
+public final class QueryScopes {
+
+    private QueryScopes() {
+    }
+
+    public static QueryScope measure(Runnable work) {
+        QueryScope scope = QueryScope.open();
+        if (scope == null) {
+            throw new IllegalStateException("A query scope is already open on this thread");
+        }
+        try {
+            work.run();
+        } finally {
+            scope.close();
+        }
+        return scope;
+    }
+}
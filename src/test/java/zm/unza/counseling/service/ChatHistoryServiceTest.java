@@ -0,0 +1,120 @@
+package zm.unza.counseling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import zm.unza.counseling.entity.ChatArchiveSegment;
+import zm.unza.counseling.entity.ChatMessage;
+import zm.unza.counseling.repository.ChatArchiveSegmentRepository;
+import zm.unza.counseling.repository.ChatMessageRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archive segments are kept for years, so their payload has one fixed JSON format that does not
+ * follow the application's Jackson settings, and a compacted segment reads back as it was written.
+ */
+class ChatHistoryServiceTest {
+
+    private static final long USER_ID = 11L;
+    private static final LocalDateTime FIRST = LocalDateTime.of(2026, 3, 2, 9, 15, 30);
+
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final ChatArchiveSegmentRepository segmentRepository = mock(ChatArchiveSegmentRepository.class);
+
+    private ChatHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatHistoryService(chatMessageRepository, segmentRepository,
+                mock(PlatformTransactionManager.class), 90);
+    }
+
+    @Test
+    void compactedSegmentReadsBackNewestFirst() {
+        ChatArchiveSegment segment = compact(message(1L, "hello", null, true, FIRST),
+                message(2L, null, "Hi, how can I help?", false, FIRST.plusMinutes(1)));
+        when(segmentRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.of(segment));
+
+        List<ChatMessage> messages = service.getArchivedMessages(USER_ID, 5L);
+
+        assertThat(messages).extracting(ChatMessage::getId).containsExactly(2L, 1L);
+        assertThat(messages.get(0).getResponse()).isEqualTo("Hi, how can I help?");
+        assertThat(messages.get(0).getIsFromUser()).isFalse();
+        assertThat(messages.get(1).getMessage()).isEqualTo("hello");
+        assertThat(messages.get(1).getCreatedAt()).isEqualTo(FIRST);
+        assertThat(messages).allSatisfy(m -> assertThat(m.getUserId()).isEqualTo(USER_ID));
+    }
+
+    @Test
+    void payloadUsesTheFixedArchiveFormat() throws Exception {
+        ChatArchiveSegment segment = compact(message(1L, "hello", null, true, FIRST));
+
+        String json;
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(segment.getPayload()))) {
+            json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertThat(json).isEqualTo("[{\"id\":1,\"sessionId\":\"s-1\",\"message\":\"hello\",\"response\":null,"
+                + "\"isFromUser\":true,\"createdAt\":\"2026-03-02T09:15:30\"}]");
+    }
+
+    @Test
+    void segmentWithAnUnknownFieldStillOpens() throws Exception {
+        ChatArchiveSegment segment = new ChatArchiveSegment();
+        segment.setPayload(gzip("[{\"id\":3,\"sessionId\":\"s-1\",\"message\":\"hi\",\"isFromUser\":true,"
+                + "\"createdAt\":\"2026-03-02T09:15:30\",\"model\":\"later\"}]"));
+        when(segmentRepository.findByIdAndUserId(6L, USER_ID)).thenReturn(Optional.of(segment));
+
+        assertThat(service.getArchivedMessages(USER_ID, 6L)).extracting(ChatMessage::getId).containsExactly(3L);
+    }
+
+    private ChatArchiveSegment compact(ChatMessage... messages) {
+        when(chatMessageRepository.findUserIdsWithMessagesBefore(any())).thenReturn(List.of(USER_ID));
+        when(chatMessageRepository.findOldestBefore(eq(USER_ID), any(), any()))
+                .thenReturn(List.of(messages), List.of());
+
+        assertThat(service.compactOldMessages()).isEqualTo(messages.length);
+
+        ArgumentCaptor<ChatArchiveSegment> saved = ArgumentCaptor.forClass(ChatArchiveSegment.class);
+        verify(segmentRepository).save(saved.capture());
+        assertThat(saved.getValue().getMessageCount()).isEqualTo(messages.length);
+        return saved.getValue();
+    }
+
+    private static ChatMessage message(Long id, String text, String response, boolean fromUser, LocalDateTime createdAt) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setUserId(USER_ID);
+        message.setSessionId("s-1");
+        message.setMessage(text);
+        message.setResponse(response);
+        message.setIsFromUser(fromUser);
+        message.setCreatedAt(createdAt);
+        return message;
+    }
+
+    private static byte[] gzip(String json) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
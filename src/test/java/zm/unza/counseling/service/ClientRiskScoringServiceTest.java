@@ -0,0 +1,165 @@
+package zm.unza.counseling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zm.unza.counseling.entity.Client;
+import zm.unza.counseling.repository.AcademicPerformanceRepository;
+import zm.unza.counseling.repository.AppointmentRepository;
+import zm.unza.counseling.repository.ClientRepository;
+import zm.unza.counseling.repository.CrisisAlertRepository;
+import zm.unza.counseling.repository.SelfAssessmentRepository;
+import zm.unza.counseling.util.RiskCalculator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The write-path and nightly modes of {@link ClientRiskScoringService} must score a client the
+ * same from the same data, or the stored score flips between the two.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientRiskScoringServiceTest {
+
+    private static final long CLIENT_ID = 7L;
+
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private SelfAssessmentRepository selfAssessmentRepository;
+    @Mock
+    private CrisisAlertRepository crisisAlertRepository;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private AcademicPerformanceRepository academicPerformanceRepository;
+
+    @InjectMocks
+    private ClientRiskScoringService service;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = new Client();
+        client.setId(CLIENT_ID);
+        client.setGpa(2.5);
+        client.setRiskLevel(Client.RiskLevel.LOW);
+        client.setRiskScore(0);
+    }
+
+    @Test
+    void bothModesKeepTheHighestScorePerInstrumentOnTheLatestDate() {
+        List<Object[]> latest = List.of(
+                new Object[]{CLIENT_ID, 20, 3, null},
+                new Object[]{CLIENT_ID, 5, 15, 30});
+        when(selfAssessmentRepository.findLatestScoresForUser(CLIENT_ID)).thenReturn(latest);
+        when(selfAssessmentRepository.findLatestScoresPerUser()).thenReturn(latest);
+
+        int expected = RiskCalculator.score(20, 15, 30, 0, 2.5, Double.NaN, 0, 0);
+        assertThat(rescoreOne()).isEqualTo(expected);
+        assertThat(rescoreAll()).isEqualTo(expected);
+    }
+
+    @Test
+    void bothModesReadGpaHistoryFromTheSameWindow() {
+        ArgumentCaptor<LocalDate> writeSince = ArgumentCaptor.forClass(LocalDate.class);
+        ArgumentCaptor<LocalDate> nightlySince = ArgumentCaptor.forClass(LocalDate.class);
+        List<Object[]> history = List.of(
+                new Object[]{CLIENT_ID, new BigDecimal("1.80")},
+                new Object[]{CLIENT_ID, new BigDecimal("2.60")});
+        when(academicPerformanceRepository.findGpaHistoryForClientSince(eq(CLIENT_ID), writeSince.capture()))
+                .thenReturn(history);
+        when(academicPerformanceRepository.findGpaHistorySince(nightlySince.capture())).thenReturn(history);
+
+        int expected = RiskCalculator.score(RiskCalculator.MISSING, RiskCalculator.MISSING, RiskCalculator.MISSING,
+                0, 1.8, 1.8 - 2.6, 0, 0);
+        assertThat(rescoreOne()).isEqualTo(expected);
+        assertThat(rescoreAll()).isEqualTo(expected);
+        assertThat(writeSince.getValue()).isEqualTo(nightlySince.getValue()).isEqualTo(LocalDate.now().minusYears(2));
+    }
+
+    @Test
+    void gpaRecordsOutsideTheWindowLeaveTheClientGpaWithoutTrend() {
+        // Older records are filtered out by both queries, so neither mode sees a decline
+        int expected = RiskCalculator.score(RiskCalculator.MISSING, RiskCalculator.MISSING, RiskCalculator.MISSING,
+                0, 2.5, Double.NaN, 0, 0);
+        client.setRiskScore(expected);
+        when(clientRepository.findById(CLIENT_ID)).thenReturn(Optional.of(client));
+
+        service.rescoreClient(CLIENT_ID);
+        when(clientRepository.findRiskScoringBaseline()).thenReturn(baseline());
+
+        assertThat(service.rescoreAllClients()).isZero();
+        verify(clientRepository, never()).save(any());
+        verify(clientRepository, never()).updateRiskScores(anyCollection(), any(), any());
+    }
+
+    @Test
+    void higherLevelSetByACounselorKeepsItsScore() {
+        client.setRiskLevel(Client.RiskLevel.CRITICAL);
+        client.setRiskScore(90);
+        when(clientRepository.findById(CLIENT_ID)).thenReturn(Optional.of(client));
+
+        service.rescoreClient(CLIENT_ID);
+        when(clientRepository.findRiskScoringBaseline()).thenReturn(baseline());
+
+        assertThat(service.rescoreAllClients()).isZero();
+        assertThat(client.getRiskScore()).isEqualTo(90);
+        assertThat(client.getRiskLevel()).isEqualTo(Client.RiskLevel.CRITICAL);
+        verify(clientRepository, never()).save(any());
+        verify(clientRepository, never()).updateRiskScores(anyCollection(), any(), any());
+    }
+
+    @Test
+    void escalationStoresTheScoreWithItsOwnLevel() {
+        when(selfAssessmentRepository.findLatestScoresForUser(CLIENT_ID))
+                .thenReturn(List.<Object[]>of(new Object[]{CLIENT_ID, 27, 21, 40}));
+        client.setRiskLevel(Client.RiskLevel.MODERATE);
+        client.setRiskScore(30);
+
+        int score = rescoreOne();
+
+        assertThat(client.getRiskLevel()).isEqualTo(RiskCalculator.levelFor(score)).isEqualTo(Client.RiskLevel.HIGH);
+    }
+
+    private int rescoreOne() {
+        when(clientRepository.findById(CLIENT_ID)).thenReturn(Optional.of(client));
+        service.rescoreClient(CLIENT_ID);
+        verify(clientRepository).save(client);
+        return client.getRiskScore();
+    }
+
+    private int rescoreAll() {
+        // Start from the stored state before the write path ran
+        client.setRiskScore(0);
+        client.setRiskLevel(Client.RiskLevel.LOW);
+        when(clientRepository.findRiskScoringBaseline()).thenReturn(baseline());
+        ArgumentCaptor<Integer> score = ArgumentCaptor.forClass(Integer.class);
+
+        assertThat(service.rescoreAllClients()).isEqualTo(1);
+        verify(clientRepository).updateRiskScores(anyCollection(), score.capture(), any());
+        return score.getValue();
+    }
+
+    private List<Object[]> baseline() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{CLIENT_ID, client.getGpa(), client.getRiskLevel(), client.getRiskScore()});
+        return rows;
+    }
+}
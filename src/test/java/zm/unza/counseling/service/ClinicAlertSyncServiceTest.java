@@ -0,0 +1,186 @@
+package zm.unza.counseling.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+import zm.unza.counseling.config.ClinicProperties;
+import zm.unza.counseling.entity.ClinicSyncOutbox;
+import zm.unza.counseling.entity.SecurityAlert;
+import zm.unza.counseling.repository.ClinicSyncOutboxRepository;
+import zm.unza.counseling.repository.SecurityAlertRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The outbox sender of {@link ClinicAlertSyncService} against a stubbed clinic system: a batch is
+ * pushed in one cycle, a 5xx or a timeout reschedules the row with exponential backoff, and every
+ * attempt for a row carries the same Idempotency-Key so the clinic can drop redeliveries.
+ */
+class ClinicAlertSyncServiceTest {
+
+    private static final String CREATE_PATH = "/api/external/counseling/security-alerts/inbound";
+    private static final String STATUS_BATCH_PATH = "/api/external/counseling/security-alerts/inbound/status/batch";
+    private static final String CREATE_KEY = "counselling-alert-3-create";
+    private static final String RETRY = "retry";
+
+    private final ClinicSyncOutboxRepository outboxRepository = mock(ClinicSyncOutboxRepository.class);
+    private final SecurityAlertRepository securityAlertRepository = mock(SecurityAlertRepository.class);
+
+    private WireMockServer clinic;
+    private ClinicAlertSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        clinic = new WireMockServer(options().dynamicPort());
+        clinic.start();
+
+        ClinicProperties properties = new ClinicProperties();
+        properties.setBaseUrl(clinic.baseUrl());
+        properties.getSync().setInitialBackoff(Duration.ofSeconds(5));
+        properties.getSync().setMaxBackoff(Duration.ofMinutes(30));
+        properties.getSync().setStatusBatchPath(STATUS_BATCH_PATH);
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(1000);
+        requestFactory.setReadTimeout(250);
+
+        service = new ClinicAlertSyncService(new RestTemplate(requestFactory), properties, outboxRepository,
+                securityAlertRepository, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clinic.stop();
+    }
+
+    @Test
+    void batchIsPushedInOneCycle() {
+        ClinicSyncOutbox create = entry(10L, 3L, ClinicSyncOutbox.Operation.CREATE, CREATE_KEY,
+                "{\"externalAlertId\":\"3\",\"severity\":\"HIGH\"}");
+        ClinicSyncOutbox first = entry(11L, 1L, ClinicSyncOutbox.Operation.STATUS_UPDATE, "counselling-alert-1-status-a",
+                "{\"status\":\"RESOLVED\",\"actorName\":\"Counselor\"}");
+        ClinicSyncOutbox second = entry(12L, 2L, ClinicSyncOutbox.Operation.STATUS_UPDATE, "counselling-alert-2-status-b",
+                "{\"status\":\"ACKNOWLEDGED\",\"actorName\":\"Counselor\"}");
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(create, first, second));
+        when(securityAlertRepository.findExternalAlertIds(anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, "clinic-1"}, new Object[]{2L, "clinic-2"}));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).willReturn(created()));
+        clinic.stubFor(post(urlEqualTo(STATUS_BATCH_PATH)).willReturn(aResponse().withStatus(202)));
+
+        assertThat(service.dispatchPending()).isEqualTo(3);
+
+        clinic.verify(1, postRequestedFor(urlEqualTo(CREATE_PATH))
+                .withHeader("Idempotency-Key", equalTo(CREATE_KEY))
+                .withRequestBody(equalToJson("{\"externalAlertId\":\"3\",\"severity\":\"HIGH\"}")));
+        clinic.verify(1, postRequestedFor(urlEqualTo(STATUS_BATCH_PATH))
+                .withHeader("Idempotency-Key", equalTo("counselling-status-batch-11-12"))
+                .withRequestBody(equalToJson("""
+                        [{"externalAlertId":"clinic-1","idempotencyKey":"counselling-alert-1-status-a","status":"RESOLVED"},
+                         {"externalAlertId":"clinic-2","idempotencyKey":"counselling-alert-2-status-b","status":"ACKNOWLEDGED"}]
+                        """, false, true)));
+        verify(securityAlertRepository).linkExternalAlert(3L, "900", SecurityAlert.ExternalSystem.CLINIC);
+        assertThat(List.of(create, first, second))
+                .allSatisfy(entry -> assertThat(entry.getStatus()).isEqualTo(ClinicSyncOutbox.Status.SENT));
+    }
+
+    @Test
+    void serverErrorsAreRetriedWithBackoffUnderTheSameKey() {
+        ClinicSyncOutbox create = entry(10L, 3L, ClinicSyncOutbox.Operation.CREATE, CREATE_KEY, "{}");
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(create));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).inScenario(RETRY).whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503)).willSetStateTo("second"));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).inScenario(RETRY).whenScenarioStateIs("second")
+                .willReturn(aResponse().withStatus(502)).willSetStateTo("recovered"));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).inScenario(RETRY).whenScenarioStateIs("recovered")
+                .willReturn(created()));
+
+        assertThat(service.dispatchPending()).isZero();
+        assertPendingWithBackoff(create, 1, Duration.ofSeconds(4), Duration.ofSeconds(5));
+
+        // claimDue is stubbed, so each cycle stands for the next one after the backoff has passed
+        assertThat(service.dispatchPending()).isZero();
+        assertPendingWithBackoff(create, 2, Duration.ofSeconds(8), Duration.ofSeconds(10));
+
+        assertThat(service.dispatchPending()).isEqualTo(1);
+        assertThat(create.getStatus()).isEqualTo(ClinicSyncOutbox.Status.SENT);
+        assertThat(idempotencyKeysSent()).containsExactly(CREATE_KEY, CREATE_KEY, CREATE_KEY);
+    }
+
+    @Test
+    void timeoutIsRetriedWithBackoffUnderTheSameKey() {
+        ClinicSyncOutbox create = entry(10L, 3L, ClinicSyncOutbox.Operation.CREATE, CREATE_KEY, "{}");
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(create));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).inScenario(RETRY).whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(created().withFixedDelay(1000)).willSetStateTo("recovered"));
+        clinic.stubFor(post(urlEqualTo(CREATE_PATH)).inScenario(RETRY).whenScenarioStateIs("recovered")
+                .willReturn(created()));
+
+        assertThat(service.dispatchPending()).isZero();
+        assertPendingWithBackoff(create, 1, Duration.ofSeconds(4), Duration.ofSeconds(5));
+
+        assertThat(service.dispatchPending()).isEqualTo(1);
+        assertThat(create.getStatus()).isEqualTo(ClinicSyncOutbox.Status.SENT);
+        assertThat(idempotencyKeysSent()).containsExactly(CREATE_KEY, CREATE_KEY);
+    }
+
+    private void assertPendingWithBackoff(ClinicSyncOutbox entry, int attempts, Duration min, Duration max) {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(entry.getStatus()).isEqualTo(ClinicSyncOutbox.Status.PENDING);
+        assertThat(entry.getAttempts()).isEqualTo(attempts);
+        assertThat(entry.getLastError()).isNotBlank();
+        // Backoff is initialBackoff * 2^(attempts-1) minus up to 20% jitter, measured from just before now
+        assertThat(entry.getNextAttemptAt()).isAfter(now.plus(min).minusSeconds(1)).isBefore(now.plus(max).plusSeconds(1));
+    }
+
+    private List<String> idempotencyKeysSent() {
+        return clinic.findAll(postRequestedFor(urlEqualTo(CREATE_PATH))).stream()
+                .map(request -> request.getHeader("Idempotency-Key"))
+                .toList();
+    }
+
+    private static ResponseDefinitionBuilder created() {
+        return aResponse().withStatus(201)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"localAlertId\":900}");
+    }
+
+    private static ClinicSyncOutbox entry(Long id, Long alertId, ClinicSyncOutbox.Operation operation,
+                                          String idempotencyKey, String payload) {
+        ClinicSyncOutbox entry = new ClinicSyncOutbox();
+        entry.setId(id);
+        entry.setAlertId(alertId);
+        entry.setOperation(operation);
+        entry.setIdempotencyKey(idempotencyKey);
+        entry.setPayload(payload);
+        entry.setStatus(ClinicSyncOutbox.Status.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        return entry;
+    }
+}
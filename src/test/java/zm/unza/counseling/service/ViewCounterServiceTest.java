@@ -0,0 +1,72 @@
+package zm.unza.counseling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import zm.unza.counseling.entity.KnowledgeBaseArticle;
+import zm.unza.counseling.repository.KnowledgeBaseArticleRepository;
+import zm.unza.counseling.repository.ResourceRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The cached published-articles listing: loaded once, dropped on invalidation, and never
+ * overwritten by a load that started before the invalidation.
+ */
+class ViewCounterServiceTest {
+
+    private final KnowledgeBaseArticleRepository articleRepository = mock(KnowledgeBaseArticleRepository.class);
+    private ViewCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ViewCounterService(articleRepository, mock(ResourceRepository.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void listingIsLoadedOnceUntilInvalidated() {
+        List<KnowledgeBaseArticle> first = List.of(article("First"));
+        List<KnowledgeBaseArticle> second = List.of(article("Second"));
+        when(articleRepository.findByPublishedTrueOrderByViewCountDesc()).thenReturn(first, second);
+
+        assertThat(service.getPublishedArticles()).isEqualTo(first);
+        assertThat(service.getPublishedArticles()).isEqualTo(first);
+        service.invalidatePublishedArticles();
+
+        assertThat(service.getPublishedArticles()).isEqualTo(second);
+        verify(articleRepository, times(2)).findByPublishedTrueOrderByViewCountDesc();
+    }
+
+    @Test
+    void loadThatStartedBeforeAnInvalidationIsNotCached() {
+        List<KnowledgeBaseArticle> stale = List.of(article("Before edit"));
+        List<KnowledgeBaseArticle> fresh = List.of(article("After edit"));
+        // An admin edit lands while the first load is still reading
+        when(articleRepository.findByPublishedTrueOrderByViewCountDesc())
+                .thenAnswer(invocation -> {
+                    service.invalidatePublishedArticles();
+                    return stale;
+                })
+                .thenReturn(fresh);
+
+        assertThat(service.getPublishedArticles()).isEqualTo(stale);
+
+        assertThat(service.getPublishedArticles()).isEqualTo(fresh);
+        assertThat(service.getPublishedArticles()).isEqualTo(fresh);
+        verify(articleRepository, times(2)).findByPublishedTrueOrderByViewCountDesc();
+    }
+
+    private static KnowledgeBaseArticle article(String title) {
+        KnowledgeBaseArticle article = new KnowledgeBaseArticle();
+        article.setTitle(title);
+        article.setPublished(true);
+        return article;
+    }
+}
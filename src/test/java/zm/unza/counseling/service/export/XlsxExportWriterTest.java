@@ -0,0 +1,56 @@
+package zm.unza.counseling.service.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The worksheet XML of {@link XlsxExportWriter}: finite numbers are numeric cells, and values a
+ * numeric cell cannot hold (NaN, the infinities) fall back to inline strings so the sheet still opens.
+ */
+class XlsxExportWriterTest {
+
+    @Test
+    void finiteNumbersAreNumericCells() throws Exception {
+        String sheet = sheet(new Object[]{42, 2.5, new BigDecimal("3.75")});
+
+        assertThat(sheet).contains("<row><c><v>42</v></c><c><v>2.5</v></c><c><v>3.75</v></c></row>");
+    }
+
+    @Test
+    void nonFiniteNumbersAreStringCells() throws Exception {
+        String sheet = sheet(new Object[]{Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY});
+
+        assertThat(sheet).doesNotContain("<v>NaN</v>").doesNotContain("<v>Infinity</v>")
+                .contains("<row>"
+                        + "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">NaN</t></is></c>"
+                        + "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">Infinity</t></is></c>"
+                        + "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">-Infinity</t></is></c>"
+                        + "</row>");
+    }
+
+    private static String sheet(Object[] row) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxExportWriter writer = new XlsxExportWriter(out);
+        writer.writeHeader(List.of("a", "b", "c"));
+        writer.writeRow(row);
+        writer.finish();
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    return new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("No worksheet in the package");
+    }
+}
@@ -0,0 +1,193 @@
+package zm.unza.counseling.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import zm.unza.counseling.config.querycount.QueryCountConfig;
+import zm.unza.counseling.config.querycount.QueryCountProperties;
+import zm.unza.counseling.config.querycount.QueryScope;
+import zm.unza.counseling.config.querycount.QueryScopes;
+import zm.unza.counseling.dto.AppointmentDto;
+import zm.unza.counseling.entity.Appointment;
+import zm.unza.counseling.entity.Client;
+import zm.unza.counseling.entity.Counselor;
+import zm.unza.counseling.entity.Role;
+import zm.unza.counseling.entity.Session;
+import zm.unza.counseling.entity.User;
+import zm.unza.counseling.security.AuthenticationSource;
+import zm.unza.counseling.service.AppointmentStatisticsService;
+import zm.unza.counseling.service.AuditLogService;
+import zm.unza.counseling.service.ClientIdentityService;
+import zm.unza.counseling.service.CrisisDetectionService;
+import zm.unza.counseling.service.SecurityAlertService;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+import zm.unza.counseling.support.PostgresContainerTest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appointment listings must cost the same number of statements whatever the page holds: the
+ * session ids of every appointment on the page come from one query, not one per row.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AppointmentServiceImpl.class, QueryCountConfig.class, QueryCountProperties.class,
+        AppointmentServiceImplQueryCountTest.Metrics.class})
+class AppointmentServiceImplQueryCountTest extends PostgresContainerTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private AppointmentServiceImpl appointmentService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private AuditLogService auditLogService;
+    @MockBean
+    private ClientIdentityService clientIdentityService;
+    @MockBean
+    private EmailServiceImpl emailService;
+    @MockBean
+    private MessagePublisher messagePublisher;
+    @MockBean
+    private ObjectMapper objectMapper;
+    @MockBean
+    private CrisisDetectionService crisisDetectionService;
+    @MockBean
+    private SecurityAlertService securityAlertService;
+    @MockBean
+    private AppointmentStatisticsService appointmentStatisticsService;
+
+    private final Map<Long, Long> sessionIds = new HashMap<>();
+    private Role counselorRole;
+    private int accounts;
+
+    @BeforeEach
+    void createRoles() {
+        counselorRole = entityManager.persist(Role.builder().name(Role.ERole.ROLE_COUNSELOR).build());
+    }
+
+    @Test
+    void counselorListingStatementCountDoesNotGrowWithPageSize() {
+        Counselor small = seedCounselorWithAppointments(2);
+        Counselor large = seedCounselorWithAppointments(12);
+        entityManager.flush();
+
+        Listing smallListing = list(small);
+        Listing largeListing = list(large);
+
+        assertThat(smallListing.page().getContent()).hasSize(2);
+        assertThat(largeListing.page().getContent()).hasSize(12);
+        assertThat(largeListing.scope().getStatements())
+                .as("statements for 12 appointments vs 2; SQL by count: %s", largeListing.scope().getExecutionsBySql())
+                .isEqualTo(smallListing.scope().getStatements());
+    }
+
+    @Test
+    void listingCarriesEachAppointmentsSession() {
+        Counselor counselor = seedCounselorWithAppointments(3);
+        entityManager.flush();
+
+        Page<AppointmentDto> page = list(counselor).page();
+
+        assertThat(page.getContent()).hasSize(3).allSatisfy(dto ->
+                assertThat(dto.getSessionId()).isNotNull().isEqualTo(sessionIds.get(dto.getId())));
+    }
+
+    private Listing list(Counselor counselor) {
+        entityManager.clear();
+        AtomicReference<Page<AppointmentDto>> page = new AtomicReference<>();
+        QueryScope scope = QueryScopes.measure(
+                () -> page.set(appointmentService.getAppointmentsByCounselorId(counselor.getId(), PAGE)));
+        return new Listing(page.get(), scope);
+    }
+
+    // One student per counselor, so the lazy student and counselor loads are the same for any N
+    private Counselor seedCounselorWithAppointments(int appointments) {
+        Counselor counselor = new Counselor();
+        fillAccount(counselor, "counselor");
+        counselor.setRoles(Set.of(counselorRole));
+        entityManager.persist(counselor);
+
+        Client student = new Client();
+        fillAccount(student, "student");
+        student.setStudentId(String.valueOf(2090000000L + accounts));
+        entityManager.persist(student);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        for (int n = 0; n < appointments; n++) {
+            Appointment appointment = new Appointment();
+            appointment.setTitle("Session " + n);
+            appointment.setStudent(student);
+            appointment.setClient(student);
+            appointment.setCounselor(counselor);
+            appointment.setAppointmentDate(start.plusDays(n));
+            appointment.setDuration(60);
+            appointment.setType(Appointment.AppointmentType.FOLLOW_UP);
+            appointment.setSessionMode(Appointment.SessionMode.IN_PERSON);
+            appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
+            entityManager.persist(appointment);
+            sessionIds.put(appointment.getId(), entityManager.persist(session(appointment)).getId());
+        }
+        return counselor;
+    }
+
+    private void fillAccount(User user, String kind) {
+        accounts++;
+        user.setUsername(kind + accounts);
+        user.setEmail(kind + accounts + "@test.unza.zm");
+        user.setPassword("not-used");
+        user.setFirstName("Test");
+        user.setLastName(kind);
+        user.setGender(User.Gender.FEMALE);
+        user.setActive(true);
+        user.setEmailVerified(true);
+        user.setAuthenticationSource(AuthenticationSource.INTERNAL);
+        user.setHasSignedConsent(true);
+    }
+
+    private static Session session(Appointment appointment) {
+        Session session = new Session();
+        session.setAppointment(appointment);
+        session.setStudent(appointment.getStudent());
+        session.setClient(appointment.getClient());
+        session.setCounselor(appointment.getCounselor());
+        session.setSessionDate(appointment.getAppointmentDate());
+        session.setDurationMinutes(appointment.getDuration());
+        session.setType(Session.SessionType.INDIVIDUAL);
+        session.setStatus(Session.SessionStatus.COMPLETED);
+        session.setTitle(appointment.getTitle());
+        return session;
+    }
+
+    private record Listing(Page<AppointmentDto> page, QueryScope scope) {
+    }
+}
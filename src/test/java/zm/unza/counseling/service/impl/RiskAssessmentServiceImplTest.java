@@ -0,0 +1,85 @@
+package zm.unza.counseling.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zm.unza.counseling.dto.request.RiskAssessmentRequest;
+import zm.unza.counseling.entity.Client;
+import zm.unza.counseling.entity.RiskAssessment;
+import zm.unza.counseling.exception.ValidationException;
+import zm.unza.counseling.repository.ClientRepository;
+import zm.unza.counseling.repository.RiskAssessmentRepository;
+import zm.unza.counseling.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Submitted risk scores are on RiskCalculator's 0-100 scale, so a level derived from one means the
+ * same as a computed one.
+ */
+@ExtendWith(MockitoExtension.class)
+class RiskAssessmentServiceImplTest {
+
+    private static final long CLIENT_ID = 3L;
+
+    @Mock
+    private RiskAssessmentRepository riskAssessmentRepository;
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RiskAssessmentServiceImpl service;
+
+    @Test
+    void levelIsDerivedFromAScoreOnTheSharedScale() {
+        stubClientAndSave();
+
+        RiskAssessment saved = service.createRiskAssessment(request(80, null));
+
+        assertThat(saved.getRiskLevel()).isEqualTo(Client.RiskLevel.CRITICAL);
+    }
+
+    @Test
+    void explicitLevelWinsOverTheScore() {
+        stubClientAndSave();
+
+        RiskAssessment saved = service.createRiskAssessment(request(80, Client.RiskLevel.MODERATE));
+
+        assertThat(saved.getRiskLevel()).isEqualTo(Client.RiskLevel.MODERATE);
+    }
+
+    @Test
+    void scoreOutsideTheScaleIsRejected() {
+        when(clientRepository.findById(CLIENT_ID)).thenReturn(Optional.of(new Client()));
+
+        assertThatThrownBy(() -> service.createRiskAssessment(request(250, null)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.createRiskAssessment(request(-1, Client.RiskLevel.LOW)))
+                .isInstanceOf(ValidationException.class);
+        verify(riskAssessmentRepository, never()).save(any());
+    }
+
+    private void stubClientAndSave() {
+        when(clientRepository.findById(CLIENT_ID)).thenReturn(Optional.of(new Client()));
+        when(riskAssessmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static RiskAssessmentRequest request(Integer score, Client.RiskLevel level) {
+        RiskAssessmentRequest request = new RiskAssessmentRequest();
+        request.setClientId(CLIENT_ID);
+        request.setRiskScore(score);
+        request.setRiskLevel(level);
+        return request;
+    }
+}
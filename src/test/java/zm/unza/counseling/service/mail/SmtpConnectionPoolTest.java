@@ -0,0 +1,189 @@
+package zm.unza.counseling.service.mail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import zm.unza.counseling.config.MailDeliveryProperties;
+import zm.unza.counseling.service.impl.EmailServiceImpl;
+import zm.unza.counseling.service.messaging.EmailMessage;
+import zm.unza.counseling.service.messaging.MessagePublisher;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SmtpConnectionPool} against a real SMTP server (Mailpit, the local stand-in docker-compose
+ * runs), driven through {@link EmailServiceImpl#deliverAll}: a batch goes out over one connection,
+ * later batches reuse it, and a connection or server that stops working is replaced without losing
+ * the messages that follow.
+ */
+@Testcontainers
+class SmtpConnectionPoolTest {
+
+    private static final int SMTP_PORT = 1025;
+    private static final int API_PORT = 8025;
+
+    @Container
+    private static final GenericContainer<?> MAILPIT = new GenericContainer<>("axllent/mailpit:latest")
+            .withExposedPorts(SMTP_PORT, API_PORT);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool pool;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        http.send(HttpRequest.newBuilder(api("/api/v1/messages")).DELETE().build(), HttpResponse.BodyHandlers.discarding());
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(MAILPIT.getHost());
+        mailSender.setPort(MAILPIT.getMappedPort(SMTP_PORT));
+        Properties javaMail = new Properties();
+        javaMail.put("mail.smtp.auth", "false");
+        javaMail.put("mail.smtp.connectiontimeout", "5000");
+        javaMail.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(javaMail);
+
+        MailDeliveryProperties properties = new MailDeliveryProperties();
+        properties.setMaxConnections(1);
+        properties.setMaxMessagesPerConnection(100);
+        properties.setMaxPerSecond(0);
+        pool = new SmtpConnectionPool(mailSender, properties, meterRegistry);
+
+        emailService = new EmailServiceImpl(mailSender, mock(MessagePublisher.class), pool);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@test.unza.zm");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.closeAll();
+    }
+
+    @Test
+    void batchIsSentOverOneConnection() throws Exception {
+        List<EmailMessage> failed = emailService.deliverAll(emails("batch", 5));
+
+        assertThat(failed).isEmpty();
+        assertThat(connectionsOpened()).isEqualTo(1.0);
+        assertThat(awaitInbox(5)).isEqualTo(5);
+    }
+
+    @Test
+    void laterBatchesReuseTheIdleConnection() throws Exception {
+        emailService.deliverAll(emails("first", 3));
+        emailService.deliverAll(emails("second", 3));
+        emailService.deliverAll(emails("third", 3));
+
+        assertThat(connectionsOpened()).isEqualTo(1.0);
+        assertThat(awaitInbox(9)).isEqualTo(9);
+    }
+
+    @Test
+    void connectionIsReplacedAfterItsMessageAllowance() throws Exception {
+        MailDeliveryProperties properties = new MailDeliveryProperties();
+        properties.setMaxConnections(1);
+        properties.setMaxMessagesPerConnection(2);
+        properties.setMaxPerSecond(0);
+        pool = new SmtpConnectionPool(mailSender, properties, meterRegistry);
+        emailService = new EmailServiceImpl(mailSender, mock(MessagePublisher.class), pool);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@test.unza.zm");
+
+        assertThat(emailService.deliverAll(emails("allowance", 5))).isEmpty();
+
+        assertThat(connectionsOpened()).isEqualTo(3.0);
+        assertThat(awaitInbox(5)).isEqualTo(5);
+    }
+
+    @Test
+    void brokenIdleConnectionIsReplacedOnTheNextBatch() throws Exception {
+        emailService.deliverAll(emails("before", 2));
+        // The pooled connection goes away between batches, as when the server drops it
+        idleTransport().close();
+
+        List<EmailMessage> failed = emailService.deliverAll(emails("after", 2));
+
+        assertThat(failed).isEmpty();
+        assertThat(connectionsOpened()).isEqualTo(2.0);
+        assertThat(awaitInbox(4)).isEqualTo(4);
+    }
+
+    @Test
+    void batchFailsWhileTheServerIsUnreachableAndRecoversAfterwards() throws Exception {
+        mailSender.setPort(unusedPort());
+
+        List<EmailMessage> unsent = emails("unreachable", 3);
+        assertThat(emailService.deliverAll(unsent)).containsExactlyInAnyOrderElementsOf(unsent);
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "failed").count()).isEqualTo(3.0);
+
+        mailSender.setPort(MAILPIT.getMappedPort(SMTP_PORT));
+        assertThat(emailService.deliverAll(unsent)).isEmpty();
+
+        assertThat(connectionsOpened()).isEqualTo(1.0);
+        assertThat(awaitInbox(3)).isEqualTo(3);
+    }
+
+    private double connectionsOpened() {
+        return meterRegistry.counter("mail.connections.opened").count();
+    }
+
+    private Transport idleTransport() {
+        Deque<?> idle = (Deque<?>) ReflectionTestUtils.getField(pool, "idle");
+        assertThat(idle).hasSize(1);
+        return (Transport) ReflectionTestUtils.getField(idle.peekFirst(), "transport");
+    }
+
+    private static List<EmailMessage> emails(String batch, int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(n -> new EmailMessage("student" + n + "@test.unza.zm", batch + " " + n, "Body " + n, false))
+                .toList();
+    }
+
+    // Mailpit stores a message just after accepting it, so give the inbox a moment to catch up
+    private int awaitInbox(int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        int total;
+        do {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(api("/api/v1/messages")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            total = objectMapper.readTree(response.body()).path("total").asInt();
+            if (total >= expected) {
+                return total;
+            }
+            Thread.sleep(100);
+        } while (System.currentTimeMillis() < deadline);
+        return total;
+    }
+
+    private static URI api(String path) {
+        return URI.create("http://" + MAILPIT.getHost() + ":" + MAILPIT.getMappedPort(API_PORT) + path);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
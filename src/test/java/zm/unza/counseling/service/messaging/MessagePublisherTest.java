@@ -0,0 +1,143 @@
+package zm.unza.counseling.service.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import zm.unza.counseling.config.messaging.MessagingProperties;
+import zm.unza.counseling.config.messaging.RabbitConfig;
+import zm.unza.counseling.entity.Notification;
+import zm.unza.counseling.service.AuditLogService;
+import zm.unza.counseling.service.NotificationService;
+import zm.unza.counseling.service.impl.EmailServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Publishing through the in-process transport, in its synchronous mode so delivery happens on the
+ * test thread: messages wait for the surrounding transaction to commit, and a notification batch
+ * that fails is retried message by message with only the bad one dead-lettered.
+ */
+class MessagePublisherTest {
+
+    /** saveNotifications rejects any batch containing a notification for this recipient. */
+    private static final long BAD_RECIPIENT = 13L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final List<List<Long>> savedBatches = new ArrayList<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private MessageConsumers consumers;
+    private InProcessMessageTransport transport;
+    private MessagePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            List<Long> recipients = notifications.stream().map(Notification::getRecipientId).toList();
+            if (recipients.contains(BAD_RECIPIENT)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            savedBatches.add(recipients);
+            return null;
+        }).when(notificationService).saveNotifications(anyList());
+
+        consumers = new MessageConsumers(mock(EmailServiceImpl.class), mock(AuditLogService.class),
+                notificationService, meterRegistry);
+        MessagingProperties properties = new MessagingProperties();
+        properties.getInProcess().setSynchronous(true);
+        transport = new InProcessMessageTransport(properties,
+                new StaticListableBeanFactory(Map.of("messageConsumers", consumers)).getBeanProvider(MessageConsumers.class),
+                meterRegistry, executor, executor);
+        publisher = new MessagePublisher(transport, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversOnlyAfterTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(MessageRoute.NOTIFICATION, notification(1L, 2L));
+
+        verify(notificationService, never()).saveNotifications(anyList());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(savedBatches).containsExactly(List.of(1L, 2L));
+        assertThat(meterRegistry.counter("messaging.published", "queue", RabbitConfig.NOTIFICATION_QUEUE).count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void publishesNothingWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(MessageRoute.NOTIFICATION, notification(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(notificationService, never()).saveNotifications(anyList());
+        assertThat(meterRegistry.find("messaging.published").counter()).isNull();
+    }
+
+    @Test
+    void deliversImmediatelyOutsideATransaction() {
+        publisher.publish(MessageRoute.RISK_ALERT, notification(5L));
+
+        assertThat(savedBatches).containsExactly(List.of(5L));
+    }
+
+    @Test
+    void failedBatchIsRetriedOneMessageAtATime() {
+        NotificationMessage bad = notification(BAD_RECIPIENT);
+
+        List<Object> failed = new ArrayList<>(consumers.dispatch(RabbitConfig.NOTIFICATION_QUEUE,
+                List.of(notification(1L), bad, notification(2L))));
+
+        assertThat(failed).containsExactly(bad);
+        // The whole batch once, then each message on its own
+        verify(notificationService, times(4)).saveNotifications(anyList());
+        assertThat(savedBatches).containsExactly(List.of(1L), List.of(2L));
+        assertThat(meterRegistry.counter("messaging.consumed", "queue", RabbitConfig.NOTIFICATION_QUEUE).count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void messageThatKeepsFailingIsDeadLettered() {
+        NotificationMessage bad = notification(BAD_RECIPIENT);
+
+        publisher.publish(MessageRoute.NOTIFICATION, bad);
+        publisher.publish(MessageRoute.NOTIFICATION, notification(3L));
+
+        assertThat(transport.deadLetters(RabbitConfig.NOTIFICATION_QUEUE)).containsExactly(bad);
+        assertThat(savedBatches).containsExactly(List.of(3L));
+        assertThat(meterRegistry.counter("messaging.dead_lettered", "queue", RabbitConfig.NOTIFICATION_QUEUE).count())
+                .isEqualTo(1.0);
+    }
+
+    private static NotificationMessage notification(Long... recipients) {
+        return new NotificationMessage(List.of(recipients), "Title", "Message", "SYSTEM", "MEDIUM", "/dashboard");
+    }
+}
@@ -0,0 +1,21 @@
+package zm.unza.counseling.support;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests that need the real database: one PostgreSQL container (the image
+ * docker-compose runs) shared by every test class, with the datasource pointed at it and the
+ * {@code test} profile active.
+ */
+@Testcontainers
+@ActiveProfiles("test")
+public abstract class PostgresContainerTest {
+
+    @Container
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+}